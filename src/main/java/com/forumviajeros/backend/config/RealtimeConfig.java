@@ -0,0 +1,22 @@
+package com.forumviajeros.backend.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.forumviajeros.backend.service.realtime.InMemoryRealtimeBroker;
+import com.forumviajeros.backend.service.realtime.RealtimeBroker;
+
+/**
+ * Broker de eventos en tiempo real. Con varias instancias se sustituye por una
+ * implementación compartida (app.realtime.broker distinto de "memory").
+ */
+@Configuration
+public class RealtimeConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.realtime.broker", havingValue = "memory", matchIfMissing = true)
+    public RealtimeBroker inMemoryRealtimeBroker() {
+        return new InMemoryRealtimeBroker();
+    }
+}
@@ -0,0 +1,73 @@
+package com.forumviajeros.backend.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.forumviajeros.backend.dto.achievement.AchievementDTO;
+import com.forumviajeros.backend.dto.achievement.UserAchievementsDTO;
+import com.forumviajeros.backend.repository.UserRepository;
+import com.forumviajeros.backend.service.achievement.AchievementService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Controlador REST para logros (badges y nivel de viajero)
+ */
+@RestController
+@RequestMapping("/api/achievements")
+@RequiredArgsConstructor
+@Tag(name = "Achievements", description = "API de logros de usuario")
+public class AchievementController {
+
+    private final AchievementService achievementService;
+    private final UserRepository userRepository;
+
+    @GetMapping("/users/{userId}")
+    @Operation(summary = "Obtener logros de un usuario")
+    public ResponseEntity<UserAchievementsDTO> getUserAchievements(@PathVariable Long userId) {
+        return ResponseEntity.ok(achievementService.getUserAchievements(userId));
+    }
+
+    @GetMapping("/me")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Obtener mis logros", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<UserAchievementsDTO> getMyAchievements(@AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(achievementService.getUserAchievements(getUserId(userDetails)));
+    }
+
+    @PostMapping("/users/{userId}/recalculate")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Recalcular los logros de un usuario sin notificar", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<List<AchievementDTO>> recalculate(@PathVariable Long userId) {
+        return ResponseEntity.ok(achievementService.recalculate(userId));
+    }
+
+    @PostMapping("/recalculate")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Recalcular los logros de todos los usuarios sin notificar", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<Map<String, Integer>> recalculateAll() {
+        return ResponseEntity.ok(Map.of("awarded", achievementService.recalculateAll()));
+    }
+
+    /**
+     * Obtiene el ID del usuario desde los detalles de autenticación
+     */
+    private Long getUserId(UserDetails userDetails) {
+        return userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"))
+                .getId();
+    }
+}
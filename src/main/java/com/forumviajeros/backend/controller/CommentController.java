@@ -16,8 +16,10 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.forumviajeros.backend.dto.CursorPageDTO;
 import com.forumviajeros.backend.dto.comment.CommentRequestDTO;
 import com.forumviajeros.backend.dto.comment.CommentResponseDTO;
+import com.forumviajeros.backend.dto.comment.CommentThreadDTO;
 import com.forumviajeros.backend.exception.ResourceNotFoundException;
 import com.forumviajeros.backend.service.comment.CommentService;
 
@@ -36,6 +38,8 @@ import lombok.extern.slf4j.Slf4j;
 @Tag(name = "Comments", description = "API para gestión de comentarios en publicaciones")
 public class CommentController {
 
+    private static final String DEPRECATION_HEADER = "Deprecation";
+
     private final CommentService commentService;
 
     @GetMapping
@@ -59,6 +63,10 @@ public class CommentController {
         }
     }
 
+    /**
+     * @deprecated carga todos los comentarios del post; usar /post/{postId}/threads
+     */
+    @Deprecated
     @GetMapping("/post/{postId}")
     @Operation(summary = "Obtener comentarios por publicación", description = "Devuelve todos los comentarios de una publicación específica")
     @ApiResponse(responseCode = "200", description = "Lista de comentarios obtenida con éxito")
@@ -66,13 +74,37 @@ public class CommentController {
     public ResponseEntity<List<CommentResponseDTO>> getCommentsByPost(@PathVariable Long postId) {
         log.debug("Obteniendo comentarios del post con id: {}", postId);
         try {
-            return ResponseEntity.ok(commentService.getCommentsByPost(postId));
+            return ResponseEntity.ok().header(DEPRECATION_HEADER, "true")
+                    .body(commentService.getCommentsByPost(postId));
         } catch (Exception e) {
             log.warn("Error al obtener comentarios del post {}: {}", postId, e.getMessage());
             throw new ResourceNotFoundException("Post", "id", postId);
         }
     }
 
+    // Hilos del post por cursor: pasar nextCursor de la respuesta anterior
+    @GetMapping("/post/{postId}/threads")
+    @Operation(summary = "Obtener hilos de comentarios por publicación", description = "Devuelve los comentarios de primer nivel por cursor, del más reciente al más antiguo, con sus primeras respuestas")
+    @ApiResponse(responseCode = "200", description = "Página de hilos obtenida con éxito")
+    @ApiResponse(responseCode = "404", description = "Publicación no encontrada", content = @Content)
+    public ResponseEntity<CursorPageDTO<CommentThreadDTO>> getThreadsByPost(@PathVariable Long postId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "3") int replies) {
+        return ResponseEntity.ok(commentService.getThreadsByPost(postId, cursor, size, replies));
+    }
+
+    // Más respuestas de un comentario: pasar el cursor de replies del hilo o de la página anterior
+    @GetMapping("/{id}/replies")
+    @Operation(summary = "Obtener respuestas de un comentario", description = "Devuelve por cursor las respuestas del subárbol de un comentario, en orden de hilo")
+    @ApiResponse(responseCode = "200", description = "Página de respuestas obtenida con éxito")
+    @ApiResponse(responseCode = "404", description = "Comentario no encontrado", content = @Content)
+    public ResponseEntity<CursorPageDTO<CommentResponseDTO>> getReplies(@PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(commentService.getReplies(id, cursor, size));
+    }
+
     @PostMapping("/post/{postId}")
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Crear nuevo comentario", description = "Crea un nuevo comentario en una publicación específica")
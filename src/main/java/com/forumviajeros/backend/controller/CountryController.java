@@ -11,7 +11,9 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.forumviajeros.backend.dto.country.CountryResponseDTO;
 import com.forumviajeros.backend.dto.country.CountrySummaryDTO;
+import com.forumviajeros.backend.dto.geo.NearbyCountryDTO;
 import com.forumviajeros.backend.service.country.CountryService;
+import com.forumviajeros.backend.service.geo.GeoProximityService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -27,6 +29,7 @@ import lombok.RequiredArgsConstructor;
 public class CountryController {
 
     private final CountryService countryService;
+    private final GeoProximityService geoProximityService;
 
     @GetMapping
     @Operation(summary = "Obtener todos los países")
@@ -77,6 +80,23 @@ public class CountryController {
         return ResponseEntity.ok(countryService.getRandomCountries(count));
     }
 
+    @GetMapping("/{id}/nearby")
+    @Operation(summary = "Obtener países a menos de X km de un país")
+    public ResponseEntity<List<NearbyCountryDTO>> getCountriesNearCountry(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "1000") double radiusKm) {
+        return ResponseEntity.ok(geoProximityService.getCountriesNearCountry(id, radiusKm));
+    }
+
+    @GetMapping("/nearby")
+    @Operation(summary = "Obtener países a menos de X km de unas coordenadas")
+    public ResponseEntity<List<NearbyCountryDTO>> getCountriesNearPoint(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "1000") double radiusKm) {
+        return ResponseEntity.ok(geoProximityService.getCountriesNearPoint(lat, lng, radiusKm));
+    }
+
     @GetMapping("/stats")
     @Operation(summary = "Obtener estadísticas globales")
     public ResponseEntity<CountryStatsResponse> getCountryStats() {
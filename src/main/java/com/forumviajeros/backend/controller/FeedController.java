@@ -1,5 +1,7 @@
 package com.forumviajeros.backend.controller;
 
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -39,7 +41,7 @@ public class FeedController {
     }
 
     /**
-     * Get global/explore feed with recent posts
+     * Get global/explore feed: trending posts, or recent posts while nothing is trending
      */
     @GetMapping("/explore")
     public ResponseEntity<Page<FeedItemDTO>> getExploreFeed(
@@ -50,4 +52,15 @@ public class FeedController {
         Page<FeedItemDTO> feed = feedService.getExploreFeed(pageable);
         return ResponseEntity.ok(feed);
     }
+
+    /**
+     * Get trending posts, optionally by category and/or tag
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<List<FeedItemDTO>> getTrendingPosts(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) String tag,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(feedService.getTrendingPosts(categoryId, tag, limit));
+    }
 }
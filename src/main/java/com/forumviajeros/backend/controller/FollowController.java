@@ -1,6 +1,7 @@
 package com.forumviajeros.backend.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -15,9 +16,12 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.forumviajeros.backend.dto.CursorPageDTO;
 import com.forumviajeros.backend.dto.follow.FollowResponseDTO;
+import com.forumviajeros.backend.dto.follow.FollowStateDTO;
 import com.forumviajeros.backend.dto.follow.FollowStatsDTO;
 import com.forumviajeros.backend.dto.follow.UserSummaryDTO;
+import com.forumviajeros.backend.exception.BadRequestException;
 import com.forumviajeros.backend.service.follow.FollowService;
 
 import lombok.RequiredArgsConstructor;
@@ -29,6 +33,9 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class FollowController {
 
+    private static final int MAX_FOLLOW_STATE_IDS = 100;
+    private static final String DEPRECATION_HEADER = "Deprecation";
+
     private final FollowService followService;
 
     /**
@@ -53,13 +60,16 @@ public class FollowController {
 
     /**
      * Obtener seguidores de un usuario
+     *
+     * @deprecated carga la lista completa; usar /{id}/followers/page
      */
+    @Deprecated
     @GetMapping("/{id}/followers")
     public ResponseEntity<List<FollowResponseDTO>> getFollowers(
             @PathVariable Long id,
             Authentication auth) {
         List<FollowResponseDTO> followers = followService.getFollowers(id, auth);
-        return ResponseEntity.ok(followers);
+        return ResponseEntity.ok().header(DEPRECATION_HEADER, "true").body(followers);
     }
 
     /**
@@ -78,13 +88,16 @@ public class FollowController {
 
     /**
      * Obtener usuarios que sigue
+     *
+     * @deprecated carga la lista completa; usar /{id}/following/page
      */
+    @Deprecated
     @GetMapping("/{id}/following")
     public ResponseEntity<List<FollowResponseDTO>> getFollowing(
             @PathVariable Long id,
             Authentication auth) {
         List<FollowResponseDTO> following = followService.getFollowing(id, auth);
-        return ResponseEntity.ok(following);
+        return ResponseEntity.ok().header(DEPRECATION_HEADER, "true").body(following);
     }
 
     /**
@@ -101,6 +114,30 @@ public class FollowController {
         return ResponseEntity.ok(following);
     }
 
+    /**
+     * Obtener seguidores por cursor (scroll infinito, sin total)
+     */
+    @GetMapping("/{id}/followers/page")
+    public ResponseEntity<CursorPageDTO<FollowResponseDTO>> getFollowersPage(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication auth) {
+        return ResponseEntity.ok(followService.getFollowersPage(id, cursor, size, auth));
+    }
+
+    /**
+     * Obtener usuarios que sigue por cursor (scroll infinito, sin total)
+     */
+    @GetMapping("/{id}/following/page")
+    public ResponseEntity<CursorPageDTO<FollowResponseDTO>> getFollowingPage(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication auth) {
+        return ResponseEntity.ok(followService.getFollowingPage(id, cursor, size, auth));
+    }
+
     /**
      * Obtener estadísticas de seguimiento
      */
@@ -144,4 +181,18 @@ public class FollowController {
         List<UserSummaryDTO> mutuals = followService.getMutualFollows(auth);
         return ResponseEntity.ok(mutuals);
     }
+
+    /**
+     * Obtener en bloque la relación de seguimiento con varios usuarios
+     */
+    @GetMapping("/follow-states")
+    public ResponseEntity<Map<Long, FollowStateDTO>> getFollowStates(
+            @RequestParam List<Long> ids,
+            @RequestParam(defaultValue = "false") boolean counts,
+            Authentication auth) {
+        if (ids.size() > MAX_FOLLOW_STATE_IDS) {
+            throw new BadRequestException("Se pueden consultar como máximo " + MAX_FOLLOW_STATE_IDS + " usuarios");
+        }
+        return ResponseEntity.ok(followService.getFollowStates(ids, counts, auth));
+    }
 }
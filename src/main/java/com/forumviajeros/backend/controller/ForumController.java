@@ -4,6 +4,8 @@ import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -23,11 +25,13 @@ import com.forumviajeros.backend.dto.forum.ForumRequestDTO;
 import com.forumviajeros.backend.dto.forum.ForumResponseDTO;
 import com.forumviajeros.backend.exception.ResourceNotFoundException;
 import com.forumviajeros.backend.service.forum.ForumService;
+import com.forumviajeros.backend.service.view.ViewCounter;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -40,6 +44,7 @@ import lombok.extern.slf4j.Slf4j;
 public class ForumController {
 
     private final ForumService forumService;
+    private final ViewCounter viewCounter;
 
     @GetMapping
     @Operation(summary = "Obtener todos los foros", description = "Devuelve un listado paginado de todos los foros")
@@ -52,24 +57,39 @@ public class ForumController {
     @Operation(summary = "Obtener foro por ID", description = "Devuelve un foro según su ID")
     @ApiResponse(responseCode = "200", description = "Foro encontrado con éxito")
     @ApiResponse(responseCode = "404", description = "Foro no encontrado", content = @Content)
-    public ResponseEntity<ForumResponseDTO> getForumById(@PathVariable Long id) {
+    public ResponseEntity<ForumResponseDTO> getForumById(@PathVariable Long id, Authentication authentication,
+            HttpServletRequest request) {
         log.debug("Obteniendo foro con id: {}", id);
         try {
-            return ResponseEntity.ok(forumService.findById(id));
+            ForumResponseDTO forum = forumService.findById(id);
+            viewCounter.record(ViewCounter.Target.FORUM, id, ViewCounter.viewerKey(authentication, request));
+            // Incluye las visitas aún no volcadas a la base de datos
+            forum.setViewCount(forum.getViewCount() + viewCounter.pending(ViewCounter.Target.FORUM, id));
+            return ResponseEntity.ok(forum);
         } catch (Exception e) {
             log.warn("Foro no encontrado con id: {}", id);
             throw new ResourceNotFoundException("Foro", "id", id);
         }
     }
 
+    @GetMapping("/trending")
+    @Operation(summary = "Foros en tendencia", description = "Devuelve los foros con más actividad reciente, globales o de una categoría")
+    @ApiResponse(responseCode = "200", description = "Lista de foros obtenida con éxito")
+    public ResponseEntity<List<ForumResponseDTO>> getTrendingForums(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(forumService.getTrendingForums(categoryId, limit));
+    }
+
     @GetMapping("/category/{categoryId}")
-    @Operation(summary = "Obtener foros por categoría", description = "Devuelve todos los foros de una categoría específica")
+    @Operation(summary = "Obtener foros por categoría", description = "Devuelve un listado paginado de los foros de una categoría específica")
     @ApiResponse(responseCode = "200", description = "Lista de foros obtenida con éxito")
     @ApiResponse(responseCode = "404", description = "Categoría no encontrada", content = @Content)
-    public ResponseEntity<List<ForumResponseDTO>> getForumsByCategory(@PathVariable Long categoryId) {
+    public ResponseEntity<Page<ForumResponseDTO>> getForumsByCategory(@PathVariable Long categoryId,
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
         log.debug("Obteniendo foros de la categoría con id: {}", categoryId);
         try {
-            return ResponseEntity.ok(forumService.findByCategory(categoryId));
+            return ResponseEntity.ok(forumService.findByCategory(categoryId, pageable));
         } catch (Exception e) {
             log.warn("Error al obtener foros de la categoría {}: {}", categoryId, e.getMessage());
             throw new ResourceNotFoundException("Categoría", "id", categoryId);
@@ -181,10 +201,11 @@ public class ForumController {
 
     @GetMapping("/user")
     @PreAuthorize("isAuthenticated()")
-    @Operation(summary = "Obtener foros del usuario actual", description = "Devuelve todos los foros creados por el usuario autenticado")
+    @Operation(summary = "Obtener foros del usuario actual", description = "Devuelve un listado paginado de los foros creados por el usuario autenticado")
     @ApiResponse(responseCode = "200", description = "Lista de foros obtenida con éxito")
-    public ResponseEntity<List<ForumResponseDTO>> getCurrentUserForums(Authentication authentication) {
-        return ResponseEntity.ok(forumService.findByCurrentUser(authentication));
+    public ResponseEntity<Page<ForumResponseDTO>> getCurrentUserForums(Authentication authentication,
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        return ResponseEntity.ok(forumService.findByCurrentUser(authentication, pageable));
     }
 
     @PutMapping("/{id}/status")
@@ -9,28 +9,52 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.forumviajeros.backend.dto.CursorPageDTO;
+import com.forumviajeros.backend.dto.notification.NotificationDTO;
 import com.forumviajeros.backend.model.Notification;
 import com.forumviajeros.backend.model.User;
 import com.forumviajeros.backend.repository.NotificationRepository;
 import com.forumviajeros.backend.repository.UserRepository;
+import com.forumviajeros.backend.service.notification.NotificationInboxService;
 
 @RestController
 @RequestMapping("/api/notifications")
 public class NotificationController {
+    private static final String DEPRECATION_HEADER = "Deprecation";
+
     @Autowired
     private NotificationRepository notificationRepository;
     @Autowired
+    private NotificationInboxService notificationInboxService;
+    @Autowired
     private UserRepository userRepository;
 
-    // Listar notificaciones del usuario autenticado
+    /**
+     * Listar notificaciones del usuario autenticado
+     *
+     * @deprecated carga todas las notificaciones; usar /page
+     */
+    @Deprecated
     @GetMapping
     public ResponseEntity<List<Notification>> getNotifications(Principal principal) {
         User user = userRepository.findByUsername(principal.getName()).orElse(null);
         if (user == null) return ResponseEntity.badRequest().build();
         List<Notification> notifications = notificationRepository.findByUserOrderByFechaDesc(user);
-        return ResponseEntity.ok(notifications);
+        return ResponseEntity.ok().header(DEPRECATION_HEADER, "true").body(notifications);
+    }
+
+    // Notificaciones por cursor: pasar nextCursor de la respuesta anterior
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<NotificationDTO>> getNotificationsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Principal principal) {
+        User user = userRepository.findByUsername(principal.getName()).orElse(null);
+        if (user == null) return ResponseEntity.badRequest().build();
+        return ResponseEntity.ok(notificationInboxService.getInbox(user.getId(), cursor, size));
     }
 
     // Obtener conteo de notificaciones no leídas
@@ -38,20 +62,16 @@ public class NotificationController {
     public ResponseEntity<Long> getUnreadCount(Principal principal) {
         User user = userRepository.findByUsername(principal.getName()).orElse(null);
         if (user == null) return ResponseEntity.badRequest().build();
-        long count = notificationRepository.countByUserAndLeidoFalse(user);
-        return ResponseEntity.ok(count);
+        return ResponseEntity.ok(notificationInboxService.getUnreadCount(user.getId()));
     }
 
     // Marcar notificación como leída
     @PostMapping("/{id}/read")
     public ResponseEntity<?> markAsRead(@PathVariable Long id, Principal principal) {
         User user = userRepository.findByUsername(principal.getName()).orElse(null);
-        Notification notification = notificationRepository.findById(id).orElse(null);
-        if (user == null || notification == null || !notification.getUser().getId().equals(user.getId())) {
+        if (user == null || !notificationInboxService.markAsRead(id, user.getId())) {
             return ResponseEntity.badRequest().body("Operación no válida");
         }
-        notification.setLeido(true);
-        notificationRepository.save(notification);
         return ResponseEntity.ok("Notificación marcada como leída");
     }
 
@@ -60,11 +80,7 @@ public class NotificationController {
     public ResponseEntity<?> markAllAsRead(Principal principal) {
         User user = userRepository.findByUsername(principal.getName()).orElse(null);
         if (user == null) return ResponseEntity.badRequest().build();
-        List<Notification> unread = notificationRepository.findByUserAndLeidoFalse(user);
-        for (Notification n : unread) {
-            n.setLeido(true);
-        }
-        notificationRepository.saveAll(unread);
+        notificationInboxService.markAllAsRead(user.getId());
         return ResponseEntity.ok("Todas las notificaciones marcadas como leídas");
     }
 }
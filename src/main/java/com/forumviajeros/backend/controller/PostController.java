@@ -19,15 +19,18 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.forumviajeros.backend.dto.CursorPageDTO;
 import com.forumviajeros.backend.dto.post.PostRequestDTO;
 import com.forumviajeros.backend.dto.post.PostResponseDTO;
 import com.forumviajeros.backend.exception.ResourceNotFoundException;
 import com.forumviajeros.backend.service.post.PostService;
+import com.forumviajeros.backend.service.view.ViewCounter;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -39,7 +42,10 @@ import lombok.extern.slf4j.Slf4j;
 @Tag(name = "Posts", description = "API para gestión de publicaciones en foros")
 public class PostController {
 
+    private static final String DEPRECATION_HEADER = "Deprecation";
+
     private final PostService postService;
+    private final ViewCounter viewCounter;
 
     @GetMapping
     @Operation(summary = "Obtener todos los posts", description = "Devuelve una lista paginada de todas las publicaciones")
@@ -53,16 +59,25 @@ public class PostController {
     @Operation(summary = "Obtener post por ID", description = "Devuelve una publicación según su ID")
     @ApiResponse(responseCode = "200", description = "Post encontrado con éxito")
     @ApiResponse(responseCode = "404", description = "Post no encontrado", content = @Content)
-    public ResponseEntity<PostResponseDTO> getPostById(@PathVariable Long id) {
+    public ResponseEntity<PostResponseDTO> getPostById(@PathVariable Long id, Authentication authentication,
+            HttpServletRequest request) {
         log.debug("Obteniendo post con id: {}", id);
         try {
-            return ResponseEntity.ok(postService.findById(id));
+            PostResponseDTO post = postService.findById(id);
+            viewCounter.record(ViewCounter.Target.POST, id, ViewCounter.viewerKey(authentication, request));
+            // Incluye las visitas aún no volcadas a la base de datos
+            post.setViewCount(post.getViewCount() + viewCounter.pending(ViewCounter.Target.POST, id));
+            return ResponseEntity.ok(post);
         } catch (Exception e) {
             log.warn("Post no encontrado con id: {}", id);
             throw new ResourceNotFoundException("Post", "id", id);
         }
     }
 
+    /**
+     * @deprecated carga todos los posts del foro; usar /forum/{forumId}/page
+     */
+    @Deprecated
     @GetMapping("/forum/{forumId}")
     @Operation(summary = "Obtener posts por foro", description = "Devuelve todas las publicaciones de un foro específico")
     @ApiResponse(responseCode = "200", description = "Lista de posts obtenida con éxito")
@@ -70,13 +85,24 @@ public class PostController {
     public ResponseEntity<List<PostResponseDTO>> getPostsByForum(@PathVariable Long forumId) {
         log.debug("Obteniendo posts del foro con id: {}", forumId);
         try {
-            return ResponseEntity.ok(postService.findByForum(forumId));
+            return ResponseEntity.ok().header(DEPRECATION_HEADER, "true").body(postService.findByForum(forumId));
         } catch (Exception e) {
             log.warn("Error al obtener posts del foro con id: {}", forumId, e);
             throw new ResourceNotFoundException("Foro", "id", forumId);
         }
     }
 
+    // Posts activos del foro por cursor: pasar nextCursor de la respuesta anterior
+    @GetMapping("/forum/{forumId}/page")
+    @Operation(summary = "Obtener posts por foro paginados", description = "Devuelve las publicaciones activas de un foro por cursor, de la más reciente a la más antigua")
+    @ApiResponse(responseCode = "200", description = "Página de posts obtenida con éxito")
+    @ApiResponse(responseCode = "404", description = "Foro no encontrado", content = @Content)
+    public ResponseEntity<CursorPageDTO<PostResponseDTO>> getPostsByForumPage(@PathVariable Long forumId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(postService.findByForumPage(forumId, cursor, size));
+    }
+
     @PostMapping
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Crear nuevo post", description = "Crea una nueva publicación en un foro")
@@ -1,11 +1,13 @@
 package com.forumviajeros.backend.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,6 +19,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.forumviajeros.backend.dto.CursorPageDTO;
 import com.forumviajeros.backend.dto.message.ConversationDTO;
 import com.forumviajeros.backend.dto.message.MessageRequestDTO;
 import com.forumviajeros.backend.dto.message.MessageResponseDTO;
@@ -48,22 +51,39 @@ public class PrivateMessageController {
 
     /**
      * Obtener lista de conversaciones
+     *
+     * @deprecated solo devuelve la primera página; usar /conversations/page
      */
+    @Deprecated
     @GetMapping("/conversations")
     public ResponseEntity<List<ConversationDTO>> getConversations(Authentication auth) {
         List<ConversationDTO> conversations = messageService.getConversations(auth);
-        return ResponseEntity.ok(conversations);
+        return ResponseEntity.ok().header("Deprecation", "true").body(conversations);
+    }
+
+    /**
+     * Obtener conversaciones por cursor (de la más reciente a la más antigua, sin total)
+     */
+    @GetMapping("/conversations/page")
+    public ResponseEntity<CursorPageDTO<ConversationDTO>> getConversationsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication auth) {
+        return ResponseEntity.ok(messageService.getConversationsPage(cursor, size, auth));
     }
 
     /**
      * Obtener conversacion con un usuario
+     *
+     * @deprecated carga la conversación completa; usar /conversation/{userId}/page
      */
+    @Deprecated
     @GetMapping("/conversation/{userId}")
     public ResponseEntity<List<MessageResponseDTO>> getConversation(
             @PathVariable Long userId,
             Authentication auth) {
         List<MessageResponseDTO> messages = messageService.getConversation(userId, auth);
-        return ResponseEntity.ok(messages);
+        return ResponseEntity.ok().header("Deprecation", "true").body(messages);
     }
 
     /**
@@ -80,6 +100,18 @@ public class PrivateMessageController {
         return ResponseEntity.ok(messages);
     }
 
+    /**
+     * Obtener conversacion por cursor (scroll hacia mensajes anteriores, sin total)
+     */
+    @GetMapping("/conversation/{userId}/page")
+    public ResponseEntity<CursorPageDTO<MessageResponseDTO>> getConversationPage(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication auth) {
+        return ResponseEntity.ok(messageService.getConversationPage(userId, cursor, size, auth));
+    }
+
     /**
      * Marcar conversacion como leida
      */
@@ -110,4 +142,13 @@ public class PrivateMessageController {
         messageService.deleteMessage(messageId, auth);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Reconstruir el indice de conversaciones (solo administradores)
+     */
+    @PostMapping("/conversations/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> rebuildConversationIndex() {
+        return ResponseEntity.ok(Map.of("conversations", messageService.rebuildConversationIndex()));
+    }
 }
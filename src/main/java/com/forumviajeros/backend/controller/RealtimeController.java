@@ -0,0 +1,51 @@
+package com.forumviajeros.backend.controller;
+
+import java.util.Map;
+
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.forumviajeros.backend.exception.ResourceNotFoundException;
+import com.forumviajeros.backend.model.User;
+import com.forumviajeros.backend.repository.UserRepository;
+import com.forumviajeros.backend.service.message.MessageService;
+import com.forumviajeros.backend.service.notification.NotificationInboxService;
+import com.forumviajeros.backend.service.realtime.RealtimeHub;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Canal SSE con mensajes privados y notificaciones en tiempo real. Se
+ * autentica con la misma cookie de access token que el resto de la API.
+ */
+@RestController
+@RequestMapping("/api/stream")
+@RequiredArgsConstructor
+@Tag(name = "Realtime", description = "Eventos en tiempo real (Server-Sent Events)")
+public class RealtimeController {
+
+    private final RealtimeHub realtimeHub;
+    private final MessageService messageService;
+    private final NotificationInboxService notificationInboxService;
+    private final UserRepository userRepository;
+
+    /**
+     * Abre el stream; el primer evento ("snapshot") trae los contadores de no leídos
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Suscribirse a mensajes y notificaciones en tiempo real")
+    public SseEmitter stream(Authentication auth) {
+        User user = userRepository.findByUsername(auth.getName())
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", auth.getName()));
+        Map<String, Long> snapshot = Map.of(
+                "unreadMessages", messageService.getUnreadCount(auth),
+                "unreadNotifications", notificationInboxService.getUnreadCount(user.getId()));
+        return realtimeHub.connect(user.getId(), snapshot);
+    }
+}
@@ -0,0 +1,78 @@
+package com.forumviajeros.backend.controller;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.forumviajeros.backend.dto.search.SearchResultDTO;
+import com.forumviajeros.backend.exception.BadRequestException;
+import com.forumviajeros.backend.service.search.SearchDocumentType;
+import com.forumviajeros.backend.service.search.SearchIndexer;
+import com.forumviajeros.backend.service.search.SearchService;
+import com.forumviajeros.backend.util.CursorUtil;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@Slf4j
+public class SearchController {
+
+    private final SearchService searchService;
+    private final SearchIndexer searchIndexer;
+
+    /**
+     * Búsqueda de texto completo en foros, posts y comentarios, por relevancia.
+     * types filtra por tipo (FORUM, POST, COMMENT); vacío busca en todos.
+     */
+    @GetMapping
+    public ResponseEntity<Page<SearchResultDTO>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) List<String> types,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        if (q.isBlank()) {
+            throw new BadRequestException("La búsqueda no puede estar vacía");
+        }
+        PageRequest pageable = PageRequest.of(Math.max(page, 0), CursorUtil.pageSize(size));
+        return ResponseEntity.ok(searchService.search(q.trim(), parseTypes(types), pageable));
+    }
+
+    /**
+     * Reconstruir el índice de búsqueda (solo administradores)
+     */
+    @PostMapping("/reindex")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Long>> reindex() {
+        log.info("Reconstrucción completa del índice de búsqueda solicitada");
+        return ResponseEntity.ok(Map.of("documents", searchIndexer.reindexAll()));
+    }
+
+    private Set<SearchDocumentType> parseTypes(List<String> types) {
+        Set<SearchDocumentType> parsed = EnumSet.noneOf(SearchDocumentType.class);
+        if (types == null) {
+            return parsed;
+        }
+        for (String type : types) {
+            try {
+                parsed.add(SearchDocumentType.valueOf(type.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Tipo de búsqueda no válido: " + type);
+            }
+        }
+        return parsed;
+    }
+}
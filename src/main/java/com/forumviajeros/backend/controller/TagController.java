@@ -58,6 +58,13 @@ public class TagController {
         return ResponseEntity.ok(tagService.getMostUsedTags(limit));
     }
 
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<TagResponseDTO>> autocomplete(
+            @RequestParam("prefix") String prefix,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(tagService.autocomplete(prefix, limit));
+    }
+
     @PreAuthorize("hasRole('ADMIN') or hasRole('MODERATOR')")
     @PutMapping("/{id}")
     public ResponseEntity<TagResponseDTO> updateTag(@PathVariable Long id,
@@ -0,0 +1,99 @@
+package com.forumviajeros.backend.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.forumviajeros.backend.dto.compatibility.TravelCompatibilityDTO;
+import com.forumviajeros.backend.dto.geo.NearbyCountryDTO;
+import com.forumviajeros.backend.dto.geo.NearbyTravelerDTO;
+import com.forumviajeros.backend.repository.UserRepository;
+import com.forumviajeros.backend.service.compatibility.TravelCompatibilityService;
+import com.forumviajeros.backend.service.geo.GeoProximityService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Controlador REST para recomendaciones de viaje basadas en proximidad geográfica
+ */
+@RestController
+@RequestMapping("/api/travel/recommendations")
+@RequiredArgsConstructor
+@Tag(name = "Travel Recommendations", description = "API de recomendaciones basadas en el mapa de viajes")
+public class TravelRecommendationController {
+
+    private final GeoProximityService geoProximityService;
+    private final TravelCompatibilityService travelCompatibilityService;
+    private final UserRepository userRepository;
+
+    @GetMapping("/closest-unvisited")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Países no visitados más cercanos a los que ya conozco", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<List<NearbyCountryDTO>> getClosestUnvisited(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(defaultValue = "10") int limit) {
+        Long userId = getUserId(userDetails);
+        return ResponseEntity.ok(geoProximityService.getClosestUnvisitedCountries(userId, validateLimit(limit)));
+    }
+
+    @GetMapping("/nearby-travelers")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Viajeros que conocen países cercanos a mi lista de deseos", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<List<NearbyTravelerDTO>> getNearbyTravelers(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(defaultValue = "1000") double radiusKm,
+            @RequestParam(defaultValue = "10") int limit) {
+        Long userId = getUserId(userDetails);
+        return ResponseEntity.ok(geoProximityService.getTravelersNearWishlist(userId, radiusKm, validateLimit(limit)));
+    }
+
+    @GetMapping("/similar-travelers")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Viajeros con países visitados y lista de deseos más compatibles con los míos", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<List<TravelCompatibilityDTO>> getSimilarTravelers(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(defaultValue = "10") int limit) {
+        Long userId = getUserId(userDetails);
+        return ResponseEntity.ok(travelCompatibilityService.findSimilarTravelers(userId, validateLimit(limit)));
+    }
+
+    @GetMapping("/compatibility/{otherUserId}")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Compatibilidad de viaje con otro usuario", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<TravelCompatibilityDTO> getCompatibility(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long otherUserId) {
+        Long userId = getUserId(userDetails);
+        return ResponseEntity.ok(travelCompatibilityService.getCompatibility(userId, otherUserId));
+    }
+
+    /**
+     * Obtiene el ID del usuario desde los detalles de autenticación
+     */
+    private Long getUserId(UserDetails userDetails) {
+        return userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"))
+                .getId();
+    }
+
+    /**
+     * Limita el número de resultados a un máximo de 50
+     */
+    private int validateLimit(int limit) {
+        if (limit < 1) {
+            return 10;
+        }
+        return Math.min(limit, 50);
+    }
+}
@@ -1,11 +1,17 @@
 package com.forumviajeros.backend.controller;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -22,15 +28,25 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.forumviajeros.backend.dto.visitedplace.TravelHeatmapDTO;
+import com.forumviajeros.backend.dto.visitedplace.TravelMapDTO;
 import com.forumviajeros.backend.dto.visitedplace.TravelStatsDTO;
+import com.forumviajeros.backend.dto.visitedplace.VisitedPlaceImportResultDTO;
 import com.forumviajeros.backend.dto.visitedplace.VisitedPlaceRequestDTO;
 import com.forumviajeros.backend.dto.visitedplace.VisitedPlaceResponseDTO;
+import com.forumviajeros.backend.exception.BadRequestException;
 import com.forumviajeros.backend.model.VisitedPlace.PlaceStatus;
 import com.forumviajeros.backend.repository.UserRepository;
+import com.forumviajeros.backend.service.visitedplace.TravelMapService;
 import com.forumviajeros.backend.service.visitedplace.VisitedPlaceService;
+import com.forumviajeros.backend.service.visitedplace.VisitedPlaceTransferService;
+import com.forumviajeros.backend.service.visitedplace.VisitedPlaceTransferService.TransferFormat;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -48,6 +64,8 @@ import lombok.RequiredArgsConstructor;
 public class VisitedPlaceController {
 
     private final VisitedPlaceService visitedPlaceService;
+    private final TravelMapService travelMapService;
+    private final VisitedPlaceTransferService visitedPlaceTransferService;
     private final UserRepository userRepository;
 
     @PostMapping("/places")
@@ -61,6 +79,45 @@ public class VisitedPlaceController {
                 .body(visitedPlaceService.addVisitedPlace(userId, request));
     }
 
+    @PostMapping(value = "/places/import", consumes = { MediaType.APPLICATION_JSON_VALUE, "text/csv" })
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Importar lugares en bloque (array JSON o CSV)", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<VisitedPlaceImportResultDTO> importPlaces(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        Long userId = getUserId(userDetails);
+        TransferFormat format = contentType.toLowerCase(Locale.ROOT).startsWith("text/csv")
+                ? TransferFormat.CSV : TransferFormat.JSON;
+        return ResponseEntity.ok(visitedPlaceTransferService.importPlaces(userId, body, format));
+    }
+
+    @GetMapping("/my-places/export")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Exportar mis lugares (json o csv)", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<StreamingResponseBody> exportMyPlaces(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(defaultValue = "json") String format) {
+        Long userId = getUserId(userDetails);
+        TransferFormat transferFormat;
+        try {
+            transferFormat = TransferFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Formato de exportación no soportado: " + format);
+        }
+
+        MediaType mediaType = transferFormat == TransferFormat.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.APPLICATION_JSON;
+        String filename = "my-places." + transferFormat.name().toLowerCase(Locale.ROOT);
+        StreamingResponseBody body = output -> visitedPlaceTransferService.exportPlaces(userId, output, transferFormat);
+
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
     @PutMapping("/places/{placeId}")
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Actualizar un lugar visitado", security = @SecurityRequirement(name = "bearerAuth"))
@@ -175,6 +232,41 @@ public class VisitedPlaceController {
         return ResponseEntity.ok(visitedPlaceService.getUserPlaces(userId));
     }
 
+    @GetMapping("/users/{userId}/map")
+    @Operation(summary = "Obtener el mapa compacto de un usuario (código ISO -> estado)")
+    public ResponseEntity<TravelMapDTO> getUserMap(@PathVariable Long userId, WebRequest webRequest) {
+        String version = travelMapService.getUserMapVersion(userId);
+        if (webRequest.checkNotModified(version)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(version)
+                .cacheControl(CacheControl.noCache())
+                .body(travelMapService.getUserMap(userId));
+    }
+
+    @GetMapping("/my-map")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Obtener mi mapa compacto", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<TravelMapDTO> getMyMap(
+            @AuthenticationPrincipal UserDetails userDetails,
+            WebRequest webRequest) {
+        return getUserMap(getUserId(userDetails), webRequest);
+    }
+
+    @GetMapping("/heatmap")
+    @Operation(summary = "Obtener el mapa de calor de visitantes por país")
+    public ResponseEntity<TravelHeatmapDTO> getHeatmap(WebRequest webRequest) {
+        String version = travelMapService.getHeatmapVersion();
+        if (webRequest.checkNotModified(version)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(version)
+                .cacheControl(CacheControl.noCache())
+                .body(travelMapService.getHeatmap());
+    }
+
     @GetMapping("/ranking")
     @Operation(summary = "Obtener ranking de viajeros")
     public ResponseEntity<List<TravelStatsDTO>> getTravelersRanking(
@@ -0,0 +1,28 @@
+package com.forumviajeros.backend.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Página de resultados con paginación por cursor: sin total ni número de
+ * página, solo el cursor para pedir la siguiente
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+
+    /** Elementos de la página */
+    private List<T> items;
+
+    /** Cursor para la siguiente página; null si no hay más */
+    private String nextCursor;
+
+    /** Indica si hay más elementos tras esta página */
+    private boolean hasMore;
+}
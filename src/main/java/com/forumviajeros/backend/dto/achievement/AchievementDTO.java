@@ -0,0 +1,36 @@
+package com.forumviajeros.backend.dto.achievement;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de un logro concedido
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AchievementDTO {
+
+    /** Código de la regla */
+    private String code;
+
+    /** Texto a mostrar (con emoji) */
+    private String label;
+
+    /** BADGE o LEVEL */
+    private String category;
+
+    /** Métrica de la regla */
+    private String metric;
+
+    /** Umbral alcanzado */
+    private Integer threshold;
+
+    /** Fecha de concesión */
+    private LocalDateTime awardedAt;
+}
@@ -0,0 +1,30 @@
+package com.forumviajeros.backend.dto.achievement;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con los logros persistidos de un usuario
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserAchievementsDTO {
+
+    /** ID del usuario */
+    private Long userId;
+
+    /** Nivel de viajero (regla LEVEL de mayor umbral concedida) */
+    private String travelerLevel;
+
+    /** Etiquetas de los badges en orden de catálogo */
+    private List<String> badges;
+
+    /** Detalle de todos los logros en orden de concesión */
+    private List<AchievementDTO> achievements;
+}
@@ -19,4 +19,7 @@ public class CommentRequestDTO {
 
     @NotNull(message = "La publicación del comentario es obligatoria")
     private Long postId;
+
+    /** Comentario al que responde; null si es de primer nivel */
+    private Long parentId;
 }
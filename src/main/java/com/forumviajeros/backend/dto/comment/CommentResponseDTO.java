@@ -17,4 +17,6 @@ public class CommentResponseDTO {
     private String status;
     private String createdAt;
     private String updatedAt;
+    private Long parentId;
+    private Integer depth;
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.forumviajeros.backend.dto.comment;
+
+import com.forumviajeros.backend.dto.CursorPageDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Comentario de primer nivel con las primeras respuestas de su hilo; el
+ * cursor de replies pide las siguientes
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentThreadDTO {
+    private CommentResponseDTO comment;
+    private CursorPageDTO<CommentResponseDTO> replies;
+}
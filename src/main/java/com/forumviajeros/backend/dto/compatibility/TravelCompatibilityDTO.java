@@ -0,0 +1,35 @@
+package com.forumviajeros.backend.dto.compatibility;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con la compatibilidad de viaje entre el usuario actual y otro usuario
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TravelCompatibilityDTO {
+
+    private Long userId;
+    private String username;
+    private String profileImageUrl;
+
+    /** Índice de Jaccard entre los países conocidos de ambos (0-1) */
+    private Double jaccard;
+
+    /** Fracción de mi lista de deseos que el otro usuario ya conoce (0-1) */
+    private Double wishlistMatch;
+
+    /** Puntuación combinada usada para ordenar (0-1) */
+    private Double score;
+
+    /** Países conocidos en común */
+    private Integer sharedCountries;
+
+    /** Países de mi lista de deseos que el otro usuario conoce */
+    private Integer wishlistCountriesKnown;
+}
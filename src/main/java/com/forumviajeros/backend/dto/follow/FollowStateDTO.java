@@ -0,0 +1,21 @@
+package com.forumviajeros.backend.dto.follow;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Relación de seguimiento entre el usuario actual y otro usuario, con sus contadores
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FollowStateDTO {
+    private Long userId;
+    private Boolean isFollowedByMe;
+    private Boolean isFollowingMe;
+    private Long followersCount;
+    private Long followingCount;
+}
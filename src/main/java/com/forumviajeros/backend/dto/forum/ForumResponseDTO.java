@@ -30,5 +30,9 @@ public class ForumResponseDTO {
 
     private String updatedAt;
 
+    /**
+     * URL absoluta de la imagen del foro (GET /api/images/{fichero}), con el
+     * mismo formato en listados, detalle, creación y edición; null si no tiene
+     */
     private String imagePath;
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.forumviajeros.backend.dto.geo;
+
+import com.forumviajeros.backend.dto.country.CountrySummaryDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con un país cercano y su distancia al punto de referencia
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyCountryDTO {
+
+    private CountrySummaryDTO country;
+
+    /** Distancia entre centroides en kilómetros */
+    private Double distanceKm;
+
+    /** Código ISO del país de referencia desde el que se mide la distancia */
+    private String referenceIsoCode;
+}
@@ -0,0 +1,28 @@
+package com.forumviajeros.backend.dto.geo;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con un viajero que ha visitado países cercanos a la lista de deseos de otro usuario
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyTravelerDTO {
+
+    private Long userId;
+    private String username;
+    private String profileImageUrl;
+
+    /** Número de países cercanos a la lista de deseos que ha visitado */
+    private Integer matchingCountries;
+
+    /** Códigos ISO de esos países */
+    private List<String> matchingIsoCodes;
+}
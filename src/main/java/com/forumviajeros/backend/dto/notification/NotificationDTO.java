@@ -0,0 +1,23 @@
+package com.forumviajeros.backend.dto.notification;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationDTO {
+
+    private Long id;
+    private String tipo;
+    private Long referenciaId;
+    private Long actorId;
+    private Integer actorCount;
+    private Boolean leido;
+    private LocalDateTime fecha;
+}
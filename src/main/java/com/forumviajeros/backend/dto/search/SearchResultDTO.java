@@ -0,0 +1,27 @@
+package com.forumviajeros.backend.dto.search;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de búsqueda. snippet es HTML escapado con las coincidencias
+ * marcadas con &lt;mark&gt;.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultDTO {
+    private String type;
+    private Long id;
+    private String title;
+    private String snippet;
+    private Long forumId;
+    private Long postId;
+    private Float score;
+    private LocalDateTime createdAt;
+}
@@ -34,6 +34,10 @@ public class UserResponseDTO {
 
     private Long commentCount;
 
+    private Long followersCount;
+
+    private Long followingCount;
+
     private String createdAt;
 
     private String updatedAt;
@@ -0,0 +1,27 @@
+package com.forumviajeros.backend.dto.visitedplace;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con el número de viajeros distintos que han visitado cada país
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TravelHeatmapDTO {
+
+    /** Versión del mapa de calor (la misma que se envía como ETag) */
+    private String version;
+
+    /** Código ISO alpha-2 -> número de usuarios que lo han visitado */
+    private Map<String, Long> visitorsByCountry;
+
+    /** Máximo de visitantes de un país (para escalar colores) */
+    private Long maxVisitors;
+}
@@ -0,0 +1,29 @@
+package com.forumviajeros.backend.dto.visitedplace;
+
+import java.util.Map;
+
+import com.forumviajeros.backend.model.VisitedPlace.PlaceStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO compacto para pintar el mapa de viajes de un usuario: un estado por país
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TravelMapDTO {
+
+    /** ID del usuario */
+    private Long userId;
+
+    /** Versión del mapa (la misma que se envía como ETag) */
+    private String version;
+
+    /** Código ISO alpha-2 -> estado predominante del país */
+    private Map<String, PlaceStatus> countries;
+}
@@ -3,6 +3,8 @@ package com.forumviajeros.backend.dto.visitedplace;
 import java.util.List;
 import java.util.Map;
 
+import com.forumviajeros.backend.service.achievement.AchievementRule;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -75,15 +77,7 @@ public class TravelStatsDTO {
      * Calcula el nivel de viajero basado en países visitados
      */
     public static String calculateTravelerLevel(int countriesVisited) {
-        if (countriesVisited >= 100) return "🌟 Leyenda Viajera";
-        if (countriesVisited >= 75) return "🏆 Maestro Explorador";
-        if (countriesVisited >= 50) return "🎖️ Trotamundos";
-        if (countriesVisited >= 30) return "🌍 Viajero Experto";
-        if (countriesVisited >= 20) return "✈️ Aventurero";
-        if (countriesVisited >= 10) return "🎒 Explorador";
-        if (countriesVisited >= 5) return "🗺️ Turista";
-        if (countriesVisited >= 1) return "👣 Principiante";
-        return "🏠 Soñador";
+        return AchievementRule.travelerLevelFor(countriesVisited);
     }
 }
 
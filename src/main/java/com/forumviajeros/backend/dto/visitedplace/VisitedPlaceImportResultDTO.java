@@ -0,0 +1,33 @@
+package com.forumviajeros.backend.dto.visitedplace;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con el resultado de una importación masiva de lugares
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VisitedPlaceImportResultDTO {
+
+    /** Filas leídas (sin contar la cabecera CSV) */
+    private Integer totalRows;
+
+    /** Lugares insertados */
+    private Integer imported;
+
+    /** Filas omitidas por estar ya registradas (o repetidas en el propio fichero) */
+    private Integer duplicates;
+
+    /** Filas rechazadas por datos inválidos */
+    private Integer rejected;
+
+    /** Detalle de las primeras filas rechazadas */
+    private List<String> errors;
+}
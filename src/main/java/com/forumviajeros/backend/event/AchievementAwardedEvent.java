@@ -0,0 +1,30 @@
+package com.forumviajeros.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Evento publicado al conceder un logro a un usuario, dentro de la misma
+ * transacción en la que se persiste.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class AchievementAwardedEvent {
+
+    /** Usuario que recibe el logro */
+    private final Long userId;
+
+    /** ID del registro UserAchievement */
+    private final Long achievementId;
+
+    /** Código de la regla cumplida */
+    private final String code;
+
+    /**
+     * true si el logro se concede en un recálculo retroactivo: no se notifica
+     * al usuario
+     */
+    private final boolean backfill;
+}
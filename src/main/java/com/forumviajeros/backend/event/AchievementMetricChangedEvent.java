@@ -0,0 +1,24 @@
+package com.forumviajeros.backend.event;
+
+import com.forumviajeros.backend.service.achievement.AchievementMetric;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Evento publicado cuando cambia un contador del que dependen reglas de
+ * logros (nivel de trivia, publicaciones creadas...). Los listeners lo reciben
+ * tras el commit de la transacción.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class AchievementMetricChangedEvent {
+
+    /** Usuario cuyo contador ha cambiado */
+    private final Long userId;
+
+    /** Métrica afectada */
+    private final AchievementMetric metric;
+}
@@ -0,0 +1,31 @@
+package com.forumviajeros.backend.event;
+
+import com.forumviajeros.backend.service.trending.EngagementType;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Interacción con un post (like, comentario, visita) o visita a un foro. Lo
+ * consume el índice de tendencias tras el commit; para un foro postId es null.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class EngagementRecordedEvent {
+
+    private final EngagementType type;
+
+    private final Long postId;
+
+    private final Long forumId;
+
+    public static EngagementRecordedEvent onPost(EngagementType type, Long postId) {
+        return new EngagementRecordedEvent(type, postId, null);
+    }
+
+    public static EngagementRecordedEvent onForum(Long forumId) {
+        return new EngagementRecordedEvent(EngagementType.VIEW, null, forumId);
+    }
+}
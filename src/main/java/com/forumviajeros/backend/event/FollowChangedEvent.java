@@ -0,0 +1,24 @@
+package com.forumviajeros.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Evento publicado cuando un usuario empieza o deja de seguir a otro. Los
+ * listeners lo reciben tras el commit de la transacción.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class FollowChangedEvent {
+
+    /** Usuario que sigue */
+    private final Long followerId;
+
+    /** Usuario seguido */
+    private final Long followedId;
+
+    /** true si se ha creado el seguimiento, false si se ha eliminado */
+    private final boolean following;
+}
@@ -0,0 +1,23 @@
+package com.forumviajeros.backend.event;
+
+import com.forumviajeros.backend.dto.message.MessageResponseDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Evento publicado al enviar un mensaje privado. Los listeners lo reciben
+ * tras el commit de la transacción.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class MessageSentEvent {
+
+    /** Destinatario del mensaje */
+    private final Long recipientId;
+
+    /** Mensaje tal y como lo ve el destinatario */
+    private final MessageResponseDTO message;
+}
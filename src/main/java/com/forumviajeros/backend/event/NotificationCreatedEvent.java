@@ -0,0 +1,32 @@
+package com.forumviajeros.backend.event;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Evento publicado cuando se escribe una notificación, nueva o agrupada con
+ * una anterior. Se publica después de confirmar la escritura.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class NotificationCreatedEvent {
+
+    /** Usuario que recibe la notificación */
+    private final Long userId;
+
+    private final String tipo;
+
+    private final Long referenciaId;
+
+    /** Último usuario que la generó */
+    private final Long actorId;
+
+    /** Acciones agrupadas en esta escritura */
+    private final int actorCount;
+
+    private final LocalDateTime fecha;
+}
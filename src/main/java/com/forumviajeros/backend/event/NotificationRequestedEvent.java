@@ -0,0 +1,25 @@
+package com.forumviajeros.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Petición de notificación publicada por la acción que la origina. Tras el
+ * commit se encola y se escribe por lotes, agrupando las repetidas.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class NotificationRequestedEvent {
+
+    /** Usuario que recibe la notificación */
+    private final Long recipientId;
+
+    /** Usuario que la genera (null si no hay actor, p. ej. logros) */
+    private final Long actorId;
+
+    private final String tipo;
+
+    private final Long referenciaId;
+}
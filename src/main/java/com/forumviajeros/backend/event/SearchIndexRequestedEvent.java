@@ -0,0 +1,23 @@
+package com.forumviajeros.backend.event;
+
+import com.forumviajeros.backend.service.search.SearchDocumentType;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Evento publicado al crear, editar, cambiar de estado o borrar contenido
+ * buscable. Se guarda en el outbox dentro de la transacción del cambio, así
+ * que hay que publicarlo desde un método transaccional. Solo identifica la
+ * entidad: el indexador la vuelve a leer y decide si indexarla o retirarla.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class SearchIndexRequestedEvent {
+
+    private final SearchDocumentType type;
+
+    private final Long id;
+}
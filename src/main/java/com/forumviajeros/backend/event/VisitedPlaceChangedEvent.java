@@ -0,0 +1,30 @@
+package com.forumviajeros.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Evento publicado cuando un usuario agrega, modifica o elimina un lugar de su
+ * mapa de viajes. Los listeners lo reciben tras el commit de la transacción.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class VisitedPlaceChangedEvent {
+
+    /** Usuario propietario del lugar */
+    private final Long userId;
+
+    /** País afectado */
+    private final Long countryId;
+
+    /** Código ISO alpha-2 del país afectado */
+    private final String isoCode;
+
+    /**
+     * Variación del número de visitantes distintos del país: +1 si el usuario
+     * pasa a tenerlo como visitado, -1 si deja de tenerlo, 0 en otro caso
+     */
+    private final int visitorDelta;
+}
@@ -1,5 +1,7 @@
 package com.forumviajeros.backend.model;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -8,6 +10,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -21,7 +24,12 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+    @Index(name = "idx_comments_post", columnList = "post_id"),
+    @Index(name = "idx_comments_post_roots", columnList = "post_id, depth, created_at, id"),
+    @Index(name = "idx_comments_thread", columnList = "root_id, path"),
+    @Index(name = "idx_comments_parent", columnList = "parent_id")
+})
 public class Comment extends Auditable {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -42,6 +50,25 @@ public class Comment extends Auditable {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    /**
+     * Posición en el hilo de respuestas (ver CommentPath). Son columnas
+     * simples, sin clave foránea entre comentarios, para que los borrados en
+     * cascada de posts y usuarios no dependan del orden de las filas.
+     */
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    /** Comentario de primer nivel del hilo; en las raíces, el propio id */
+    @Column(name = "root_id")
+    private Long rootId;
+
+    @Column(name = "path", length = 255)
+    private String path;
+
+    @Column(name = "depth", nullable = false)
+    @ColumnDefault("0")
+    private Integer depth = 0;
+
     public enum CommentStatus {
         ACTIVE, EDITED, DELETED, HIDDEN
     }
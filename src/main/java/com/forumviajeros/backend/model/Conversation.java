@@ -0,0 +1,208 @@
+package com.forumviajeros.backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Índice de conversaciones privadas: una fila por par de usuarios ordenado
+ * (userLow.id < userHigh.id) con la instantánea del último mensaje y la marca
+ * de lectura de cada participante. Los no leídos se calculan restando a los
+ * mensajes enviados por el otro los que cubre la marca, así que marcar como
+ * leída una conversación es una escritura de una sola fila. Se mantiene en la
+ * misma transacción que los mensajes.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "conversations", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"user_low_id", "user_high_id"})
+}, indexes = {
+    @Index(name = "idx_conversations_low_last", columnList = "user_low_id, last_message_at, id"),
+    @Index(name = "idx_conversations_high_last", columnList = "user_high_id, last_message_at, id")
+})
+public class Conversation {
+
+    public static final int PREVIEW_LENGTH = 50;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_low_id", nullable = false)
+    private User userLow;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_high_id", nullable = false)
+    private User userHigh;
+
+    @Column(name = "last_message_id")
+    private Long lastMessageId;
+
+    @Column(name = "last_message_preview", length = PREVIEW_LENGTH + 3)
+    private String lastMessagePreview;
+
+    @Column(name = "last_sender_id")
+    private Long lastSenderId;
+
+    @Column(name = "last_message_at", nullable = false)
+    private LocalDateTime lastMessageAt;
+
+    // Mensajes enviados por cada participante que siguen existiendo
+    @Column(name = "sent_by_low", nullable = false)
+    @Builder.Default
+    private Integer sentByLow = 0;
+
+    @Column(name = "sent_by_high", nullable = false)
+    @Builder.Default
+    private Integer sentByHigh = 0;
+
+    // Marca de lectura de cada participante: último mensaje leído, cuántos
+    // mensajes del otro cubre y cuándo se fijó
+    @Column(name = "last_read_low_id")
+    private Long lastReadLowId;
+
+    @Column(name = "last_read_high_id")
+    private Long lastReadHighId;
+
+    @Column(name = "read_by_low", nullable = false)
+    @Builder.Default
+    private Integer readByLow = 0;
+
+    @Column(name = "read_by_high", nullable = false)
+    @Builder.Default
+    private Integer readByHigh = 0;
+
+    @Column(name = "last_read_low_at")
+    private LocalDateTime lastReadLowAt;
+
+    @Column(name = "last_read_high_at")
+    private LocalDateTime lastReadHighAt;
+
+    /**
+     * Crea la conversación vacía para dos usuarios, colocándolos en orden de id
+     */
+    public static Conversation between(User a, User b) {
+        boolean aIsLow = a.getId() < b.getId();
+        return Conversation.builder()
+                .userLow(aIsLow ? a : b)
+                .userHigh(aIsLow ? b : a)
+                .build();
+    }
+
+    public User getParticipant(Long userId) {
+        return isLow(userId) ? userHigh : userLow;
+    }
+
+    private boolean isLow(Long userId) {
+        return userLow.getId().equals(userId);
+    }
+
+    /**
+     * Mensajes del otro participante posteriores a la marca de lectura del usuario
+     */
+    public int getUnreadFor(Long userId) {
+        return Math.max(0, isLow(userId) ? sentByHigh - readByLow : sentByLow - readByHigh);
+    }
+
+    public Long getLastReadIdFor(Long userId) {
+        return isLow(userId) ? lastReadLowId : lastReadHighId;
+    }
+
+    public LocalDateTime getLastReadAtFor(Long userId) {
+        return isLow(userId) ? lastReadLowAt : lastReadHighAt;
+    }
+
+    /**
+     * Un mensaje está leído si su id no supera la marca de lectura de su destinatario
+     */
+    public boolean isReadBy(Long recipientId, Long messageId) {
+        Long watermark = getLastReadIdFor(recipientId);
+        return watermark != null && messageId != null && messageId <= watermark;
+    }
+
+    public void registerSent(Long senderId) {
+        if (isLow(senderId)) {
+            sentByLow++;
+        } else {
+            sentByHigh++;
+        }
+    }
+
+    /**
+     * Deshace un mensaje borrado; si ya estaba leído también sale de la marca
+     */
+    public void unregisterSent(Long senderId, Long recipientId, Long messageId) {
+        boolean wasRead = isReadBy(recipientId, messageId);
+        if (isLow(senderId)) {
+            sentByLow = Math.max(0, sentByLow - 1);
+            if (wasRead) readByHigh = Math.max(0, readByHigh - 1);
+        } else {
+            sentByHigh = Math.max(0, sentByHigh - 1);
+            if (wasRead) readByLow = Math.max(0, readByLow - 1);
+        }
+    }
+
+    /**
+     * Mueve la marca de lectura del usuario hasta el último mensaje
+     */
+    public void markReadBy(Long userId, LocalDateTime at) {
+        if (isLow(userId)) {
+            lastReadLowId = lastMessageId;
+            readByLow = sentByHigh;
+            lastReadLowAt = at;
+        } else {
+            lastReadHighId = lastMessageId;
+            readByHigh = sentByLow;
+            lastReadHighAt = at;
+        }
+    }
+
+    /**
+     * Fija la marca de lectura del usuario en un mensaje concreto, con los
+     * mensajes del otro que cubre (al reconstruir el índice)
+     */
+    public void restoreReadMark(Long userId, Long lastReadId, int covered, LocalDateTime at) {
+        if (isLow(userId)) {
+            lastReadLowId = lastReadId;
+            readByLow = covered;
+            lastReadLowAt = at;
+        } else {
+            lastReadHighId = lastReadId;
+            readByHigh = covered;
+            lastReadHighAt = at;
+        }
+    }
+
+    /**
+     * Actualiza la instantánea del último mensaje
+     */
+    public void applyLastMessage(PrivateMessage message) {
+        lastMessageId = message.getId();
+        lastMessagePreview = preview(message.getContent());
+        lastSenderId = message.getSender().getId();
+        lastMessageAt = message.getSentAt();
+    }
+
+    public static String preview(String content) {
+        if (content == null) return "";
+        return content.length() > PREVIEW_LENGTH ? content.substring(0, PREVIEW_LENGTH) + "..." : content;
+    }
+}
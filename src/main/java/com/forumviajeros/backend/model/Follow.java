@@ -8,6 +8,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -24,6 +25,9 @@ import lombok.NoArgsConstructor;
 @Entity
 @Table(name = "follows", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"follower_id", "followed_id"})
+}, indexes = {
+    @Index(name = "idx_follows_followed_created", columnList = "followed_id, created_at, id"),
+    @Index(name = "idx_follows_follower_created", columnList = "follower_id, created_at, id")
 })
 public class Follow {
     @Id
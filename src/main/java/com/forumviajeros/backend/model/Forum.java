@@ -4,6 +4,8 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -66,9 +68,22 @@ public class Forum {
     @JoinTable(name = "forum_tags", joinColumns = @JoinColumn(name = "forum_id"), inverseJoinColumns = @JoinColumn(name = "tag_id"))
     private List<Tag> tags = new ArrayList<>();
 
-    @Column(name = "view_count", nullable = false)
+    /**
+     * Visitas. Las escribe ViewCounter con incrementos por lotes; al guardar
+     * la entidad no se toca para no pisar los volcados concurrentes.
+     */
+    @Column(name = "view_count", nullable = false, updatable = false)
     private Long viewCount = 0L;
 
+    /**
+     * Número de posts del foro, desnormalizado. Solo se modifica con
+     * incrementos atómicos en base de datos (ForumRepository), nunca al
+     * guardar la entidad.
+     */
+    @Column(name = "post_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Long postCount = 0L;
+
     @Column(name = "image_path")
     private String imagePath;
 
@@ -87,6 +102,9 @@ public class Forum {
         if (this.viewCount == null) {
             this.viewCount = 0L;
         }
+        if (this.postCount == null) {
+            this.postCount = 0L;
+        }
         if (this.status == null) {
             this.status = ForumStatus.ACTIVE;
         }
@@ -0,0 +1,72 @@
+package com.forumviajeros.backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Bloque de mensajes privados archivados de una conversación: un tramo
+ * contiguo del historial, en orden (sent_at, id), serializado a JSON y
+ * comprimido con deflate. Sale de private_messages para que la tabla caliente
+ * y sus índices se mantengan pequeños.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "message_archive_blocks", indexes = {
+    @Index(name = "idx_message_archive_pair_last", columnList = "user_low_id, user_high_id, last_sent_at, last_message_id")
+})
+public class MessageArchiveBlock {
+
+    /** Tamaño máximo del bloque comprimido */
+    public static final int MAX_PAYLOAD_BYTES = 4 * 1024 * 1024;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_low_id", nullable = false)
+    private Long userLowId;
+
+    @Column(name = "user_high_id", nullable = false)
+    private Long userHighId;
+
+    @Column(name = "first_message_id", nullable = false)
+    private Long firstMessageId;
+
+    @Column(name = "last_message_id", nullable = false)
+    private Long lastMessageId;
+
+    @Column(name = "first_sent_at", nullable = false)
+    private LocalDateTime firstSentAt;
+
+    @Column(name = "last_sent_at", nullable = false)
+    private LocalDateTime lastSentAt;
+
+    @Column(name = "message_count", nullable = false)
+    private Integer messageCount;
+
+    /** Mensajes del bloque enviados por user_low; null en bloques anteriores a la columna */
+    @Column(name = "sent_by_low")
+    private Integer sentByLow;
+
+    // bytea explícito: con length Hibernate genera blob en H2, que en modo PostgreSQL no existe
+    @Column(nullable = false, length = MAX_PAYLOAD_BYTES, columnDefinition = "BYTEA")
+    private byte[] payload;
+
+    @Column(name = "archived_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime archivedAt = LocalDateTime.now();
+}
@@ -2,18 +2,25 @@ package com.forumviajeros.backend.model;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+    @Index(name = "idx_notifications_user_fecha", columnList = "user_id, fecha, id"),
+    @Index(name = "idx_notifications_user_leido_fecha", columnList = "user_id, leido, fecha"),
+    @Index(name = "idx_notifications_leido_fecha", columnList = "leido, fecha")
+})
 public class Notification {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -35,6 +42,15 @@ public class Notification {
     @Column(nullable = false)
     private LocalDateTime fecha = LocalDateTime.now();
 
+    // Último usuario que generó la notificación
+    @Column(name = "actor_id")
+    private Long actorId;
+
+    // Número de usuarios distintos agrupados ("X y 57 más"), ver NotificationActor
+    @Column(name = "actor_count", nullable = false)
+    @ColumnDefault("1")
+    private int actorCount = 1;
+
     // Getters y setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -48,4 +64,8 @@ public class Notification {
     public void setLeido(boolean leido) { this.leido = leido; }
     public LocalDateTime getFecha() { return fecha; }
     public void setFecha(LocalDateTime fecha) { this.fecha = fecha; }
+    public Long getActorId() { return actorId; }
+    public void setActorId(Long actorId) { this.actorId = actorId; }
+    public int getActorCount() { return actorCount; }
+    public void setActorCount(int actorCount) { this.actorCount = actorCount; }
 }
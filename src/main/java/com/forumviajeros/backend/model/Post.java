@@ -4,6 +4,8 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -13,6 +15,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
@@ -29,7 +32,10 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+    // Listado de un foro por cursor: filtro por estado y orden (created_at, id)
+    @Index(name = "idx_posts_forum_status_created", columnList = "forum_id, status, created_at, id")
+})
 public class Post {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -69,9 +75,22 @@ public class Post {
     @JoinTable(name = "post_tags", joinColumns = @JoinColumn(name = "post_id"), inverseJoinColumns = @JoinColumn(name = "tag_id"))
     private List<Tag> tags = new ArrayList<>();
 
-    @Column(name = "view_count", nullable = false)
+    /**
+     * Visitas. Las escribe ViewCounter con incrementos por lotes; al guardar
+     * la entidad no se toca para no pisar los volcados concurrentes.
+     */
+    @Column(name = "view_count", nullable = false, updatable = false)
     private Long viewCount = 0L;
 
+    /**
+     * Número de comentarios del post, desnormalizado. Solo se modifica con
+     * incrementos atómicos en base de datos (PostRepository), nunca al
+     * guardar la entidad.
+     */
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Long commentCount = 0L;
+
     public enum PostStatus {
         ACTIVE, INACTIVE, ARCHIVED
     }
@@ -80,6 +99,9 @@ public class Post {
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
+        if (this.commentCount == null) {
+            this.commentCount = 0L;
+        }
     }
 
     @PreUpdate
@@ -8,8 +8,10 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -21,7 +23,12 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "private_messages")
+@Table(name = "private_messages", indexes = {
+    // Mensajes de un sentido (recuentos por remitente y destinatario)
+    @Index(name = "idx_private_messages_pair_sent", columnList = "sender_id, recipient_id, sent_at, id"),
+    // Conversación completa (los dos sentidos) en orden cronológico
+    @Index(name = "idx_private_messages_conversation_sent", columnList = "pair_low_id, pair_high_id, sent_at, id")
+})
 public class PrivateMessage {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -42,10 +49,21 @@ public class PrivateMessage {
     @Builder.Default
     private LocalDateTime sentAt = LocalDateTime.now();
 
-    @Column(name = "read_at")
-    private LocalDateTime readAt;
+    // Par ordenado (menor id, mayor id) de la conversación, para leerla con un
+    // único rango del índice en lugar de un OR sobre los dos sentidos.
+    // Admite nulos solo para las filas anteriores, que rellena MessagePairBackfill
+    @Column(name = "pair_low_id")
+    private Long pairLowId;
+
+    @Column(name = "pair_high_id")
+    private Long pairHighId;
+
+    // El estado de lectura se deriva de la marca de lectura de la conversación
+
+    @PrePersist
+    void assignPair() {
+        pairLowId = Math.min(sender.getId(), recipient.getId());
+        pairHighId = Math.max(sender.getId(), recipient.getId());
+    }
 
-    @Column(name = "is_read", nullable = false)
-    @Builder.Default
-    private Boolean isRead = false;
 }
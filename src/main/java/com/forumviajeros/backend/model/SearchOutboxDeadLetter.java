@@ -0,0 +1,64 @@
+package com.forumviajeros.backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cambio del outbox de búsqueda que agotó sus intentos.
+ *
+ * El relay lo saca del outbox para que no bloquee a los demás y lo deja aquí
+ * con el último error, a la espera de revisarlo y reindexar la entidad.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "search_outbox_dead_letters")
+public class SearchOutboxDeadLetter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // FORUM, POST o COMMENT
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private String entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    // Cuándo se escribió la entrada original en el outbox
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "failed_at", nullable = false)
+    private LocalDateTime failedAt;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    public static SearchOutboxDeadLetter of(SearchOutboxEntry entry, int attempts, String lastError) {
+        return SearchOutboxDeadLetter.builder()
+                .entityType(entry.getEntityType())
+                .entityId(entry.getEntityId())
+                .createdAt(entry.getCreatedAt() != null ? entry.getCreatedAt() : LocalDateTime.now())
+                .failedAt(LocalDateTime.now())
+                .attempts(attempts)
+                .lastError(lastError != null && lastError.length() > 1000 ? lastError.substring(0, 1000) : lastError)
+                .build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.forumviajeros.backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cambio pendiente de llevar al índice de búsqueda (outbox transaccional).
+ *
+ * Se inserta en la misma transacción que el cambio de la entidad, así que no
+ * se pierde aunque el proceso caiga antes de indexar. El relay lo borra
+ * cuando el índice ya refleja el estado actual de la entidad.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "search_outbox")
+public class SearchOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // FORUM, POST o COMMENT
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private String entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Intentos fallidos; al llegar al máximo pasa a la tabla de fallidos
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+}
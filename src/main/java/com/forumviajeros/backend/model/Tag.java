@@ -3,6 +3,8 @@ package com.forumviajeros.backend.model;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -32,4 +34,17 @@ public class Tag {
 
     @ManyToMany(mappedBy = "tags")
     private List<Post> posts = new ArrayList<>();
+
+    /**
+     * Foros y posts con la etiqueta, desnormalizados para listar sin tocar las
+     * tablas de unión. Solo se modifican con incrementos atómicos
+     * (TagRepository) y los corrige la reconciliación periódica.
+     */
+    @Column(name = "forum_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Long forumCount = 0L;
+
+    @Column(name = "post_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Long postCount = 0L;
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -85,6 +86,41 @@ public class User {
     @Builder.Default
     private List<Comment> comments = new ArrayList<>();
 
+    /**
+     * Contadores de seguimiento desnormalizados. Solo se modifican con
+     * incrementos atómicos en base de datos (UserRepository), nunca al guardar
+     * la entidad, para que un save con datos antiguos no los pise.
+     */
+    @Column(name = "followers_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long followersCount = 0L;
+
+    @Column(name = "following_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long followingCount = 0L;
+
+    /**
+     * Contadores de actividad (foros, posts y comentarios creados), con las
+     * mismas reglas que los de seguimiento: incrementos atómicos en
+     * UserRepository y reconciliación periódica.
+     */
+    @Column(name = "forum_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long forumCount = 0L;
+
+    @Column(name = "post_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long postCount = 0L;
+
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long commentCount = 0L;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -16,6 +16,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -36,6 +37,8 @@ import lombok.NoArgsConstructor;
 @Entity
 @Table(name = "visited_places", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"user_id", "country_id", "city_name"})
+}, indexes = {
+    @Index(name = "idx_visited_places_country_status", columnList = "country_id, status")
 })
 @EntityListeners(AuditingEntityListener.class)
 public class VisitedPlace {
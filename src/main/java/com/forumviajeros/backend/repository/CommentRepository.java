@@ -1,16 +1,26 @@
 package com.forumviajeros.backend.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.forumviajeros.backend.model.Comment;
 import com.forumviajeros.backend.model.Post;
 import com.forumviajeros.backend.model.User;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByUser(User user);
@@ -22,4 +32,78 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     Page<Comment> findByUser(User user, Pageable pageable);
 
     List<Comment> findByPostId(Long postId);
-}
\ No newline at end of file
+
+    /**
+     * Todos los comentarios (con su post) en orden de id, leídos con cursor para la reindexación
+     * completa. Hay que consumirlo dentro de una transacción y cerrarlo.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Comment c JOIN FETCH c.post ORDER BY c.id")
+    Stream<Comment> streamAllForIndexing();
+
+    /**
+     * Primera página de comentarios de primer nivel de un post, del más
+     * reciente al más antiguo, con su autor
+     */
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.post.id = :postId AND c.depth = 0 " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findRootPageFirst(@Param("postId") Long postId, Pageable pageable);
+
+    /**
+     * Comentarios de primer nivel estrictamente anteriores al cursor (createdAt, id)
+     */
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.post.id = :postId AND c.depth = 0 " +
+           "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findRootPageBefore(@Param("postId") Long postId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    /**
+     * Respuestas de un subárbol en orden de hilo: rango de rutas (after, upper)
+     * dentro del hilo rootId, resuelto con el índice (root_id, path)
+     */
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.rootId = :rootId " +
+           "AND c.path > :after AND c.path < :upper ORDER BY c.path")
+    List<Comment> findThreadRange(@Param("rootId") Long rootId,
+            @Param("after") String after,
+            @Param("upper") String upper,
+            Pageable pageable);
+
+    /**
+     * Primeras respuestas de varios hilos en una sola consulta: como mucho
+     * perThread por raíz, numeradas por hilo en orden de ruta sobre el índice
+     * (root_id, path), y devueltas agrupadas por hilo en orden de hilo
+     */
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.id IN (" +
+           "SELECT r.id FROM (SELECT t.id AS id, " +
+           "ROW_NUMBER() OVER (PARTITION BY t.rootId ORDER BY t.path) AS rn " +
+           "FROM Comment t WHERE t.rootId IN :rootIds AND t.id <> t.rootId) r " +
+           "WHERE r.rn <= :perThread) " +
+           "ORDER BY c.rootId, c.path")
+    List<Comment> findFirstRepliesOfThreads(@Param("rootIds") Collection<Long> rootIds,
+            @Param("perThread") int perThread);
+
+    boolean existsByParentId(Long parentId);
+
+    // Comentarios anteriores a los hilos: pasan a ser raíces de su propio hilo
+    @Modifying
+    @Query(value = "UPDATE comments SET path = LPAD(CAST(id AS VARCHAR(19)), 19, '0'), root_id = id, depth = 0 " +
+           "WHERE path IS NULL",
+           nativeQuery = true)
+    int backfillRootPaths();
+
+    // Comentarios recientes para reconstruir el ranking de tendencias: [postId, createdAt]
+    @Query("SELECT c.post.id, c.createdAt FROM Comment c WHERE c.createdAt >= :since")
+    List<Object[]> findPostActivitySince(@Param("since") LocalDateTime since);
+
+    /**
+     * IDs de los comentarios de un usuario
+     */
+    @Query("SELECT c.id FROM Comment c WHERE c.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+}
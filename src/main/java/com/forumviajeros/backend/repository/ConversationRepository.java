@@ -0,0 +1,93 @@
+package com.forumviajeros.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.forumviajeros.backend.model.Conversation;
+
+import jakarta.persistence.LockModeType;
+
+/**
+ * Repositorio del índice de conversaciones privadas
+ */
+@Repository
+public interface ConversationRepository extends JpaRepository<Conversation, Long> {
+
+    /**
+     * Conversación de un par ordenado, bloqueada para actualizar contadores e instantánea
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Conversation c WHERE c.userLow.id = :lowId AND c.userHigh.id = :highId")
+    Optional<Conversation> findByPairForUpdate(@Param("lowId") Long lowId, @Param("highId") Long highId);
+
+    /**
+     * Crea la fila vacía del par si no existe. Con dos primeros mensajes
+     * simultáneos el segundo INSERT espera al primero y no hace nada, en lugar
+     * de fallar por la restricción única.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO conversations (user_low_id, user_high_id, last_message_at, " +
+           "sent_by_low, sent_by_high, read_by_low, read_by_high) " +
+           "VALUES (:lowId, :highId, :at, 0, 0, 0, 0) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("lowId") Long lowId, @Param("highId") Long highId, @Param("at") LocalDateTime at);
+
+    /**
+     * Conversación de un par ordenado, sin bloqueo (lectura de marcas)
+     */
+    @Query("SELECT c FROM Conversation c WHERE c.userLow.id = :lowId AND c.userHigh.id = :highId")
+    Optional<Conversation> findByPair(@Param("lowId") Long lowId, @Param("highId") Long highId);
+
+    // Bandeja por cursor (lastMessageAt DESC, id DESC). Cada lado del par es un
+    // rango de su índice con LIMIT; el servicio mezcla los dos en lugar de un OR
+    @Query("SELECT c FROM Conversation c JOIN FETCH c.userLow JOIN FETCH c.userHigh " +
+           "WHERE c.userLow.id = :userId ORDER BY c.lastMessageAt DESC, c.id DESC")
+    List<Conversation> findInboxAsLowFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT c FROM Conversation c JOIN FETCH c.userLow JOIN FETCH c.userHigh " +
+           "WHERE c.userLow.id = :userId " +
+           "AND (c.lastMessageAt < :at OR (c.lastMessageAt = :at AND c.id < :id)) " +
+           "ORDER BY c.lastMessageAt DESC, c.id DESC")
+    List<Conversation> findInboxAsLowBefore(@Param("userId") Long userId, @Param("at") LocalDateTime at,
+            @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT c FROM Conversation c JOIN FETCH c.userLow JOIN FETCH c.userHigh " +
+           "WHERE c.userHigh.id = :userId ORDER BY c.lastMessageAt DESC, c.id DESC")
+    List<Conversation> findInboxAsHighFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT c FROM Conversation c JOIN FETCH c.userLow JOIN FETCH c.userHigh " +
+           "WHERE c.userHigh.id = :userId " +
+           "AND (c.lastMessageAt < :at OR (c.lastMessageAt = :at AND c.id < :id)) " +
+           "ORDER BY c.lastMessageAt DESC, c.id DESC")
+    List<Conversation> findInboxAsHighBefore(@Param("userId") Long userId, @Param("at") LocalDateTime at,
+            @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Total de mensajes no leídos del usuario, derivado de las marcas de lectura
+     */
+    @Query("SELECT COALESCE(SUM(CASE WHEN c.userLow.id = :userId " +
+           "THEN c.sentByHigh - c.readByLow ELSE c.sentByLow - c.readByHigh END), 0) " +
+           "FROM Conversation c WHERE c.userLow.id = :userId OR c.userHigh.id = :userId")
+    Long sumUnreadByUserId(@Param("userId") Long userId);
+
+    /**
+     * Marcas de lectura vigentes y los mensajes que cubren, para conservarlas al
+     * reconstruir el índice: [readerId, senderId, lastReadId, lastReadAt, covered]
+     */
+    @Query(value = "SELECT w.reader_id, w.sender_id, w.last_read_id, w.last_read_at, " +
+           "(SELECT COUNT(*) FROM private_messages m WHERE m.sender_id = w.sender_id " +
+           "AND m.recipient_id = w.reader_id AND m.id <= w.last_read_id) " +
+           "FROM (SELECT user_low_id AS reader_id, user_high_id AS sender_id, last_read_low_id AS last_read_id, " +
+           "last_read_low_at AS last_read_at FROM conversations WHERE last_read_low_id IS NOT NULL " +
+           "UNION ALL SELECT user_high_id, user_low_id, last_read_high_id, last_read_high_at " +
+           "FROM conversations WHERE last_read_high_id IS NOT NULL) w", nativeQuery = true)
+    List<Object[]> findReadWatermarks();
+}
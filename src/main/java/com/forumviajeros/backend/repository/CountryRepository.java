@@ -93,5 +93,10 @@ public interface CountryRepository extends JpaRepository<Country, Long> {
      * Verifica si existe un país con el código ISO dado
      */
     boolean existsByIsoCode(String isoCode);
-}
 
+    /**
+     * Obtiene (id, código alpha-2, código alpha-3) de todos los países
+     */
+    @Query("SELECT c.id, c.isoCode, c.isoCode3 FROM Country c")
+    List<Object[]> findAllIsoCodes();
+}
@@ -1,5 +1,7 @@
 package com.forumviajeros.backend.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +25,27 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
     Page<Follow> findByFollowerOrderByCreatedAtDesc(User follower, Pageable pageable);
     Page<Follow> findByFollowedOrderByCreatedAtDesc(User followed, Pageable pageable);
 
+    // Paginación por cursor (created_at DESC, id DESC), sin COUNT
+    @Query("SELECT f FROM Follow f JOIN FETCH f.follower WHERE f.followed.id = :userId " +
+           "ORDER BY f.createdAt DESC, f.id DESC")
+    List<Follow> findFollowersFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT f FROM Follow f JOIN FETCH f.follower WHERE f.followed.id = :userId " +
+           "AND (f.createdAt < :createdAt OR (f.createdAt = :createdAt AND f.id < :id)) " +
+           "ORDER BY f.createdAt DESC, f.id DESC")
+    List<Follow> findFollowersBefore(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT f FROM Follow f JOIN FETCH f.followed WHERE f.follower.id = :userId " +
+           "ORDER BY f.createdAt DESC, f.id DESC")
+    List<Follow> findFollowingFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT f FROM Follow f JOIN FETCH f.followed WHERE f.follower.id = :userId " +
+           "AND (f.createdAt < :createdAt OR (f.createdAt = :createdAt AND f.id < :id)) " +
+           "ORDER BY f.createdAt DESC, f.id DESC")
+    List<Follow> findFollowingBefore(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Pageable pageable);
+
     // Conteos
     Long countByFollower(User follower);
     Long countByFollowed(User followed);
@@ -44,17 +67,14 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
            "WHERE f.follower = :user1 AND f.followed = :user2")
     boolean isFollowing(@Param("user1") User user1, @Param("user2") User user2);
 
-    // Seguidores mutuos (se siguen entre sí)
-    @Query("SELECT f1.followed FROM Follow f1 " +
-           "WHERE f1.follower = :user " +
-           "AND EXISTS (SELECT f2 FROM Follow f2 WHERE f2.follower = f1.followed AND f2.followed = :user)")
-    List<User> findMutualFollows(@Param("user") User user);
-
-    // Sugerencias de usuarios (seguidores de mis seguidores que no sigo)
-    @Query("SELECT DISTINCT f2.followed FROM Follow f1 " +
-           "JOIN Follow f2 ON f2.follower = f1.followed " +
-           "WHERE f1.follower = :user " +
-           "AND f2.followed <> :user " +
-           "AND NOT EXISTS (SELECT f3 FROM Follow f3 WHERE f3.follower = :user AND f3.followed = f2.followed)")
-    List<User> findSuggestedUsers(@Param("user") User user, Pageable pageable);
+    // Relaciones entre un usuario y un conjunto de usuarios, en ambos sentidos: pares (follower, followed)
+    @Query("SELECT f.follower.id, f.followed.id FROM Follow f " +
+           "WHERE (f.follower.id = :userId AND f.followed.id IN :targetIds) " +
+           "OR (f.followed.id = :userId AND f.follower.id IN :targetIds)")
+    List<Object[]> findFollowPairsBetween(@Param("userId") Long userId, @Param("targetIds") Collection<Long> targetIds);
+
+    // Todas las relaciones de un usuario, en ambos sentidos: pares (follower, followed)
+    @Query("SELECT f.follower.id, f.followed.id FROM Follow f " +
+           "WHERE f.follower.id = :userId OR f.followed.id = :userId")
+    List<Object[]> findFollowPairsOfUser(@Param("userId") Long userId);
 }
@@ -1,11 +1,18 @@
 package com.forumviajeros.backend.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,8 +20,18 @@ import com.forumviajeros.backend.model.Category;
 import com.forumviajeros.backend.model.Forum;
 import com.forumviajeros.backend.model.User;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface ForumRepository extends JpaRepository<Forum, Long> {
+
+    /**
+     * Columnas del modelo de lectura de listados: [id, title, description,
+     * categoryId, status, viewCount, postCount, createdAt, updatedAt, imagePath]
+     */
+    String SUMMARY_SELECT = "SELECT f.id, f.title, f.description, f.category.id, f.status, f.viewCount, " +
+            "f.postCount, f.createdAt, f.updatedAt, f.imagePath FROM Forum f";
+
     List<Forum> findByUser(User user);
 
     List<Forum> findByCategory(Category category);
@@ -25,9 +42,82 @@ public interface ForumRepository extends JpaRepository<Forum, Long> {
 
     Page<Forum> findByUser(User user, Pageable pageable);
 
-    @Query("SELECT f FROM Forum f WHERE f.title LIKE %:keyword% OR f.description LIKE %:keyword%")
-    Page<Forum> searchByKeyword(@Param("keyword") String keyword, Pageable pageable);
+    // Listados proyectados (ver SUMMARY_SELECT): no cargan entidades ni colecciones
+    @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(f) FROM Forum f")
+    Page<Object[]> findSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + " WHERE f.category.id = :categoryId",
+           countQuery = "SELECT COUNT(f) FROM Forum f WHERE f.category.id = :categoryId")
+    Page<Object[]> findSummariesByCategory(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + " WHERE f.user.id = :userId",
+           countQuery = "SELECT COUNT(f) FROM Forum f WHERE f.user.id = :userId")
+    Page<Object[]> findSummariesByUser(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " WHERE f.id IN :ids")
+    List<Object[]> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Etiquetas de varios foros en una sola consulta: [forumId, tagName]
+     */
+    @Query("SELECT f.id, t.name FROM Forum f JOIN f.tags t WHERE f.id IN :forumIds ORDER BY t.name")
+    List<Object[]> findTagNamesByForumIds(@Param("forumIds") Collection<Long> forumIds);
+
+    /**
+     * Foro con su categoría y etiquetas en una consulta, para el detalle
+     */
+    @EntityGraph(attributePaths = { "category", "tags" })
+    @Query("SELECT f FROM Forum f WHERE f.id = :id")
+    Optional<Forum> findDetailedById(@Param("id") Long id);
 
     @Query("SELECT f FROM Forum f JOIN f.tags t WHERE t.name = :tagName")
     Page<Forum> findByTagName(@Param("tagName") String tagName, Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Categoría de varios foros: [forumId, categoryId]
+     */
+    @Query("SELECT f.id, f.category.id FROM Forum f WHERE f.id IN :forumIds")
+    List<Object[]> findCategoryIdsByForumIds(@Param("forumIds") Collection<Long> forumIds);
+
+    /**
+     * Todos los foros en orden de id, leídos con cursor para la reindexación
+     * completa. Hay que consumirlo dentro de una transacción y cerrarlo.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT f FROM Forum f ORDER BY f.id")
+    Stream<Forum> streamAllForIndexing();
+
+    // Incremento atómico del contador de posts (SQL nativo: la columna no es actualizable desde la entidad)
+    @Modifying
+    @Query(value = "UPDATE forums SET post_count = post_count + :delta WHERE id = :forumId",
+           nativeQuery = true)
+    int incrementPostCount(@Param("forumId") Long forumId, @Param("delta") long delta);
+
+    // Recalcula desde posts los contadores que se hayan desviado; devuelve las filas corregidas
+    @Modifying
+    @Query(value = "UPDATE forums f SET " +
+           "post_count = (SELECT COUNT(*) FROM posts p WHERE p.forum_id = f.id) " +
+           "WHERE f.post_count <> (SELECT COUNT(*) FROM posts p WHERE p.forum_id = f.id)",
+           nativeQuery = true)
+    int reconcilePostCounts();
+
+    /**
+     * Descuenta a cada foro ajeno los posts de un usuario que se va a borrar
+     * (se van en cascada con él). Hay que llamarlo antes del borrado.
+     */
+    @Modifying
+    @Query(value = "UPDATE forums f SET post_count = post_count - " +
+           "(SELECT COUNT(*) FROM posts p WHERE p.forum_id = f.id AND p.user_id = :userId) " +
+           "WHERE f.user_id <> :userId AND f.id IN (SELECT p.forum_id FROM posts p WHERE p.user_id = :userId)",
+           nativeQuery = true)
+    int decrementPostCountsOfUser(@Param("userId") Long userId);
+
+    /**
+     * IDs de los foros de un usuario
+     */
+    @Query("SELECT f.id FROM Forum f WHERE f.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,66 @@
+package com.forumviajeros.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.forumviajeros.backend.model.MessageArchiveBlock;
+
+/**
+ * Repositorio de los bloques de mensajes archivados
+ */
+@Repository
+public interface MessageArchiveBlockRepository extends JpaRepository<MessageArchiveBlock, Long> {
+
+    /**
+     * Bloques más recientes de una conversación, del más nuevo al más antiguo
+     */
+    @Query("SELECT b FROM MessageArchiveBlock b WHERE b.userLowId = :lowId AND b.userHighId = :highId " +
+           "ORDER BY b.lastSentAt DESC, b.lastMessageId DESC")
+    List<MessageArchiveBlock> findLatest(@Param("lowId") Long lowId, @Param("highId") Long highId,
+            Pageable pageable);
+
+    /**
+     * Bloques con algún mensaje anterior a la posición (sentAt, id), del más nuevo al más antiguo
+     */
+    @Query("SELECT b FROM MessageArchiveBlock b WHERE b.userLowId = :lowId AND b.userHighId = :highId " +
+           "AND (b.firstSentAt < :sentAt OR (b.firstSentAt = :sentAt AND b.firstMessageId < :id)) " +
+           "ORDER BY b.lastSentAt DESC, b.lastMessageId DESC")
+    List<MessageArchiveBlock> findBefore(@Param("lowId") Long lowId, @Param("highId") Long highId,
+            @Param("sentAt") LocalDateTime sentAt, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Todos los bloques de una conversación en orden cronológico
+     */
+    List<MessageArchiveBlock> findByUserLowIdAndUserHighIdOrderByFirstSentAtAscFirstMessageIdAsc(Long userLowId,
+            Long userHighId);
+
+    /**
+     * Tamaño de cada bloque de una conversación, del más nuevo al más antiguo,
+     * sin cargar el contenido: [blockId, messageCount]
+     */
+    @Query("SELECT b.id, b.messageCount FROM MessageArchiveBlock b " +
+           "WHERE b.userLowId = :lowId AND b.userHighId = :highId " +
+           "ORDER BY b.lastSentAt DESC, b.lastMessageId DESC")
+    List<Object[]> findBlockSizes(@Param("lowId") Long lowId, @Param("highId") Long highId);
+
+    /**
+     * Datos de todos los bloques sin cargar el contenido, para reconstruir el índice de conversaciones:
+     * [blockId, userLowId, userHighId, firstMessageId, lastMessageId, messageCount, sentByLow]
+     */
+    @Query("SELECT b.id, b.userLowId, b.userHighId, b.firstMessageId, b.lastMessageId, b.messageCount, " +
+           "b.sentByLow FROM MessageArchiveBlock b")
+    List<Object[]> findAllBlockStats();
+
+    /**
+     * Mensajes archivados de una conversación
+     */
+    @Query("SELECT COALESCE(SUM(b.messageCount), 0) FROM MessageArchiveBlock b " +
+           "WHERE b.userLowId = :lowId AND b.userHighId = :highId")
+    long countMessages(@Param("lowId") Long lowId, @Param("highId") Long highId);
+}
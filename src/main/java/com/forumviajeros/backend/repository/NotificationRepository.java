@@ -1,8 +1,13 @@
 package com.forumviajeros.backend.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.forumviajeros.backend.model.Notification;
 import com.forumviajeros.backend.model.User;
@@ -10,6 +15,29 @@ import com.forumviajeros.backend.model.User;
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findByUser(User user);
     List<Notification> findByUserOrderByFechaDesc(User user);
-    long countByUserAndLeidoFalse(User user);
-    List<Notification> findByUserAndLeidoFalse(User user);
+    long countByUserIdAndLeidoFalse(Long userId);
+
+    // Bandeja por cursor (fecha DESC, id DESC), sin COUNT
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId ORDER BY n.fecha DESC, n.id DESC")
+    List<Notification> findInboxFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId " +
+           "AND (n.fecha < :fecha OR (n.fecha = :fecha AND n.id < :id)) " +
+           "ORDER BY n.fecha DESC, n.id DESC")
+    List<Notification> findInboxBefore(@Param("userId") Long userId, @Param("fecha") LocalDateTime fecha,
+            @Param("id") Long id, Pageable pageable);
+
+    // Marcar una notificación propia como leída
+    @Modifying
+    @Query("UPDATE Notification n SET n.leido = true WHERE n.id = :id AND n.user.id = :userId")
+    int markAsRead(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Marcar todas como leídas en una sola sentencia
+    @Modifying
+    @Query("UPDATE Notification n SET n.leido = true WHERE n.user.id = :userId AND n.leido = false")
+    int markAllAsRead(@Param("userId") Long userId);
+
+    // Ids de notificaciones leídas anteriores a la fecha, para purgar por lotes
+    @Query("SELECT n.id FROM Notification n WHERE n.leido = true AND n.fecha < :cutoff ORDER BY n.fecha ASC")
+    List<Long> findReadIdsOlderThan(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
 }
@@ -1,5 +1,7 @@
 package com.forumviajeros.backend.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -25,4 +27,8 @@ public interface PostLikeRepository extends JpaRepository<PostLike, Long> {
 
     @Query("SELECT CASE WHEN COUNT(pl) > 0 THEN true ELSE false END FROM PostLike pl WHERE pl.user.id = :userId AND pl.post.id = :postId")
     boolean existsByUserIdAndPostId(@Param("userId") Long userId, @Param("postId") Long postId);
+
+    // Likes recientes para reconstruir el ranking de tendencias: [postId, createdAt]
+    @Query("SELECT pl.post.id, pl.createdAt FROM PostLike pl WHERE pl.createdAt >= :since")
+    List<Object[]> findPostActivitySince(@Param("since") LocalDateTime since);
 }
@@ -1,11 +1,17 @@
 package com.forumviajeros.backend.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,10 +19,14 @@ import com.forumviajeros.backend.model.Forum;
 import com.forumviajeros.backend.model.Post;
 import com.forumviajeros.backend.model.User;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
     List<Post> findByUser(User user);
 
+    long countByUserId(Long userId);
+
     List<Post> findByForum(Forum forum);
 
     Page<Post> findByForum(Forum forum, Pageable pageable);
@@ -25,9 +35,6 @@ public interface PostRepository extends JpaRepository<Post, Long> {
 
     Page<Post> findByUser(User user, Pageable pageable);
 
-    @Query("SELECT p FROM Post p WHERE p.title LIKE %:keyword% OR p.content LIKE %:keyword%")
-    Page<Post> searchByKeyword(@Param("keyword") String keyword, Pageable pageable);
-
     @Query("SELECT p FROM Post p JOIN p.tags t WHERE t.name = :tagName")
     Page<Post> findByTagName(@Param("tagName") String tagName, Pageable pageable);
 
@@ -36,4 +43,91 @@ public interface PostRepository extends JpaRepository<Post, Long> {
 
     @Query("SELECT p FROM Post p WHERE p.user.id IN :userIds AND p.status = :status ORDER BY p.createdAt DESC")
     Page<Post> findByUserIdInAndStatus(@Param("userIds") List<Long> userIds, @Param("status") Post.PostStatus status, Pageable pageable);
-}
\ No newline at end of file
+
+    Page<Post> findByStatus(Post.PostStatus status, Pageable pageable);
+
+    /**
+     * Posts con el estado dado salvo los indicados (los ya mostrados en tendencias)
+     */
+    Page<Post> findByStatusAndIdNotIn(Post.PostStatus status, Collection<Long> ids, Pageable pageable);
+
+    long countByStatusAndIdNotIn(Post.PostStatus status, Collection<Long> ids);
+
+    /**
+     * Primera página de posts de un foro con el estado dado, ya proyectada:
+     * id, title, content, status, viewCount, createdAt, updatedAt, commentCount.
+     * Orden (createdAt DESC, id DESC), sin COUNT.
+     */
+    @Query("SELECT p.id, p.title, p.content, p.status, p.viewCount, p.createdAt, p.updatedAt, p.commentCount " +
+           "FROM Post p WHERE p.forum.id = :forumId AND p.status = :status " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Object[]> findForumPageFirst(@Param("forumId") Long forumId, @Param("status") Post.PostStatus status,
+            Pageable pageable);
+
+    /**
+     * Página siguiente a la posición (createdAt, id) del cursor
+     */
+    @Query("SELECT p.id, p.title, p.content, p.status, p.viewCount, p.createdAt, p.updatedAt, p.commentCount " +
+           "FROM Post p WHERE p.forum.id = :forumId AND p.status = :status " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Object[]> findForumPageBefore(@Param("forumId") Long forumId, @Param("status") Post.PostStatus status,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Etiquetas de varios posts: [postId, tagName]
+     */
+    @Query("SELECT p.id, t.name FROM Post p JOIN p.tags t WHERE p.id IN :postIds")
+    List<Object[]> findTagNamesByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    /**
+     * Datos de ranking de varios posts: [postId, forumId, categoryId, status]
+     */
+    @Query("SELECT p.id, f.id, f.category.id, p.status FROM Post p JOIN p.forum f WHERE p.id IN :postIds")
+    List<Object[]> findTrendingMetadata(@Param("postIds") Collection<Long> postIds);
+
+    /**
+     * Todos los posts en orden de id, leídos con cursor para la reindexación
+     * completa. Hay que consumirlo dentro de una transacción y cerrarlo.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Post p ORDER BY p.id")
+    Stream<Post> streamAllForIndexing();
+
+    // Incremento atómico del contador de comentarios (SQL nativo: la columna no es actualizable desde la entidad)
+    @Modifying
+    @Query(value = "UPDATE posts SET comment_count = comment_count + :delta WHERE id = :postId",
+           nativeQuery = true)
+    int incrementCommentCount(@Param("postId") Long postId, @Param("delta") long delta);
+
+    // Recalcula desde comments los contadores que se hayan desviado; devuelve las filas corregidas
+    @Modifying
+    @Query(value = "UPDATE posts p SET " +
+           "comment_count = (SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id) " +
+           "WHERE p.comment_count <> (SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id)",
+           nativeQuery = true)
+    int reconcileCommentCounts();
+
+    /**
+     * Descuenta a cada post que sobrevive los comentarios de un usuario que se
+     * va a borrar: los posts del usuario y los de sus foros se van con él.
+     * Hay que llamarlo antes del borrado.
+     */
+    @Modifying
+    @Query(value = "UPDATE posts p SET comment_count = comment_count - " +
+           "(SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id AND c.user_id = :userId) " +
+           "WHERE p.id IN (SELECT c.post_id FROM comments c WHERE c.user_id = :userId) " +
+           "AND p.user_id <> :userId " +
+           "AND p.forum_id NOT IN (SELECT f.id FROM forums f WHERE f.user_id = :userId)",
+           nativeQuery = true)
+    int decrementCommentCountsOfUser(@Param("userId") Long userId);
+
+    /**
+     * IDs de los posts de un usuario
+     */
+    @Query("SELECT p.id FROM Post p WHERE p.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+}
@@ -1,5 +1,7 @@
 package com.forumviajeros.backend.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
@@ -22,39 +24,60 @@ public interface PrivateMessageRepository extends JpaRepository<PrivateMessage,
 
     Page<PrivateMessage> findBySenderOrderBySentAtDesc(User sender, Pageable pageable);
 
-    // Conversacion entre dos usuarios
-    @Query("SELECT m FROM PrivateMessage m WHERE " +
-           "(m.sender = :user1 AND m.recipient = :user2) OR " +
-           "(m.sender = :user2 AND m.recipient = :user1) " +
+    // Conversacion entre dos usuarios, por su par ordenado (lowId < highId)
+    @Query("SELECT m FROM PrivateMessage m WHERE m.pairLowId = :lowId AND m.pairHighId = :highId " +
            "ORDER BY m.sentAt ASC")
-    List<PrivateMessage> findConversation(@Param("user1") User user1, @Param("user2") User user2);
+    List<PrivateMessage> findConversation(@Param("lowId") Long lowId, @Param("highId") Long highId);
 
-    @Query("SELECT m FROM PrivateMessage m WHERE " +
-           "(m.sender = :user1 AND m.recipient = :user2) OR " +
-           "(m.sender = :user2 AND m.recipient = :user1) " +
+    @Query("SELECT m FROM PrivateMessage m WHERE m.pairLowId = :lowId AND m.pairHighId = :highId " +
            "ORDER BY m.sentAt DESC")
-    Page<PrivateMessage> findConversationPaged(@Param("user1") User user1, @Param("user2") User user2, Pageable pageable);
+    Page<PrivateMessage> findConversationPaged(@Param("lowId") Long lowId, @Param("highId") Long highId,
+            Pageable pageable);
 
-    // Contar mensajes no leidos
-    Long countByRecipientAndIsReadFalse(User recipient);
+    // Conversacion por cursor (sent_at DESC, id DESC), sin COUNT
+    @Query("SELECT m FROM PrivateMessage m WHERE m.pairLowId = :lowId AND m.pairHighId = :highId " +
+           "ORDER BY m.sentAt DESC, m.id DESC")
+    List<PrivateMessage> findConversationFirstPage(@Param("lowId") Long lowId, @Param("highId") Long highId,
+            Pageable pageable);
 
-    // Contar no leidos de un remitente especifico
-    Long countByRecipientAndSenderAndIsReadFalse(User recipient, User sender);
+    @Query("SELECT m FROM PrivateMessage m WHERE m.pairLowId = :lowId AND m.pairHighId = :highId " +
+           "AND (m.sentAt < :sentAt OR (m.sentAt = :sentAt AND m.id < :id)) " +
+           "ORDER BY m.sentAt DESC, m.id DESC")
+    List<PrivateMessage> findConversationBefore(@Param("lowId") Long lowId, @Param("highId") Long highId,
+            @Param("sentAt") LocalDateTime sentAt, @Param("id") Long id, Pageable pageable);
 
-    // Obtener lista de conversaciones (ultimos mensajes con cada usuario)
+    // Ultimo mensaje de cada par de usuarios, para reconstruir el indice de conversaciones
     // Query nativo compatible con H2 y PostgreSQL
-    @Query(value = "SELECT pm.* FROM private_messages pm " +
-           "INNER JOIN (" +
-           "  SELECT MAX(id) as max_id FROM private_messages " +
-           "  WHERE sender_id = :userId OR recipient_id = :userId " +
-           "  GROUP BY LEAST(sender_id, recipient_id), GREATEST(sender_id, recipient_id)" +
-           ") latest ON pm.id = latest.max_id " +
-           "ORDER BY pm.sent_at DESC", nativeQuery = true)
-    List<PrivateMessage> findLatestConversations(@Param("userId") Long userId);
-
-    // Marcar mensajes como leidos
+    @Query(value = "SELECT MAX(id) FROM private_messages " +
+           "GROUP BY LEAST(sender_id, recipient_id), GREATEST(sender_id, recipient_id)", nativeQuery = true)
+    List<Number> findLatestMessageIdPerPair();
+
+    // Mensajes agrupados por (remitente, destinatario): [senderId, recipientId, count]
+    @Query("SELECT m.sender.id, m.recipient.id, COUNT(m) FROM PrivateMessage m " +
+           "GROUP BY m.sender.id, m.recipient.id")
+    List<Object[]> countGroupedByPair();
+
+    // Mensajes con remitente y destinatario cargados
+    @Query("SELECT m FROM PrivateMessage m JOIN FETCH m.sender JOIN FETCH m.recipient WHERE m.id IN :ids")
+    List<PrivateMessage> findAllWithUsersByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Pares de usuarios con mensajes anteriores a la fecha: [lowId, highId]
+    @Query(value = "SELECT LEAST(sender_id, recipient_id), GREATEST(sender_id, recipient_id) " +
+           "FROM private_messages WHERE sent_at < :cutoff " +
+           "GROUP BY LEAST(sender_id, recipient_id), GREATEST(sender_id, recipient_id) " +
+           "LIMIT :limit", nativeQuery = true)
+    List<Object[]> findPairsWithMessagesBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    // Mensajes más antiguos de una conversación anteriores a la fecha, para archivar
+    @Query("SELECT m FROM PrivateMessage m WHERE m.pairLowId = :lowId AND m.pairHighId = :highId " +
+           "AND m.sentAt < :cutoff ORDER BY m.sentAt ASC, m.id ASC")
+    List<PrivateMessage> findOldestBefore(@Param("lowId") Long lowId, @Param("highId") Long highId,
+            @Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    // Rellena el par ordenado de un lote de filas anteriores a esas columnas
     @Modifying
-    @Query("UPDATE PrivateMessage m SET m.isRead = true, m.readAt = CURRENT_TIMESTAMP " +
-           "WHERE m.recipient = :recipient AND m.sender = :sender AND m.isRead = false")
-    int markConversationAsRead(@Param("recipient") User recipient, @Param("sender") User sender);
+    @Query(value = "UPDATE private_messages SET pair_low_id = LEAST(sender_id, recipient_id), " +
+           "pair_high_id = GREATEST(sender_id, recipient_id) WHERE id IN " +
+           "(SELECT id FROM private_messages WHERE pair_low_id IS NULL LIMIT :limit)", nativeQuery = true)
+    int backfillPairs(@Param("limit") int limit);
 }
@@ -0,0 +1,13 @@
+package com.forumviajeros.backend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.forumviajeros.backend.model.SearchOutboxDeadLetter;
+
+/**
+ * Repositorio de los cambios de indexación que agotaron sus intentos
+ */
+@Repository
+public interface SearchOutboxDeadLetterRepository extends JpaRepository<SearchOutboxDeadLetter, Long> {
+}
@@ -0,0 +1,39 @@
+package com.forumviajeros.backend.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.forumviajeros.backend.model.SearchOutboxEntry;
+
+/**
+ * Repositorio del outbox de indexación
+ */
+@Repository
+public interface SearchOutboxRepository extends JpaRepository<SearchOutboxEntry, Long> {
+
+    /**
+     * Siguiente lote en orden de escritura, sin los que agotaron sus intentos
+     */
+    @Query("SELECT e FROM SearchOutboxEntry e WHERE e.attempts < :maxAttempts ORDER BY e.id")
+    List<SearchOutboxEntry> findPending(@Param("maxAttempts") int maxAttempts, Pageable pageable);
+
+    /**
+     * Entradas que agotaron sus intentos antes de existir la tabla de fallidos
+     */
+    @Query("SELECT e FROM SearchOutboxEntry e WHERE e.attempts >= :maxAttempts ORDER BY e.id")
+    List<SearchOutboxEntry> findExhausted(@Param("maxAttempts") int maxAttempts);
+
+    /**
+     * Anota un intento fallido en las entradas indicadas
+     */
+    @Modifying
+    @Query("UPDATE SearchOutboxEntry e SET e.attempts = e.attempts + 1 WHERE e.id IN :ids")
+    int incrementAttempts(@Param("ids") Collection<Long> ids);
+}
@@ -1,12 +1,15 @@
 package com.forumviajeros.backend.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.forumviajeros.backend.model.Tag;
@@ -21,6 +24,71 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
 
     Page<Tag> findByNameContainingIgnoreCase(String name, Pageable pageable);
 
-    @Query("SELECT t FROM Tag t LEFT JOIN t.posts p GROUP BY t.id ORDER BY COUNT(p) DESC")
-    Page<Tag> findMostPopularTags(Pageable pageable);
-}
\ No newline at end of file
+    /**
+     * Etiquetas más usadas (foros + posts) según los contadores, sin tocar las tablas de unión
+     */
+    @Query("SELECT t FROM Tag t ORDER BY (t.forumCount + t.postCount) DESC, t.name ASC")
+    List<Tag> findMostUsed(Pageable pageable);
+
+    // Todas las etiquetas con su uso, para el índice de autocompletado: [id, name, forumCount, postCount]
+    @Query("SELECT t.id, t.name, t.forumCount, t.postCount FROM Tag t")
+    List<Object[]> findUsageSnapshot();
+
+    // EXISTS se detiene en la primera fila de cada tabla de unión
+    @Query(value = "SELECT CASE WHEN EXISTS (SELECT 1 FROM forum_tags WHERE tag_id = :tagId) " +
+           "OR EXISTS (SELECT 1 FROM post_tags WHERE tag_id = :tagId) THEN TRUE ELSE FALSE END",
+           nativeQuery = true)
+    boolean isInUse(@Param("tagId") Long tagId);
+
+    // Incrementos atómicos de los contadores de uso (SQL nativo: las columnas no son actualizables desde la entidad)
+    @Modifying
+    @Query(value = "UPDATE tags SET forum_count = forum_count + :delta WHERE id IN (:tagIds)",
+           nativeQuery = true)
+    int incrementForumCounts(@Param("tagIds") Collection<Long> tagIds, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "UPDATE tags SET post_count = post_count + :delta WHERE id IN (:tagIds)",
+           nativeQuery = true)
+    int incrementPostCounts(@Param("tagIds") Collection<Long> tagIds, @Param("delta") long delta);
+
+    /**
+     * Descuenta las etiquetas de los posts de un foro que se va a borrar (la
+     * base de datos los borra en cascada). Hay que llamarlo antes del borrado.
+     */
+    @Modifying
+    @Query(value = "UPDATE tags t SET post_count = post_count - " +
+           "(SELECT COUNT(*) FROM post_tags pt JOIN posts p ON p.id = pt.post_id " +
+           "WHERE p.forum_id = :forumId AND pt.tag_id = t.id) " +
+           "WHERE t.id IN (SELECT pt.tag_id FROM post_tags pt JOIN posts p ON p.id = pt.post_id " +
+           "WHERE p.forum_id = :forumId)",
+           nativeQuery = true)
+    int decrementPostCountsOfForum(@Param("forumId") Long forumId);
+
+    /**
+     * Descuenta a las etiquetas los foros de un usuario que se va a borrar y
+     * los posts que se van con él (los suyos y los de sus foros). Hay que
+     * llamarlo antes del borrado.
+     */
+    @Modifying
+    @Query(value = "UPDATE tags t SET " +
+           "forum_count = forum_count - (SELECT COUNT(*) FROM forum_tags ft JOIN forums f ON f.id = ft.forum_id " +
+           "WHERE ft.tag_id = t.id AND f.user_id = :userId), " +
+           "post_count = post_count - (SELECT COUNT(*) FROM post_tags pt JOIN posts p ON p.id = pt.post_id " +
+           "JOIN forums f ON f.id = p.forum_id WHERE pt.tag_id = t.id AND (p.user_id = :userId OR f.user_id = :userId)) " +
+           "WHERE t.id IN (SELECT ft.tag_id FROM forum_tags ft JOIN forums f ON f.id = ft.forum_id " +
+           "WHERE f.user_id = :userId " +
+           "UNION SELECT pt.tag_id FROM post_tags pt JOIN posts p ON p.id = pt.post_id " +
+           "JOIN forums f ON f.id = p.forum_id WHERE p.user_id = :userId OR f.user_id = :userId)",
+           nativeQuery = true)
+    int decrementUsageCountsOfUser(@Param("userId") Long userId);
+
+    // Recalcula desde las tablas de unión los contadores que se hayan desviado; devuelve las filas corregidas
+    @Modifying
+    @Query(value = "UPDATE tags t SET " +
+           "forum_count = (SELECT COUNT(*) FROM forum_tags ft WHERE ft.tag_id = t.id), " +
+           "post_count = (SELECT COUNT(*) FROM post_tags pt WHERE pt.tag_id = t.id) " +
+           "WHERE t.forum_count <> (SELECT COUNT(*) FROM forum_tags ft WHERE ft.tag_id = t.id) " +
+           "OR t.post_count <> (SELECT COUNT(*) FROM post_tags pt WHERE pt.tag_id = t.id)",
+           nativeQuery = true)
+    int reconcileUsageCounts();
+}
@@ -0,0 +1,57 @@
+package com.forumviajeros.backend.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.forumviajeros.backend.model.UserAchievement;
+import com.forumviajeros.backend.model.VisitedPlace.PlaceStatus;
+
+/**
+ * Repositorio para los logros concedidos a los usuarios
+ */
+@Repository
+public interface UserAchievementRepository extends JpaRepository<UserAchievement, Long> {
+
+    /**
+     * Logros de un usuario en orden de concesión
+     */
+    List<UserAchievement> findByUserIdOrderByAwardedAtAsc(Long userId);
+
+    /**
+     * Códigos de los logros ya concedidos a un usuario
+     */
+    @Query("SELECT ua.code FROM UserAchievement ua WHERE ua.user.id = :userId")
+    List<String> findCodesByUserId(@Param("userId") Long userId);
+
+    /**
+     * Logros con alguno de los códigos para varios usuarios: [userId, code]
+     */
+    @Query("SELECT ua.user.id, ua.code FROM UserAchievement ua WHERE ua.user.id IN :userIds AND ua.code IN :codes")
+    List<Object[]> findCodesByUserIds(@Param("userIds") Collection<Long> userIds,
+            @Param("codes") Collection<String> codes);
+
+    /**
+     * Usuarios que cumplen la regla de entrada de alguna métrica sin tenerla:
+     * nunca se han evaluado para ella (datos anteriores al motor de logros).
+     * Las métricas del mapa de viajes se evalúan siempre juntas, así que basta
+     * con la de países.
+     */
+    @Query("SELECT u.id FROM User u WHERE " +
+           "(EXISTS (SELECT 1 FROM VisitedPlace vp WHERE vp.user = u AND vp.status = :visited) " +
+           "AND NOT EXISTS (SELECT 1 FROM UserAchievement ua WHERE ua.user = u AND ua.code = :countriesCode)) OR " +
+           "(EXISTS (SELECT 1 FROM Post p WHERE p.user = u) " +
+           "AND NOT EXISTS (SELECT 1 FROM UserAchievement ua WHERE ua.user = u AND ua.code = :postsCode)) OR " +
+           "(EXISTS (SELECT 1 FROM TriviaScore ts WHERE ts.user = u AND ts.level >= :triviaLevel) " +
+           "AND NOT EXISTS (SELECT 1 FROM UserAchievement ua WHERE ua.user = u AND ua.code = :triviaCode)) " +
+           "ORDER BY u.id")
+    List<Long> findUserIdsPendingBackfill(@Param("visited") PlaceStatus visited,
+            @Param("countriesCode") String countriesCode,
+            @Param("postsCode") String postsCode,
+            @Param("triviaLevel") int triviaLevel,
+            @Param("triviaCode") String triviaCode);
+}
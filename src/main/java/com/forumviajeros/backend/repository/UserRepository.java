@@ -1,10 +1,15 @@
 package com.forumviajeros.backend.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.forumviajeros.backend.model.User;
 import com.forumviajeros.backend.model.User.UserStatus;
@@ -23,4 +28,103 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Page<User> findByStatus(UserStatus status, Pageable pageable);
 
     Page<User> findByUsernameContainingIgnoreCaseAndStatus(String username, UserStatus status, Pageable pageable);
+
+    @Query("SELECT u.id FROM User u ORDER BY u.id")
+    List<Long> findAllIds();
+
+    // Contadores de seguimiento: (id, seguidores, seguidos)
+    @Query("SELECT u.id, u.followersCount, u.followingCount FROM User u WHERE u.id IN :userIds")
+    List<Object[]> findFollowCountsByIds(@Param("userIds") Collection<Long> userIds);
+
+    // Incrementos atómicos de los contadores (SQL nativo: las columnas no son actualizables desde la entidad)
+    @Modifying
+    @Query(value = "UPDATE users SET followers_count = followers_count + :delta WHERE id = :userId",
+           nativeQuery = true)
+    int incrementFollowersCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "UPDATE users SET following_count = following_count + :delta WHERE id = :userId",
+           nativeQuery = true)
+    int incrementFollowingCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+    // Recalcula desde follows los contadores que se hayan desviado; devuelve las filas corregidas
+    @Modifying
+    @Query(value = "UPDATE users u SET " +
+           "followers_count = (SELECT COUNT(*) FROM follows f WHERE f.followed_id = u.id), " +
+           "following_count = (SELECT COUNT(*) FROM follows f WHERE f.follower_id = u.id) " +
+           "WHERE u.followers_count <> (SELECT COUNT(*) FROM follows f WHERE f.followed_id = u.id) " +
+           "OR u.following_count <> (SELECT COUNT(*) FROM follows f WHERE f.follower_id = u.id)",
+           nativeQuery = true)
+    int reconcileFollowCounts();
+
+    // Contadores de actividad: foros, posts y comentarios creados por el usuario
+    @Modifying
+    @Query(value = "UPDATE users SET forum_count = forum_count + :delta WHERE id = :userId",
+           nativeQuery = true)
+    int incrementForumCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "UPDATE users SET post_count = post_count + :delta WHERE id = :userId",
+           nativeQuery = true)
+    int incrementPostCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "UPDATE users SET comment_count = comment_count + :delta WHERE id = :userId",
+           nativeQuery = true)
+    int incrementCommentCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+    /**
+     * Descuenta a cada autor los comentarios de un post que se va a borrar
+     * (la base de datos los borra en cascada). Hay que llamarlo antes del borrado.
+     */
+    @Modifying
+    @Query(value = "UPDATE users u SET comment_count = comment_count - " +
+           "(SELECT COUNT(*) FROM comments c WHERE c.post_id = :postId AND c.user_id = u.id) " +
+           "WHERE u.id IN (SELECT c.user_id FROM comments c WHERE c.post_id = :postId)",
+           nativeQuery = true)
+    int decrementCommentCountsOfPost(@Param("postId") Long postId);
+
+    /**
+     * Descuenta a cada autor los posts y comentarios de un foro que se va a
+     * borrar. Hay que llamarlo antes del borrado.
+     */
+    @Modifying
+    @Query(value = "UPDATE users u SET " +
+           "post_count = post_count - (SELECT COUNT(*) FROM posts p WHERE p.forum_id = :forumId AND p.user_id = u.id), " +
+           "comment_count = comment_count - (SELECT COUNT(*) FROM comments c JOIN posts p ON p.id = c.post_id " +
+           "WHERE p.forum_id = :forumId AND c.user_id = u.id) " +
+           "WHERE u.id IN (SELECT p.user_id FROM posts p WHERE p.forum_id = :forumId " +
+           "UNION SELECT c.user_id FROM comments c JOIN posts p ON p.id = c.post_id WHERE p.forum_id = :forumId)",
+           nativeQuery = true)
+    int decrementActivityCountsOfForum(@Param("forumId") Long forumId);
+
+    /**
+     * Descuenta a los demás autores lo que se borra en cascada con un usuario:
+     * sus posts en los foros del usuario y sus comentarios en los posts del
+     * usuario o de esos foros. Hay que llamarlo antes del borrado.
+     */
+    @Modifying
+    @Query(value = "UPDATE users u SET " +
+           "post_count = post_count - (SELECT COUNT(*) FROM posts p JOIN forums f ON f.id = p.forum_id " +
+           "WHERE f.user_id = :userId AND p.user_id = u.id), " +
+           "comment_count = comment_count - (SELECT COUNT(*) FROM comments c JOIN posts p ON p.id = c.post_id " +
+           "JOIN forums f ON f.id = p.forum_id WHERE (p.user_id = :userId OR f.user_id = :userId) AND c.user_id = u.id) " +
+           "WHERE u.id <> :userId AND u.id IN (SELECT p.user_id FROM posts p JOIN forums f ON f.id = p.forum_id " +
+           "WHERE f.user_id = :userId " +
+           "UNION SELECT c.user_id FROM comments c JOIN posts p ON p.id = c.post_id JOIN forums f ON f.id = p.forum_id " +
+           "WHERE p.user_id = :userId OR f.user_id = :userId)",
+           nativeQuery = true)
+    int decrementActivityCountsOfUser(@Param("userId") Long userId);
+
+    // Recalcula los contadores de actividad que se hayan desviado; devuelve las filas corregidas
+    @Modifying
+    @Query(value = "UPDATE users u SET " +
+           "forum_count = (SELECT COUNT(*) FROM forums f WHERE f.user_id = u.id), " +
+           "post_count = (SELECT COUNT(*) FROM posts p WHERE p.user_id = u.id), " +
+           "comment_count = (SELECT COUNT(*) FROM comments c WHERE c.user_id = u.id) " +
+           "WHERE u.forum_count <> (SELECT COUNT(*) FROM forums f WHERE f.user_id = u.id) " +
+           "OR u.post_count <> (SELECT COUNT(*) FROM posts p WHERE p.user_id = u.id) " +
+           "OR u.comment_count <> (SELECT COUNT(*) FROM comments c WHERE c.user_id = u.id)",
+           nativeQuery = true)
+    int reconcileActivityCounts();
 }
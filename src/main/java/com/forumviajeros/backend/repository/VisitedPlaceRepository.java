@@ -1,5 +1,6 @@
 package com.forumviajeros.backend.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -111,5 +112,68 @@ public interface VisitedPlaceRepository extends JpaRepository<VisitedPlace, Long
            "FROM visited_places WHERE status = 'VISITED' GROUP BY user_id) ranked " +
            "WHERE user_id = :userId", nativeQuery = true)
     Integer findUserRanking(@Param("userId") Long userId);
-}
 
+    /**
+     * Obtiene pares (código ISO, estado) de los lugares de un usuario para el mapa
+     */
+    @Query("SELECT c.isoCode, vp.status FROM VisitedPlace vp JOIN vp.country c WHERE vp.user.id = :userId")
+    List<Object[]> findCountryStatusesByUserId(@Param("userId") Long userId);
+
+    /**
+     * Obtiene tripletas (usuario, país, estado) de todos los lugares, sin joins, para los bitsets de compatibilidad
+     */
+    @Query("SELECT DISTINCT vp.user.id, vp.country.id, vp.status FROM VisitedPlace vp")
+    List<Object[]> findAllUserCountryStatuses();
+
+    /**
+     * Obtiene pares (país, estado) de los lugares de un usuario, sin joins
+     */
+    @Query("SELECT DISTINCT vp.country.id, vp.status FROM VisitedPlace vp WHERE vp.user.id = :userId")
+    List<Object[]> findCountryIdStatusesByUserId(@Param("userId") Long userId);
+
+    /**
+     * Obtiene el número de lugares y la última modificación de un usuario (para el ETag del mapa)
+     */
+    @Query("SELECT COUNT(vp), MAX(vp.updatedAt) FROM VisitedPlace vp WHERE vp.user.id = :userId")
+    List<Object[]> findMapVersionByUserId(@Param("userId") Long userId);
+
+    /**
+     * Cuenta visitantes distintos por país (para el mapa de calor)
+     */
+    @Query("SELECT c.isoCode, COUNT(DISTINCT vp.user.id) FROM VisitedPlace vp " +
+           "JOIN vp.country c WHERE vp.status = 'VISITED' GROUP BY c.isoCode")
+    List<Object[]> countVisitorsByCountry();
+
+    /**
+     * Obtiene los IDs de países de un usuario con alguno de los estados dados
+     */
+    @Query("SELECT DISTINCT vp.country.id FROM VisitedPlace vp WHERE vp.user.id = :userId AND vp.status IN :statuses")
+    List<Long> findCountryIdsByUserIdAndStatusIn(@Param("userId") Long userId,
+            @Param("statuses") Collection<PlaceStatus> statuses);
+
+    /**
+     * Usuarios (excepto el indicado) que han visitado alguno de los países dados,
+     * ordenados por número de coincidencias
+     */
+    @Query("SELECT vp.user.id, vp.user.username, vp.user.profileImageUrl, COUNT(DISTINCT vp.country.id) " +
+           "FROM VisitedPlace vp WHERE vp.status = 'VISITED' AND vp.country.id IN :countryIds " +
+           "AND vp.user.id <> :userId " +
+           "GROUP BY vp.user.id, vp.user.username, vp.user.profileImageUrl " +
+           "ORDER BY COUNT(DISTINCT vp.country.id) DESC")
+    List<Object[]> findTravelersByVisitedCountries(@Param("countryIds") Collection<Long> countryIds,
+            @Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Pares (usuario, código ISO) de países visitados por los usuarios dados dentro de un conjunto de países
+     */
+    @Query("SELECT DISTINCT vp.user.id, vp.country.isoCode FROM VisitedPlace vp WHERE vp.status = 'VISITED' " +
+           "AND vp.user.id IN :userIds AND vp.country.id IN :countryIds")
+    List<Object[]> findVisitedIsoCodesByUsersAndCountries(@Param("userIds") Collection<Long> userIds,
+            @Param("countryIds") Collection<Long> countryIds);
+
+    /**
+     * Obtiene (país, ciudad, estado) de todos los lugares de un usuario, para deduplicar importaciones
+     */
+    @Query("SELECT vp.country.id, vp.cityName, vp.status FROM VisitedPlace vp WHERE vp.user.id = :userId")
+    List<Object[]> findPlaceKeysByUserId(@Param("userId") Long userId);
+}
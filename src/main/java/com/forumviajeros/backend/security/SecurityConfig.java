@@ -25,6 +25,7 @@ import com.forumviajeros.backend.security.filter.JwtAuthorizationFilter;
 import com.forumviajeros.backend.security.filter.RateLimitingFilter;
 import com.forumviajeros.backend.service.token.RefreshTokenService;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 
 @Configuration(proxyBeanMethods = false)
@@ -56,6 +57,9 @@ public class SecurityConfig {
                                                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                                 .authorizeHttpRequests(auth -> auth
 
+                                                // Re-despacho asíncrono de SSE: ya se autorizó la petición original
+                                                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                                                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
 
                                                 .requestMatchers("/api/auth/register", "/api/auth/login",
@@ -64,13 +68,16 @@ public class SecurityConfig {
 
                                                 .requestMatchers(HttpMethod.GET, "/api/categories", "/api/categories/**",
                                                                 "/api/forums", "/api/forums/**", "/api/posts/**",
-                                                                "/api/comments/**", "/api/countries", "/api/countries/**",
+                                                                "/api/comments/**", "/api/images/*", "/api/countries", "/api/countries/**",
                                                                 "/api/trivia/**", "/api/visited-places/**",
                                                                 "/api/travel/ranking", "/api/travel/users/*/places",
                                                                 "/api/travel/users/*/stats", "/api/travel/places/*",
-                                                                "/api/feed/explore",
+                                                                "/api/travel/users/*/map", "/api/travel/heatmap",
+                                                                "/api/achievements/users/*",
+                                                                "/api/feed/explore", "/api/feed/trending", "/api/search",
                                                                 "/api/users", "/api/users/search",
                                                                 "/api/users/*/followers", "/api/users/*/following",
+                                                                "/api/users/*/followers/page", "/api/users/*/following/page",
                                                                 "/api/users/*/follow-stats")
                                                 .permitAll()
                                                 .requestMatchers(HttpMethod.GET, "/api/events", "/api/events/{id}")
@@ -13,6 +13,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forumviajeros.backend.util.ClientIpUtil;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -54,7 +55,7 @@ public class RateLimitingFilter extends OncePerRequestFilter {
             FilterChain filterChain) throws ServletException, IOException {
 
         String path = request.getRequestURI();
-        String clientIp = getClientIpAddress(request);
+        String clientIp = ClientIpUtil.resolve(request);
 
         // Solo aplicar rate limiting a endpoints de autenticación
         if (path.equals("/api/auth/login")) {
@@ -102,24 +103,6 @@ public class RateLimitingFilter extends OncePerRequestFilter {
         return true;
     }
 
-    /**
-     * Obtiene la dirección IP real del cliente, considerando proxies y load balancers.
-     */
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            // Tomar la primera IP de la lista (IP original del cliente)
-            return xForwardedFor.split(",")[0].trim();
-        }
-
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
-        }
-
-        return request.getRemoteAddr();
-    }
-
     /**
      * Responde con error 429 (Too Many Requests) cuando se excede el rate limit.
      */
@@ -1,10 +1,16 @@
 package com.forumviajeros.backend.service;
 
+import com.forumviajeros.backend.model.Post;
 import com.forumviajeros.backend.model.User;
 
+/**
+ * Solicita notificaciones. Las peticiones se escriben de forma asíncrona tras
+ * el commit de la transacción que las origina.
+ */
 public interface NotificationService {
-    void createLikeNotification(User actor, Long postId);
-    void createCommentNotification(User actor, Long postId);
+    void createLikeNotification(User actor, Post post);
+    void createCommentNotification(User actor, Post post);
     void createFollowNotification(User actor, User followed);
     void createShareNotification(User actor, Long postId, User recipient);
+    void createAchievementNotification(Long userId, Long achievementId);
 }
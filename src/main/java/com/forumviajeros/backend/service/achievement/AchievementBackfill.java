@@ -0,0 +1,24 @@
+package com.forumviajeros.backend.service.achievement;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Concede al arrancar los logros de los usuarios con actividad anterior al
+ * motor de logros, sin notificarles. Después del primer arranque no encuentra
+ * usuarios pendientes y no hace nada.
+ */
+@Component
+@RequiredArgsConstructor
+public class AchievementBackfill {
+
+    private final AchievementService achievementService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        achievementService.backfillPending();
+    }
+}
@@ -0,0 +1,17 @@
+package com.forumviajeros.backend.service.achievement;
+
+/**
+ * Contadores de actividad sobre los que se definen las reglas de logros
+ */
+public enum AchievementMetric {
+    /** Países distintos con estado VISITED */
+    COUNTRIES_VISITED,
+    /** Continentes distintos con algún país VISITED */
+    CONTINENTS_VISITED,
+    /** Ciudades con estado VISITED */
+    CITIES_VISITED,
+    /** Nivel actual en la trivia */
+    TRIVIA_LEVEL,
+    /** Publicaciones creadas */
+    POSTS_CREATED
+}
@@ -0,0 +1,151 @@
+package com.forumviajeros.backend.service.achievement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Catálogo de reglas de logros. Cada regla se cumple cuando su métrica
+ * alcanza el umbral; una vez concedida no se revoca.
+ *
+ * Las reglas de categoría {@link Category#LEVEL} forman la escalera de nivel
+ * de viajero: el nivel de un usuario es la regla de mayor umbral concedida.
+ */
+public enum AchievementRule {
+
+    // Badges de países
+    FIRST_STEP(AchievementMetric.COUNTRIES_VISITED, 1, "🎒 Primer Paso", Category.BADGE),
+    EXPLORER(AchievementMetric.COUNTRIES_VISITED, 5, "🗺️ Explorador", Category.BADGE),
+    FREQUENT_TRAVELER(AchievementMetric.COUNTRIES_VISITED, 10, "✈️ Viajero Frecuente", Category.BADGE),
+    WORLD_CITIZEN(AchievementMetric.COUNTRIES_VISITED, 25, "🌍 Ciudadano del Mundo", Category.BADGE),
+    GLOBETROTTER(AchievementMetric.COUNTRIES_VISITED, 50, "🏆 Trotamundos", Category.BADGE),
+    TRAVEL_LEGEND(AchievementMetric.COUNTRIES_VISITED, 100, "👑 Leyenda Viajera", Category.BADGE),
+
+    // Badges de continentes
+    INTERCONTINENTAL(AchievementMetric.CONTINENTS_VISITED, 2, "🌐 Intercontinental", Category.BADGE),
+    FIVE_CONTINENTS(AchievementMetric.CONTINENTS_VISITED, 5, "🌏 Cinco Continentes", Category.BADGE),
+    ALL_CONTINENTS(AchievementMetric.CONTINENTS_VISITED, 7, "⭐ Todos los Continentes", Category.BADGE),
+
+    // Badges de ciudades
+    URBANITE(AchievementMetric.CITIES_VISITED, 10, "🏙️ Urbanita", Category.BADGE),
+    CITY_COLLECTOR(AchievementMetric.CITIES_VISITED, 50, "🌆 Coleccionista de Ciudades", Category.BADGE),
+
+    // Badges de trivia
+    TRIVIA_APPRENTICE(AchievementMetric.TRIVIA_LEVEL, 5, "🧠 Aprendiz Geógrafo", Category.BADGE),
+    TRIVIA_EXPERT(AchievementMetric.TRIVIA_LEVEL, 10, "🎓 Geógrafo Experto", Category.BADGE),
+    TRIVIA_MASTER(AchievementMetric.TRIVIA_LEVEL, 20, "🏅 Maestro de la Trivia", Category.BADGE),
+
+    // Badges de publicaciones
+    FIRST_POST(AchievementMetric.POSTS_CREATED, 1, "📝 Primera Publicación", Category.BADGE),
+    STORYTELLER(AchievementMetric.POSTS_CREATED, 10, "📖 Cuentacuentos", Category.BADGE),
+    TRAVEL_WRITER(AchievementMetric.POSTS_CREATED, 50, "🖋️ Escritor Viajero", Category.BADGE),
+
+    // Nivel de viajero
+    LEVEL_BEGINNER(AchievementMetric.COUNTRIES_VISITED, 1, "👣 Principiante", Category.LEVEL),
+    LEVEL_TOURIST(AchievementMetric.COUNTRIES_VISITED, 5, "🗺️ Turista", Category.LEVEL),
+    LEVEL_EXPLORER(AchievementMetric.COUNTRIES_VISITED, 10, "🎒 Explorador", Category.LEVEL),
+    LEVEL_ADVENTURER(AchievementMetric.COUNTRIES_VISITED, 20, "✈️ Aventurero", Category.LEVEL),
+    LEVEL_EXPERT(AchievementMetric.COUNTRIES_VISITED, 30, "🌍 Viajero Experto", Category.LEVEL),
+    LEVEL_GLOBETROTTER(AchievementMetric.COUNTRIES_VISITED, 50, "🎖️ Trotamundos", Category.LEVEL),
+    LEVEL_MASTER(AchievementMetric.COUNTRIES_VISITED, 75, "🏆 Maestro Explorador", Category.LEVEL),
+    LEVEL_LEGEND(AchievementMetric.COUNTRIES_VISITED, 100, "🌟 Leyenda Viajera", Category.LEVEL);
+
+    /** Nivel de viajero de quien aún no tiene ningún país visitado */
+    public static final String DEFAULT_TRAVELER_LEVEL = "🏠 Soñador";
+
+    /**
+     * Tipo de logro
+     */
+    public enum Category {
+        BADGE, LEVEL
+    }
+
+    private static final Map<AchievementMetric, List<AchievementRule>> BY_METRIC = new EnumMap<>(AchievementMetric.class);
+
+    static {
+        for (AchievementMetric metric : AchievementMetric.values()) {
+            BY_METRIC.put(metric, new ArrayList<>());
+        }
+        for (AchievementRule rule : values()) {
+            BY_METRIC.get(rule.metric).add(rule);
+        }
+        BY_METRIC.replaceAll((metric, rules) -> Collections.unmodifiableList(rules));
+    }
+
+    private final AchievementMetric metric;
+    private final int threshold;
+    private final String label;
+    private final Category category;
+
+    AchievementRule(AchievementMetric metric, int threshold, String label, Category category) {
+        this.metric = metric;
+        this.threshold = threshold;
+        this.label = label;
+        this.category = category;
+    }
+
+    public AchievementMetric getMetric() {
+        return metric;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public Category getCategory() {
+        return category;
+    }
+
+    /**
+     * Reglas que dependen de una métrica
+     */
+    public static List<AchievementRule> forMetric(AchievementMetric metric) {
+        return BY_METRIC.get(metric);
+    }
+
+    /**
+     * Regla de menor umbral de la métrica: quien la cumple y no la tiene aún no
+     * se ha evaluado para esa métrica
+     */
+    public static AchievementRule entryRule(AchievementMetric metric) {
+        AchievementRule entry = null;
+        for (AchievementRule rule : forMetric(metric)) {
+            if (entry == null || rule.threshold < entry.threshold) {
+                entry = rule;
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Nivel de viajero que corresponde a un número de países visitados, según
+     * la escalera de reglas {@link Category#LEVEL}
+     */
+    public static String travelerLevelFor(long countriesVisited) {
+        AchievementRule level = null;
+        for (AchievementRule rule : forMetric(AchievementMetric.COUNTRIES_VISITED)) {
+            if (rule.category == Category.LEVEL && countriesVisited >= rule.threshold
+                    && (level == null || rule.threshold > level.threshold)) {
+                level = rule;
+            }
+        }
+        return level != null ? level.label : DEFAULT_TRAVELER_LEVEL;
+    }
+
+    /**
+     * Busca una regla por código; null si el código ya no existe en el catálogo
+     */
+    public static AchievementRule fromCode(String code) {
+        try {
+            return valueOf(code);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
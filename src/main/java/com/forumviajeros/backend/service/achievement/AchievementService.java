@@ -0,0 +1,56 @@
+package com.forumviajeros.backend.service.achievement;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.forumviajeros.backend.dto.achievement.AchievementDTO;
+import com.forumviajeros.backend.dto.achievement.UserAchievementsDTO;
+
+/**
+ * Servicio de logros: evalúa las reglas de {@link AchievementRule} cuando
+ * cambian sus métricas y persiste los logros concedidos
+ */
+public interface AchievementService {
+
+    /**
+     * Obtiene los logros persistidos de un usuario (badges y nivel de viajero)
+     */
+    UserAchievementsDTO getUserAchievements(Long userId);
+
+    /**
+     * Evalúa las reglas pendientes de las métricas indicadas y concede las que
+     * se cumplan
+     *
+     * @return logros concedidos en esta evaluación
+     */
+    List<AchievementDTO> evaluate(Long userId, Collection<AchievementMetric> metrics);
+
+    /**
+     * Reevalúa todas las métricas de un usuario sin notificarle (backfill)
+     *
+     * @return logros concedidos en el recálculo
+     */
+    List<AchievementDTO> recalculate(Long userId);
+
+    /**
+     * Reevalúa todas las métricas de todos los usuarios sin notificarles
+     *
+     * @return número total de logros concedidos
+     */
+    int recalculateAll();
+
+    /**
+     * Reevalúa sin notificar a los usuarios con datos anteriores al motor de
+     * logros que aún no tienen los que les corresponden
+     *
+     * @return número de usuarios recalculados
+     */
+    int backfillPending();
+
+    /**
+     * Nivel de viajero concedido a cada usuario; los que aún no tienen ninguno
+     * no aparecen en el resultado
+     */
+    Map<Long, String> getTravelerLevels(Collection<Long> userIds);
+}
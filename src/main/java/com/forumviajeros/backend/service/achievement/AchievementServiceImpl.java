@@ -0,0 +1,276 @@
+package com.forumviajeros.backend.service.achievement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.forumviajeros.backend.dto.achievement.AchievementDTO;
+import com.forumviajeros.backend.dto.achievement.UserAchievementsDTO;
+import com.forumviajeros.backend.event.AchievementAwardedEvent;
+import com.forumviajeros.backend.event.AchievementMetricChangedEvent;
+import com.forumviajeros.backend.event.VisitedPlaceChangedEvent;
+import com.forumviajeros.backend.exception.ResourceNotFoundException;
+import com.forumviajeros.backend.model.User;
+import com.forumviajeros.backend.model.UserAchievement;
+import com.forumviajeros.backend.model.VisitedPlace.PlaceStatus;
+import com.forumviajeros.backend.repository.PostRepository;
+import com.forumviajeros.backend.repository.TriviaScoreRepository;
+import com.forumviajeros.backend.repository.UserAchievementRepository;
+import com.forumviajeros.backend.repository.UserRepository;
+import com.forumviajeros.backend.repository.VisitedPlaceRepository;
+import com.forumviajeros.backend.service.achievement.AchievementRule.Category;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementación del motor de logros.
+ *
+ * Las reglas se evalúan de forma incremental: cada evento indica qué métricas
+ * han cambiado, solo se consultan esas métricas y solo si les queda alguna
+ * regla sin conceder. Los logros se persisten en una transacción propia tras
+ * el commit de la operación que los provoca, de modo que un fallo aquí nunca
+ * afecta a la petición del usuario.
+ */
+@Service
+@Slf4j
+public class AchievementServiceImpl implements AchievementService {
+
+    private static final List<String> LEVEL_CODES = Arrays.stream(AchievementRule.values())
+            .filter(rule -> rule.getCategory() == Category.LEVEL)
+            .map(AchievementRule::name)
+            .collect(Collectors.toList());
+
+    private final UserAchievementRepository achievementRepository;
+    private final UserRepository userRepository;
+    private final VisitedPlaceRepository visitedPlaceRepository;
+    private final TriviaScoreRepository triviaScoreRepository;
+    private final PostRepository postRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate newTransaction;
+
+    public AchievementServiceImpl(UserAchievementRepository achievementRepository,
+            UserRepository userRepository,
+            VisitedPlaceRepository visitedPlaceRepository,
+            TriviaScoreRepository triviaScoreRepository,
+            PostRepository postRepository,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager) {
+        this.achievementRepository = achievementRepository;
+        this.userRepository = userRepository;
+        this.visitedPlaceRepository = visitedPlaceRepository;
+        this.triviaScoreRepository = triviaScoreRepository;
+        this.postRepository = postRepository;
+        this.eventPublisher = eventPublisher;
+        // Los listeners AFTER_COMMIT aún ven la transacción original: hay que abrir una nueva
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserAchievementsDTO getUserAchievements(Long userId) {
+        List<AchievementDTO> achievements = new ArrayList<>();
+        List<AchievementRule> badges = new ArrayList<>();
+        AchievementRule level = null;
+
+        for (UserAchievement achievement : achievementRepository.findByUserIdOrderByAwardedAtAsc(userId)) {
+            AchievementRule rule = AchievementRule.fromCode(achievement.getCode());
+            if (rule == null) {
+                // Regla retirada del catálogo
+                continue;
+            }
+            achievements.add(toDTO(rule, achievement));
+            if (rule.getCategory() == Category.LEVEL) {
+                if (level == null || rule.getThreshold() > level.getThreshold()) {
+                    level = rule;
+                }
+            } else {
+                badges.add(rule);
+            }
+        }
+
+        return UserAchievementsDTO.builder()
+                .userId(userId)
+                .travelerLevel(level != null ? level.getLabel() : AchievementRule.DEFAULT_TRAVELER_LEVEL)
+                .badges(badges.stream()
+                        .sorted(Comparator.comparingInt(AchievementRule::ordinal))
+                        .map(AchievementRule::getLabel)
+                        .collect(Collectors.toList()))
+                .achievements(achievements)
+                .build();
+    }
+
+    @Override
+    public List<AchievementDTO> evaluate(Long userId, Collection<AchievementMetric> metrics) {
+        return newTransaction.execute(status -> awardPending(userId, metrics, false));
+    }
+
+    @Override
+    public List<AchievementDTO> recalculate(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+        return newTransaction.execute(status ->
+                awardPending(userId, EnumSet.allOf(AchievementMetric.class), true));
+    }
+
+    @Override
+    public int recalculateAll() {
+        int awarded = 0;
+        for (Long userId : userRepository.findAllIds()) {
+            List<AchievementDTO> granted = newTransaction.execute(status ->
+                    awardPending(userId, EnumSet.allOf(AchievementMetric.class), true));
+            awarded += granted.size();
+        }
+        log.info("Recálculo de logros completado: {} logros concedidos", awarded);
+        return awarded;
+    }
+
+    @Override
+    public int backfillPending() {
+        List<Long> userIds = achievementRepository.findUserIdsPendingBackfill(PlaceStatus.VISITED,
+                AchievementRule.entryRule(AchievementMetric.COUNTRIES_VISITED).name(),
+                AchievementRule.entryRule(AchievementMetric.POSTS_CREATED).name(),
+                AchievementRule.entryRule(AchievementMetric.TRIVIA_LEVEL).getThreshold(),
+                AchievementRule.entryRule(AchievementMetric.TRIVIA_LEVEL).name());
+        int awarded = 0;
+        for (Long userId : userIds) {
+            List<AchievementDTO> granted = newTransaction.execute(status ->
+                    awardPending(userId, EnumSet.allOf(AchievementMetric.class), true));
+            awarded += granted.size();
+        }
+        if (!userIds.isEmpty()) {
+            log.info("Backfill de logros: {} usuarios, {} logros concedidos", userIds.size(), awarded);
+        }
+        return userIds.size();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, String> getTravelerLevels(Collection<Long> userIds) {
+        Map<Long, AchievementRule> levels = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        for (Object[] row : achievementRepository.findCodesByUserIds(userIds, LEVEL_CODES)) {
+            AchievementRule rule = AchievementRule.fromCode((String) row[1]);
+            levels.merge((Long) row[0], rule,
+                    (current, candidate) -> candidate.getThreshold() > current.getThreshold() ? candidate : current);
+        }
+        Map<Long, String> labels = new HashMap<>();
+        levels.forEach((userId, rule) -> labels.put(userId, rule.getLabel()));
+        return labels;
+    }
+
+    /**
+     * Un cambio en el mapa de viajes puede afectar a países, continentes y ciudades
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVisitedPlaceChanged(VisitedPlaceChangedEvent event) {
+        if (event.getVisitorDelta() < 0) {
+            // Los logros no se revocan: una baja nunca concede nada
+            return;
+        }
+        Set<AchievementMetric> metrics = EnumSet.of(AchievementMetric.CITIES_VISITED);
+        if (event.getVisitorDelta() > 0) {
+            metrics.add(AchievementMetric.COUNTRIES_VISITED);
+            metrics.add(AchievementMetric.CONTINENTS_VISITED);
+        }
+        evaluateSafely(event.getUserId(), metrics);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMetricChanged(AchievementMetricChangedEvent event) {
+        evaluateSafely(event.getUserId(), EnumSet.of(event.getMetric()));
+    }
+
+    private void evaluateSafely(Long userId, Collection<AchievementMetric> metrics) {
+        try {
+            evaluate(userId, metrics);
+        } catch (RuntimeException e) {
+            // Se volverá a evaluar con el siguiente cambio de la métrica o con un recálculo
+            log.warn("No se pudieron evaluar los logros del usuario {} ({}): {}", userId, metrics, e.getMessage());
+        }
+    }
+
+    private List<AchievementDTO> awardPending(Long userId, Collection<AchievementMetric> metrics, boolean backfill) {
+        Set<String> awardedCodes = new HashSet<>(achievementRepository.findCodesByUserId(userId));
+        List<AchievementDTO> granted = new ArrayList<>();
+        User user = null;
+
+        for (AchievementMetric metric : metrics) {
+            List<AchievementRule> pending = AchievementRule.forMetric(metric).stream()
+                    .filter(rule -> !awardedCodes.contains(rule.name()))
+                    .collect(Collectors.toList());
+            if (pending.isEmpty()) {
+                continue;
+            }
+
+            long value = currentValue(userId, metric);
+            for (AchievementRule rule : pending) {
+                if (value < rule.getThreshold()) {
+                    continue;
+                }
+                if (user == null) {
+                    user = userRepository.getReferenceById(userId);
+                }
+                UserAchievement achievement = achievementRepository.save(UserAchievement.builder()
+                        .user(user)
+                        .code(rule.name())
+                        .build());
+                awardedCodes.add(rule.name());
+                granted.add(toDTO(rule, achievement));
+                eventPublisher.publishEvent(
+                        new AchievementAwardedEvent(userId, achievement.getId(), rule.name(), backfill));
+            }
+        }
+
+        if (!granted.isEmpty()) {
+            log.debug("Usuario {} obtiene {} logros nuevos", userId, granted.size());
+        }
+        return granted;
+    }
+
+    /**
+     * Reglas que el usuario cumple ahora mismo, tengan o no logro persistido
+     */
+    private long currentValue(Long userId, AchievementMetric metric) {
+        return switch (metric) {
+            case COUNTRIES_VISITED ->
+                visitedPlaceRepository.countDistinctCountriesByUserIdAndStatus(userId, PlaceStatus.VISITED);
+            case CONTINENTS_VISITED -> visitedPlaceRepository.findVisitedContinentsByUserId(userId).size();
+            case CITIES_VISITED -> visitedPlaceRepository.countCitiesByUserIdAndStatus(userId, PlaceStatus.VISITED);
+            case TRIVIA_LEVEL -> triviaScoreRepository.findByUserId(userId)
+                    .map(score -> score.getLevel().longValue())
+                    .orElse(0L);
+            case POSTS_CREATED -> postRepository.countByUserId(userId);
+        };
+    }
+
+    private AchievementDTO toDTO(AchievementRule rule, UserAchievement achievement) {
+        return AchievementDTO.builder()
+                .code(rule.name())
+                .label(rule.getLabel())
+                .category(rule.getCategory().name())
+                .metric(rule.getMetric().name())
+                .threshold(rule.getThreshold())
+                .awardedAt(achievement.getAwardedAt())
+                .build();
+    }
+}
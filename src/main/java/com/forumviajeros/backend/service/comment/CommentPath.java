@@ -0,0 +1,75 @@
+package com.forumviajeros.backend.service.comment;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.forumviajeros.backend.exception.BadRequestException;
+
+/**
+ * Rutas materializadas de los hilos de comentarios.
+ *
+ * La ruta de un comentario concatena los ids de sus ancestros y el suyo, cada
+ * uno con SEGMENT_LENGTH dígitos. Al ser solo dígitos de ancho fijo, el orden
+ * de texto coincide con el numérico en cualquier intercalación: ordenar por
+ * ruta recorre el árbol en profundidad y en orden de creación, y los
+ * descendientes de un comentario ocupan el rango (ruta, upperBound(ruta)).
+ */
+public final class CommentPath {
+
+    public static final int SEGMENT_LENGTH = 19;
+
+    /** Profundidad máxima (la raíz es 0): la columna admite MAX_DEPTH + 1 segmentos */
+    public static final int MAX_DEPTH = 12;
+
+    private CommentPath() {
+        // Utility class - prevent instantiation
+    }
+
+    public static String segment(long id) {
+        String digits = Long.toString(id);
+        return "0".repeat(SEGMENT_LENGTH - digits.length()) + digits;
+    }
+
+    public static String child(String parentPath, long id) {
+        return parentPath == null ? segment(id) : parentPath + segment(id);
+    }
+
+    /**
+     * Ruta del padre; null si es una raíz
+     */
+    public static String parent(String path) {
+        return path.length() > SEGMENT_LENGTH ? path.substring(0, path.length() - SEGMENT_LENGTH) : null;
+    }
+
+    /**
+     * Cota superior exclusiva del subárbol: la ruta del siguiente id posible al mismo nivel
+     */
+    public static String upperBound(String path) {
+        int lastSegment = path.length() - SEGMENT_LENGTH;
+        long id = Long.parseLong(path.substring(lastSegment));
+        return path.substring(0, lastSegment) + segment(id + 1);
+    }
+
+    public static String encodeCursor(String path) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(path.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica el cursor de respuestas; debe apuntar dentro del subárbol de ancestorPath
+     *
+     * @throws BadRequestException si el cursor está mal formado o es de otro hilo
+     */
+    public static String decodeCursor(String cursor, String ancestorPath) {
+        String path;
+        try {
+            path = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Cursor de paginación no válido", e);
+        }
+        if (!path.matches("\\d+") || path.length() % SEGMENT_LENGTH != 0
+                || path.length() <= ancestorPath.length() || !path.startsWith(ancestorPath)) {
+            throw new BadRequestException("Cursor de paginación no válido");
+        }
+        return path;
+    }
+}
@@ -4,8 +4,10 @@ import java.util.List;
 
 import org.springframework.security.core.Authentication;
 
+import com.forumviajeros.backend.dto.CursorPageDTO;
 import com.forumviajeros.backend.dto.comment.CommentRequestDTO;
 import com.forumviajeros.backend.dto.comment.CommentResponseDTO;
+import com.forumviajeros.backend.dto.comment.CommentThreadDTO;
 
 public interface CommentService {
     CommentResponseDTO createComment(CommentRequestDTO commentDTO, Authentication authentication, Long postId);
@@ -18,6 +20,17 @@ public interface CommentService {
 
     List<CommentResponseDTO> getCommentsByPost(Long postId);
 
+    /**
+     * Comentarios de primer nivel de un post por cursor (del más reciente al
+     * más antiguo), cada uno con sus primeras respuestas en orden de hilo
+     */
+    CursorPageDTO<CommentThreadDTO> getThreadsByPost(Long postId, String cursor, int size, int replies);
+
+    /**
+     * Siguientes respuestas del subárbol de un comentario, en orden de hilo
+     */
+    CursorPageDTO<CommentResponseDTO> getReplies(Long commentId, String cursor, int size);
+
     void deleteComment(Long id, Authentication authentication);
 
     CommentResponseDTO updateCommentStatus(Long id, String status, Authentication authentication);
@@ -1,15 +1,26 @@
 package com.forumviajeros.backend.service.comment;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.forumviajeros.backend.dto.CursorPageDTO;
 import com.forumviajeros.backend.dto.comment.CommentRequestDTO;
 import com.forumviajeros.backend.dto.comment.CommentResponseDTO;
+import com.forumviajeros.backend.dto.comment.CommentThreadDTO;
+import com.forumviajeros.backend.event.EngagementRecordedEvent;
+import com.forumviajeros.backend.event.SearchIndexRequestedEvent;
+import com.forumviajeros.backend.exception.BadRequestException;
 import com.forumviajeros.backend.exception.ResourceNotFoundException;
 import com.forumviajeros.backend.model.Comment;
 import com.forumviajeros.backend.model.Post;
@@ -18,27 +29,38 @@ import com.forumviajeros.backend.repository.CommentRepository;
 import com.forumviajeros.backend.repository.PostRepository;
 import com.forumviajeros.backend.repository.UserRepository;
 import com.forumviajeros.backend.service.NotificationService;
+import com.forumviajeros.backend.service.search.SearchDocumentType;
+import com.forumviajeros.backend.service.trending.EngagementType;
+import com.forumviajeros.backend.util.CursorUtil;
+import com.forumviajeros.backend.util.CursorUtil.Position;
 import com.forumviajeros.backend.util.HtmlSanitizer;
 
 @Service
 public class CommentServiceImpl implements CommentService {
 
+    /** Respuestas que se pueden precargar por hilo al listar los comentarios de un post */
+    static final int MAX_PREFETCHED_REPLIES = 10;
+
     private final CommentRepository commentRepository;
     private final UserRepository userRepository;
     private final PostRepository postRepository;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public CommentServiceImpl(CommentRepository commentRepository,
             UserRepository userRepository,
             PostRepository postRepository,
-            NotificationService notificationService) {
+            NotificationService notificationService,
+            ApplicationEventPublisher eventPublisher) {
         this.commentRepository = commentRepository;
         this.userRepository = userRepository;
         this.postRepository = postRepository;
         this.notificationService = notificationService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @Transactional
     public CommentResponseDTO createComment(CommentRequestDTO commentRequestDTO, Authentication authentication,
             Long postId) {
         User user = getUserFromAuthentication(authentication);
@@ -52,13 +74,22 @@ public class CommentServiceImpl implements CommentService {
         comment.setPost(post);
         comment.setStatus(Comment.CommentStatus.ACTIVE);
 
+        Comment parent = commentRequestDTO.getParentId() != null
+                ? findParent(commentRequestDTO.getParentId(), postId)
+                : null;
         Comment savedComment = commentRepository.save(comment);
+        placeInThread(savedComment, parent);
+        postRepository.incrementCommentCount(postId, 1);
+        userRepository.incrementCommentCount(user.getId(), 1);
         // Generar notificación de comentario
-        notificationService.createCommentNotification(user, postId);
+        notificationService.createCommentNotification(user, post);
+        publishIndexRequest(savedComment.getId());
+        eventPublisher.publishEvent(EngagementRecordedEvent.onPost(EngagementType.COMMENT, postId));
         return mapToResponseDTO(savedComment);
     }
 
     @Override
+    @Transactional
     public CommentResponseDTO updateComment(Long commentId, CommentRequestDTO commentRequestDTO,
             Authentication authentication) {
         User user = getUserFromAuthentication(authentication);
@@ -74,6 +105,7 @@ public class CommentServiceImpl implements CommentService {
         comment.setStatus(Comment.CommentStatus.EDITED);
 
         Comment updatedComment = commentRepository.save(comment);
+        publishIndexRequest(commentId);
         return mapToResponseDTO(updatedComment);
     }
 
@@ -103,6 +135,111 @@ public class CommentServiceImpl implements CommentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<CommentThreadDTO> getThreadsByPost(Long postId, String cursor, int size, int replies) {
+        if (!postRepository.existsById(postId)) {
+            throw new ResourceNotFoundException("Publicación", "id", postId);
+        }
+        int pageSize = CursorUtil.pageSize(size);
+        int replyCount = Math.max(0, Math.min(replies, MAX_PREFETCHED_REPLIES));
+        Position position = CursorUtil.decode(cursor);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Comment> roots = position == null
+                ? commentRepository.findRootPageFirst(postId, limit)
+                : commentRepository.findRootPageBefore(postId, position.createdAt(), position.id(), limit);
+
+        return CursorUtil.toPage(roots, pageSize, root -> new Position(root.getCreatedAt(), root.getId()),
+                page -> {
+                    Map<Long, List<Comment>> repliesByRoot = firstReplies(page, replyCount);
+                    return page.stream()
+                            .map(root -> new CommentThreadDTO(mapToResponseDTO(root),
+                                    toReplyPage(repliesByRoot.getOrDefault(root.getId(), List.of()), replyCount)))
+                            .collect(Collectors.toList());
+                });
+    }
+
+    /**
+     * Primeras replies + 1 respuestas de cada hilo de la página, agrupadas por
+     * raíz, con una única consulta (la de más indica si hay más)
+     */
+    private Map<Long, List<Comment>> firstReplies(List<Comment> roots, int replies) {
+        if (roots.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> rootIds = roots.stream().map(Comment::getId).collect(Collectors.toList());
+        return commentRepository.findFirstRepliesOfThreads(rootIds, replies + 1).stream()
+                .collect(Collectors.groupingBy(Comment::getRootId, LinkedHashMap::new, Collectors.toList()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<CommentResponseDTO> getReplies(Long commentId, String cursor, int size) {
+        Comment comment = commentRepository.findById(commentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Comentario", "id", commentId));
+        String after = cursor == null || cursor.isBlank()
+                ? comment.getPath()
+                : CommentPath.decodeCursor(cursor, comment.getPath());
+        return replyPage(comment, after, CursorUtil.pageSize(size));
+    }
+
+    /**
+     * Hasta size respuestas del subárbol de anchor posteriores a la ruta after,
+     * en orden de hilo. Es una consulta acotada por el índice del hilo: el
+     * coste no depende de cuántas respuestas tenga.
+     */
+    private CursorPageDTO<CommentResponseDTO> replyPage(Comment anchor, String after, int size) {
+        List<Comment> rows = commentRepository.findThreadRange(anchor.getRootId(), after,
+                CommentPath.upperBound(anchor.getPath()), PageRequest.of(0, size + 1));
+        return toReplyPage(rows, size);
+    }
+
+    /**
+     * Página de respuestas a partir de hasta size + 1 filas en orden de hilo
+     */
+    private CursorPageDTO<CommentResponseDTO> toReplyPage(List<Comment> rows, int size) {
+        boolean hasMore = rows.size() > size;
+        List<Comment> page = hasMore ? rows.subList(0, size) : rows;
+        return CursorPageDTO.<CommentResponseDTO>builder()
+                .items(page.stream().map(this::mapToResponseDTO).collect(Collectors.toList()))
+                .nextCursor(hasMore && !page.isEmpty()
+                        ? CommentPath.encodeCursor(page.get(page.size() - 1).getPath())
+                        : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private Comment findParent(Long parentId, Long postId) {
+        Comment parent = commentRepository.findById(parentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Comentario", "id", parentId));
+        if (!parent.getPost().getId().equals(postId)) {
+            throw new BadRequestException("El comentario al que se responde es de otra publicación");
+        }
+        return parent;
+    }
+
+    /**
+     * Completa la posición en el hilo, que depende del id recién generado. Por
+     * debajo de la profundidad máxima la respuesta se cuelga del abuelo, como
+     * hermana del comentario al que responde.
+     */
+    private void placeInThread(Comment comment, Comment parent) {
+        if (parent == null) {
+            comment.setRootId(comment.getId());
+            comment.setDepth(0);
+            comment.setPath(CommentPath.segment(comment.getId()));
+            return;
+        }
+        boolean tooDeep = parent.getDepth() >= CommentPath.MAX_DEPTH;
+        comment.setParentId(tooDeep ? parent.getParentId() : parent.getId());
+        comment.setDepth(tooDeep ? parent.getDepth() : parent.getDepth() + 1);
+        comment.setRootId(parent.getRootId());
+        comment.setPath(CommentPath.child(tooDeep ? CommentPath.parent(parent.getPath()) : parent.getPath(),
+                comment.getId()));
+    }
+
+    @Override
+    @Transactional
     public void deleteComment(Long id, Authentication authentication) {
         User user = getUserFromAuthentication(authentication);
 
@@ -113,7 +250,43 @@ public class CommentServiceImpl implements CommentService {
             throw new AccessDeniedException("No tienes permisos para eliminar este comentario");
         }
 
-        commentRepository.deleteById(id);
+        if (commentRepository.existsByParentId(id)) {
+            // Con respuestas se conserva como marcador para no romper el hilo
+            comment.setStatus(Comment.CommentStatus.DELETED);
+            commentRepository.save(comment);
+            publishIndexRequest(id);
+            return;
+        }
+
+        removeComment(comment);
+        removeEmptyTombstones(comment.getParentId());
+    }
+
+    private void removeComment(Comment comment) {
+        postRepository.incrementCommentCount(comment.getPost().getId(), -1);
+        userRepository.incrementCommentCount(comment.getUser().getId(), -1);
+        commentRepository.deleteById(comment.getId());
+        publishIndexRequest(comment.getId());
+    }
+
+    /**
+     * Elimina los marcadores (DELETED) que se quedan sin respuestas,
+     * subiendo por el hilo mientras los antecesores también lo sean
+     */
+    private void removeEmptyTombstones(Long parentId) {
+        while (parentId != null) {
+            Comment parent = commentRepository.findById(parentId).orElse(null);
+            if (parent == null || parent.getStatus() != Comment.CommentStatus.DELETED
+                    || commentRepository.existsByParentId(parentId)) {
+                return;
+            }
+            removeComment(parent);
+            parentId = parent.getParentId();
+        }
+    }
+
+    private void publishIndexRequest(Long commentId) {
+        eventPublisher.publishEvent(new SearchIndexRequestedEvent(SearchDocumentType.COMMENT, commentId));
     }
 
     private User getUserFromAuthentication(Authentication authentication) {
@@ -144,20 +317,28 @@ public class CommentServiceImpl implements CommentService {
                 .anyMatch(authority -> authority.equals("ROLE_MODERATOR"));
     }
 
+    /**
+     * Un comentario eliminado que se conserva como marcador del hilo no expone
+     * su contenido ni su autor
+     */
     private CommentResponseDTO mapToResponseDTO(Comment comment) {
+        boolean deleted = comment.getStatus() == Comment.CommentStatus.DELETED;
         return new CommentResponseDTO(
                 comment.getId(),
-                comment.getContent(),
+                deleted ? null : comment.getContent(),
                 comment.getPost().getId(),
-                comment.getUser().getId(),
-                comment.getUser().getUsername(),
-                comment.getUser().getProfileImageUrl(),
+                deleted ? null : comment.getUser().getId(),
+                deleted ? null : comment.getUser().getUsername(),
+                deleted ? null : comment.getUser().getProfileImageUrl(),
                 comment.getStatus().name(),
                 comment.getCreatedAt() != null ? comment.getCreatedAt().toString() : null,
-                comment.getUpdatedAt() != null ? comment.getUpdatedAt().toString() : null);
+                comment.getUpdatedAt() != null ? comment.getUpdatedAt().toString() : null,
+                comment.getParentId(),
+                comment.getDepth());
     }
 
     @Override
+    @Transactional
     public CommentResponseDTO updateCommentStatus(Long id, String status, Authentication authentication) {
         if (!isAdmin(authentication) && !isModerator(authentication)) {
             throw new AccessDeniedException("Solo administradores y moderadores pueden cambiar el estado de comentarios");
@@ -176,6 +357,7 @@ public class CommentServiceImpl implements CommentService {
             
             comment.setStatus(newStatus);
             Comment updatedComment = commentRepository.save(comment);
+            publishIndexRequest(id);
             return mapToResponseDTO(updatedComment);
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Estado inválido: " + status + ". Estados válidos: ACTIVE, EDITED, DELETED, HIDDEN");
@@ -0,0 +1,33 @@
+package com.forumviajeros.backend.service.comment;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.forumviajeros.backend.repository.CommentRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Da ruta de hilo a los comentarios creados antes de que existieran las
+ * respuestas: cada uno queda como raíz de su propio hilo. Después del primer
+ * arranque no encuentra filas y no hace nada.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CommentThreadBackfill {
+
+    private final CommentRepository commentRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        int updated = commentRepository.backfillRootPaths();
+        if (updated > 0) {
+            log.info("Rutas de hilo asignadas a {} comentarios existentes", updated);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.forumviajeros.backend.service.compatibility;
+
+/**
+ * Operaciones sobre conjuntos de países codificados como bitsets en un
+ * {@code long[]}. Con ~200 países cada conjunto ocupa 4 palabras (256 bits), así
+ * que las intersecciones se resuelven con un puñado de {@link Long#bitCount}.
+ *
+ * Todos los arrays que se combinan deben tener la misma longitud.
+ */
+public final class CountryBitset {
+
+    private CountryBitset() {
+    }
+
+    /**
+     * Número de palabras de 64 bits necesarias para {@code size} países
+     */
+    public static int words(int size) {
+        return Math.max(1, (size + 63) >>> 6);
+    }
+
+    public static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    public static int cardinality(long[] bits) {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * |a ∩ b|
+     */
+    public static int andCount(long[] a, long[] b) {
+        int count = 0;
+        for (int i = 0; i < a.length; i++) {
+            count += Long.bitCount(a[i] & b[i]);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,26 @@
+package com.forumviajeros.backend.service.compatibility;
+
+import java.util.List;
+
+import com.forumviajeros.backend.dto.compatibility.TravelCompatibilityDTO;
+
+/**
+ * Servicio de compatibilidad de viaje entre usuarios ("viajeros como tú")
+ */
+public interface TravelCompatibilityService {
+
+    /**
+     * Obtiene los k usuarios más compatibles con un usuario, de mayor a menor puntuación
+     */
+    List<TravelCompatibilityDTO> findSimilarTravelers(Long userId, int limit);
+
+    /**
+     * Calcula la compatibilidad entre dos usuarios concretos
+     */
+    TravelCompatibilityDTO getCompatibility(Long userId, Long otherUserId);
+
+    /**
+     * Recarga los bitsets en memoria desde la base de datos
+     */
+    void refreshIndex();
+}
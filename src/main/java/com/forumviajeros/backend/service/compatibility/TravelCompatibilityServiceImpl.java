@@ -0,0 +1,420 @@
+package com.forumviajeros.backend.service.compatibility;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.forumviajeros.backend.dto.compatibility.TravelCompatibilityDTO;
+import com.forumviajeros.backend.event.VisitedPlaceChangedEvent;
+import com.forumviajeros.backend.exception.ResourceNotFoundException;
+import com.forumviajeros.backend.model.User;
+import com.forumviajeros.backend.model.VisitedPlace.PlaceStatus;
+import com.forumviajeros.backend.repository.CountryRepository;
+import com.forumviajeros.backend.repository.UserRepository;
+import com.forumviajeros.backend.repository.VisitedPlaceRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementación del servicio de compatibilidad de viaje.
+ *
+ * Cada usuario con lugares se representa en memoria con dos bitsets (países
+ * conocidos y lista de deseos) derivados de {@code visited_places}. Se cargan
+ * con una única consulta al arrancar y, a partir de ahí, se recalcula solo el
+ * usuario afectado por cada {@link VisitedPlaceChangedEvent}. Si hay que
+ * recargar (alta de país), el índice anterior sigue atendiendo lecturas y los
+ * usuarios que cambian durante la consulta se recalculan al terminar.
+ * La búsqueda de los k más compatibles recorre todos los usuarios en paralelo
+ * con un {@link ForkJoinPool}: cada tramo mantiene su propio top-k y los tramos
+ * se fusionan al volver.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TravelCompatibilityServiceImpl implements TravelCompatibilityService, SmartInitializingSingleton {
+
+    /** Estados que cuentan como país conocido */
+    private static final Set<PlaceStatus> BEEN_THERE = EnumSet.of(
+            PlaceStatus.VISITED, PlaceStatus.LIVED, PlaceStatus.LIVING);
+
+    /** Tamaño de tramo por debajo del cual no se sigue dividiendo la búsqueda */
+    static final int SCAN_THRESHOLD = 4096;
+
+    private static final int MAX_LIMIT = 50;
+
+    /** Peor candidato primero; a igual puntuación se prefiere el ID menor */
+    private static final Comparator<Match> WORST_FIRST = Comparator
+            .comparingDouble((Match m) -> m.score)
+            .thenComparing(Comparator.comparingLong((Match m) -> m.userId).reversed());
+
+    private final VisitedPlaceRepository visitedPlaceRepository;
+    private final CountryRepository countryRepository;
+    private final UserRepository userRepository;
+
+    private volatile Index index;
+    private final Object indexLock = new Object();
+    /** Usuarios cambiados mientras se carga el índice; protegido por sí mismo */
+    private final Set<Long> changedWhileLoading = new HashSet<>();
+    private boolean loading;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        refreshIndex();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TravelCompatibilityDTO> findSimilarTravelers(Long userId, int limit) {
+        int k = Math.max(1, Math.min(limit, MAX_LIMIT));
+        Index current = getIndex();
+        TravelBits me = current.byUser.get(userId);
+        if (me == null || me.isEmpty()) {
+            return List.of();
+        }
+
+        List<Match> top = topK(me, current.snapshot(), k);
+        Map<Long, User> users = userRepository.findAllById(
+                top.stream().map(m -> m.userId).collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<TravelCompatibilityDTO> result = new ArrayList<>(top.size());
+        for (Match match : top) {
+            User user = users.get(match.userId);
+            if (user != null) {
+                result.add(toDTO(match, user));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TravelCompatibilityDTO getCompatibility(Long userId, Long otherUserId) {
+        User other = userRepository.findById(otherUserId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", otherUserId));
+        Index current = getIndex();
+        TravelBits empty = TravelBits.empty(otherUserId, current.words);
+        TravelBits me = current.byUser.getOrDefault(userId, empty);
+        TravelBits them = current.byUser.getOrDefault(otherUserId, empty);
+        return toDTO(score(me, them), other);
+    }
+
+    @Override
+    public void refreshIndex() {
+        synchronized (indexLock) {
+            boolean stale;
+            do {
+                synchronized (changedWhileLoading) {
+                    loading = true;
+                }
+                Index loaded = loadIndex();
+                stale = false;
+                synchronized (changedWhileLoading) {
+                    // La consulta puede haber leído ya estos cambios: recalcular un usuario es idempotente
+                    for (Long userId : changedWhileLoading) {
+                        stale |= !rebuildUser(loaded, userId);
+                    }
+                    changedWhileLoading.clear();
+                    index = loaded;
+                    loading = false;
+                }
+            } while (stale);
+        }
+    }
+
+    /**
+     * Recalcula los bitsets del usuario cuyo mapa ha cambiado
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVisitedPlaceChanged(VisitedPlaceChangedEvent event) {
+        Index current;
+        synchronized (changedWhileLoading) {
+            if (loading || index == null) {
+                changedWhileLoading.add(event.getUserId());
+                return;
+            }
+            current = index;
+        }
+        if (!rebuildUser(current, event.getUserId())) {
+            // País desconocido para el índice (alta de país): recarga completa
+            refreshIndex();
+        }
+    }
+
+    /**
+     * Relee los lugares del usuario y sustituye sus bitsets; false si algún país no está en el índice
+     */
+    private boolean rebuildUser(Index target, Long userId) {
+        TravelBits bits = target.build(userId, visitedPlaceRepository.findCountryIdStatusesByUserId(userId));
+        if (bits == null) {
+            return false;
+        }
+        target.put(bits);
+        return true;
+    }
+
+    /**
+     * Calcula el top-k sobre una instantánea de usuarios
+     */
+    static List<Match> topK(TravelBits me, TravelBits[] users, int k) {
+        PriorityQueue<Match> heap = ForkJoinPool.commonPool()
+                .invoke(new TopKTask(me, users, 0, users.length, k));
+        List<Match> result = new ArrayList<>(heap);
+        result.sort(WORST_FIRST.reversed());
+        return result;
+    }
+
+    /**
+     * Puntuación de compatibilidad de {@code them} desde el punto de vista de {@code me}:
+     * media entre el Jaccard de países conocidos y la fracción de mi lista de deseos que
+     * ya conocen; solo Jaccard si no tengo lista de deseos
+     */
+    static Match score(TravelBits me, TravelBits them) {
+        int shared = CountryBitset.andCount(me.visited, them.visited);
+        int union = me.visitedCount + them.visitedCount - shared;
+        double jaccard = union == 0 ? 0.0 : (double) shared / union;
+
+        int wishlistKnown = me.wishlistCount == 0 ? 0 : CountryBitset.andCount(me.wishlist, them.visited);
+        double wishlistMatch = me.wishlistCount == 0 ? 0.0 : (double) wishlistKnown / me.wishlistCount;
+        double score = me.wishlistCount == 0 ? jaccard : (jaccard + wishlistMatch) / 2;
+
+        return new Match(them.userId, jaccard, wishlistMatch, score, shared, wishlistKnown);
+    }
+
+    private Index getIndex() {
+        Index current = index;
+        if (current == null) {
+            // Solo antes del arranque completo
+            synchronized (indexLock) {
+                if (index == null) {
+                    refreshIndex();
+                }
+                current = index;
+            }
+        }
+        return current;
+    }
+
+    private Index loadIndex() {
+        long start = System.currentTimeMillis();
+        List<Long> countryIds = countryRepository.findAllIsoCodes().stream()
+                .map(row -> (Long) row[0])
+                .sorted()
+                .collect(Collectors.toList());
+        Index loaded = new Index(countryIds);
+
+        Map<Long, List<Object[]>> rowsByUser = new HashMap<>();
+        for (Object[] row : visitedPlaceRepository.findAllUserCountryStatuses()) {
+            rowsByUser.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                    .add(new Object[] { row[1], row[2] });
+        }
+        rowsByUser.forEach((userId, rows) -> {
+            TravelBits bits = loaded.build(userId, rows);
+            if (bits != null) {
+                loaded.put(bits);
+            }
+        });
+
+        log.info("Bitsets de compatibilidad cargados: {} usuarios, {} países en {} ms",
+                loaded.byUser.size(), countryIds.size(), System.currentTimeMillis() - start);
+        return loaded;
+    }
+
+    private TravelCompatibilityDTO toDTO(Match match, User user) {
+        return TravelCompatibilityDTO.builder()
+                .userId(user.getId())
+                .username(user.getUsername())
+                .profileImageUrl(user.getProfileImageUrl())
+                .jaccard(round(match.jaccard))
+                .wishlistMatch(round(match.wishlistMatch))
+                .score(round(match.score))
+                .sharedCountries(match.shared)
+                .wishlistCountriesKnown(match.wishlistKnown)
+                .build();
+    }
+
+    private double round(double value) {
+        return Math.round(value * 10000.0) / 10000.0;
+    }
+
+    /**
+     * Bitsets de todos los usuarios más el mapeo país → bit
+     */
+    static final class Index {
+        final Map<Long, Integer> bitByCountryId = new HashMap<>();
+        final int words;
+        final Map<Long, TravelBits> byUser = new ConcurrentHashMap<>();
+        // Array de usuarios para el recorrido paralelo; null si hay cambios pendientes
+        private volatile TravelBits[] snapshot;
+
+        Index(List<Long> countryIds) {
+            for (int i = 0; i < countryIds.size(); i++) {
+                bitByCountryId.put(countryIds.get(i), i);
+            }
+            this.words = CountryBitset.words(countryIds.size());
+        }
+
+        /**
+         * Construye los bitsets a partir de pares (país, estado); null si algún país no está mapeado
+         */
+        TravelBits build(Long userId, List<Object[]> rows) {
+            long[] visited = new long[words];
+            long[] wishlist = new long[words];
+            for (Object[] row : rows) {
+                Integer bit = bitByCountryId.get((Long) row[0]);
+                if (bit == null) {
+                    return null;
+                }
+                PlaceStatus status = (PlaceStatus) row[1];
+                if (BEEN_THERE.contains(status)) {
+                    CountryBitset.set(visited, bit);
+                } else if (status == PlaceStatus.WISHLIST) {
+                    CountryBitset.set(wishlist, bit);
+                }
+            }
+            return new TravelBits(userId, visited, wishlist);
+        }
+
+        void put(TravelBits bits) {
+            if (bits.isEmpty()) {
+                byUser.remove(bits.userId);
+            } else {
+                byUser.put(bits.userId, bits);
+            }
+            snapshot = null;
+        }
+
+        TravelBits[] snapshot() {
+            TravelBits[] current = snapshot;
+            if (current == null) {
+                current = byUser.values().toArray(new TravelBits[0]);
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Bitsets inmutables de un usuario; se sustituyen enteros al cambiar
+     */
+    static final class TravelBits {
+        final long userId;
+        final long[] visited;
+        final long[] wishlist;
+        final int visitedCount;
+        final int wishlistCount;
+
+        TravelBits(long userId, long[] visited, long[] wishlist) {
+            this.userId = userId;
+            this.visited = visited;
+            this.wishlist = wishlist;
+            this.visitedCount = CountryBitset.cardinality(visited);
+            this.wishlistCount = CountryBitset.cardinality(wishlist);
+        }
+
+        static TravelBits empty(long userId, int words) {
+            return new TravelBits(userId, new long[words], new long[words]);
+        }
+
+        boolean isEmpty() {
+            return visitedCount == 0 && wishlistCount == 0;
+        }
+    }
+
+    /**
+     * Resultado de comparar dos usuarios
+     */
+    static final class Match {
+        final long userId;
+        final double jaccard;
+        final double wishlistMatch;
+        final double score;
+        final int shared;
+        final int wishlistKnown;
+
+        Match(long userId, double jaccard, double wishlistMatch, double score, int shared, int wishlistKnown) {
+            this.userId = userId;
+            this.jaccard = jaccard;
+            this.wishlistMatch = wishlistMatch;
+            this.score = score;
+            this.shared = shared;
+            this.wishlistKnown = wishlistKnown;
+        }
+    }
+
+    /**
+     * Top-k de un tramo del array de usuarios; divide en mitades hasta {@link #SCAN_THRESHOLD}
+     */
+    private static final class TopKTask extends RecursiveTask<PriorityQueue<Match>> {
+        private final TravelBits me;
+        private final TravelBits[] users;
+        private final int from;
+        private final int to;
+        private final int k;
+
+        TopKTask(TravelBits me, TravelBits[] users, int from, int to, int k) {
+            this.me = me;
+            this.users = users;
+            this.from = from;
+            this.to = to;
+            this.k = k;
+        }
+
+        @Override
+        protected PriorityQueue<Match> compute() {
+            if (to - from <= SCAN_THRESHOLD) {
+                return scan();
+            }
+            int mid = (from + to) >>> 1;
+            TopKTask left = new TopKTask(me, users, from, mid, k);
+            TopKTask right = new TopKTask(me, users, mid, to, k);
+            left.fork();
+            PriorityQueue<Match> merged = right.compute();
+            for (Match match : left.join()) {
+                offer(merged, match);
+            }
+            return merged;
+        }
+
+        private PriorityQueue<Match> scan() {
+            PriorityQueue<Match> heap = new PriorityQueue<>(k + 1, WORST_FIRST);
+            for (int i = from; i < to; i++) {
+                TravelBits other = users[i];
+                if (other.userId == me.userId) {
+                    continue;
+                }
+                Match match = score(me, other);
+                if (match.score > 0) {
+                    offer(heap, match);
+                }
+            }
+            return heap;
+        }
+
+        private void offer(PriorityQueue<Match> heap, Match match) {
+            if (heap.size() < k) {
+                heap.add(match);
+            } else if (WORST_FIRST.compare(match, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(match);
+            }
+        }
+    }
+}
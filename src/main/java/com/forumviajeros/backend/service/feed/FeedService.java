@@ -1,5 +1,7 @@
 package com.forumviajeros.backend.service.feed;
 
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
@@ -14,7 +16,12 @@ public interface FeedService {
     Page<FeedItemDTO> getFollowingFeed(Pageable pageable, Authentication auth);
 
     /**
-     * Get global/explore feed with recent posts
+     * Get global/explore feed: trending posts first, then the remaining active posts, newest first
      */
     Page<FeedItemDTO> getExploreFeed(Pageable pageable);
+
+    /**
+     * Get trending posts, optionally restricted to a category and/or a tag
+     */
+    List<FeedItemDTO> getTrendingPosts(Long categoryId, String tag, int limit);
 }
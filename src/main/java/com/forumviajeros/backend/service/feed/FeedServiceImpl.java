@@ -1,8 +1,13 @@
 package com.forumviajeros.backend.service.feed;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -18,6 +23,7 @@ import com.forumviajeros.backend.repository.FollowRepository;
 import com.forumviajeros.backend.repository.PostLikeRepository;
 import com.forumviajeros.backend.repository.PostRepository;
 import com.forumviajeros.backend.repository.UserRepository;
+import com.forumviajeros.backend.service.trending.TrendingIndex;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,6 +38,7 @@ public class FeedServiceImpl implements FeedService {
     private final FollowRepository followRepository;
     private final UserRepository userRepository;
     private final PostLikeRepository postLikeRepository;
+    private final TrendingIndex trendingIndex;
 
     @Override
     public Page<FeedItemDTO> getFollowingFeed(Pageable pageable, Authentication auth) {
@@ -52,17 +59,75 @@ public class FeedServiceImpl implements FeedService {
         return posts.map(this::mapToFeedItem);
     }
 
+    /**
+     * Primero los posts en tendencia según el ranking en memoria y, a
+     * continuación, el resto de posts activos del más reciente al más
+     * antiguo (sin repetir los de tendencia). Sin actividad registrada (instancia
+     * recién arrancada) son solo los recientes.
+     */
     @Override
     public Page<FeedItemDTO> getExploreFeed(Pageable pageable) {
-        Pageable sortedPageable = PageRequest.of(
-                pageable.getPageNumber(),
-                pageable.getPageSize(),
-                Sort.by(Sort.Direction.DESC, "createdAt")
-        );
+        List<Long> trending = trendingIndex.topPosts(null, null, trendingIndex.capacity());
+        if (trending.isEmpty()) {
+            return postRepository.findByStatus(Post.PostStatus.ACTIVE, recentFirst(pageable.getPageNumber(),
+                    pageable.getPageSize())).map(this::mapToFeedItem);
+        }
 
-        Page<Post> posts = postRepository.findAll(sortedPageable);
+        int pageSize = pageable.getPageSize();
+        int from = (int) Math.min(pageable.getOffset(), trending.size());
+        int to = Math.min(from + pageSize, trending.size());
+        List<FeedItemDTO> items = new ArrayList<>(loadInOrder(trending.subList(from, to)));
+
+        int missing = pageSize - (to - from);
+        long recentTotal;
+        if (missing > 0) {
+            // Posición dentro de los recientes: puede caer a mitad de página, se leen como mucho dos
+            long recentOffset = Math.max(0, pageable.getOffset() - trending.size());
+            int page = (int) (recentOffset / pageSize);
+            int skip = (int) (recentOffset % pageSize);
+            Page<Post> recent = postRepository.findByStatusAndIdNotIn(Post.PostStatus.ACTIVE, trending,
+                    recentFirst(page, pageSize));
+            List<Post> candidates = new ArrayList<>(recent.getContent());
+            if (skip + missing > pageSize && recent.hasNext()) {
+                candidates.addAll(postRepository.findByStatusAndIdNotIn(Post.PostStatus.ACTIVE, trending,
+                        recentFirst(page + 1, pageSize)).getContent());
+            }
+            candidates.stream()
+                    .skip(skip)
+                    .limit(missing)
+                    .map(this::mapToFeedItem)
+                    .forEach(items::add);
+            recentTotal = recent.getTotalElements();
+        } else {
+            recentTotal = postRepository.countByStatusAndIdNotIn(Post.PostStatus.ACTIVE, trending);
+        }
+        return new PageImpl<>(items, pageable, trending.size() + recentTotal);
+    }
 
-        return posts.map(this::mapToFeedItem);
+    @Override
+    public List<FeedItemDTO> getTrendingPosts(Long categoryId, String tag, int limit) {
+        int size = Math.max(1, Math.min(limit, trendingIndex.capacity()));
+        return loadInOrder(trendingIndex.topPosts(categoryId, tag, size));
+    }
+
+    /**
+     * Carga los posts en el orden del ranking, descartando los que ya no están activos
+     */
+    private List<FeedItemDTO> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Post> posts = postRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        return ids.stream()
+                .map(posts::get)
+                .filter(post -> post != null && post.getStatus() == Post.PostStatus.ACTIVE)
+                .map(this::mapToFeedItem)
+                .toList();
+    }
+
+    private static Pageable recentFirst(int page, int size) {
+        return PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt", "id"));
     }
 
     private User getCurrentUser(Authentication auth) {
@@ -85,7 +150,7 @@ public class FeedServiceImpl implements FeedService {
                 .forumId(post.getForum().getId())
                 .forumName(post.getForum().getTitle())
                 .postId(post.getId())
-                .commentCount(post.getComments() != null ? post.getComments().size() : 0)
+                .commentCount(post.getCommentCount().intValue())
                 .likeCount((int) likeCount)
                 .build();
     }
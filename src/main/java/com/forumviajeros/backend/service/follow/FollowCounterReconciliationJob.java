@@ -0,0 +1,37 @@
+package com.forumviajeros.backend.service.follow;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Tarea periódica que corrige la deriva de los contadores followers_count /
+ * following_count respecto a la tabla follows (borrados en cascada, escrituras
+ * fuera del servicio...) y reconstruye el {@link SocialGraphIndex}, que por sí
+ * solo no ve las escrituras de otras réplicas
+ */
+@Component
+@RequiredArgsConstructor
+public class FollowCounterReconciliationJob {
+
+    private final FollowService followService;
+    private final SocialGraphIndex socialGraphIndex;
+
+    @Scheduled(cron = "${app.follow.reconcile-cron:0 30 4 * * *}")
+    public void reconcile() {
+        followService.reconcileFollowCounters();
+        socialGraphIndex.rebuild();
+    }
+
+    /**
+     * Al arrancar: los usuarios anteriores a los contadores nacen a 0 y se
+     * rellenan aquí, sin esperar a la pasada nocturna
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        followService.reconcileFollowCounters();
+    }
+}
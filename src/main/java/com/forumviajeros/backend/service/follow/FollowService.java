@@ -1,12 +1,16 @@
 package com.forumviajeros.backend.service.follow;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 
+import com.forumviajeros.backend.dto.CursorPageDTO;
 import com.forumviajeros.backend.dto.follow.FollowResponseDTO;
+import com.forumviajeros.backend.dto.follow.FollowStateDTO;
 import com.forumviajeros.backend.dto.follow.FollowStatsDTO;
 import com.forumviajeros.backend.dto.follow.UserSummaryDTO;
 
@@ -24,7 +28,10 @@ public interface FollowService {
 
     /**
      * Obtener lista de seguidores de un usuario
+     *
+     * @deprecated carga la lista completa; usar {@link #getFollowersPage}
      */
+    @Deprecated
     List<FollowResponseDTO> getFollowers(Long userId, Authentication auth);
 
     /**
@@ -34,7 +41,10 @@ public interface FollowService {
 
     /**
      * Obtener lista de usuarios que sigue
+     *
+     * @deprecated carga la lista completa; usar {@link #getFollowingPage}
      */
+    @Deprecated
     List<FollowResponseDTO> getFollowing(Long userId, Authentication auth);
 
     /**
@@ -42,6 +52,16 @@ public interface FollowService {
      */
     Page<FollowResponseDTO> getFollowingPaged(Long userId, Pageable pageable, Authentication auth);
 
+    /**
+     * Obtener seguidores por cursor, del más reciente al más antiguo y sin total
+     */
+    CursorPageDTO<FollowResponseDTO> getFollowersPage(Long userId, String cursor, int size, Authentication auth);
+
+    /**
+     * Obtener usuarios que sigue por cursor, del más reciente al más antiguo y sin total
+     */
+    CursorPageDTO<FollowResponseDTO> getFollowingPage(Long userId, String cursor, int size, Authentication auth);
+
     /**
      * Obtener estadísticas de seguimiento de un usuario
      */
@@ -61,4 +81,17 @@ public interface FollowService {
      * Obtener seguidores mutuos
      */
     List<UserSummaryDTO> getMutualFollows(Authentication auth);
+
+    /**
+     * Resolver en bloque la relación del usuario actual con un conjunto de usuarios
+     * (le sigo / me sigue) y, opcionalmente, sus contadores
+     */
+    Map<Long, FollowStateDTO> getFollowStates(Collection<Long> userIds, boolean includeCounts, Authentication auth);
+
+    /**
+     * Recalcula desde la tabla follows los contadores desnormalizados que se hayan desviado
+     *
+     * @return número de usuarios corregidos
+     */
+    int reconcileFollowCounters();
 }
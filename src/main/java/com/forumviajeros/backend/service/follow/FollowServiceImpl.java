@@ -1,23 +1,38 @@
 package com.forumviajeros.backend.service.follow;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.forumviajeros.backend.dto.CursorPageDTO;
 import com.forumviajeros.backend.dto.follow.FollowResponseDTO;
+import com.forumviajeros.backend.dto.follow.FollowStateDTO;
 import com.forumviajeros.backend.dto.follow.FollowStatsDTO;
 import com.forumviajeros.backend.dto.follow.UserSummaryDTO;
+import com.forumviajeros.backend.event.FollowChangedEvent;
 import com.forumviajeros.backend.exception.ResourceNotFoundException;
 import com.forumviajeros.backend.model.Follow;
 import com.forumviajeros.backend.model.User;
 import com.forumviajeros.backend.repository.FollowRepository;
 import com.forumviajeros.backend.repository.UserRepository;
 import com.forumviajeros.backend.service.NotificationService;
+import com.forumviajeros.backend.util.CursorUtil;
+import com.forumviajeros.backend.util.CursorUtil.Position;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,6 +46,8 @@ public class FollowServiceImpl implements FollowService {
     private final FollowRepository followRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final SocialGraphIndex socialGraphIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public void followUser(Long userId, Authentication auth) {
@@ -52,6 +69,9 @@ public class FollowServiceImpl implements FollowService {
                 .build();
 
         followRepository.save(follow);
+        userRepository.incrementFollowingCount(follower.getId(), 1);
+        userRepository.incrementFollowersCount(followed.getId(), 1);
+        eventPublisher.publishEvent(new FollowChangedEvent(follower.getId(), followed.getId(), true));
         // Generar notificación de follow
         notificationService.createFollowNotification(follower, followed);
         log.info("Usuario {} ahora sigue a {}", follower.getUsername(), followed.getUsername());
@@ -67,10 +87,14 @@ public class FollowServiceImpl implements FollowService {
                 .orElseThrow(() -> new IllegalArgumentException("No sigues a este usuario"));
 
         followRepository.delete(follow);
+        userRepository.incrementFollowingCount(follower.getId(), -1);
+        userRepository.incrementFollowersCount(followed.getId(), -1);
+        eventPublisher.publishEvent(new FollowChangedEvent(follower.getId(), followed.getId(), false));
         log.info("Usuario {} dejo de seguir a {}", follower.getUsername(), followed.getUsername());
     }
 
     @Override
+    @Deprecated
     @Transactional(readOnly = true)
     public List<FollowResponseDTO> getFollowers(Long userId, Authentication auth) {
         User user = userRepository.findById(userId)
@@ -78,9 +102,10 @@ public class FollowServiceImpl implements FollowService {
         User currentUser = auth != null ? getCurrentUser(auth) : null;
 
         List<User> followers = followRepository.findFollowerUsers(user);
+        Map<Long, FollowStateDTO> states = resolveFollowStates(currentUser, followers, false);
 
         return followers.stream()
-                .map(follower -> mapToFollowResponseDTO(follower, currentUser))
+                .map(follower -> mapToFollowResponseDTO(follower, states, null))
                 .collect(Collectors.toList());
     }
 
@@ -91,11 +116,15 @@ public class FollowServiceImpl implements FollowService {
             .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
         User currentUser = auth != null ? getCurrentUser(auth) : null;
 
-        return followRepository.findByFollowedOrderByCreatedAtDesc(user, pageable)
-                .map(follow -> mapToFollowResponseDTO(follow.getFollower(), currentUser, follow.getCreatedAt()));
+        Page<Follow> follows = followRepository.findByFollowedOrderByCreatedAtDesc(user, pageable);
+        Map<Long, FollowStateDTO> states = resolveFollowStates(currentUser,
+                follows.getContent().stream().map(Follow::getFollower).collect(Collectors.toList()), false);
+
+        return follows.map(follow -> mapToFollowResponseDTO(follow.getFollower(), states, follow.getCreatedAt()));
     }
 
     @Override
+    @Deprecated
     @Transactional(readOnly = true)
     public List<FollowResponseDTO> getFollowing(Long userId, Authentication auth) {
         User user = userRepository.findById(userId)
@@ -103,9 +132,10 @@ public class FollowServiceImpl implements FollowService {
         User currentUser = auth != null ? getCurrentUser(auth) : null;
 
         List<User> following = followRepository.findFollowingUsers(user);
+        Map<Long, FollowStateDTO> states = resolveFollowStates(currentUser, following, false);
 
         return following.stream()
-                .map(followed -> mapToFollowResponseDTO(followed, currentUser))
+                .map(followed -> mapToFollowResponseDTO(followed, states, null))
                 .collect(Collectors.toList());
     }
 
@@ -116,8 +146,47 @@ public class FollowServiceImpl implements FollowService {
             .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
         User currentUser = auth != null ? getCurrentUser(auth) : null;
 
-        return followRepository.findByFollowerOrderByCreatedAtDesc(user, pageable)
-                .map(follow -> mapToFollowResponseDTO(follow.getFollowed(), currentUser, follow.getCreatedAt()));
+        Page<Follow> follows = followRepository.findByFollowerOrderByCreatedAtDesc(user, pageable);
+        Map<Long, FollowStateDTO> states = resolveFollowStates(currentUser,
+                follows.getContent().stream().map(Follow::getFollowed).collect(Collectors.toList()), false);
+
+        return follows.map(follow -> mapToFollowResponseDTO(follow.getFollowed(), states, follow.getCreatedAt()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<FollowResponseDTO> getFollowersPage(Long userId, String cursor, int size,
+            Authentication auth) {
+        assertUserExists(userId);
+        User currentUser = auth != null ? getCurrentUser(auth) : null;
+        int pageSize = CursorUtil.pageSize(size);
+        Position position = CursorUtil.decode(cursor);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Follow> rows = position == null
+                ? followRepository.findFollowersFirstPage(userId, limit)
+                : followRepository.findFollowersBefore(userId, position.createdAt(), position.id(), limit);
+
+        return CursorUtil.toPage(rows, pageSize, follow -> new Position(follow.getCreatedAt(), follow.getId()),
+                page -> mapFollowPage(page, Follow::getFollower, currentUser));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<FollowResponseDTO> getFollowingPage(Long userId, String cursor, int size,
+            Authentication auth) {
+        assertUserExists(userId);
+        User currentUser = auth != null ? getCurrentUser(auth) : null;
+        int pageSize = CursorUtil.pageSize(size);
+        Position position = CursorUtil.decode(cursor);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Follow> rows = position == null
+                ? followRepository.findFollowingFirstPage(userId, limit)
+                : followRepository.findFollowingBefore(userId, position.createdAt(), position.id(), limit);
+
+        return CursorUtil.toPage(rows, pageSize, follow -> new Position(follow.getCreatedAt(), follow.getId()),
+                page -> mapFollowPage(page, Follow::getFollowed, currentUser));
     }
 
     @Override
@@ -126,9 +195,6 @@ public class FollowServiceImpl implements FollowService {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
-        Long followersCount = followRepository.countByFollowed(user);
-        Long followingCount = followRepository.countByFollower(user);
-
         Boolean isFollowedByMe = false;
         Boolean isFollowingMe = false;
 
@@ -142,8 +208,8 @@ public class FollowServiceImpl implements FollowService {
 
         return FollowStatsDTO.builder()
                 .userId(userId)
-                .followersCount(followersCount)
-                .followingCount(followingCount)
+                .followersCount(user.getFollowersCount())
+                .followingCount(user.getFollowingCount())
                 .isFollowedByMe(isFollowedByMe)
                 .isFollowingMe(isFollowingMe)
                 .build();
@@ -163,10 +229,13 @@ public class FollowServiceImpl implements FollowService {
     @Transactional(readOnly = true)
     public List<UserSummaryDTO> getSuggestedUsers(Authentication auth, Pageable pageable) {
         User currentUser = getCurrentUser(auth);
-        List<User> suggestions = followRepository.findSuggestedUsers(currentUser, pageable);
+        List<Long> suggestionIds = socialGraphIndex.suggestions(currentUser.getId(),
+                (int) pageable.getOffset(), pageable.getPageSize());
+        List<User> suggestions = findUsersInOrder(suggestionIds);
+        Map<Long, FollowStateDTO> states = resolveFollowStates(currentUser, suggestions, false);
 
         return suggestions.stream()
-                .map(user -> mapToUserSummaryDTO(user, currentUser))
+                .map(user -> mapToUserSummaryDTO(user, states))
                 .collect(Collectors.toList());
     }
 
@@ -174,10 +243,62 @@ public class FollowServiceImpl implements FollowService {
     @Transactional(readOnly = true)
     public List<UserSummaryDTO> getMutualFollows(Authentication auth) {
         User currentUser = getCurrentUser(auth);
-        List<User> mutuals = followRepository.findMutualFollows(currentUser);
+        List<Long> mutualIds = new ArrayList<>();
+        for (long id : socialGraphIndex.mutuals(currentUser.getId())) {
+            mutualIds.add(id);
+        }
+        List<User> mutuals = findUsersInOrder(mutualIds);
+        Map<Long, FollowStateDTO> states = resolveFollowStates(currentUser, mutuals, false);
 
         return mutuals.stream()
-                .map(user -> mapToUserSummaryDTO(user, currentUser))
+                .map(user -> mapToUserSummaryDTO(user, states))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, FollowStateDTO> getFollowStates(Collection<Long> userIds, boolean includeCounts,
+            Authentication auth) {
+        User currentUser = auth != null ? getCurrentUser(auth) : null;
+        return resolveFollowStates(currentUser != null ? currentUser.getId() : null, userIds, includeCounts);
+    }
+
+    @Override
+    public int reconcileFollowCounters() {
+        int fixed = userRepository.reconcileFollowCounts();
+        if (fixed > 0) {
+            log.warn("Contadores de seguimiento corregidos en {} usuarios", fixed);
+        }
+        return fixed;
+    }
+
+    private List<FollowResponseDTO> mapFollowPage(List<Follow> page, Function<Follow, User> side,
+            User currentUser) {
+        List<User> users = page.stream().map(side).collect(Collectors.toList());
+        Map<Long, FollowStateDTO> states = resolveFollowStates(currentUser, users, false);
+        return page.stream()
+                .map(follow -> mapToFollowResponseDTO(side.apply(follow), states, follow.getCreatedAt()))
+                .collect(Collectors.toList());
+    }
+
+    private void assertUserExists(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+    }
+
+    /**
+     * Carga los usuarios de una lista de IDs con una sola consulta, respetando el orden
+     */
+    private List<User> findUsersInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, User> byId = userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+        return ids.stream()
+                .map(byId::get)
+                .filter(user -> user != null)
                 .collect(Collectors.toList());
     }
 
@@ -186,43 +307,75 @@ public class FollowServiceImpl implements FollowService {
             .orElseThrow(() -> new ResourceNotFoundException("User", "username", auth.getName()));
     }
 
-    private FollowResponseDTO mapToFollowResponseDTO(User user, User currentUser) {
-        return mapToFollowResponseDTO(user, currentUser, null);
+    private Map<Long, FollowStateDTO> resolveFollowStates(User currentUser, List<User> users, boolean includeCounts) {
+        return resolveFollowStates(currentUser != null ? currentUser.getId() : null,
+                users.stream().map(User::getId).collect(Collectors.toList()), includeCounts);
     }
 
-    private FollowResponseDTO mapToFollowResponseDTO(User user, User currentUser, java.time.LocalDateTime followedAt) {
-        Boolean isFollowingBack = false;
-        if (currentUser != null && !currentUser.getId().equals(user.getId())) {
-            isFollowingBack = followRepository.isFollowing(currentUser, user);
+    /**
+     * Resuelve la relación con todos los usuarios de una lista con dos consultas como máximo:
+     * una para los pares de seguimiento en ambos sentidos y otra para los contadores
+     * desnormalizados de users
+     */
+    private Map<Long, FollowStateDTO> resolveFollowStates(Long currentUserId, Collection<Long> userIds,
+            boolean includeCounts) {
+        Set<Long> ids = new LinkedHashSet<>(userIds);
+        Map<Long, FollowStateDTO> states = new LinkedHashMap<>();
+        for (Long id : ids) {
+            states.put(id, FollowStateDTO.builder()
+                    .userId(id)
+                    .isFollowedByMe(false)
+                    .isFollowingMe(false)
+                    .build());
+        }
+        if (ids.isEmpty()) {
+            return states;
         }
 
+        if (currentUserId != null) {
+            for (Object[] row : followRepository.findFollowPairsBetween(currentUserId, ids)) {
+                Long followerId = (Long) row[0];
+                Long followedId = (Long) row[1];
+                if (followerId.equals(currentUserId) && states.containsKey(followedId)) {
+                    states.get(followedId).setIsFollowedByMe(true);
+                } else if (followedId.equals(currentUserId) && states.containsKey(followerId)) {
+                    states.get(followerId).setIsFollowingMe(true);
+                }
+            }
+        }
+
+        if (includeCounts) {
+            for (Object[] row : userRepository.findFollowCountsByIds(ids)) {
+                FollowStateDTO state = states.get((Long) row[0]);
+                state.setFollowersCount(((Number) row[1]).longValue());
+                state.setFollowingCount(((Number) row[2]).longValue());
+            }
+        }
+        return states;
+    }
+
+    private FollowResponseDTO mapToFollowResponseDTO(User user, Map<Long, FollowStateDTO> states,
+            LocalDateTime followedAt) {
         return FollowResponseDTO.builder()
                 .userId(user.getId())
                 .username(user.getUsername())
                 .avatarUrl(user.getAvatarUrl())
                 .bio(user.getBio())
                 .followedAt(followedAt)
-                .isFollowingBack(isFollowingBack)
+                .isFollowingBack(states.get(user.getId()).getIsFollowedByMe())
                 .build();
     }
 
-    private UserSummaryDTO mapToUserSummaryDTO(User user, User currentUser) {
-        Long followersCount = followRepository.countByFollowed(user);
-        Long followingCount = followRepository.countByFollower(user);
-        Boolean isFollowedByMe = false;
-
-        if (currentUser != null && !currentUser.getId().equals(user.getId())) {
-            isFollowedByMe = followRepository.isFollowing(currentUser, user);
-        }
-
+    private UserSummaryDTO mapToUserSummaryDTO(User user, Map<Long, FollowStateDTO> states) {
+        FollowStateDTO state = states.get(user.getId());
         return UserSummaryDTO.builder()
                 .id(user.getId())
                 .username(user.getUsername())
                 .avatarUrl(user.getAvatarUrl())
                 .bio(user.getBio())
-                .followersCount(followersCount)
-                .followingCount(followingCount)
-                .isFollowedByMe(isFollowedByMe)
+                .followersCount(user.getFollowersCount())
+                .followingCount(user.getFollowingCount())
+                .isFollowedByMe(state.getIsFollowedByMe())
                 .build();
     }
 }
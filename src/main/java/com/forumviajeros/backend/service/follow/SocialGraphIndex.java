@@ -0,0 +1,311 @@
+package com.forumviajeros.backend.service.follow;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.forumviajeros.backend.event.FollowChangedEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Índice en memoria del grafo de seguimiento.
+ *
+ * Para cada usuario se guardan dos arrays ordenados de IDs primitivos: a quién
+ * sigue (salientes) y quién le sigue (entrantes), 8 bytes por arista y
+ * dirección. Se construye desde la tabla follows al arrancar y se mantiene al
+ * día con los {@link FollowChangedEvent} tras cada commit; los arrays se
+ * sustituyen enteros (copy-on-write), así que las lecturas no bloquean. Los
+ * cambios que llegan mientras se carga se guardan y se aplican al terminar,
+ * porque la consulta puede haber leído ya las filas afectadas.
+ *
+ * El índice es local a cada instancia: con varias réplicas cada una solo ve
+ * al instante sus propias escrituras. {@link FollowCounterReconciliationJob}
+ * lo reconstruye cada noche para recoger las del resto y corregir la deriva;
+ * durante la reconstrucción se sigue leyendo el índice anterior.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SocialGraphIndex {
+
+    private static final String EDGES_SQL =
+            "SELECT follower_id, followed_id FROM follows ORDER BY follower_id, followed_id";
+    private static final int FETCH_SIZE = 1000;
+    private static final long[] EMPTY = new long[0];
+
+    /** Peor candidato primero: menos vecinos comunes y, a igualdad, ID mayor */
+    private static final Comparator<long[]> WORST_FIRST = Comparator
+            .comparingLong((long[] c) -> c[1])
+            .thenComparing(Comparator.comparingLong((long[] c) -> c[0]).reversed());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, long[]> outgoing = new ConcurrentHashMap<>();
+    private final Map<Long, long[]> incoming = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    /** Cambios recibidos durante la carga; protegido por sí mismo, igual que loading */
+    private final List<FollowChangedEvent> pendingChanges = new ArrayList<>();
+    private boolean loading;
+    private volatile boolean loaded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ensureLoaded();
+    }
+
+    /**
+     * Usuarios a los que sigue {@code userId}, ordenados por ID
+     */
+    public long[] following(Long userId) {
+        ensureLoaded();
+        return outgoing.getOrDefault(userId, EMPTY);
+    }
+
+    /**
+     * Usuarios que siguen a {@code userId}, ordenados por ID
+     */
+    public long[] followers(Long userId) {
+        ensureLoaded();
+        return incoming.getOrDefault(userId, EMPTY);
+    }
+
+    /**
+     * Usuarios que {@code userId} sigue y que le siguen, ordenados por ID
+     */
+    public long[] mutuals(Long userId) {
+        return intersect(following(userId), followers(userId));
+    }
+
+    /**
+     * Amigos de amigos que {@code userId} aún no sigue, ordenados por número de
+     * vecinos comunes (usuarios que sigo y que les siguen) y después por ID
+     *
+     * @param offset candidatos a saltar (paginación)
+     * @param limit  candidatos a devolver
+     */
+    public List<Long> suggestions(Long userId, int offset, int limit) {
+        long[] mine = following(userId);
+        Map<Long, int[]> common = new HashMap<>();
+        for (long friend : mine) {
+            for (long candidate : outgoing.getOrDefault(friend, EMPTY)) {
+                if (candidate == userId || Arrays.binarySearch(mine, candidate) >= 0) {
+                    continue;
+                }
+                common.computeIfAbsent(candidate, id -> new int[1])[0]++;
+            }
+        }
+
+        int k = offset + limit;
+        if (k <= 0 || common.isEmpty()) {
+            return List.of();
+        }
+        PriorityQueue<long[]> heap = new PriorityQueue<>(Math.min(k, common.size()) + 1, WORST_FIRST);
+        for (Map.Entry<Long, int[]> entry : common.entrySet()) {
+            long[] candidate = { entry.getKey(), entry.getValue()[0] };
+            if (heap.size() < k) {
+                heap.add(candidate);
+            } else if (WORST_FIRST.compare(candidate, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(candidate);
+            }
+        }
+
+        List<long[]> ranked = new ArrayList<>(heap);
+        ranked.sort(WORST_FIRST.reversed());
+        List<Long> result = new ArrayList<>(limit);
+        for (int i = offset; i < ranked.size(); i++) {
+            result.add(ranked.get(i)[0]);
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFollowChanged(FollowChangedEvent event) {
+        synchronized (pendingChanges) {
+            if (loading || !loaded) {
+                pendingChanges.add(event);
+                return;
+            }
+        }
+        synchronized (writeLock) {
+            apply(event);
+        }
+    }
+
+    /**
+     * Reconstruye el índice desde la base de datos; mientras tanto las lecturas
+     * siguen viendo el índice actual
+     */
+    public void rebuild() {
+        synchronized (writeLock) {
+            load();
+        }
+    }
+
+    private void apply(FollowChangedEvent event) {
+        if (event.isFollowing()) {
+            outgoing.put(event.getFollowerId(), insert(outgoing.get(event.getFollowerId()), event.getFollowedId()));
+            incoming.put(event.getFollowedId(), insert(incoming.get(event.getFollowedId()), event.getFollowerId()));
+        } else {
+            update(outgoing, event.getFollowerId(), remove(outgoing.get(event.getFollowerId()), event.getFollowedId()));
+            update(incoming, event.getFollowedId(), remove(incoming.get(event.getFollowedId()), event.getFollowerId()));
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (writeLock) {
+                if (!loaded) {
+                    load();
+                }
+            }
+        }
+    }
+
+    private void load() {
+        long start = System.currentTimeMillis();
+        synchronized (pendingChanges) {
+            loading = true;
+        }
+        Map<Long, long[]> out = new HashMap<>();
+        Map<Long, LongList> in = new HashMap<>();
+        LongList current = new LongList();
+        long[] currentFollower = { -1L };
+        long[] edges = { 0L };
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(EDGES_SQL);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, (ResultSet rs) -> {
+            long follower = rs.getLong(1);
+            long followed = rs.getLong(2);
+            if (follower != currentFollower[0]) {
+                if (current.size > 0) {
+                    out.put(currentFollower[0], current.toArray());
+                    current.size = 0;
+                }
+                currentFollower[0] = follower;
+            }
+            // Las filas llegan ordenadas por (follower, followed): los salientes ya están ordenados
+            current.add(followed);
+            in.computeIfAbsent(followed, id -> new LongList()).add(follower);
+            edges[0]++;
+        });
+        if (current.size > 0) {
+            out.put(currentFollower[0], current.toArray());
+        }
+
+        // Se sustituye entrada a entrada: una lectura concurrente nunca ve el índice vacío
+        outgoing.putAll(out);
+        outgoing.keySet().retainAll(out.keySet());
+        Map<Long, long[]> inArrays = new HashMap<>();
+        in.forEach((userId, list) -> {
+            long[] followers = list.toArray();
+            Arrays.sort(followers);
+            inArrays.put(userId, followers);
+        });
+        incoming.putAll(inArrays);
+        incoming.keySet().retainAll(inArrays.keySet());
+        // Aplicar en orden es idempotente: un cambio que la consulta ya vio no altera nada
+        synchronized (pendingChanges) {
+            pendingChanges.forEach(this::apply);
+            pendingChanges.clear();
+            loading = false;
+            loaded = true;
+        }
+        log.info("Índice del grafo social cargado: {} aristas, {} usuarios en {} ms",
+                edges[0], outgoing.size(), System.currentTimeMillis() - start);
+    }
+
+    private static void update(Map<Long, long[]> adjacency, Long userId, long[] ids) {
+        if (ids.length == 0) {
+            adjacency.remove(userId);
+        } else {
+            adjacency.put(userId, ids);
+        }
+    }
+
+    static long[] intersect(long[] a, long[] b) {
+        long[] result = new long[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    static long[] insert(long[] ids, long id) {
+        if (ids == null) {
+            return new long[] { id };
+        }
+        int pos = Arrays.binarySearch(ids, id);
+        if (pos >= 0) {
+            return ids;
+        }
+        int at = -pos - 1;
+        long[] result = new long[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, at);
+        result[at] = id;
+        System.arraycopy(ids, at, result, at + 1, ids.length - at);
+        return result;
+    }
+
+    static long[] remove(long[] ids, long id) {
+        if (ids == null) {
+            return EMPTY;
+        }
+        int pos = Arrays.binarySearch(ids, id);
+        if (pos < 0) {
+            return ids;
+        }
+        long[] result = new long[ids.length - 1];
+        System.arraycopy(ids, 0, result, 0, pos);
+        System.arraycopy(ids, pos + 1, result, pos, ids.length - pos - 1);
+        return result;
+    }
+
+    /**
+     * Lista creciente de long primitivos para la carga inicial
+     */
+    private static final class LongList {
+        private long[] values = new long[4];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.forumviajeros.backend.service.forum;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.forumviajeros.backend.repository.ForumRepository;
+import com.forumviajeros.backend.repository.PostRepository;
+import com.forumviajeros.backend.repository.TagRepository;
+import com.forumviajeros.backend.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tarea periódica que corrige la deriva de los contadores de contenido
+ * (forums.post_count, posts.comment_count, los de uso de tags y los de
+ * actividad de users)
+ * respecto a las tablas: borrados de usuarios en cascada, escrituras fuera de
+ * los servicios...
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ContentCounterReconciliationJob {
+
+    private final ForumRepository forumRepository;
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final TagRepository tagRepository;
+
+    @Scheduled(cron = "${app.counters.reconcile-cron:0 45 4 * * *}")
+    @Transactional
+    public void reconcile() {
+        int fixed = reconcileAll();
+        if (fixed > 0) {
+            log.warn("Contadores de contenido corregidos en {} filas", fixed);
+        }
+    }
+
+    /**
+     * Al arrancar: las filas anteriores a los contadores nacen a 0 y se
+     * rellenan aquí, sin esperar a la pasada nocturna
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void reconcileOnStartup() {
+        int fixed = reconcileAll();
+        if (fixed > 0) {
+            log.info("Contadores de contenido rellenados al arrancar en {} filas", fixed);
+        }
+    }
+
+    private int reconcileAll() {
+        return forumRepository.reconcilePostCounts()
+                + postRepository.reconcileCommentCounts()
+                + userRepository.reconcileActivityCounts()
+                + tagRepository.reconcileUsageCounts();
+    }
+}
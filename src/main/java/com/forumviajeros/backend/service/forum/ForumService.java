@@ -26,13 +26,15 @@ public interface ForumService {
 
     Long getUserIdByUsername(String username);
 
-    List<ForumResponseDTO> findByCategory(Long categoryId);
+    Page<ForumResponseDTO> findByCategory(Long categoryId, Pageable pageable);
+
+    List<ForumResponseDTO> getTrendingForums(Long categoryId, int limit);
 
     List<ForumResponseDTO> searchByKeyword(String keyword);
 
     void delete(Long id, Authentication authentication);
 
-    List<ForumResponseDTO> findByCurrentUser(Authentication authentication);
+    Page<ForumResponseDTO> findByCurrentUser(Authentication authentication, Pageable pageable);
 
     ForumResponseDTO updateImage(Long id, MultipartFile file, Authentication authentication);
 
@@ -1,11 +1,20 @@
 package com.forumviajeros.backend.service.forum;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -13,20 +22,27 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.forumviajeros.backend.dto.forum.ForumRequestDTO;
 import com.forumviajeros.backend.dto.forum.ForumResponseDTO;
+import com.forumviajeros.backend.dto.search.SearchResultDTO;
+import com.forumviajeros.backend.event.SearchIndexRequestedEvent;
 import com.forumviajeros.backend.exception.ResourceNotFoundException;
-import com.forumviajeros.backend.model.Category;
 import com.forumviajeros.backend.model.Forum;
 import com.forumviajeros.backend.model.Tag;
 import com.forumviajeros.backend.repository.CategoryRepository;
 import com.forumviajeros.backend.repository.ForumRepository;
 import com.forumviajeros.backend.repository.TagRepository;
 import com.forumviajeros.backend.repository.UserRepository;
+import com.forumviajeros.backend.service.search.SearchDocumentType;
+import com.forumviajeros.backend.service.search.SearchService;
 import com.forumviajeros.backend.service.storage.LocalStorageService;
 import com.forumviajeros.backend.service.storage.StorageException;
+import com.forumviajeros.backend.service.tag.TagUsageDelta;
+import com.forumviajeros.backend.service.trending.TrendingIndex;
 import com.forumviajeros.backend.util.HtmlSanitizer;
 
 import lombok.RequiredArgsConstructor;
@@ -37,11 +53,20 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 @Transactional(readOnly = true)
 public class ForumServiceImpl implements ForumService {
+        /** Resultados de la búsqueda simple de foros */
+        static final int SEARCH_LIMIT = 50;
+
+        /** Ruta pública de las imágenes (ImageController) */
+        static final String IMAGE_URL_PREFIX = "/api/images/";
+
         private final ForumRepository forumRepository;
         private final UserRepository userRepository;
         private final CategoryRepository categoryRepository;
         private final TagRepository tagRepository;
         private final LocalStorageService localStorageService;
+        private final SearchService searchService;
+        private final ApplicationEventPublisher eventPublisher;
+        private final TrendingIndex trendingIndex;
 
         @Override
         @Transactional
@@ -58,12 +83,15 @@ public class ForumServiceImpl implements ForumService {
                 forum.setUser(userRepository.findById(userId)
                                 .orElseThrow(() -> new ResourceNotFoundException("Usuario", "id", userId)));
 
-        forum.setTags(tagRepository.findByNameIn(sanitizeTagNames(forumDTO.getTags())));
+                forum.setTags(tagRepository.findByNameIn(sanitizeTagNames(forumDTO.getTags())));
                 forum.setStatus(Forum.ForumStatus.ACTIVE);
                 forum.setCreatedAt(LocalDateTime.now());
                 forum.setUpdatedAt(LocalDateTime.now());
 
                 Forum savedForum = forumRepository.save(forum);
+                userRepository.incrementForumCount(userId, 1);
+                applyTagUsage(TagUsageDelta.between(List.of(), savedForum.getTags()));
+                publishIndexRequest(savedForum.getId());
                 return mapToResponseDTO(savedForum);
         }
 
@@ -82,58 +110,81 @@ public class ForumServiceImpl implements ForumService {
                                 .orElseThrow(() -> new ResourceNotFoundException("Categoría", "id",
                                                 forumDTO.getCategoryId())));
 
+                List<Tag> previousTags = new ArrayList<>(forum.getTags());
                 forum.setTags(tagRepository.findByNameIn(sanitizeTagNames(forumDTO.getTags())));
                 forum.setUpdatedAt(LocalDateTime.now());
 
                 Forum updatedForum = forumRepository.save(forum);
+                applyTagUsage(TagUsageDelta.between(previousTags, updatedForum.getTags()));
+                publishIndexRequest(id);
                 return mapToResponseDTO(updatedForum);
         }
 
         @Override
+        @Transactional(readOnly = true)
         public ForumResponseDTO getForum(Long id) {
-                Forum forum = forumRepository.findById(id)
+                Forum forum = forumRepository.findDetailedById(id)
                                 .orElseThrow(() -> new ResourceNotFoundException("Foro", "id", id));
                 return mapToResponseDTO(forum);
         }
 
         @Override
+        @Transactional(readOnly = true)
         public List<ForumResponseDTO> getAllForums() {
-                return forumRepository.findAll().stream()
-                                .map(this::mapToResponseDTO)
-                                .collect(Collectors.toList());
+                return mapSummaryRows(forumRepository.findSummaries(Pageable.unpaged()).getContent());
         }
 
         @Override
+        @Transactional(readOnly = true)
         public Page<ForumResponseDTO> findAll(Pageable pageable) {
-                return forumRepository.findAll(pageable)
-                                .map(this::mapToResponseDTO);
+                return toSummaryPage(forumRepository.findSummaries(pageable));
         }
 
         @Override
+        @Transactional(readOnly = true)
         public ForumResponseDTO findById(Long id) {
                 return mapToResponseDTO(
-                                forumRepository.findById(id)
+                                forumRepository.findDetailedById(id)
                                                 .orElseThrow(() -> new ResourceNotFoundException("Foro", "id", id)));
         }
 
         @Override
+        @Transactional(readOnly = true)
+        public Page<ForumResponseDTO> findByCategory(Long categoryId, Pageable pageable) {
+                if (!categoryRepository.existsById(categoryId)) {
+                        throw new ResourceNotFoundException("Categoría", "id", categoryId);
+                }
+                return toSummaryPage(forumRepository.findSummariesByCategory(categoryId, pageable));
+        }
 
-        public List<ForumResponseDTO> findByCategory(Long categoryId) {
-                Category category = categoryRepository.findById(categoryId)
-                                .orElseThrow(() -> new ResourceNotFoundException("Categoría", "id", categoryId));
-
-                return forumRepository.findByCategory(category).stream()
-                                .map(this::mapToResponseDTO)
+        /**
+         * Foros en tendencia (global o de una categoría), en el orden del ranking
+         */
+        @Override
+        public List<ForumResponseDTO> getTrendingForums(Long categoryId, int limit) {
+                int size = Math.max(1, Math.min(limit, trendingIndex.capacity()));
+                List<Long> ids = trendingIndex.topForums(categoryId, size);
+                if (ids.isEmpty()) {
+                        return Collections.emptyList();
+                }
+                return summariesInOrder(ids).stream()
+                                .filter(forum -> Forum.ForumStatus.ACTIVE.name().equals(forum.getStatus()))
                                 .collect(Collectors.toList());
         }
 
+        /**
+         * Foros más relevantes para las palabras clave, en el orden del índice de búsqueda
+         */
         @Override
         public List<ForumResponseDTO> searchByKeyword(String keyword) {
-                String sanitizedKeyword = keyword.replaceAll("<[^>]*>", "");
-
-                return forumRepository.searchByKeyword(sanitizedKeyword, Pageable.unpaged()).stream()
-                                .map(this::mapToResponseDTO)
-                                .collect(Collectors.toList());
+                List<Long> ids = searchService.search(keyword, Set.of(SearchDocumentType.FORUM),
+                                PageRequest.of(0, SEARCH_LIMIT)).stream()
+                                .map(SearchResultDTO::getId)
+                                .toList();
+                if (ids.isEmpty()) {
+                        return Collections.emptyList();
+                }
+                return summariesInOrder(ids);
         }
 
         @Override
@@ -142,19 +193,17 @@ public class ForumServiceImpl implements ForumService {
                 Forum forum = forumRepository.findById(id)
                                 .orElseThrow(() -> new ResourceNotFoundException("Foro", "id", id));
                 assertOwnershipOrAdmin(forum, authentication);
-                forumRepository.delete(forum);
+                deleteWithCounters(forum);
         }
 
         @Override
-        public List<ForumResponseDTO> findByCurrentUser(Authentication authentication) {
+        @Transactional(readOnly = true)
+        public Page<ForumResponseDTO> findByCurrentUser(Authentication authentication, Pageable pageable) {
                 String username = authentication.getName();
-                return forumRepository.findByUser(
-                                userRepository.findByUsername(username)
-                                                .orElseThrow(() -> new ResourceNotFoundException("Usuario", "username",
-                                                                username)))
-                                .stream()
-                                .map(this::mapToResponseDTO)
-                                .collect(Collectors.toList());
+                Long userId = userRepository.findByUsername(username)
+                                .orElseThrow(() -> new ResourceNotFoundException("Usuario", "username", username))
+                                .getId();
+                return toSummaryPage(forumRepository.findSummariesByUser(userId, pageable));
         }
 
         @Override
@@ -206,10 +255,23 @@ public class ForumServiceImpl implements ForumService {
         @Override
         @Transactional(isolation = Isolation.SERIALIZABLE, propagation = Propagation.REQUIRED)
         public void deleteForum(Long id) {
-                if (!forumRepository.existsById(id)) {
-                        throw new ResourceNotFoundException("Foro", "id", id);
-                }
-                forumRepository.deleteById(id);
+                Forum forum = forumRepository.findById(id)
+                                .orElseThrow(() -> new ResourceNotFoundException("Foro", "id", id));
+                deleteWithCounters(forum);
+        }
+
+        /**
+         * Descuenta a los autores y a las etiquetas el foro y todo su contenido
+         * antes de borrarlo: después del borrado en cascada ya no se sabe de
+         * quién era cada post ni qué etiquetas llevaba
+         */
+        private void deleteWithCounters(Forum forum) {
+                userRepository.decrementActivityCountsOfForum(forum.getId());
+                userRepository.incrementForumCount(forum.getUser().getId(), -1);
+                tagRepository.decrementPostCountsOfForum(forum.getId());
+                applyTagUsage(TagUsageDelta.between(forum.getTags(), List.of()));
+                forumRepository.delete(forum);
+                publishIndexRequest(forum.getId());
         }
 
         @Override
@@ -237,9 +299,64 @@ public class ForumServiceImpl implements ForumService {
                 forum.setStatus(newStatus);
                 forum.setUpdatedAt(LocalDateTime.now());
                 Forum updatedForum = forumRepository.save(forum);
+                publishIndexRequest(id);
                 return mapToResponseDTO(updatedForum);
         }
 
+        private Page<ForumResponseDTO> toSummaryPage(Page<Object[]> rows) {
+                return new PageImpl<>(mapSummaryRows(rows.getContent()), rows.getPageable(), rows.getTotalElements());
+        }
+
+        /**
+         * Foros proyectados en el orden de ids; los que ya no existen se omiten
+         */
+        private List<ForumResponseDTO> summariesInOrder(List<Long> ids) {
+                Map<Long, ForumResponseDTO> forums = mapSummaryRows(forumRepository.findSummariesByIds(ids)).stream()
+                                .collect(Collectors.toMap(ForumResponseDTO::getId, Function.identity()));
+                return ids.stream()
+                                .map(forums::get)
+                                .filter(Objects::nonNull)
+                                .collect(Collectors.toList());
+        }
+
+        /**
+         * Convierte las filas de SUMMARY_SELECT; las etiquetas se cargan para
+         * todos los foros con una sola consulta. La imagen se devuelve como URL
+         * (ver imageUrl) en lugar de leer el fichero para cada foro del listado.
+         */
+        private List<ForumResponseDTO> mapSummaryRows(List<Object[]> rows) {
+                if (rows.isEmpty()) {
+                        return new ArrayList<>();
+                }
+                List<Long> ids = rows.stream().map(row -> (Long) row[0]).collect(Collectors.toList());
+                Map<Long, List<String>> tags = new HashMap<>();
+                for (Object[] row : forumRepository.findTagNamesByForumIds(ids)) {
+                        tags.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+                }
+
+                List<ForumResponseDTO> forums = new ArrayList<>(rows.size());
+                for (Object[] row : rows) {
+                        Long id = (Long) row[0];
+                        LocalDateTime createdAt = (LocalDateTime) row[7];
+                        LocalDateTime updatedAt = (LocalDateTime) row[8];
+                        String imagePath = (String) row[9];
+                        ForumResponseDTO response = new ForumResponseDTO();
+                        response.setId(id);
+                        response.setTitle((String) row[1]);
+                        response.setDescription((String) row[2]);
+                        response.setCategoryId((Long) row[3]);
+                        response.setTags(tags.getOrDefault(id, new ArrayList<>()));
+                        response.setStatus(((Forum.ForumStatus) row[4]).name());
+                        response.setViewCount((Long) row[5]);
+                        response.setPostCount((Long) row[6]);
+                        response.setCreatedAt(createdAt != null ? createdAt.toString() : null);
+                        response.setUpdatedAt(updatedAt != null ? updatedAt.toString() : null);
+                        response.setImagePath(imageUrl(imagePath));
+                        forums.add(response);
+                }
+                return forums;
+        }
+
         private ForumResponseDTO mapToResponseDTO(Forum forum) {
                 ForumResponseDTO response = new ForumResponseDTO();
                 response.setId(forum.getId());
@@ -249,28 +366,33 @@ public class ForumServiceImpl implements ForumService {
                 response.setTags(forum.getTags().stream().map(Tag::getName).collect(Collectors.toList()));
                 response.setStatus(forum.getStatus().name());
                 response.setViewCount(forum.getViewCount());
-                response.setPostCount((long) forum.getPosts().size());
+                response.setPostCount(forum.getPostCount());
                 response.setCreatedAt(forum.getCreatedAt().toString());
                 response.setUpdatedAt(forum.getUpdatedAt() != null ? forum.getUpdatedAt().toString() : null);
 
-                // Incluir imagen si existe
-                String imagePath = forum.getImagePath();
-                if (imagePath != null && !imagePath.isEmpty()) {
-                        try {
-                                // Obtener la imagen en formato dataURL
-                                String imageDataUrl = localStorageService.getImage(imagePath);
-                                response.setImagePath(imageDataUrl);
-                        } catch (StorageException e) {
-                                // Si hay un error, usar la ruta normal
-                                response.setImagePath(imagePath);
-                        }
-                } else {
-                        response.setImagePath(null);
-                }
+                response.setImagePath(imageUrl(forum.getImagePath()));
 
                 return response;
         }
 
+        /**
+         * URL de la imagen servida por ImageController, igual en listados y
+         * detalle: absoluta con el esquema, host y contexto de la petición en
+         * curso; fuera de una petición, la ruta relativa. Sin imagen, null.
+         */
+        static String imageUrl(String fileName) {
+                if (fileName == null || fileName.isEmpty()) {
+                        return null;
+                }
+                if (RequestContextHolder.getRequestAttributes() == null) {
+                        return IMAGE_URL_PREFIX + fileName;
+                }
+                return ServletUriComponentsBuilder.fromCurrentContextPath()
+                                .path(IMAGE_URL_PREFIX)
+                                .path(fileName)
+                                .toUriString();
+        }
+
         @Override
         public Long getUserIdByUsername(String username) {
                 return userRepository.findByUsername(username)
@@ -306,6 +428,20 @@ public class ForumServiceImpl implements ForumService {
                                 .anyMatch(authority -> authority.equals("ROLE_MODERATOR"));
         }
 
+        // Se aplica tras el commit: el indexador relee el foro y lo indexa o lo retira
+        private void publishIndexRequest(Long forumId) {
+                eventPublisher.publishEvent(new SearchIndexRequestedEvent(SearchDocumentType.FORUM, forumId));
+        }
+
+        private void applyTagUsage(TagUsageDelta delta) {
+                if (!delta.added().isEmpty()) {
+                        tagRepository.incrementForumCounts(delta.added(), 1);
+                }
+                if (!delta.removed().isEmpty()) {
+                        tagRepository.incrementForumCounts(delta.removed(), -1);
+                }
+        }
+
         private List<String> sanitizeTagNames(List<String> tags) {
                 if (tags == null) {
                         return Collections.emptyList();
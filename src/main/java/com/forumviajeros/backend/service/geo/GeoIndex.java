@@ -0,0 +1,222 @@
+package com.forumviajeros.backend.service.geo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Índice espacial inmutable (k-d tree) sobre puntos geográficos.
+ *
+ * Cada punto se proyecta a un vector 3D sobre la esfera unidad, de modo que la
+ * distancia euclídea (cuerda) crece igual que la distancia sobre la superficie
+ * y no hay problemas con el antimeridiano ni los polos. El árbol es implícito:
+ * los puntos se reordenan en arrays y cada subrango [lo, hi) tiene su nodo en
+ * la posición media, sin objetos por nodo.
+ *
+ * @param <T> tipo del elemento indexado (países, y en el futuro ciudades)
+ */
+public final class GeoIndex<T> {
+
+    /** Radio medio de la Tierra en kilómetros */
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final List<T> items;
+    private final double[] coords; // x, y, z por punto
+
+    private GeoIndex(List<T> items, double[] coords) {
+        this.items = items;
+        this.coords = coords;
+    }
+
+    /**
+     * Construye el índice. Los elementos sin coordenadas se ignoran.
+     */
+    public static <T> GeoIndex<T> build(Collection<T> source, ToDoubleFunction<T> latitude,
+            ToDoubleFunction<T> longitude) {
+        List<T> valid = new ArrayList<>(source.size());
+        List<double[]> points = new ArrayList<>(source.size());
+        for (T item : source) {
+            double lat = latitude.applyAsDouble(item);
+            double lng = longitude.applyAsDouble(item);
+            if (Double.isNaN(lat) || Double.isNaN(lng)) {
+                continue;
+            }
+            valid.add(item);
+            points.add(toUnitVector(lat, lng));
+        }
+
+        Integer[] order = new Integer[valid.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        arrange(order, points, 0, order.length, 0);
+
+        List<T> items = new ArrayList<>(order.length);
+        double[] coords = new double[order.length * 3];
+        for (int i = 0; i < order.length; i++) {
+            items.add(valid.get(order[i]));
+            System.arraycopy(points.get(order[i]), 0, coords, i * 3, 3);
+        }
+        return new GeoIndex<>(items, coords);
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * Devuelve los elementos a menos de {@code radiusKm} del punto, ordenados por distancia
+     */
+    public List<Neighbor<T>> withinRadius(double lat, double lng, double radiusKm) {
+        double[] target = toUnitVector(lat, lng);
+        double chord = toChord(radiusKm);
+        List<Neighbor<T>> result = new ArrayList<>();
+        collectWithinRadius(target, chord * chord, 0, items.size(), 0, result);
+        result.sort(Comparator.comparingDouble(Neighbor::getDistanceKm));
+        return result;
+    }
+
+    /**
+     * Devuelve los {@code k} elementos más cercanos al punto que cumplen el filtro,
+     * ordenados por distancia
+     */
+    public List<Neighbor<T>> nearest(double lat, double lng, int k, Predicate<T> filter) {
+        if (k <= 0 || items.isEmpty()) {
+            return List.of();
+        }
+        double[] target = toUnitVector(lat, lng);
+        // Max-heap por distancia al cuadrado: la cima es el peor candidato actual
+        PriorityQueue<double[]> heap = new PriorityQueue<>(k + 1, (a, b) -> Double.compare(b[1], a[1]));
+        collectNearest(target, k, filter, 0, items.size(), 0, heap);
+
+        List<Neighbor<T>> result = new ArrayList<>(heap.size());
+        for (double[] entry : heap) {
+            result.add(new Neighbor<>(items.get((int) entry[0]), chordToKm(Math.sqrt(entry[1]))));
+        }
+        result.sort(Comparator.comparingDouble(Neighbor::getDistanceKm));
+        return result;
+    }
+
+    /**
+     * Distancia ortodrómica (haversine) entre dos coordenadas, en kilómetros
+     */
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private void collectWithinRadius(double[] target, double maxSquared, int lo, int hi, int axis,
+            List<Neighbor<T>> result) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        double squared = squaredDistance(target, mid);
+        if (squared <= maxSquared) {
+            result.add(new Neighbor<>(items.get(mid), chordToKm(Math.sqrt(squared))));
+        }
+        double diff = target[axis] - coords[mid * 3 + axis];
+        int next = (axis + 1) % 3;
+        if (diff <= 0 || diff * diff <= maxSquared) {
+            collectWithinRadius(target, maxSquared, lo, mid, next, result);
+        }
+        if (diff >= 0 || diff * diff <= maxSquared) {
+            collectWithinRadius(target, maxSquared, mid + 1, hi, next, result);
+        }
+    }
+
+    private void collectNearest(double[] target, int k, Predicate<T> filter, int lo, int hi, int axis,
+            PriorityQueue<double[]> heap) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (filter == null || filter.test(items.get(mid))) {
+            double squared = squaredDistance(target, mid);
+            if (heap.size() < k) {
+                heap.add(new double[] { mid, squared });
+            } else if (squared < heap.peek()[1]) {
+                heap.poll();
+                heap.add(new double[] { mid, squared });
+            }
+        }
+        double diff = target[axis] - coords[mid * 3 + axis];
+        int next = (axis + 1) % 3;
+        int nearLo = diff <= 0 ? lo : mid + 1;
+        int nearHi = diff <= 0 ? mid : hi;
+        int farLo = diff <= 0 ? mid + 1 : lo;
+        int farHi = diff <= 0 ? hi : mid;
+
+        collectNearest(target, k, filter, nearLo, nearHi, next, heap);
+        if (heap.size() < k || diff * diff < heap.peek()[1]) {
+            collectNearest(target, k, filter, farLo, farHi, next, heap);
+        }
+    }
+
+    private double squaredDistance(double[] target, int index) {
+        double dx = target[0] - coords[index * 3];
+        double dy = target[1] - coords[index * 3 + 1];
+        double dz = target[2] - coords[index * 3 + 2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static void arrange(Integer[] order, List<double[]> points, int lo, int hi, int axis) {
+        if (hi - lo <= 1) {
+            return;
+        }
+        Arrays.sort(order, lo, hi, Comparator.comparingDouble(i -> points.get(i)[axis]));
+        int mid = (lo + hi) >>> 1;
+        int next = (axis + 1) % 3;
+        arrange(order, points, lo, mid, next);
+        arrange(order, points, mid + 1, hi, next);
+    }
+
+    private static double[] toUnitVector(double lat, double lng) {
+        double phi = Math.toRadians(lat);
+        double lambda = Math.toRadians(lng);
+        return new double[] {
+                Math.cos(phi) * Math.cos(lambda),
+                Math.cos(phi) * Math.sin(lambda),
+                Math.sin(phi)
+        };
+    }
+
+    private static double toChord(double distanceKm) {
+        double angle = Math.min(Math.max(distanceKm, 0) / EARTH_RADIUS_KM, Math.PI);
+        return 2 * Math.sin(angle / 2);
+    }
+
+    private static double chordToKm(double chord) {
+        return 2 * Math.asin(Math.min(1.0, chord / 2)) * EARTH_RADIUS_KM;
+    }
+
+    /**
+     * Resultado de una consulta: elemento y su distancia en kilómetros
+     */
+    public static final class Neighbor<T> {
+        private final T item;
+        private final double distanceKm;
+
+        Neighbor(T item, double distanceKm) {
+            this.item = item;
+            this.distanceKm = distanceKm;
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        public double getDistanceKm() {
+            return distanceKm;
+        }
+    }
+}
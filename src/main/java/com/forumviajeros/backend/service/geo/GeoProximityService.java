@@ -0,0 +1,37 @@
+package com.forumviajeros.backend.service.geo;
+
+import java.util.List;
+
+import com.forumviajeros.backend.dto.geo.NearbyCountryDTO;
+import com.forumviajeros.backend.dto.geo.NearbyTravelerDTO;
+
+/**
+ * Servicio de consultas de proximidad geográfica sobre los centroides de los países
+ */
+public interface GeoProximityService {
+
+    /**
+     * Obtiene los países a menos de {@code radiusKm} de un país (excluido él mismo)
+     */
+    List<NearbyCountryDTO> getCountriesNearCountry(Long countryId, double radiusKm);
+
+    /**
+     * Obtiene los países a menos de {@code radiusKm} de unas coordenadas
+     */
+    List<NearbyCountryDTO> getCountriesNearPoint(double latitude, double longitude, double radiusKm);
+
+    /**
+     * Obtiene los países no visitados más cercanos a los que el usuario ya conoce
+     */
+    List<NearbyCountryDTO> getClosestUnvisitedCountries(Long userId, int limit);
+
+    /**
+     * Obtiene viajeros que han visitado países cercanos a la lista de deseos del usuario
+     */
+    List<NearbyTravelerDTO> getTravelersNearWishlist(Long userId, double radiusKm, int limit);
+
+    /**
+     * Reconstruye el índice espacial a partir de la tabla de países
+     */
+    void refreshIndex();
+}
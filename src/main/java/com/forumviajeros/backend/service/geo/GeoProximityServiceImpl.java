@@ -0,0 +1,233 @@
+package com.forumviajeros.backend.service.geo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.forumviajeros.backend.dto.country.CountrySummaryDTO;
+import com.forumviajeros.backend.dto.geo.NearbyCountryDTO;
+import com.forumviajeros.backend.dto.geo.NearbyTravelerDTO;
+import com.forumviajeros.backend.exception.BadRequestException;
+import com.forumviajeros.backend.exception.ResourceNotFoundException;
+import com.forumviajeros.backend.model.Country;
+import com.forumviajeros.backend.model.VisitedPlace.PlaceStatus;
+import com.forumviajeros.backend.repository.CountryRepository;
+import com.forumviajeros.backend.repository.VisitedPlaceRepository;
+import com.forumviajeros.backend.service.geo.GeoIndex.Neighbor;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementación del servicio de proximidad geográfica.
+ *
+ * Los centroides de los países se cargan una vez en un {@link GeoIndex} en memoria,
+ * de forma que las consultas de radio y de vecinos más cercanos no recorren la
+ * tabla de países. Solo las consultas de viajeros tocan la base de datos, y lo
+ * hacen ya con el conjunto de países resuelto.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Slf4j
+public class GeoProximityServiceImpl implements GeoProximityService {
+
+    /** Estados que cuentan como "ya conocido" para las recomendaciones */
+    private static final Set<PlaceStatus> BEEN_THERE = EnumSet.of(
+            PlaceStatus.VISITED, PlaceStatus.LIVED, PlaceStatus.LIVING);
+
+    private static final double MAX_RADIUS_KM = 20000.0;
+
+    private final CountryRepository countryRepository;
+    private final VisitedPlaceRepository visitedPlaceRepository;
+
+    private volatile Snapshot snapshot;
+
+    @Override
+    public List<NearbyCountryDTO> getCountriesNearCountry(Long countryId, double radiusKm) {
+        validateRadius(radiusKm);
+        Snapshot current = getSnapshot();
+        CountryPoint origin = current.byId.get(countryId);
+        if (origin == null) {
+            throw new ResourceNotFoundException("Country", "id", countryId);
+        }
+
+        return current.index.withinRadius(origin.latitude, origin.longitude, radiusKm).stream()
+                .filter(n -> !n.getItem().id.equals(countryId))
+                .map(n -> toDTO(n.getItem(), n.getDistanceKm(), origin.summary.getIsoCode()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<NearbyCountryDTO> getCountriesNearPoint(double latitude, double longitude, double radiusKm) {
+        validateRadius(radiusKm);
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new BadRequestException("Coordenadas fuera de rango");
+        }
+
+        return getSnapshot().index.withinRadius(latitude, longitude, radiusKm).stream()
+                .map(n -> toDTO(n.getItem(), n.getDistanceKm(), null))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<NearbyCountryDTO> getClosestUnvisitedCountries(Long userId, int limit) {
+        Snapshot current = getSnapshot();
+        Set<Long> known = new HashSet<>(visitedPlaceRepository.findCountryIdsByUserIdAndStatusIn(userId, BEEN_THERE));
+        if (known.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        // Para cada país conocido basta con sus "limit" vecinos no visitados más cercanos:
+        // cualquier candidato fuera de ese conjunto tiene al menos "limit" mejores por delante
+        Map<Long, NearbyCountryDTO> best = new HashMap<>();
+        for (Long knownId : known) {
+            CountryPoint anchor = current.byId.get(knownId);
+            if (anchor == null) {
+                continue;
+            }
+            for (Neighbor<CountryPoint> n : current.index.nearest(anchor.latitude, anchor.longitude, limit,
+                    point -> !known.contains(point.id))) {
+                NearbyCountryDTO previous = best.get(n.getItem().id);
+                if (previous == null || n.getDistanceKm() < previous.getDistanceKm()) {
+                    best.put(n.getItem().id, toDTO(n.getItem(), n.getDistanceKm(), anchor.summary.getIsoCode()));
+                }
+            }
+        }
+
+        return best.values().stream()
+                .sorted(Comparator.comparingDouble(NearbyCountryDTO::getDistanceKm))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<NearbyTravelerDTO> getTravelersNearWishlist(Long userId, double radiusKm, int limit) {
+        validateRadius(radiusKm);
+        Snapshot current = getSnapshot();
+        List<Long> wishlist = visitedPlaceRepository.findCountryIdsByUserIdAndStatusIn(
+                userId, EnumSet.of(PlaceStatus.WISHLIST));
+
+        Set<Long> nearbyIds = new HashSet<>();
+        for (Long wishId : wishlist) {
+            CountryPoint wish = current.byId.get(wishId);
+            if (wish == null) {
+                continue;
+            }
+            for (Neighbor<CountryPoint> n : current.index.withinRadius(wish.latitude, wish.longitude, radiusKm)) {
+                nearbyIds.add(n.getItem().id);
+            }
+        }
+        if (nearbyIds.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Map<Long, NearbyTravelerDTO> travelers = new LinkedHashMap<>();
+        for (Object[] row : visitedPlaceRepository.findTravelersByVisitedCountries(
+                nearbyIds, userId, PageRequest.of(0, limit))) {
+            Long travelerId = (Long) row[0];
+            travelers.put(travelerId, NearbyTravelerDTO.builder()
+                    .userId(travelerId)
+                    .username((String) row[1])
+                    .profileImageUrl((String) row[2])
+                    .matchingCountries(((Long) row[3]).intValue())
+                    .matchingIsoCodes(new ArrayList<>())
+                    .build());
+        }
+        if (!travelers.isEmpty()) {
+            for (Object[] row : visitedPlaceRepository.findVisitedIsoCodesByUsersAndCountries(
+                    travelers.keySet(), nearbyIds)) {
+                travelers.get((Long) row[0]).getMatchingIsoCodes().add((String) row[1]);
+            }
+        }
+        return new ArrayList<>(travelers.values());
+    }
+
+    @Override
+    public synchronized void refreshIndex() {
+        List<CountryPoint> points = new ArrayList<>();
+        for (Country country : countryRepository.findByActiveTrueOrderByNameAsc()) {
+            if (country.getLatitude() != null && country.getLongitude() != null) {
+                points.add(new CountryPoint(country));
+            }
+        }
+        Map<Long, CountryPoint> byId = new HashMap<>();
+        points.forEach(point -> byId.put(point.id, point));
+
+        snapshot = new Snapshot(GeoIndex.build(points, p -> p.latitude, p -> p.longitude), byId);
+        log.info("Índice geográfico construido con {} países", points.size());
+    }
+
+    private Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    refreshIndex();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private void validateRadius(double radiusKm) {
+        if (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
+            throw new BadRequestException("El radio debe estar entre 0 y " + (int) MAX_RADIUS_KM + " km");
+        }
+    }
+
+    private NearbyCountryDTO toDTO(CountryPoint point, double distanceKm, String referenceIsoCode) {
+        return NearbyCountryDTO.builder()
+                .country(point.summary)
+                .distanceKm(Math.round(distanceKm * 10.0) / 10.0)
+                .referenceIsoCode(referenceIsoCode)
+                .build();
+    }
+
+    /**
+     * Centroide de un país indexado, con su resumen ya preparado para las respuestas
+     */
+    private static final class CountryPoint {
+        private final Long id;
+        private final double latitude;
+        private final double longitude;
+        private final CountrySummaryDTO summary;
+
+        private CountryPoint(Country country) {
+            this.id = country.getId();
+            this.latitude = country.getLatitude();
+            this.longitude = country.getLongitude();
+            this.summary = CountrySummaryDTO.builder()
+                    .id(country.getId())
+                    .isoCode(country.getIsoCode())
+                    .name(country.getName())
+                    .capital(country.getCapital())
+                    .continent(country.getContinent())
+                    .flagUrl(country.getFlagUrl())
+                    .flagEmoji(country.getFlagEmoji())
+                    .build();
+        }
+    }
+
+    private static final class Snapshot {
+        private final GeoIndex<CountryPoint> index;
+        private final Map<Long, CountryPoint> byId;
+
+        private Snapshot(GeoIndex<CountryPoint> index, Map<Long, CountryPoint> byId) {
+            this.index = index;
+            this.byId = byId;
+        }
+    }
+}
@@ -1,54 +1,40 @@
 package com.forumviajeros.backend.service.impl;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
-import com.forumviajeros.backend.model.Notification;
+import com.forumviajeros.backend.event.AchievementAwardedEvent;
+import com.forumviajeros.backend.event.NotificationRequestedEvent;
 import com.forumviajeros.backend.model.Post;
 import com.forumviajeros.backend.model.User;
-import com.forumviajeros.backend.repository.NotificationRepository;
-import com.forumviajeros.backend.repository.PostRepository;
 import com.forumviajeros.backend.service.NotificationService;
 
+/**
+ * Publica las peticiones de notificación; la escritura la hace
+ * {@link com.forumviajeros.backend.service.notification.NotificationPipeline}
+ */
 @Service
 public class NotificationServiceImpl implements NotificationService {
 
     @Autowired
-    private NotificationRepository notificationRepository;
-
-    @Autowired
-    private PostRepository postRepository;
+    private ApplicationEventPublisher eventPublisher;
 
     @Override
-    public void createLikeNotification(User actor, Long postId) {
-        Post post = postRepository.findById(postId).orElse(null);
-        if (post == null) return;
-
+    public void createLikeNotification(User actor, Post post) {
         // No notificar si el usuario da like a su propio post
         if (post.getUser().getId().equals(actor.getId())) return;
 
-        Notification notification = new Notification();
-        notification.setUser(post.getUser());
-        notification.setTipo("LIKE");
-        notification.setReferenciaId(postId);
-        notification.setLeido(false);
-        notificationRepository.save(notification);
+        request(post.getUser().getId(), actor.getId(), "LIKE", post.getId());
     }
 
     @Override
-    public void createCommentNotification(User actor, Long postId) {
-        Post post = postRepository.findById(postId).orElse(null);
-        if (post == null) return;
-
+    public void createCommentNotification(User actor, Post post) {
         // No notificar si el usuario comenta en su propio post
         if (post.getUser().getId().equals(actor.getId())) return;
 
-        Notification notification = new Notification();
-        notification.setUser(post.getUser());
-        notification.setTipo("COMMENT");
-        notification.setReferenciaId(postId);
-        notification.setLeido(false);
-        notificationRepository.save(notification);
+        request(post.getUser().getId(), actor.getId(), "COMMENT", post.getId());
     }
 
     @Override
@@ -56,12 +42,7 @@ public class NotificationServiceImpl implements NotificationService {
         // No notificar si el usuario se sigue a sí mismo (edge case)
         if (actor.getId().equals(followed.getId())) return;
 
-        Notification notification = new Notification();
-        notification.setUser(followed);
-        notification.setTipo("FOLLOW");
-        notification.setReferenciaId(actor.getId());
-        notification.setLeido(false);
-        notificationRepository.save(notification);
+        request(followed.getId(), actor.getId(), "FOLLOW", actor.getId());
     }
 
     @Override
@@ -69,11 +50,22 @@ public class NotificationServiceImpl implements NotificationService {
         // No notificar si el usuario comparte consigo mismo
         if (actor.getId().equals(recipient.getId())) return;
 
-        Notification notification = new Notification();
-        notification.setUser(recipient);
-        notification.setTipo("SHARE");
-        notification.setReferenciaId(postId);
-        notification.setLeido(false);
-        notificationRepository.save(notification);
+        request(recipient.getId(), actor.getId(), "SHARE", postId);
+    }
+
+    @Override
+    public void createAchievementNotification(Long userId, Long achievementId) {
+        request(userId, null, "ACHIEVEMENT", achievementId);
+    }
+
+    // Se ejecuta en la misma transacción que concede el logro
+    @EventListener
+    public void onAchievementAwarded(AchievementAwardedEvent event) {
+        if (event.isBackfill()) return;
+        createAchievementNotification(event.getUserId(), event.getAchievementId());
+    }
+
+    private void request(Long recipientId, Long actorId, String tipo, Long referenciaId) {
+        eventPublisher.publishEvent(new NotificationRequestedEvent(recipientId, actorId, tipo, referenciaId));
     }
 }
@@ -1,9 +1,11 @@
 package com.forumviajeros.backend.service.impl;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.forumviajeros.backend.dto.PostLikeDTO;
+import com.forumviajeros.backend.event.EngagementRecordedEvent;
 import com.forumviajeros.backend.model.Post;
 import com.forumviajeros.backend.model.PostLike;
 import com.forumviajeros.backend.model.User;
@@ -12,6 +14,7 @@ import com.forumviajeros.backend.repository.PostRepository;
 import com.forumviajeros.backend.repository.UserRepository;
 import com.forumviajeros.backend.service.NotificationService;
 import com.forumviajeros.backend.service.PostLikeService;
+import com.forumviajeros.backend.service.trending.EngagementType;
 
 import lombok.RequiredArgsConstructor;
 
@@ -23,6 +26,7 @@ public class PostLikeServiceImpl implements PostLikeService {
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -45,7 +49,8 @@ public class PostLikeServiceImpl implements PostLikeService {
             postLikeRepository.save(newLike);
             liked = true;
             // Generar notificación de like
-            notificationService.createLikeNotification(user, postId);
+            notificationService.createLikeNotification(user, post);
+            eventPublisher.publishEvent(EngagementRecordedEvent.onPost(EngagementType.LIKE, postId));
         }
 
         long likeCount = postLikeRepository.countByPostId(postId);
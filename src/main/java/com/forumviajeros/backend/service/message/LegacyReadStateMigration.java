@@ -0,0 +1,96 @@
+package com.forumviajeros.backend.service.message;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.forumviajeros.backend.repository.ConversationRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Migra el estado de lectura por mensaje (columnas is_read y read_at de
+ * private_messages) a las marcas de lectura de las conversaciones y elimina
+ * esas columnas.
+ *
+ * La entidad ya no las mapea, pero ni ddl-auto=update ni validate las
+ * eliminan, y is_read es NOT NULL sin valor por defecto: cualquier INSERT
+ * fallaría. Se ejecuta al terminar de crear los beans, antes de que arranque
+ * el servidor web y los jobs programados. Cada participante queda con la
+ * marca en el último mensaje que tenía leído. Si las columnas ya no existen
+ * no hace nada.
+ */
+@Component
+@Slf4j
+public class LegacyReadStateMigration implements SmartInitializingSingleton {
+
+    private static final String COLUMN_EXISTS_SQL = "SELECT COUNT(*) FROM information_schema.columns " +
+            "WHERE LOWER(table_schema) = LOWER(CURRENT_SCHEMA) " +
+            "AND LOWER(table_name) = 'private_messages' AND LOWER(column_name) = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ConversationRepository conversationRepository;
+    private final MessageService messageService;
+
+    public LegacyReadStateMigration(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ConversationRepository conversationRepository,
+            MessageService messageService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.conversationRepository = conversationRepository;
+        this.messageService = messageService;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!columnExists("is_read")) {
+            return;
+        }
+        // Primero un valor por defecto: si la migración fallara, los envíos seguirían funcionando
+        jdbcTemplate.execute("ALTER TABLE private_messages ALTER COLUMN is_read SET DEFAULT FALSE");
+        transactionTemplate.executeWithoutResult(status -> migrate());
+    }
+
+    private void migrate() {
+        if (conversationRepository.count() == 0) {
+            messageService.rebuildConversationIndex();
+        }
+        boolean hasReadAt = columnExists("read_at");
+        int seeded = seedWatermarks("low", "high", hasReadAt);
+        seedWatermarks("high", "low", hasReadAt);
+
+        jdbcTemplate.execute("ALTER TABLE private_messages DROP COLUMN is_read");
+        if (hasReadAt) {
+            jdbcTemplate.execute("ALTER TABLE private_messages DROP COLUMN read_at");
+        }
+        log.info("Estado de lectura por mensaje migrado a las marcas de {} conversaciones", seeded);
+    }
+
+    /**
+     * Marca del lector en su último mensaje recibido con is_read y, después,
+     * los mensajes recibidos que esa marca cubre
+     *
+     * @return conversaciones actualizadas
+     */
+    private int seedWatermarks(String reader, String sender, boolean hasReadAt) {
+        String readMessages = "FROM private_messages m WHERE m.sender_id = c.user_" + sender + "_id " +
+                "AND m.recipient_id = c.user_" + reader + "_id";
+        int seeded = jdbcTemplate.update("UPDATE conversations c SET " +
+                "last_read_" + reader + "_id = (SELECT MAX(m.id) " + readMessages + " AND m.is_read = TRUE), " +
+                "last_read_" + reader + "_at = " + (hasReadAt
+                        ? "(SELECT MAX(m.read_at) " + readMessages + " AND m.is_read = TRUE)"
+                        : "NULL"));
+        jdbcTemplate.update("UPDATE conversations c SET read_by_" + reader + " = (SELECT COUNT(*) " +
+                readMessages + " AND m.id <= c.last_read_" + reader + "_id)");
+        return seeded;
+    }
+
+    private boolean columnExists(String column) {
+        Integer count = jdbcTemplate.queryForObject(COLUMN_EXISTS_SQL, Integer.class, column);
+        return count != null && count > 0;
+    }
+}
@@ -0,0 +1,55 @@
+package com.forumviajeros.backend.service.message;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serialización de los bloques de archivo: array JSON de mensajes comprimido
+ * con deflate
+ */
+final class MessageArchiveCodec {
+
+    /**
+     * Mensaje tal y como se guarda en el bloque
+     */
+    record ArchivedMessage(Long id, Long senderId, Long recipientId, String content, LocalDateTime sentAt) {
+    }
+
+    private final ObjectMapper objectMapper;
+
+    MessageArchiveCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    byte[] encode(List<ArchivedMessage> messages) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (OutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+            objectMapper.writeValue(out, messages);
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo comprimir el bloque de mensajes", e);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    List<ArchivedMessage> decode(byte[] payload) {
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(payload))) {
+            return Arrays.asList(objectMapper.readValue(in, ArchivedMessage[].class));
+        } catch (IOException e) {
+            throw new IllegalStateException("Bloque de mensajes archivados corrupto", e);
+        }
+    }
+}
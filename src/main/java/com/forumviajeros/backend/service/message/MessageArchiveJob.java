@@ -0,0 +1,30 @@
+package com.forumviajeros.backend.service.message;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Tarea periódica que archiva los mensajes privados más antiguos que
+ * app.messages.archive-after-days
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.messages.archive-enabled", havingValue = "true", matchIfMissing = true)
+public class MessageArchiveJob {
+
+    private final MessageArchiveService messageArchiveService;
+
+    @Value("${app.messages.archive-after-days:180}")
+    private int archiveAfterDays;
+
+    @Scheduled(cron = "${app.messages.archive-cron:0 0 3 * * *}")
+    public void archive() {
+        messageArchiveService.archiveOlderThan(LocalDateTime.now().minusDays(archiveAfterDays));
+    }
+}
@@ -0,0 +1,72 @@
+package com.forumviajeros.backend.service.message;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import com.forumviajeros.backend.model.PrivateMessage;
+import com.forumviajeros.backend.model.User;
+import com.forumviajeros.backend.util.CursorUtil.Position;
+
+/**
+ * Almacenamiento frío del historial de mensajes privados
+ */
+public interface MessageArchiveService {
+
+    /**
+     * Mueve a bloques comprimidos los mensajes anteriores a la fecha
+     *
+     * @return número de mensajes archivados
+     */
+    int archiveOlderThan(LocalDateTime cutoff);
+
+    /**
+     * Mensajes archivados de la conversación anteriores a la posición (o los
+     * más recientes si es null), en orden (sentAt DESC, id DESC)
+     */
+    List<PrivateMessage> findArchivedBefore(User user1, User user2, Position position, int limit);
+
+    /**
+     * Todo el historial archivado de la conversación en orden cronológico
+     */
+    List<PrivateMessage> findAllArchived(User user1, User user2);
+
+    /**
+     * Mensajes archivados de la conversación a partir de la posición offset
+     * en orden (sentAt DESC, id DESC); los bloques anteriores al offset se
+     * saltan sin descomprimirlos
+     */
+    List<PrivateMessage> findArchivedPage(User user1, User user2, long offset, int limit);
+
+    /**
+     * Número de mensajes archivados de la conversación
+     */
+    long countArchived(User user1, User user2);
+
+    /**
+     * Indica si hay algún mensaje archivado
+     */
+    boolean hasArchivedMessages();
+
+    /**
+     * Recuentos del historial archivado de cada conversación, con clave
+     * "lowId>highId", para reconstruir el índice de conversaciones. Solo se
+     * descomprimen los bloques sin reparto por remitente o cortados por una
+     * marca de lectura
+     *
+     * @param readMarks último mensaje leído por cada lector, con clave "lectorId>remitenteId"
+     */
+    Map<String, ArchiveSummary> summarizeArchive(Map<String, Long> readMarks);
+
+    /**
+     * Mensajes archivados enviados por cada participante y, de ellos, los que
+     * cubre la marca de lectura del otro
+     */
+    record ArchiveSummary(int sentByLow, int sentByHigh, int readByLow, int readByHigh) {
+
+        ArchiveSummary plus(ArchiveSummary other) {
+            return new ArchiveSummary(sentByLow + other.sentByLow, sentByHigh + other.sentByHigh,
+                    readByLow + other.readByLow, readByHigh + other.readByHigh);
+        }
+    }
+}
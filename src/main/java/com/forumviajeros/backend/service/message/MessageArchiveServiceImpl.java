@@ -0,0 +1,295 @@
+package com.forumviajeros.backend.service.message;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forumviajeros.backend.model.MessageArchiveBlock;
+import com.forumviajeros.backend.model.PrivateMessage;
+import com.forumviajeros.backend.model.User;
+import com.forumviajeros.backend.repository.MessageArchiveBlockRepository;
+import com.forumviajeros.backend.repository.PrivateMessageRepository;
+import com.forumviajeros.backend.service.message.MessageArchiveCodec.ArchivedMessage;
+import com.forumviajeros.backend.util.CursorUtil.Position;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Archivado de mensajes privados en bloques comprimidos.
+ *
+ * Se archiva siempre el tramo más antiguo de cada conversación, así que el
+ * historial archivado es un prefijo del completo: una lectura en orden
+ * descendente agota primero las filas calientes y continúa por los bloques.
+ */
+@Service
+@Slf4j
+public class MessageArchiveServiceImpl implements MessageArchiveService {
+
+    /** Conversaciones tratadas por pasada del archivado */
+    private static final int PAIRS_PER_PASS = 100;
+
+    /** Bloques descomprimidos por consulta al leer */
+    private static final int BLOCKS_PER_READ = 4;
+
+    private final PrivateMessageRepository messageRepository;
+    private final MessageArchiveBlockRepository blockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MessageArchiveCodec codec;
+    private final int blockSize;
+
+    public MessageArchiveServiceImpl(PrivateMessageRepository messageRepository,
+            MessageArchiveBlockRepository blockRepository,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${app.messages.archive-block-size:500}") int blockSize) {
+        this.messageRepository = messageRepository;
+        this.blockRepository = blockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.codec = new MessageArchiveCodec(objectMapper);
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public int archiveOlderThan(LocalDateTime cutoff) {
+        int total = 0;
+        List<Object[]> pairs;
+        do {
+            pairs = messageRepository.findPairsWithMessagesBefore(cutoff, PAIRS_PER_PASS);
+            for (Object[] pair : pairs) {
+                long lowId = ((Number) pair[0]).longValue();
+                long highId = ((Number) pair[1]).longValue();
+                int archived;
+                do {
+                    // Cada bloque en su transacción: se inserta el bloque y se borran sus filas
+                    archived = transactionTemplate.execute(status -> archiveBlock(lowId, highId, cutoff));
+                    total += archived;
+                } while (archived == blockSize);
+            }
+        } while (pairs.size() == PAIRS_PER_PASS);
+
+        if (total > 0) {
+            log.info("Archivados {} mensajes anteriores a {}", total, cutoff);
+        }
+        return total;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PrivateMessage> findArchivedBefore(User user1, User user2, Position position, int limit) {
+        long lowId = Math.min(user1.getId(), user2.getId());
+        long highId = Math.max(user1.getId(), user2.getId());
+        List<PrivateMessage> result = new ArrayList<>(limit);
+
+        for (int page = 0; result.size() < limit; page++) {
+            PageRequest blocksPage = PageRequest.of(page, BLOCKS_PER_READ);
+            List<MessageArchiveBlock> blocks = position == null
+                    ? blockRepository.findLatest(lowId, highId, blocksPage)
+                    : blockRepository.findBefore(lowId, highId, position.createdAt(), position.id(), blocksPage);
+            for (MessageArchiveBlock block : blocks) {
+                List<ArchivedMessage> messages = codec.decode(block.getPayload());
+                for (int i = messages.size() - 1; i >= 0 && result.size() < limit; i--) {
+                    ArchivedMessage message = messages.get(i);
+                    if (isBefore(message, position)) {
+                        result.add(toMessage(message, user1, user2));
+                    }
+                }
+                if (result.size() >= limit) {
+                    break;
+                }
+            }
+            if (blocks.size() < BLOCKS_PER_READ) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PrivateMessage> findAllArchived(User user1, User user2) {
+        long lowId = Math.min(user1.getId(), user2.getId());
+        long highId = Math.max(user1.getId(), user2.getId());
+        List<PrivateMessage> result = new ArrayList<>();
+        for (MessageArchiveBlock block : blockRepository
+                .findByUserLowIdAndUserHighIdOrderByFirstSentAtAscFirstMessageIdAsc(lowId, highId)) {
+            for (ArchivedMessage message : codec.decode(block.getPayload())) {
+                result.add(toMessage(message, user1, user2));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PrivateMessage> findArchivedPage(User user1, User user2, long offset, int limit) {
+        long lowId = Math.min(user1.getId(), user2.getId());
+        long highId = Math.max(user1.getId(), user2.getId());
+
+        // Solo los bloques que tocan la página, a partir de sus tamaños
+        List<Long> blockIds = new ArrayList<>();
+        long skip = offset;
+        long collected = 0;
+        for (Object[] row : blockRepository.findBlockSizes(lowId, highId)) {
+            int count = ((Number) row[1]).intValue();
+            if (blockIds.isEmpty() && skip >= count) {
+                skip -= count;
+                continue;
+            }
+            blockIds.add((Long) row[0]);
+            collected += blockIds.size() == 1 ? count - skip : count;
+            if (collected >= limit) {
+                break;
+            }
+        }
+        if (blockIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, MessageArchiveBlock> blocks = new HashMap<>();
+        blockRepository.findAllById(blockIds).forEach(block -> blocks.put(block.getId(), block));
+        List<PrivateMessage> result = new ArrayList<>(limit);
+        for (Long blockId : blockIds) {
+            List<ArchivedMessage> messages = codec.decode(blocks.get(blockId).getPayload());
+            for (int i = messages.size() - 1; i >= 0 && result.size() < limit; i--) {
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                result.add(toMessage(messages.get(i), user1, user2));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countArchived(User user1, User user2) {
+        return blockRepository.countMessages(Math.min(user1.getId(), user2.getId()),
+                Math.max(user1.getId(), user2.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean hasArchivedMessages() {
+        return blockRepository.count() > 0;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, ArchiveSummary> summarizeArchive(Map<String, Long> readMarks) {
+        Map<String, ArchiveSummary> summaries = new HashMap<>();
+        for (Object[] row : blockRepository.findAllBlockStats()) {
+            long lowId = ((Number) row[1]).longValue();
+            long highId = ((Number) row[2]).longValue();
+            ArchiveSummary block = summarizeBlock(row, lowId,
+                    readMarks.get(lowId + ">" + highId), readMarks.get(highId + ">" + lowId));
+            summaries.merge(lowId + ">" + highId, block, ArchiveSummary::plus);
+        }
+        return summaries;
+    }
+
+    /**
+     * Recuentos de un bloque; los mensajes leídos por low son los enviados por high y viceversa
+     */
+    private ArchiveSummary summarizeBlock(Object[] row, long lowId, Long lowMark, Long highMark) {
+        long firstId = ((Number) row[3]).longValue();
+        long lastId = ((Number) row[4]).longValue();
+        int count = ((Number) row[5]).intValue();
+        if (row[6] != null && !splits(lowMark, firstId, lastId) && !splits(highMark, firstId, lastId)) {
+            int sentByLow = ((Number) row[6]).intValue();
+            int sentByHigh = count - sentByLow;
+            return new ArchiveSummary(sentByLow, sentByHigh,
+                    lowMark != null && lowMark >= lastId ? sentByHigh : 0,
+                    highMark != null && highMark >= lastId ? sentByLow : 0);
+        }
+        int sentByLow = 0;
+        int sentByHigh = 0;
+        int readByLow = 0;
+        int readByHigh = 0;
+        MessageArchiveBlock block = blockRepository.findById((Long) row[0]).orElseThrow();
+        for (ArchivedMessage message : codec.decode(block.getPayload())) {
+            if (message.senderId() == lowId) {
+                sentByLow++;
+                if (highMark != null && message.id() <= highMark) {
+                    readByHigh++;
+                }
+            } else {
+                sentByHigh++;
+                if (lowMark != null && message.id() <= lowMark) {
+                    readByLow++;
+                }
+            }
+        }
+        return new ArchiveSummary(sentByLow, sentByHigh, readByLow, readByHigh);
+    }
+
+    private static boolean splits(Long mark, long firstId, long lastId) {
+        return mark != null && mark >= firstId && mark < lastId;
+    }
+
+    private int archiveBlock(long lowId, long highId, LocalDateTime cutoff) {
+        List<PrivateMessage> rows = messageRepository.findOldestBefore(lowId, highId, cutoff,
+                PageRequest.of(0, blockSize));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<ArchivedMessage> messages = new ArrayList<>(rows.size());
+        List<Long> ids = new ArrayList<>(rows.size());
+        int sentByLow = 0;
+        for (PrivateMessage row : rows) {
+            if (row.getSender().getId() == lowId) {
+                sentByLow++;
+            }
+            messages.add(new ArchivedMessage(row.getId(), row.getSender().getId(), row.getRecipient().getId(),
+                    row.getContent(), row.getSentAt()));
+            ids.add(row.getId());
+        }
+        PrivateMessage first = rows.get(0);
+        PrivateMessage last = rows.get(rows.size() - 1);
+        blockRepository.save(MessageArchiveBlock.builder()
+                .userLowId(lowId)
+                .userHighId(highId)
+                .firstMessageId(first.getId())
+                .lastMessageId(last.getId())
+                .firstSentAt(first.getSentAt())
+                .lastSentAt(last.getSentAt())
+                .messageCount(rows.size())
+                .sentByLow(sentByLow)
+                .payload(codec.encode(messages))
+                .build());
+        messageRepository.deleteAllByIdInBatch(ids);
+        return rows.size();
+    }
+
+    private static boolean isBefore(ArchivedMessage message, Position position) {
+        if (position == null) {
+            return true;
+        }
+        int bySentAt = message.sentAt().compareTo(position.createdAt());
+        return bySentAt < 0 || (bySentAt == 0 && message.id() < position.id());
+    }
+
+    /**
+     * Reconstruye el mensaje (no gestionado) con los usuarios ya cargados
+     */
+    private static PrivateMessage toMessage(ArchivedMessage message, User user1, User user2) {
+        boolean sentByFirst = user1.getId().equals(message.senderId());
+        return PrivateMessage.builder()
+                .id(message.id())
+                .sender(sentByFirst ? user1 : user2)
+                .recipient(sentByFirst ? user2 : user1)
+                .content(message.content())
+                .sentAt(message.sentAt())
+                .build();
+    }
+}
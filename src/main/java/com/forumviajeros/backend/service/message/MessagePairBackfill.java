@@ -0,0 +1,48 @@
+package com.forumviajeros.backend.service.message;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.forumviajeros.backend.repository.PrivateMessageRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rellena el par ordenado (pair_low_id, pair_high_id) de los mensajes
+ * anteriores a esas columnas.
+ *
+ * Las consultas de conversación filtran por el par, así que una fila sin él no
+ * aparecería: se ejecuta al terminar de crear los beans, antes de que arranque
+ * el servidor web, en lotes con su propia transacción. Los mensajes nuevos
+ * reciben el par al insertarse; si no queda ninguna fila sin él no hace nada.
+ */
+@Component
+@Slf4j
+public class MessagePairBackfill implements SmartInitializingSingleton {
+
+    static final int BATCH_SIZE = 5000;
+
+    private final PrivateMessageRepository messageRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public MessagePairBackfill(PrivateMessageRepository messageRepository,
+            PlatformTransactionManager transactionManager) {
+        this.messageRepository = messageRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long total = 0;
+        int updated;
+        do {
+            updated = transactionTemplate.execute(status -> messageRepository.backfillPairs(BATCH_SIZE));
+            total += updated;
+        } while (updated == BATCH_SIZE);
+        if (total > 0) {
+            log.info("Par de conversación rellenado en {} mensajes", total);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 
+import com.forumviajeros.backend.dto.CursorPageDTO;
 import com.forumviajeros.backend.dto.message.ConversationDTO;
 import com.forumviajeros.backend.dto.message.MessageRequestDTO;
 import com.forumviajeros.backend.dto.message.MessageResponseDTO;
@@ -14,15 +15,44 @@ public interface MessageService {
 
     MessageResponseDTO sendMessage(MessageRequestDTO request, Authentication auth);
 
+    /**
+     * @deprecated devuelve solo la primera página de la bandeja; usar {@link #getConversationsPage}
+     */
+    @Deprecated
     List<ConversationDTO> getConversations(Authentication auth);
 
+    /**
+     * Bandeja de entrada por cursor, de la conversación más reciente a la más antigua y sin total
+     */
+    CursorPageDTO<ConversationDTO> getConversationsPage(String cursor, int size, Authentication auth);
+
+    /**
+     * @deprecated carga la conversación completa; usar {@link #getConversationPage}
+     */
+    @Deprecated
     List<MessageResponseDTO> getConversation(Long userId, Authentication auth);
 
+    /**
+     * Página por offset de la conversación completa: tras los mensajes vivos
+     * continúa por el historial archivado. Para recorrerla entera es más
+     * barato {@link #getConversationPage}
+     */
     Page<MessageResponseDTO> getConversationPaged(Long userId, Pageable pageable, Authentication auth);
 
+    /**
+     * Mensajes de una conversación por cursor, del más reciente al más antiguo y sin total;
+     * al agotar los mensajes recientes continúa por el historial archivado
+     */
+    CursorPageDTO<MessageResponseDTO> getConversationPage(Long userId, String cursor, int size, Authentication auth);
+
     void markConversationAsRead(Long userId, Authentication auth);
 
     Long getUnreadCount(Authentication auth);
 
     void deleteMessage(Long messageId, Authentication auth);
+
+    /**
+     * Reconstruye el índice de conversaciones desde los mensajes; devuelve cuántas se indexaron
+     */
+    int rebuildConversationIndex();
 }
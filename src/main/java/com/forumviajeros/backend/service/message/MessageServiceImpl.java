@@ -1,22 +1,40 @@
 package com.forumviajeros.backend.service.message;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.forumviajeros.backend.dto.CursorPageDTO;
 import com.forumviajeros.backend.dto.message.ConversationDTO;
 import com.forumviajeros.backend.dto.message.MessageRequestDTO;
 import com.forumviajeros.backend.dto.message.MessageResponseDTO;
+import com.forumviajeros.backend.event.MessageSentEvent;
 import com.forumviajeros.backend.exception.ResourceNotFoundException;
+import com.forumviajeros.backend.model.Conversation;
 import com.forumviajeros.backend.model.PrivateMessage;
 import com.forumviajeros.backend.model.User;
+import com.forumviajeros.backend.repository.ConversationRepository;
 import com.forumviajeros.backend.repository.PrivateMessageRepository;
 import com.forumviajeros.backend.repository.UserRepository;
+import com.forumviajeros.backend.service.message.MessageArchiveService.ArchiveSummary;
+import com.forumviajeros.backend.util.CursorUtil;
+import com.forumviajeros.backend.util.CursorUtil.Position;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +47,11 @@ public class MessageServiceImpl implements MessageService {
 
     private final PrivateMessageRepository messageRepository;
     private final UserRepository userRepository;
+    private final ConversationRepository conversationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MessageArchiveService messageArchiveService;
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
 
     @Override
     public MessageResponseDTO sendMessage(MessageRequestDTO request, Authentication auth) {
@@ -47,50 +70,98 @@ public class MessageServiceImpl implements MessageService {
                 .build();
 
         message = messageRepository.save(message);
+
+        Conversation conversation = lockOrCreateConversation(sender, recipient);
+        conversation.applyLastMessage(message);
+        conversation.registerSent(sender.getId());
+        conversationRepository.save(conversation);
+
+        eventPublisher.publishEvent(new MessageSentEvent(recipient.getId(),
+                mapToDTO(message, recipient, conversation)));
         log.info("Mensaje enviado de {} a {}", sender.getUsername(), recipient.getUsername());
 
-        return mapToDTO(message, sender);
+        return mapToDTO(message, sender, conversation);
     }
 
     @Override
+    @Deprecated
     @Transactional(readOnly = true)
     public List<ConversationDTO> getConversations(Authentication auth) {
+        return getConversationsPage(null, CursorUtil.MAX_PAGE_SIZE, auth).getItems();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ConversationDTO> getConversationsPage(String cursor, int size, Authentication auth) {
         User currentUser = getCurrentUser(auth);
-        List<PrivateMessage> latestMessages = messageRepository.findLatestConversations(currentUser.getId());
-
-        return latestMessages.stream()
-                .map(msg -> {
-                    User participant = msg.getSender().getId().equals(currentUser.getId())
-                            ? msg.getRecipient()
-                            : msg.getSender();
-
-                    Long unreadCount = messageRepository.countByRecipientAndSenderAndIsReadFalse(
-                            currentUser, participant);
-
-                    return ConversationDTO.builder()
-                            .participantId(participant.getId())
-                            .participantUsername(participant.getUsername())
-                            .participantAvatarUrl(participant.getAvatarUrl())
-                            .lastMessage(truncateMessage(msg.getContent()))
-                            .lastMessageAt(msg.getSentAt())
-                            .isLastMessageMine(msg.getSender().getId().equals(currentUser.getId()))
-                            .unreadCount(unreadCount)
-                            .build();
-                })
-                .collect(Collectors.toList());
+        Long userId = currentUser.getId();
+        int pageSize = CursorUtil.pageSize(size);
+        Position position = CursorUtil.decode(cursor);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Conversation> asLow = position == null
+                ? conversationRepository.findInboxAsLowFirstPage(userId, limit)
+                : conversationRepository.findInboxAsLowBefore(userId, position.createdAt(), position.id(), limit);
+        List<Conversation> asHigh = position == null
+                ? conversationRepository.findInboxAsHighFirstPage(userId, limit)
+                : conversationRepository.findInboxAsHighBefore(userId, position.createdAt(), position.id(), limit);
+
+        return CursorUtil.toPage(mergeInbox(asLow, asHigh, pageSize + 1), pageSize,
+                c -> new Position(c.getLastMessageAt(), c.getId()),
+                page -> page.stream()
+                        .map(conversation -> mapToConversationDTO(conversation, userId))
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * Mezcla dos listas ya ordenadas por (lastMessageAt DESC, id DESC) hasta {@code limit} filas
+     */
+    static List<Conversation> mergeInbox(List<Conversation> left, List<Conversation> right, int limit) {
+        List<Conversation> merged = new ArrayList<>(Math.min(limit, left.size() + right.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < left.size() || j < right.size())) {
+            if (j >= right.size() || (i < left.size() && isNewer(left.get(i), right.get(j)))) {
+                merged.add(left.get(i++));
+            } else {
+                merged.add(right.get(j++));
+            }
+        }
+        return merged;
+    }
+
+    private static boolean isNewer(Conversation a, Conversation b) {
+        int byDate = a.getLastMessageAt().compareTo(b.getLastMessageAt());
+        return byDate != 0 ? byDate > 0 : a.getId() > b.getId();
+    }
+
+    private ConversationDTO mapToConversationDTO(Conversation conversation, Long userId) {
+        User participant = conversation.getParticipant(userId);
+        return ConversationDTO.builder()
+                .participantId(participant.getId())
+                .participantUsername(participant.getUsername())
+                .participantAvatarUrl(participant.getAvatarUrl())
+                .lastMessage(conversation.getLastMessagePreview())
+                .lastMessageAt(conversation.getLastMessageAt())
+                .isLastMessageMine(userId.equals(conversation.getLastSenderId()))
+                .unreadCount((long) conversation.getUnreadFor(userId))
+                .build();
     }
 
     @Override
+    @Deprecated
     @Transactional(readOnly = true)
     public List<MessageResponseDTO> getConversation(Long userId, Authentication auth) {
         User currentUser = getCurrentUser(auth);
         User otherUser = userRepository.findById(userId)
             .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
-        List<PrivateMessage> messages = messageRepository.findConversation(currentUser, otherUser);
+        List<PrivateMessage> messages = new ArrayList<>(messageArchiveService.findAllArchived(currentUser, otherUser));
+        messages.addAll(messageRepository.findConversation(lowId(currentUser, otherUser), highId(currentUser, otherUser)));
+        Conversation conversation = findConversation(currentUser, otherUser);
 
         return messages.stream()
-                .map(msg -> mapToDTO(msg, currentUser))
+                .map(msg -> mapToDTO(msg, currentUser, conversation))
                 .collect(Collectors.toList());
     }
 
@@ -101,8 +172,53 @@ public class MessageServiceImpl implements MessageService {
         User otherUser = userRepository.findById(userId)
             .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
-        return messageRepository.findConversationPaged(currentUser, otherUser, pageable)
-                .map(msg -> mapToDTO(msg, currentUser));
+        Conversation conversation = findConversation(currentUser, otherUser);
+        Page<PrivateMessage> live = messageRepository.findConversationPaged(
+                lowId(currentUser, otherUser), highId(currentUser, otherUser), pageable);
+        long archived = messageArchiveService.countArchived(currentUser, otherUser);
+        List<PrivateMessage> rows = new ArrayList<>(live.getContent());
+        if (archived > 0 && pageable.isPaged() && rows.size() < pageable.getPageSize()) {
+            // El archivo es el tramo más antiguo: la página sigue por él donde acaban las filas vivas
+            long offset = Math.max(0, pageable.getOffset() - live.getTotalElements());
+            rows.addAll(messageArchiveService.findArchivedPage(currentUser, otherUser, offset,
+                    pageable.getPageSize() - rows.size()));
+        }
+        return new PageImpl<>(rows, pageable, live.getTotalElements() + archived)
+                .map(msg -> mapToDTO(msg, currentUser, conversation));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<MessageResponseDTO> getConversationPage(Long userId, String cursor, int size,
+            Authentication auth) {
+        User currentUser = getCurrentUser(auth);
+        User otherUser = userRepository.findById(userId)
+            .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+        int pageSize = CursorUtil.pageSize(size);
+        Position position = CursorUtil.decode(cursor);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        Long low = lowId(currentUser, otherUser);
+        Long high = highId(currentUser, otherUser);
+
+        List<PrivateMessage> rows = position == null
+                ? messageRepository.findConversationFirstPage(low, high, limit)
+                : messageRepository.findConversationBefore(low, high, position.createdAt(), position.id(), limit);
+        if (rows.size() <= pageSize) {
+            // Filas calientes agotadas: se continúa por el historial archivado
+            Position from = rows.isEmpty()
+                    ? position
+                    : new Position(rows.get(rows.size() - 1).getSentAt(), rows.get(rows.size() - 1).getId());
+            rows = new ArrayList<>(rows);
+            rows.addAll(messageArchiveService.findArchivedBefore(currentUser, otherUser, from,
+                    pageSize + 1 - rows.size()));
+        }
+        Conversation conversation = findConversation(currentUser, otherUser);
+
+        return CursorUtil.toPage(rows, pageSize, msg -> new Position(msg.getSentAt(), msg.getId()),
+                page -> page.stream()
+                        .map(msg -> mapToDTO(msg, currentUser, conversation))
+                        .collect(Collectors.toList()));
     }
 
     @Override
@@ -111,15 +227,20 @@ public class MessageServiceImpl implements MessageService {
         User sender = userRepository.findById(userId)
             .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
-        int updated = messageRepository.markConversationAsRead(currentUser, sender);
-        log.info("Marcados {} mensajes como leidos de {} para {}", updated, sender.getUsername(), currentUser.getUsername());
+        // Una sola fila: se mueve la marca de lectura, los mensajes no se tocan
+        lockConversation(currentUser, sender).ifPresent(conversation -> {
+            int unread = conversation.getUnreadFor(currentUser.getId());
+            conversation.markReadBy(currentUser.getId(), LocalDateTime.now());
+            log.info("Marcados {} mensajes como leidos de {} para {}", unread, sender.getUsername(),
+                    currentUser.getUsername());
+        });
     }
 
     @Override
     @Transactional(readOnly = true)
     public Long getUnreadCount(Authentication auth) {
         User currentUser = getCurrentUser(auth);
-        return messageRepository.countByRecipientAndIsReadFalse(currentUser);
+        return conversationRepository.sumUnreadByUserId(currentUser.getId());
     }
 
     @Override
@@ -133,15 +254,207 @@ public class MessageServiceImpl implements MessageService {
         }
 
         messageRepository.delete(message);
+        messageRepository.flush();
+        refreshAfterDelete(message);
         log.info("Mensaje {} eliminado por {}", messageId, currentUser.getUsername());
     }
 
+    /**
+     * Reconstruye el índice de conversaciones a partir de los mensajes
+     * existentes, calientes y archivados
+     */
+    @Override
+    public int rebuildConversationIndex() {
+        // Las marcas de lectura solo viven en el índice: se guardan antes de vaciarlo
+        Map<String, Object[]> watermarks = new HashMap<>();
+        Map<String, Long> readMarks = new HashMap<>();
+        for (Object[] row : conversationRepository.findReadWatermarks()) {
+            watermarks.put(row[0] + ">" + row[1], row);
+            readMarks.put(row[0] + ">" + row[1], ((Number) row[2]).longValue());
+        }
+        Map<String, ArchiveSummary> archived = messageArchiveService.summarizeArchive(readMarks);
+        conversationRepository.deleteAllInBatch();
+
+        Map<String, Integer> sentByPair = new HashMap<>();
+        for (Object[] row : messageRepository.countGroupedByPair()) {
+            sentByPair.put(row[0] + ">" + row[1], ((Number) row[2]).intValue());
+        }
+
+        List<Long> latestIds = messageRepository.findLatestMessageIdPerPair().stream()
+                .map(Number::longValue)
+                .collect(Collectors.toList());
+        int rebuilt = 0;
+        for (int from = 0; from < latestIds.size(); from += BACKFILL_BATCH_SIZE) {
+            List<Long> batch = latestIds.subList(from, Math.min(from + BACKFILL_BATCH_SIZE, latestIds.size()));
+            List<Conversation> conversations = new ArrayList<>(batch.size());
+            for (PrivateMessage message : messageRepository.findAllWithUsersByIdIn(batch)) {
+                // El archivo es un prefijo del historial: el último mensaje caliente es el último
+                Conversation conversation = Conversation.between(message.getSender(), message.getRecipient());
+                String pair = conversation.getUserLow().getId() + ">" + conversation.getUserHigh().getId();
+                conversations.add(rebuildConversation(conversation, message,
+                        archived.remove(pair), sentByPair, watermarks));
+            }
+            conversationRepository.saveAll(conversations);
+            rebuilt += conversations.size();
+        }
+
+        // Conversaciones con todo el historial archivado
+        List<String> archivedOnly = new ArrayList<>(archived.keySet());
+        for (int from = 0; from < archivedOnly.size(); from += BACKFILL_BATCH_SIZE) {
+            List<String> batch = archivedOnly.subList(from, Math.min(from + BACKFILL_BATCH_SIZE, archivedOnly.size()));
+            List<Long> userIds = new ArrayList<>();
+            for (String pair : batch) {
+                String[] ids = pair.split(">");
+                userIds.add(Long.valueOf(ids[0]));
+                userIds.add(Long.valueOf(ids[1]));
+            }
+            Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                    .collect(Collectors.toMap(User::getId, user -> user));
+            List<Conversation> conversations = new ArrayList<>(batch.size());
+            for (String pair : batch) {
+                String[] ids = pair.split(">");
+                User low = users.get(Long.valueOf(ids[0]));
+                User high = users.get(Long.valueOf(ids[1]));
+                if (low == null || high == null) {
+                    continue;
+                }
+                List<PrivateMessage> latest = messageArchiveService.findArchivedBefore(low, high, null, 1);
+                if (latest.isEmpty()) {
+                    continue;
+                }
+                conversations.add(rebuildConversation(Conversation.between(low, high), latest.get(0),
+                        archived.get(pair), sentByPair, watermarks));
+            }
+            conversationRepository.saveAll(conversations);
+            rebuilt += conversations.size();
+        }
+        log.info("Índice de conversaciones reconstruido: {} conversaciones", rebuilt);
+        return rebuilt;
+    }
+
+    /**
+     * Rellena el índice al arrancar si hay mensajes, calientes o archivados,
+     * pero ninguna conversación indexada
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillConversationIndex() {
+        if (conversationRepository.count() == 0
+                && (messageRepository.count() > 0 || messageArchiveService.hasArchivedMessages())) {
+            rebuildConversationIndex();
+        }
+    }
+
+    /**
+     * Completa la conversación con su último mensaje, los enviados de cada
+     * sentido y las marcas de lectura, sumando la parte archivada si la hay
+     */
+    private static Conversation rebuildConversation(Conversation conversation, PrivateMessage latest,
+            ArchiveSummary archived, Map<String, Integer> sentByPair, Map<String, Object[]> watermarks) {
+        ArchiveSummary summary = archived != null ? archived : new ArchiveSummary(0, 0, 0, 0);
+        User low = conversation.getUserLow();
+        User high = conversation.getUserHigh();
+        conversation.applyLastMessage(latest);
+        conversation.setSentByLow(sentByPair.getOrDefault(low.getId() + ">" + high.getId(), 0)
+                + summary.sentByLow());
+        conversation.setSentByHigh(sentByPair.getOrDefault(high.getId() + ">" + low.getId(), 0)
+                + summary.sentByHigh());
+        restoreReadMark(conversation, low, high, watermarks, summary.readByLow(), latest.getSentAt());
+        restoreReadMark(conversation, high, low, watermarks, summary.readByHigh(), latest.getSentAt());
+        return conversation;
+    }
+
+    /**
+     * Recupera la marca de lectura que tenía el lector; si no había ninguna,
+     * sin estado de lectura que conservar, el historial se da por leído
+     */
+    private static void restoreReadMark(Conversation conversation, User reader, User other,
+            Map<String, Object[]> watermarks, int archivedCovered, LocalDateTime fallbackAt) {
+        Object[] mark = watermarks.get(reader.getId() + ">" + other.getId());
+        if (mark == null) {
+            conversation.markReadBy(reader.getId(), fallbackAt);
+            return;
+        }
+        conversation.restoreReadMark(reader.getId(), ((Number) mark[2]).longValue(),
+                ((Number) mark[4]).intValue() + archivedCovered, toLocalDateTime(mark[3]));
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
+    private Optional<Conversation> lockConversation(User a, User b) {
+        return conversationRepository.findByPairForUpdate(lowId(a, b), highId(a, b));
+    }
+
+    /**
+     * Conversación del par bloqueada; en el primer mensaje se inserta antes la
+     * fila vacía para que dos envíos simultáneos acaben en la misma
+     */
+    private Conversation lockOrCreateConversation(User a, User b) {
+        Optional<Conversation> locked = lockConversation(a, b);
+        if (locked.isPresent()) {
+            return locked.get();
+        }
+        conversationRepository.insertIfAbsent(lowId(a, b), highId(a, b), LocalDateTime.now());
+        return lockConversation(a, b)
+                .orElseThrow(() -> new IllegalStateException("No se pudo crear la conversación entre "
+                        + a.getId() + " y " + b.getId()));
+    }
+
+    /**
+     * Ajusta no leídos e instantánea de la conversación tras borrar un mensaje
+     */
+    private void refreshAfterDelete(PrivateMessage deleted) {
+        User sender = deleted.getSender();
+        User recipient = deleted.getRecipient();
+        Optional<Conversation> locked = lockConversation(sender, recipient);
+        if (locked.isEmpty()) {
+            return;
+        }
+        Conversation conversation = locked.get();
+
+        conversation.unregisterSent(sender.getId(), recipient.getId(), deleted.getId());
+        if (deleted.getId().equals(conversation.getLastMessageId())) {
+            List<PrivateMessage> latest = messageRepository.findConversationFirstPage(
+                    lowId(sender, recipient), highId(sender, recipient), PageRequest.of(0, 1));
+            if (latest.isEmpty()) {
+                // Sin filas vivas la conversación sigue existiendo si tiene historial archivado
+                latest = messageArchiveService.findArchivedBefore(sender, recipient, null, 1);
+            }
+            if (latest.isEmpty()) {
+                conversationRepository.delete(conversation);
+                return;
+            }
+            conversation.applyLastMessage(latest.get(0));
+        }
+    }
+
+    private Conversation findConversation(User a, User b) {
+        return conversationRepository.findByPair(lowId(a, b), highId(a, b)).orElse(null);
+    }
+
+    private static Long lowId(User a, User b) {
+        return Math.min(a.getId(), b.getId());
+    }
+
+    private static Long highId(User a, User b) {
+        return Math.max(a.getId(), b.getId());
+    }
+
     private User getCurrentUser(Authentication auth) {
         return userRepository.findByUsername(auth.getName())
             .orElseThrow(() -> new ResourceNotFoundException("User", "username", auth.getName()));
     }
 
-    private MessageResponseDTO mapToDTO(PrivateMessage message, User currentUser) {
+    /**
+     * El estado de lectura se deriva de la marca del destinatario en la conversación
+     */
+    private MessageResponseDTO mapToDTO(PrivateMessage message, User currentUser, Conversation conversation) {
+        Long recipientId = message.getRecipient().getId();
+        boolean read = conversation != null && conversation.isReadBy(recipientId, message.getId());
         return MessageResponseDTO.builder()
             .id(message.getId())
             .senderId(message.getSender().getId())
@@ -152,14 +465,9 @@ public class MessageServiceImpl implements MessageService {
             .recipientAvatarUrl(message.getRecipient().getAvatarUrl())
             .content(message.getContent())
             .sentAt(message.getSentAt())
-            .readAt(message.getReadAt())
-            .isRead(message.getIsRead())
+            .readAt(read ? conversation.getLastReadAtFor(recipientId) : null)
+            .isRead(read)
             .isMine(message.getSender().getId().equals(currentUser.getId()))
             .build();
     }
-
-    private String truncateMessage(String content) {
-        if (content == null) return "";
-        return content.length() > 50 ? content.substring(0, 50) + "..." : content;
-    }
 }
@@ -0,0 +1,34 @@
+package com.forumviajeros.backend.service.notification;
+
+import com.forumviajeros.backend.dto.CursorPageDTO;
+import com.forumviajeros.backend.dto.notification.NotificationDTO;
+
+/**
+ * Bandeja de notificaciones del usuario
+ */
+public interface NotificationInboxService {
+
+    /**
+     * Notificaciones por cursor, de la más reciente a la más antigua y sin total
+     */
+    CursorPageDTO<NotificationDTO> getInbox(Long userId, String cursor, int size);
+
+    /**
+     * No leídas del usuario, contadas en la base de datos
+     */
+    long getUnreadCount(Long userId);
+
+    /**
+     * @return false si la notificación no existe o no es del usuario
+     */
+    boolean markAsRead(Long notificationId, Long userId);
+
+    int markAllAsRead(Long userId);
+
+    /**
+     * Borra un lote de notificaciones leídas anteriores a {@code retentionDays} días
+     *
+     * @return número de notificaciones borradas
+     */
+    int purgeReadBatch(int retentionDays, int batchSize);
+}
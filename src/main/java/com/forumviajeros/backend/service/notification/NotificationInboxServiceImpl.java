@@ -0,0 +1,86 @@
+package com.forumviajeros.backend.service.notification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.forumviajeros.backend.dto.CursorPageDTO;
+import com.forumviajeros.backend.dto.notification.NotificationDTO;
+import com.forumviajeros.backend.model.Notification;
+import com.forumviajeros.backend.repository.NotificationRepository;
+import com.forumviajeros.backend.util.CursorUtil;
+import com.forumviajeros.backend.util.CursorUtil.Position;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class NotificationInboxServiceImpl implements NotificationInboxService {
+
+    private final NotificationRepository notificationRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<NotificationDTO> getInbox(Long userId, String cursor, int size) {
+        int pageSize = CursorUtil.pageSize(size);
+        Position position = CursorUtil.decode(cursor);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Notification> rows = position == null
+                ? notificationRepository.findInboxFirstPage(userId, limit)
+                : notificationRepository.findInboxBefore(userId, position.createdAt(), position.id(), limit);
+
+        return CursorUtil.toPage(rows, pageSize, n -> new Position(n.getFecha(), n.getId()),
+                page -> page.stream().map(this::mapToDTO).collect(Collectors.toList()));
+    }
+
+    /**
+     * Se cuenta siempre en la base de datos: es un rango del índice
+     * (user_id, leido, fecha), y así todos los nodos ven el mismo valor
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long getUnreadCount(Long userId) {
+        return notificationRepository.countByUserIdAndLeidoFalse(userId);
+    }
+
+    @Override
+    public boolean markAsRead(Long notificationId, Long userId) {
+        return notificationRepository.markAsRead(notificationId, userId) > 0;
+    }
+
+    @Override
+    public int markAllAsRead(Long userId) {
+        return notificationRepository.markAllAsRead(userId);
+    }
+
+    @Override
+    public int purgeReadBatch(int retentionDays, int batchSize) {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        List<Long> ids = notificationRepository.findReadIdsOlderThan(cutoff, PageRequest.of(0, batchSize));
+        if (!ids.isEmpty()) {
+            notificationRepository.deleteAllByIdInBatch(ids);
+        }
+        return ids.size();
+    }
+
+    private NotificationDTO mapToDTO(Notification notification) {
+        return NotificationDTO.builder()
+                .id(notification.getId())
+                .tipo(notification.getTipo())
+                .referenciaId(notification.getReferenciaId())
+                .actorId(notification.getActorId())
+                .actorCount(notification.getActorCount())
+                .leido(notification.isLeido())
+                .fecha(notification.getFecha())
+                .build();
+    }
+}
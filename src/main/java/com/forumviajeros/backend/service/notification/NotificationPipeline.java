@@ -0,0 +1,239 @@
+package com.forumviajeros.backend.service.notification;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.forumviajeros.backend.event.NotificationCreatedEvent;
+import com.forumviajeros.backend.event.NotificationRequestedEvent;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Escritura asíncrona y por lotes de las notificaciones.
+ *
+ * Las peticiones se encolan tras el commit de la acción que las origina y se
+ * escriben periódicamente con JDBC batch. Los likes y comentarios sobre la
+ * misma referencia se agrupan por destinatario: dentro de un lote se juntan y,
+ * si ya hay una notificación sin leer reciente, se actualiza en lugar de
+ * insertar otra ("X y 57 más han dado like a tu post").
+ *
+ * actor_count cuenta usuarios distintos, no acciones: cada notificación
+ * agrupada guarda sus actores en notification_actors y el contador se
+ * recalcula a partir de ellos, así que quien comenta dos veces cuenta una.
+ */
+@Component
+@Slf4j
+public class NotificationPipeline {
+
+    /** Tipos que se agrupan por destinatario y referencia */
+    static final Set<String> COALESCED_TYPES = Set.of("LIKE", "COMMENT");
+
+    private static final String MATCH_UNREAD = "user_id = ? AND tipo = ? AND referencia_id = ? AND leido = false";
+
+    /** Actor guardado en notificaciones anteriores a notification_actors, para no perderlo */
+    private static final String SEED_ACTOR_SQL = "INSERT INTO notification_actors (notification_id, actor_id) "
+            + "SELECT id, actor_id FROM notifications WHERE " + MATCH_UNREAD + " AND fecha >= ? "
+            + "AND actor_id IS NOT NULL ON CONFLICT DO NOTHING";
+
+    private static final String COALESCE_SQL = "UPDATE notifications SET actor_id = ?, fecha = ? "
+            + "WHERE " + MATCH_UNREAD + " AND fecha >= ?";
+
+    /** Tras actualizar o insertar, la notificación agrupada se identifica por su fecha exacta */
+    private static final String ADD_ACTOR_SQL = "INSERT INTO notification_actors (notification_id, actor_id) "
+            + "SELECT id, ? FROM notifications WHERE " + MATCH_UNREAD + " AND fecha = ? ON CONFLICT DO NOTHING";
+
+    private static final String COUNT_ACTORS_SQL = "UPDATE notifications SET actor_count = "
+            + "(SELECT COUNT(*) FROM notification_actors a WHERE a.notification_id = notifications.id) "
+            + "WHERE " + MATCH_UNREAD + " AND fecha = ?";
+
+    private static final String INSERT_SQL = "INSERT INTO notifications "
+            + "(user_id, tipo, referencia_id, leido, fecha, actor_id, actor_count) "
+            + "VALUES (?, ?, ?, false, ?, ?, ?)";
+
+    private final BlockingQueue<NotificationRequestedEvent> queue;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration coalesceWindow;
+    private final int batchSize;
+
+    public NotificationPipeline(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.notifications.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.notifications.coalesce-window:PT10M}") Duration coalesceWindow,
+            @Value("${app.notifications.batch-size:500}") int batchSize) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.coalesceWindow = coalesceWindow;
+        this.batchSize = batchSize;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationRequested(NotificationRequestedEvent request) {
+        if (!queue.offer(request)) {
+            // Cola llena: se escribe en el hilo que publica para no perder la notificación
+            log.warn("Cola de notificaciones llena; escritura directa para el usuario {}", request.getRecipientId());
+            write(List.of(request));
+        }
+    }
+
+    /**
+     * Vacía la cola en lotes de como máximo batchSize peticiones
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.flush-ms:1000}")
+    public void flush() {
+        List<NotificationRequestedEvent> drained = new ArrayList<>(batchSize);
+        while (queue.drainTo(drained, batchSize) > 0) {
+            write(drained);
+            drained = new ArrayList<>(batchSize);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    int pending() {
+        return queue.size();
+    }
+
+    void write(List<NotificationRequestedEvent> requests) {
+        // Precisión de la columna: la fecha escrita tiene que casar luego por igualdad
+        Collection<PendingNotification> pending = coalesce(requests,
+                LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(pending));
+        } catch (RuntimeException e) {
+            log.error("Error escribiendo {} notificaciones", pending.size(), e);
+            return;
+        }
+        for (PendingNotification notification : pending) {
+            eventPublisher.publishEvent(new NotificationCreatedEvent(notification.recipientId, notification.tipo,
+                    notification.referenciaId, notification.actorId, notification.actorCount(), notification.fecha));
+        }
+    }
+
+    /**
+     * Agrupa las peticiones del lote; las de tipos no agrupables se mantienen una a una
+     */
+    static Collection<PendingNotification> coalesce(List<NotificationRequestedEvent> requests, LocalDateTime now) {
+        Map<Object, PendingNotification> grouped = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            NotificationRequestedEvent request = requests.get(i);
+            boolean coalesced = COALESCED_TYPES.contains(request.getTipo());
+            Object key = coalesced
+                    ? request.getRecipientId() + "|" + request.getTipo() + "|" + request.getReferenciaId()
+                    : i;
+            grouped.computeIfAbsent(key, k -> new PendingNotification(request, coalesced, now))
+                    .addActor(request.getActorId());
+        }
+        return grouped.values();
+    }
+
+    private void persist(Collection<PendingNotification> pending) {
+        List<PendingNotification> coalesced = pending.stream().filter(n -> n.coalesced).toList();
+        List<PendingNotification> toInsert = new ArrayList<>(pending.stream().filter(n -> !n.coalesced).toList());
+
+        if (!coalesced.isEmpty()) {
+            List<Object[]> matches = new ArrayList<>(coalesced.size());
+            List<Object[]> updates = new ArrayList<>(coalesced.size());
+            for (PendingNotification n : coalesced) {
+                Timestamp since = Timestamp.valueOf(n.fecha.minus(coalesceWindow));
+                matches.add(new Object[] { n.recipientId, n.tipo, n.referenciaId, since });
+                updates.add(new Object[] { n.actorId, Timestamp.valueOf(n.fecha), n.recipientId, n.tipo,
+                        n.referenciaId, since });
+            }
+            jdbcTemplate.batchUpdate(SEED_ACTOR_SQL, matches);
+            int[] updated = jdbcTemplate.batchUpdate(COALESCE_SQL, updates);
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] == 0) {
+                    toInsert.add(coalesced.get(i));
+                }
+            }
+        }
+
+        if (!toInsert.isEmpty()) {
+            List<Object[]> inserts = new ArrayList<>(toInsert.size());
+            for (PendingNotification n : toInsert) {
+                inserts.add(new Object[] { n.recipientId, n.tipo, n.referenciaId, Timestamp.valueOf(n.fecha),
+                        n.actorId, n.actorCount() });
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        }
+
+        if (!coalesced.isEmpty()) {
+            List<Object[]> actors = new ArrayList<>();
+            List<Object[]> counts = new ArrayList<>(coalesced.size());
+            for (PendingNotification n : coalesced) {
+                Timestamp fecha = Timestamp.valueOf(n.fecha);
+                for (Long actorId : n.actors) {
+                    actors.add(new Object[] { actorId, n.recipientId, n.tipo, n.referenciaId, fecha });
+                }
+                counts.add(new Object[] { n.recipientId, n.tipo, n.referenciaId, fecha });
+            }
+            if (!actors.isEmpty()) {
+                jdbcTemplate.batchUpdate(ADD_ACTOR_SQL, actors);
+            }
+            jdbcTemplate.batchUpdate(COUNT_ACTORS_SQL, counts);
+        }
+    }
+
+    /**
+     * Notificación pendiente de escribir, con las peticiones ya agrupadas
+     */
+    static final class PendingNotification {
+        final Long recipientId;
+        final String tipo;
+        final Long referenciaId;
+        final boolean coalesced;
+        final LocalDateTime fecha;
+        // Actores distintos del lote, en orden de llegada; actorId es el último
+        final Set<Long> actors = new LinkedHashSet<>();
+        Long actorId;
+
+        PendingNotification(NotificationRequestedEvent request, boolean coalesced, LocalDateTime fecha) {
+            this.recipientId = request.getRecipientId();
+            this.tipo = request.getTipo();
+            this.referenciaId = request.getReferenciaId();
+            this.coalesced = coalesced;
+            this.fecha = fecha;
+        }
+
+        void addActor(Long actor) {
+            actorId = actor;
+            if (actor != null) {
+                actors.remove(actor);
+                actors.add(actor);
+            }
+        }
+
+        int actorCount() {
+            return Math.max(1, actors.size());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.forumviajeros.backend.service.notification;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tarea periódica que purga las notificaciones leídas antiguas. Borra por
+ * lotes, cada uno en su propia transacción, para no bloquear la tabla.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationRetentionJob {
+
+    private final NotificationInboxService notificationInboxService;
+
+    @Value("${app.notifications.retention-days:90}")
+    private int retentionDays;
+
+    @Value("${app.notifications.purge-batch-size:1000}")
+    private int batchSize;
+
+    @Scheduled(cron = "${app.notifications.retention-cron:0 0 5 * * *}")
+    public void purge() {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = notificationInboxService.purgeReadBatch(retentionDays, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        log.info("Purgadas {} notificaciones leídas de más de {} días", total, retentionDays);
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.forumviajeros.backend.dto.CursorPageDTO;
 import com.forumviajeros.backend.dto.post.PostRequestDTO;
 import com.forumviajeros.backend.dto.post.PostResponseDTO;
 
@@ -23,6 +24,11 @@ public interface PostService {
 
     List<PostResponseDTO> findByForum(Long forumId);
 
+    /**
+     * Posts activos de un foro por cursor, del más reciente al más antiguo
+     */
+    CursorPageDTO<PostResponseDTO> findByForumPage(Long forumId, String cursor, int size);
+
     List<PostResponseDTO> findByCurrentUser(Authentication authentication);
 
     PostResponseDTO addImages(Long postId, List<MultipartFile> files, Authentication authentication);
@@ -2,18 +2,27 @@ package com.forumviajeros.backend.service.post;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.forumviajeros.backend.dto.CursorPageDTO;
 import com.forumviajeros.backend.dto.post.PostRequestDTO;
 import com.forumviajeros.backend.dto.post.PostResponseDTO;
+import com.forumviajeros.backend.event.AchievementMetricChangedEvent;
+import com.forumviajeros.backend.event.SearchIndexRequestedEvent;
+import com.forumviajeros.backend.exception.ResourceNotFoundException;
 import com.forumviajeros.backend.model.Forum;
 import com.forumviajeros.backend.model.Post;
 import com.forumviajeros.backend.model.Tag;
@@ -23,7 +32,13 @@ import com.forumviajeros.backend.repository.ImageRepository;
 import com.forumviajeros.backend.repository.PostRepository;
 import com.forumviajeros.backend.repository.TagRepository;
 import com.forumviajeros.backend.repository.UserRepository;
+import com.forumviajeros.backend.service.achievement.AchievementMetric;
+import com.forumviajeros.backend.service.search.SearchDocumentType;
 import com.forumviajeros.backend.service.storage.LocalStorageService;
+import com.forumviajeros.backend.service.tag.TagResolver;
+import com.forumviajeros.backend.service.tag.TagUsageDelta;
+import com.forumviajeros.backend.util.CursorUtil;
+import com.forumviajeros.backend.util.CursorUtil.Position;
 import com.forumviajeros.backend.util.HtmlSanitizer;
 
 @Service
@@ -33,24 +48,31 @@ public class PostServiceImpl implements PostService {
     private final UserRepository userRepository;
     private final ForumRepository forumRepository;
     private final TagRepository tagRepository;
+    private final TagResolver tagResolver;
     private final ImageRepository imageRepository;
     private final LocalStorageService localStorageService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public PostServiceImpl(PostRepository postRepository,
             UserRepository userRepository,
             ForumRepository forumRepository,
             TagRepository tagRepository,
+            TagResolver tagResolver,
             ImageRepository imageRepository,
-            LocalStorageService localStorageService) {
+            LocalStorageService localStorageService,
+            ApplicationEventPublisher eventPublisher) {
         this.postRepository = postRepository;
         this.userRepository = userRepository;
         this.forumRepository = forumRepository;
         this.tagRepository = tagRepository;
+        this.tagResolver = tagResolver;
         this.imageRepository = imageRepository;
         this.localStorageService = localStorageService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @Transactional
     public PostResponseDTO createPost(PostRequestDTO dto, Long userId) {
         Post post = new Post();
         post.setTitle(HtmlSanitizer.stripAllTags(dto.getTitle()));
@@ -69,21 +91,22 @@ public class PostServiceImpl implements PostService {
         post.setUpdatedAt(LocalDateTime.now());
 
         if (dto.getTags() != null && !dto.getTags().isEmpty()) {
-            List<Tag> tags = dto.getTags().stream()
-                    .map(tagName -> HtmlSanitizer.stripAllTags(tagName).trim())
-                    .filter(tagName -> !tagName.isEmpty())
-                    .map(name -> tagRepository.findByName(name).orElseGet(
-                            () -> tagRepository.save(new Tag(null, name, new ArrayList<>(), new ArrayList<>()))))
-                    .collect(Collectors.toList());
-            post.setTags(tags);
+            post.setTags(tagResolver.resolve(dto.getTags()));
         }
 
         post.setStatus(dto.getStatus() != null ? Post.PostStatus.valueOf(dto.getStatus()) : Post.PostStatus.ACTIVE);
 
-        return mapToResponseDTO(postRepository.save(post));
+        PostResponseDTO created = mapToResponseDTO(postRepository.save(post));
+        applyTagUsage(TagUsageDelta.between(List.of(), post.getTags()));
+        forumRepository.incrementPostCount(forum.getId(), 1);
+        userRepository.incrementPostCount(userId, 1);
+        eventPublisher.publishEvent(new AchievementMetricChangedEvent(userId, AchievementMetric.POSTS_CREATED));
+        eventPublisher.publishEvent(new SearchIndexRequestedEvent(SearchDocumentType.POST, created.getId()));
+        return created;
     }
 
     @Override
+    @Transactional
     public PostResponseDTO updatePost(Long id, PostRequestDTO dto, Authentication authentication) {
         Post post = postRepository.findById(id).orElseThrow();
         assertOwnershipOrAdmin(post, authentication);
@@ -92,21 +115,19 @@ public class PostServiceImpl implements PostService {
         post.setContent(HtmlSanitizer.sanitizeRichText(dto.getContent()));
         post.setUpdatedAt(LocalDateTime.now());
 
+        List<Tag> previousTags = new ArrayList<>(post.getTags());
         if (dto.getTags() != null) {
-            List<Tag> tags = dto.getTags().stream()
-                    .map(tagName -> HtmlSanitizer.stripAllTags(tagName).trim())
-                    .filter(tagName -> !tagName.isEmpty())
-                    .map(name -> tagRepository.findByName(name).orElseGet(
-                            () -> tagRepository.save(new Tag(null, name, new ArrayList<>(), new ArrayList<>()))))
-                    .collect(Collectors.toList());
-            post.setTags(tags);
+            post.setTags(tagResolver.resolve(dto.getTags()));
         }
 
         if (dto.getStatus() != null) {
             post.setStatus(Post.PostStatus.valueOf(dto.getStatus()));
         }
 
-        return mapToResponseDTO(postRepository.save(post));
+        PostResponseDTO updated = mapToResponseDTO(postRepository.save(post));
+        applyTagUsage(TagUsageDelta.between(previousTags, post.getTags()));
+        eventPublisher.publishEvent(new SearchIndexRequestedEvent(SearchDocumentType.POST, id));
+        return updated;
     }
 
     @Override
@@ -130,6 +151,61 @@ public class PostServiceImpl implements PostService {
         return postRepository.findByForum(forum).stream().map(this::mapToResponseDTO).collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<PostResponseDTO> findByForumPage(Long forumId, String cursor, int size) {
+        if (!forumRepository.existsById(forumId)) {
+            throw new ResourceNotFoundException("Foro", "id", forumId);
+        }
+        int pageSize = CursorUtil.pageSize(size);
+        Position position = CursorUtil.decode(cursor);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        // Solo posts activos: ocultos y archivados se filtran en la consulta
+        List<Object[]> rows = position == null
+                ? postRepository.findForumPageFirst(forumId, Post.PostStatus.ACTIVE, limit)
+                : postRepository.findForumPageBefore(forumId, Post.PostStatus.ACTIVE, position.createdAt(),
+                        position.id(), limit);
+
+        return CursorUtil.toPage(rows, pageSize, row -> new Position((LocalDateTime) row[5], (Long) row[0]),
+                page -> mapSummaryRows(page, forumId));
+    }
+
+    /**
+     * Convierte las filas proyectadas; las etiquetas se cargan para toda la
+     * página con una sola consulta
+     */
+    private List<PostResponseDTO> mapSummaryRows(List<Object[]> rows, Long forumId) {
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> ids = rows.stream().map(row -> (Long) row[0]).collect(Collectors.toList());
+        Map<Long, List<String>> tags = new HashMap<>();
+        for (Object[] row : postRepository.findTagNamesByPostIds(ids)) {
+            tags.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+
+        List<PostResponseDTO> page = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            LocalDateTime createdAt = (LocalDateTime) row[5];
+            LocalDateTime updatedAt = (LocalDateTime) row[6];
+            PostResponseDTO dto = new PostResponseDTO();
+            dto.setId(id);
+            dto.setTitle((String) row[1]);
+            dto.setContent((String) row[2]);
+            dto.setForumId(forumId);
+            dto.setTags(tags.getOrDefault(id, new ArrayList<>()));
+            dto.setStatus(((Post.PostStatus) row[3]).name());
+            dto.setViewCount((Long) row[4]);
+            dto.setCommentCount((Long) row[7]);
+            dto.setCreatedAt(createdAt != null ? createdAt.toString() : null);
+            dto.setUpdatedAt(updatedAt != null ? updatedAt.toString() : null);
+            page.add(dto);
+        }
+        return page;
+    }
+
     @Override
     public List<PostResponseDTO> findByCurrentUser(Authentication authentication) {
         User user = userRepository.findByUsername(authentication.getName()).orElseThrow();
@@ -157,10 +233,17 @@ public class PostServiceImpl implements PostService {
     }
 
     @Override
+    @Transactional
     public void delete(Long id, Authentication authentication) {
         Post post = postRepository.findById(id).orElseThrow();
         assertOwnershipOrAdmin(post, authentication);
+        // Antes del borrado: los comentarios se van en cascada y hay que descontárselos a sus autores
+        userRepository.decrementCommentCountsOfPost(id);
+        forumRepository.incrementPostCount(post.getForum().getId(), -1);
+        userRepository.incrementPostCount(post.getUser().getId(), -1);
+        applyTagUsage(TagUsageDelta.between(post.getTags(), List.of()));
         postRepository.delete(post);
+        eventPublisher.publishEvent(new SearchIndexRequestedEvent(SearchDocumentType.POST, id));
     }
 
     @Override
@@ -168,6 +251,15 @@ public class PostServiceImpl implements PostService {
         return userRepository.findByUsername(username).orElseThrow().getId();
     }
 
+    private void applyTagUsage(TagUsageDelta delta) {
+        if (!delta.added().isEmpty()) {
+            tagRepository.incrementPostCounts(delta.added(), 1);
+        }
+        if (!delta.removed().isEmpty()) {
+            tagRepository.incrementPostCounts(delta.removed(), -1);
+        }
+    }
+
     private PostResponseDTO mapToResponseDTO(Post post) {
         PostResponseDTO dto = new PostResponseDTO();
         dto.setId(post.getId());
@@ -177,7 +269,7 @@ public class PostServiceImpl implements PostService {
         dto.setTags(post.getTags().stream().map(Tag::getName).collect(Collectors.toList()));
         dto.setStatus(post.getStatus().name());
         dto.setViewCount(post.getViewCount());
-        dto.setCommentCount((long) (post.getComments() != null ? post.getComments().size() : 0));
+        dto.setCommentCount(post.getCommentCount());
         dto.setCreatedAt(post.getCreatedAt() != null ? post.getCreatedAt().toString() : null);
         dto.setUpdatedAt(post.getUpdatedAt() != null ? post.getUpdatedAt().toString() : null);
         return dto;
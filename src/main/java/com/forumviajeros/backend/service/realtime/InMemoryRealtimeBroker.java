@@ -0,0 +1,33 @@
+package com.forumviajeros.backend.service.realtime;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Broker en proceso: entrega directamente a los suscriptores del propio nodo.
+ * Válido para una única instancia y para tests.
+ */
+@Slf4j
+public class InMemoryRealtimeBroker implements RealtimeBroker {
+
+    private final List<Consumer<PushMessage>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(PushMessage message) {
+        for (Consumer<PushMessage> subscriber : subscribers) {
+            try {
+                subscriber.accept(message);
+            } catch (RuntimeException e) {
+                log.warn("Error entregando evento {} al usuario {}", message.event(), message.userId(), e);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<PushMessage> subscriber) {
+        subscribers.add(subscriber);
+    }
+}
@@ -0,0 +1,11 @@
+package com.forumviajeros.backend.service.realtime;
+
+/**
+ * Evento dirigido a las conexiones en tiempo real de un usuario
+ *
+ * @param userId destinatario
+ * @param event  nombre del evento SSE (p. ej. "message", "notification")
+ * @param data   carga útil serializable a JSON
+ */
+public record PushMessage(Long userId, String event, Object data) {
+}
@@ -0,0 +1,18 @@
+package com.forumviajeros.backend.service.realtime;
+
+import java.util.function.Consumer;
+
+/**
+ * Canal pub/sub entre nodos para los eventos en tiempo real. Cada nodo publica
+ * aquí y recibe de aquí los eventos que entrega a sus conexiones locales, de
+ * modo que un usuario conectado a otro nodo también los recibe.
+ */
+public interface RealtimeBroker {
+
+    void publish(PushMessage message);
+
+    /**
+     * Registra el receptor de los eventos publicados por cualquier nodo
+     */
+    void subscribe(Consumer<PushMessage> subscriber);
+}
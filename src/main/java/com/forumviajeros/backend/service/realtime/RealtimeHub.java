@@ -0,0 +1,135 @@
+package com.forumviajeros.backend.service.realtime;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.forumviajeros.backend.event.MessageSentEvent;
+import com.forumviajeros.backend.event.NotificationCreatedEvent;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hub de conexiones SSE por usuario.
+ *
+ * Las conexiones abiertas no ocupan hilo: el servlet queda en modo asíncrono y
+ * solo se escribe cuando llega un evento. Las escrituras se hacen en hilos
+ * virtuales para que un cliente lento no bloquee al que publica.
+ */
+@Component
+@Slf4j
+public class RealtimeHub {
+
+    public static final String EVENT_MESSAGE = "message";
+    public static final String EVENT_NOTIFICATION = "notification";
+    public static final String EVENT_SNAPSHOT = "snapshot";
+
+    private final RealtimeBroker broker;
+    private final long timeoutMs;
+    private final Map<Long, Set<SseEmitter>> connections = new ConcurrentHashMap<>();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+
+    public RealtimeHub(RealtimeBroker broker,
+            @Value("${app.realtime.timeout-ms:1800000}") long timeoutMs) {
+        this.broker = broker;
+        this.timeoutMs = timeoutMs;
+        broker.subscribe(this::deliverLocally);
+    }
+
+    /**
+     * Abre una conexión para el usuario y le envía el estado inicial
+     */
+    public SseEmitter connect(Long userId, Object snapshot) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        connections.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(emitter);
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(e -> remove(userId, emitter));
+
+        send(userId, emitter, SseEmitter.event().name(EVENT_SNAPSHOT).data(snapshot));
+        return emitter;
+    }
+
+    /**
+     * Publica un evento para un usuario en todos los nodos
+     */
+    public void publish(Long userId, String event, Object data) {
+        broker.publish(new PushMessage(userId, event, data));
+    }
+
+    public int connectionCount() {
+        return connections.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessageSent(MessageSentEvent event) {
+        publish(event.getRecipientId(), EVENT_MESSAGE, event.getMessage());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("tipo", event.getTipo());
+        data.put("referenciaId", event.getReferenciaId());
+        data.put("actorId", event.getActorId());
+        data.put("actorCount", event.getActorCount());
+        data.put("fecha", event.getFecha());
+        publish(event.getUserId(), EVENT_NOTIFICATION, data);
+    }
+
+    /**
+     * Comentario periódico para que proxies y balanceadores no corten la
+     * conexión y para detectar clientes que ya se han ido
+     */
+    @Scheduled(fixedDelayString = "${app.realtime.heartbeat-ms:25000}")
+    public void heartbeat() {
+        connections.forEach((userId, emitters) -> emitters.forEach(emitter -> sender.execute(
+                () -> send(userId, emitter, SseEmitter.event().comment("ping")))));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connections.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        connections.clear();
+        sender.shutdown();
+    }
+
+    void deliverLocally(PushMessage message) {
+        Set<SseEmitter> emitters = connections.get(message.userId());
+        if (emitters == null || emitters.isEmpty()) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            sender.execute(() -> send(message.userId(), emitter,
+                    SseEmitter.event().name(message.event()).data(message.data())));
+        }
+    }
+
+    void remove(Long userId, SseEmitter emitter) {
+        connections.computeIfPresent(userId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private void send(Long userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Conexión en tiempo real cerrada para el usuario {}", userId);
+            remove(userId, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+}
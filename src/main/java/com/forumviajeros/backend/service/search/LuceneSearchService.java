@@ -0,0 +1,378 @@
+package com.forumviajeros.backend.service.search;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.StopFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.analysis.en.EnglishPossessiveFilter;
+import org.apache.lucene.analysis.en.PorterStemFilter;
+import org.apache.lucene.analysis.es.SpanishAnalyzer;
+import org.apache.lucene.analysis.es.SpanishLightStemFilter;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.IndexOptions;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermInSetQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.uhighlight.DefaultPassageFormatter;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import com.forumviajeros.backend.dto.search.SearchResultDTO;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Búsqueda sobre un índice Lucene embebido.
+ *
+ * Cada texto se indexa dos veces: con un analizador español (campo base) y
+ * con uno inglés (sufijo _en), ambos con plegado de acentos, de modo que
+ * "camion", "camión" y "camiones" coinciden. La relevancia es BM25 (la
+ * similitud por defecto de Lucene) y el título pesa el doble que el cuerpo.
+ * Sin app.search.index-path el índice vive en memoria y se reconstruye desde
+ * la base de datos al arrancar.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "app.search.backend", havingValue = "lucene", matchIfMissing = true)
+public class LuceneSearchService implements SearchService {
+
+    /** Profundidad máxima de resultados paginables */
+    static final int MAX_RESULT_WINDOW = 1000;
+
+    static final String FIELD_KEY = "key";
+    static final String FIELD_TYPE = "type";
+    static final String FIELD_ID = "id";
+    static final String FIELD_FORUM = "forumId";
+    static final String FIELD_POST = "postId";
+    static final String FIELD_CREATED = "createdAt";
+    static final String FIELD_TITLE = "title";
+    static final String FIELD_BODY = "body";
+    static final String ENGLISH_SUFFIX = "_en";
+
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(
+            FIELD_TITLE, 2.0f,
+            FIELD_TITLE + ENGLISH_SUFFIX, 2.0f,
+            FIELD_BODY, 1.0f,
+            FIELD_BODY + ENGLISH_SUFFIX, 1.0f);
+
+    /** Texto con posiciones y offsets: el resaltado no tiene que volver a analizar */
+    private static final FieldType STORED_TEXT = textFieldType(true);
+    private static final FieldType INDEXED_TEXT = textFieldType(false);
+
+    private final Directory directory;
+    private final Analyzer analyzer;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final int snippetLength;
+
+    public LuceneSearchService(@Value("${app.search.index-path:}") String indexPath,
+            @Value("${app.search.snippet-length:300}") int snippetLength) throws IOException {
+        this.directory = indexPath == null || indexPath.isBlank()
+                ? new ByteBuffersDirectory()
+                : FSDirectory.open(Path.of(indexPath));
+        this.analyzer = buildAnalyzer();
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null);
+        this.snippetLength = snippetLength;
+    }
+
+    @Override
+    public Page<SearchResultDTO> search(String text, Set<SearchDocumentType> types, Pageable pageable) {
+        int offset = (int) Math.min(pageable.getOffset(), MAX_RESULT_WINDOW);
+        int limit = Math.min(offset + pageable.getPageSize(), MAX_RESULT_WINDOW);
+        Query query = buildQuery(text, types);
+        if (query == null || offset >= limit) {
+            return new PageImpl<>(Collections.emptyList(), pageable, 0);
+        }
+
+        IndexSearcher searcher = acquire();
+        try {
+            TopDocs top = searcher.search(query, limit);
+            ScoreDoc[] hits = top.scoreDocs;
+            if (offset >= hits.length) {
+                return new PageImpl<>(Collections.emptyList(), pageable, top.totalHits.value);
+            }
+            int[] docIds = new int[hits.length - offset];
+            for (int i = offset; i < hits.length; i++) {
+                docIds[i - offset] = hits[i].doc;
+            }
+            String[] snippets = highlight(searcher, query, docIds);
+
+            List<SearchResultDTO> results = new ArrayList<>(docIds.length);
+            for (int i = 0; i < docIds.length; i++) {
+                Document doc = searcher.storedFields().document(docIds[i]);
+                results.add(SearchResultDTO.builder()
+                        .type(doc.get(FIELD_TYPE))
+                        .id(Long.valueOf(doc.get(FIELD_ID)))
+                        .title(doc.get(FIELD_TITLE))
+                        .snippet(snippets[i])
+                        .forumId(parseLong(doc.get(FIELD_FORUM)))
+                        .postId(parseLong(doc.get(FIELD_POST)))
+                        .score(hits[offset + i].score)
+                        .createdAt(toDateTime(doc.getField(FIELD_CREATED)))
+                        .build());
+            }
+            return new PageImpl<>(results, pageable, Math.min(top.totalHits.value, MAX_RESULT_WINDOW));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error consultando el índice de búsqueda", e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    @Override
+    public boolean maintainsIndex() {
+        return true;
+    }
+
+    @Override
+    public void index(Collection<SearchDocument> documents) {
+        if (documents.isEmpty()) {
+            return;
+        }
+        try {
+            for (SearchDocument document : documents) {
+                writer.updateDocument(new Term(FIELD_KEY, document.key()), toLucene(document));
+            }
+            commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error indexando " + documents.size() + " documentos", e);
+        }
+    }
+
+    @Override
+    public void delete(SearchDocumentType type, Long id, boolean withChildren) {
+        try {
+            writer.deleteDocuments(new Term(FIELD_KEY, SearchDocument.key(type, id)));
+            if (withChildren && type == SearchDocumentType.FORUM) {
+                writer.deleteDocuments(new Term(FIELD_FORUM, id.toString()));
+            } else if (withChildren && type == SearchDocumentType.POST) {
+                writer.deleteDocuments(new Term(FIELD_POST, id.toString()));
+            }
+            commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error retirando " + SearchDocument.key(type, id) + " del índice", e);
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        try {
+            writer.deleteAll();
+            commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error vaciando el índice de búsqueda", e);
+        }
+    }
+
+    @Override
+    public long documentCount() {
+        IndexSearcher searcher = acquire();
+        try {
+            return searcher.getIndexReader().numDocs();
+        } finally {
+            release(searcher);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    /**
+     * Consulta sobre los campos de ambos idiomas; admite la sintaxis simple de
+     * Lucene (comillas para frases, - para excluir, * para prefijos) sin
+     * lanzar errores de sintaxis. Todos los términos deben aparecer.
+     */
+    Query buildQuery(String text, Set<SearchDocumentType> types) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query textQuery = parser.parse(text.trim());
+        if (textQuery == null) {
+            return null;
+        }
+        if (types == null || types.isEmpty() || types.size() == SearchDocumentType.values().length) {
+            return textQuery;
+        }
+        List<BytesRef> typeTerms = types.stream().map(t -> new BytesRef(t.name())).toList();
+        return new BooleanQuery.Builder()
+                .add(textQuery, BooleanClause.Occur.MUST)
+                .add(new TermInSetQuery(FIELD_TYPE, typeTerms), BooleanClause.Occur.FILTER)
+                .build();
+    }
+
+    private String[] highlight(IndexSearcher searcher, Query query, int[] docIds) throws IOException {
+        UnifiedHighlighter highlighter = UnifiedHighlighter.builder(searcher, analyzer)
+                .withFormatter(new DefaultPassageFormatter("<mark>", "</mark>", " … ", true))
+                .withMaxNoHighlightPassages(1)
+                .build();
+        String[] fields = { FIELD_BODY, FIELD_TITLE };
+        Map<String, String[]> highlights = highlighter.highlightFields(fields, query, docIds, new int[] { 2, 1 });
+        String[] bodies = highlights.get(FIELD_BODY);
+        String[] titles = highlights.get(FIELD_TITLE);
+        String[] snippets = new String[docIds.length];
+        for (int i = 0; i < docIds.length; i++) {
+            String snippet = bodies[i] != null && !bodies[i].isBlank() ? bodies[i] : titles[i];
+            snippets[i] = truncate(snippet);
+        }
+        return snippets;
+    }
+
+    private String truncate(String snippet) {
+        if (snippet == null || snippet.length() <= snippetLength) {
+            return snippet;
+        }
+        // Corte en un espacio para no partir entidades; se cierra la marca abierta
+        int cut = snippet.lastIndexOf(' ', snippetLength);
+        String head = snippet.substring(0, cut > 0 ? cut : snippetLength);
+        if (head.lastIndexOf("<mark>") > head.lastIndexOf("</mark>")) {
+            head += "</mark>";
+        }
+        return head + " …";
+    }
+
+    private Document toLucene(SearchDocument source) {
+        Document doc = new Document();
+        doc.add(new StringField(FIELD_KEY, source.key(), Field.Store.NO));
+        doc.add(new StringField(FIELD_TYPE, source.type().name(), Field.Store.YES));
+        doc.add(new StoredField(FIELD_ID, source.id().toString()));
+        if (source.forumId() != null) {
+            doc.add(new StringField(FIELD_FORUM, source.forumId().toString(), Field.Store.YES));
+        }
+        if (source.postId() != null) {
+            doc.add(new StringField(FIELD_POST, source.postId().toString(), Field.Store.YES));
+        }
+        if (source.createdAt() != null) {
+            doc.add(new StoredField(FIELD_CREATED, source.createdAt().toInstant(ZoneOffset.UTC).toEpochMilli()));
+        }
+        String title = source.title() != null ? source.title() : "";
+        String body = source.body() != null ? source.body() : "";
+        doc.add(new Field(FIELD_TITLE, title, STORED_TEXT));
+        doc.add(new Field(FIELD_TITLE + ENGLISH_SUFFIX, title, INDEXED_TEXT));
+        doc.add(new Field(FIELD_BODY, body, STORED_TEXT));
+        doc.add(new Field(FIELD_BODY + ENGLISH_SUFFIX, body, INDEXED_TEXT));
+        return doc;
+    }
+
+    private void commit() throws IOException {
+        writer.commit();
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    private IndexSearcher acquire() {
+        try {
+            return searcherManager.acquire();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Índice de búsqueda no disponible", e);
+        }
+    }
+
+    private void release(IndexSearcher searcher) {
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            log.warn("No se pudo liberar el lector del índice: {}", e.getMessage());
+        }
+    }
+
+    private static Long parseLong(String value) {
+        return value != null ? Long.valueOf(value) : null;
+    }
+
+    private static LocalDateTime toDateTime(org.apache.lucene.index.IndexableField field) {
+        if (field == null || field.numericValue() == null) {
+            return null;
+        }
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(field.numericValue().longValue()), ZoneOffset.UTC);
+    }
+
+    private static FieldType textFieldType(boolean stored) {
+        FieldType type = new FieldType();
+        type.setTokenized(true);
+        type.setStored(stored);
+        type.setIndexOptions(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS_AND_OFFSETS);
+        type.freeze();
+        return type;
+    }
+
+    /**
+     * Español en los campos base e inglés en los campos _en. Las palabras
+     * vacías se quitan antes de plegar acentos porque las listas los llevan.
+     */
+    static Analyzer buildAnalyzer() {
+        Analyzer spanish = new Analyzer() {
+            @Override
+            protected TokenStreamComponents createComponents(String fieldName) {
+                Tokenizer source = new StandardTokenizer();
+                TokenStream stream = new LowerCaseFilter(source);
+                stream = new StopFilter(stream, SpanishAnalyzer.getDefaultStopSet());
+                stream = new ASCIIFoldingFilter(stream);
+                stream = new SpanishLightStemFilter(stream);
+                return new TokenStreamComponents(source, stream);
+            }
+        };
+        Analyzer english = new Analyzer() {
+            @Override
+            protected TokenStreamComponents createComponents(String fieldName) {
+                Tokenizer source = new StandardTokenizer();
+                TokenStream stream = new EnglishPossessiveFilter(source);
+                stream = new LowerCaseFilter(stream);
+                stream = new StopFilter(stream, EnglishAnalyzer.ENGLISH_STOP_WORDS_SET);
+                stream = new ASCIIFoldingFilter(stream);
+                stream = new PorterStemFilter(stream);
+                return new TokenStreamComponents(source, stream);
+            }
+        };
+        return new PerFieldAnalyzerWrapper(spanish, Map.of(
+                FIELD_TITLE + ENGLISH_SUFFIX, english,
+                FIELD_BODY + ENGLISH_SUFFIX, english));
+    }
+}
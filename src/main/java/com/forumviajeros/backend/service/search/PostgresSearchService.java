@@ -0,0 +1,186 @@
+package com.forumviajeros.backend.service.search;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+
+import com.forumviajeros.backend.dto.search.SearchResultDTO;
+
+/**
+ * Búsqueda con el texto completo de PostgreSQL (tsvector / tsquery).
+ *
+ * No mantiene índice propio: consulta directamente las tablas con
+ * websearch_to_tsquery, ordena por ts_rank_cd y resalta con ts_headline sobre
+ * el cuerpo sin etiquetas HTML (el fragmento se devuelve escapado). Para
+ * que no recorra las tablas enteras necesita índices GIN sobre las mismas
+ * expresiones que usa la consulta (con la configuración de app.search.postgres-config):
+ *
+ * <pre>
+ * CREATE INDEX idx_forums_fts ON forums USING GIN ((
+ *     setweight(to_tsvector('spanish', coalesce(title, '')), 'A') ||
+ *     setweight(to_tsvector('spanish', coalesce(description, '')), 'B')));
+ * CREATE INDEX idx_posts_fts ON posts USING GIN ((
+ *     setweight(to_tsvector('spanish', coalesce(title, '')), 'A') ||
+ *     setweight(to_tsvector('spanish', coalesce(content, '')), 'B')));
+ * CREATE INDEX idx_comments_fts ON comments USING GIN ((
+ *     setweight(to_tsvector('spanish', coalesce(content, '')), 'B')));
+ * </pre>
+ *
+ * Para plegar acentos hay que crear una configuración propia con la extensión
+ * unaccent (por ejemplo es_unaccent) y usarla tanto aquí como en los índices.
+ */
+@Service
+@ConditionalOnProperty(name = "app.search.backend", havingValue = "postgres")
+public class PostgresSearchService implements SearchService {
+
+    private static final Pattern CONFIG_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private static final Pattern HIGHLIGHT_MARKER = Pattern.compile("</?mark>");
+
+    private static final String HEADLINE_OPTIONS = "StartSel=<mark>, StopSel=</mark>, MaxWords=35, MinWords=15, MaxFragments=2";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String config;
+
+    public PostgresSearchService(JdbcTemplate jdbcTemplate,
+            @Value("${app.search.postgres-config:spanish}") String config) {
+        if (!CONFIG_NAME.matcher(config).matches()) {
+            throw new IllegalArgumentException("Configuración de texto completo no válida: " + config);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.config = config;
+    }
+
+    @Override
+    public Page<SearchResultDTO> search(String text, Set<SearchDocumentType> types, Pageable pageable) {
+        if (text == null || text.isBlank() || pageable.getOffset() >= LuceneSearchService.MAX_RESULT_WINDOW) {
+            return new PageImpl<>(Collections.emptyList(), pageable, 0);
+        }
+        List<String> branches = new ArrayList<>();
+        for (SearchDocumentType type : SearchDocumentType.values()) {
+            if (types == null || types.isEmpty() || types.contains(type)) {
+                branches.add(branch(type));
+            }
+        }
+        // La configuración va como literal para que coincida con la expresión de los índices GIN
+        String sql = "WITH q AS (SELECT websearch_to_tsquery('" + config + "', ?) AS query) "
+                + "SELECT r.type, r.id, r.title, r.forum_id, r.post_id, r.created_at, r.rank, "
+                + "ts_headline('" + config + "', regexp_replace(r.body, '<[^>]*>', ' ', 'g'), q.query, '"
+                + HEADLINE_OPTIONS + "') AS snippet "
+                + "FROM (" + String.join(" UNION ALL ", branches) + ") r, q "
+                + "ORDER BY r.rank DESC, r.id DESC LIMIT ? OFFSET ?";
+
+        // Una fila de más para saber si hay página siguiente sin contar todas las coincidencias
+        List<SearchResultDTO> rows = jdbcTemplate.query(sql, (rs, i) -> {
+            Timestamp createdAt = rs.getTimestamp("created_at");
+            return SearchResultDTO.builder()
+                    .type(rs.getString("type"))
+                    .id(rs.getLong("id"))
+                    .title(rs.getString("title"))
+                    .snippet(toSafeSnippet(rs.getString("snippet")))
+                    .forumId(rs.getObject("forum_id", Long.class))
+                    .postId(rs.getObject("post_id", Long.class))
+                    .score(rs.getFloat("rank"))
+                    .createdAt(createdAt != null ? createdAt.toLocalDateTime() : null)
+                    .build();
+        }, text.trim(), pageable.getPageSize() + 1, pageable.getOffset());
+
+        boolean hasMore = rows.size() > pageable.getPageSize();
+        List<SearchResultDTO> content = hasMore ? rows.subList(0, pageable.getPageSize()) : rows;
+        long total = pageable.getOffset() + content.size() + (hasMore ? 1 : 0);
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * Deja el fragmento como el de Lucene: texto escapado en el que solo
+     * &lt;mark&gt; es marcado. ts_headline trabaja sobre el cuerpo sin etiquetas,
+     * pero con las entidades HTML del contenido saneado: se decodifican y se
+     * vuelve a escapar todo salvo los marcadores que añadió.
+     */
+    static String toSafeSnippet(String headline) {
+        if (headline == null) {
+            return null;
+        }
+        StringBuilder snippet = new StringBuilder(headline.length());
+        Matcher marker = HIGHLIGHT_MARKER.matcher(headline);
+        int from = 0;
+        while (marker.find()) {
+            snippet.append(escapeText(headline.substring(from, marker.start()))).append(marker.group());
+            from = marker.end();
+        }
+        snippet.append(escapeText(headline.substring(from)));
+        return snippet.toString().replaceAll("\\s+", " ").trim();
+    }
+
+    private static String escapeText(String text) {
+        return HtmlUtils.htmlEscape(HtmlUtils.htmlUnescape(text), "UTF-8");
+    }
+
+    private String branch(SearchDocumentType type) {
+        return switch (type) {
+            case FORUM -> "SELECT 'FORUM' AS type, f.id, f.title, f.description AS body, f.id AS forum_id, "
+                    + "CAST(NULL AS BIGINT) AS post_id, f.created_at, ts_rank_cd(" + vector("f.title", "f.description")
+                    + ", (SELECT query FROM q)) AS rank FROM forums f WHERE f.status = 'ACTIVE' AND "
+                    + vector("f.title", "f.description") + " @@ (SELECT query FROM q)";
+            case POST -> "SELECT 'POST' AS type, p.id, p.title, p.content AS body, p.forum_id, p.id AS post_id, "
+                    + "p.created_at, ts_rank_cd(" + vector("p.title", "p.content")
+                    + ", (SELECT query FROM q)) AS rank FROM posts p WHERE p.status = 'ACTIVE' AND "
+                    + vector("p.title", "p.content") + " @@ (SELECT query FROM q)";
+            case COMMENT -> "SELECT 'COMMENT' AS type, c.id, p.title, c.content AS body, p.forum_id, c.post_id, "
+                    + "c.created_at, ts_rank_cd(" + vector(null, "c.content")
+                    + ", (SELECT query FROM q)) AS rank FROM comments c JOIN posts p ON p.id = c.post_id "
+                    + "WHERE c.status IN ('ACTIVE', 'EDITED') AND " + vector(null, "c.content")
+                    + " @@ (SELECT query FROM q)";
+        };
+    }
+
+    private String vector(String titleColumn, String bodyColumn) {
+        String body = "setweight(to_tsvector('" + config + "', coalesce(" + bodyColumn + ", '')), 'B')";
+        if (titleColumn == null) {
+            return "(" + body + ")";
+        }
+        return "(setweight(to_tsvector('" + config + "', coalesce(" + titleColumn + ", '')), 'A') || " + body + ")";
+    }
+
+    @Override
+    public boolean maintainsIndex() {
+        return false;
+    }
+
+    @Override
+    public void index(Collection<SearchDocument> documents) {
+        // Las tablas son el índice
+    }
+
+    @Override
+    public void delete(SearchDocumentType type, Long id, boolean withChildren) {
+        // Las tablas son el índice
+    }
+
+    @Override
+    public void deleteAll() {
+        // Las tablas son el índice
+    }
+
+    @Override
+    public long documentCount() {
+        Long count = jdbcTemplate.queryForObject("SELECT (SELECT COUNT(*) FROM forums WHERE status = 'ACTIVE') "
+                + "+ (SELECT COUNT(*) FROM posts WHERE status = 'ACTIVE') "
+                + "+ (SELECT COUNT(*) FROM comments WHERE status IN ('ACTIVE', 'EDITED'))", Long.class);
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,25 @@
+package com.forumviajeros.backend.service.search;
+
+import java.time.LocalDateTime;
+
+/**
+ * Contenido indexable ya en texto plano. forumId y postId permiten borrar en
+ * cascada los documentos de un foro o post eliminado.
+ */
+public record SearchDocument(
+        SearchDocumentType type,
+        Long id,
+        String title,
+        String body,
+        Long forumId,
+        Long postId,
+        LocalDateTime createdAt) {
+
+    public String key() {
+        return key(type, id);
+    }
+
+    public static String key(SearchDocumentType type, Long id) {
+        return type.name() + ":" + id;
+    }
+}
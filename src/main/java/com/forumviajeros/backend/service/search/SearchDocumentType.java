@@ -0,0 +1,10 @@
+package com.forumviajeros.backend.service.search;
+
+/**
+ * Tipos de contenido que se indexan para la búsqueda de texto completo
+ */
+public enum SearchDocumentType {
+    FORUM,
+    POST,
+    COMMENT
+}
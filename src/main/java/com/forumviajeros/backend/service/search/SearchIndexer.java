@@ -0,0 +1,252 @@
+package com.forumviajeros.backend.service.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.forumviajeros.backend.event.SearchIndexRequestedEvent;
+import com.forumviajeros.backend.model.Comment;
+import com.forumviajeros.backend.model.Forum;
+import com.forumviajeros.backend.model.Post;
+import com.forumviajeros.backend.repository.CommentRepository;
+import com.forumviajeros.backend.repository.ForumRepository;
+import com.forumviajeros.backend.repository.PostRepository;
+import com.forumviajeros.backend.util.HtmlSanitizer;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lleva al índice de búsqueda el estado actual de las entidades.
+ *
+ * Recibe identificadores (del outbox o de una reconstrucción), relee las
+ * entidades y las indexa o las retira según sigan existiendo y sean visibles.
+ * Aplicar dos veces el mismo cambio deja el índice igual, así que el relay
+ * puede reintentar sin riesgo. Si el backend no mantiene índice propio
+ * (PostgreSQL) no hace nada.
+ */
+@Component
+@Slf4j
+public class SearchIndexer {
+
+    private static final Set<Comment.CommentStatus> SEARCHABLE_COMMENT_STATUSES = Set.of(
+            Comment.CommentStatus.ACTIVE, Comment.CommentStatus.EDITED);
+
+    private final SearchService searchService;
+    private final ForumRepository forumRepository;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int batchSize;
+
+    // Serializa la reconstrucción con los lotes del relay
+    private final ReentrantLock indexLock = new ReentrantLock();
+    private volatile boolean reindexing;
+
+    public SearchIndexer(SearchService searchService,
+            ForumRepository forumRepository,
+            PostRepository postRepository,
+            CommentRepository commentRepository,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.search.batch-size:500}") int batchSize) {
+        this.searchService = searchService;
+        this.forumRepository = forumRepository;
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * El índice en memoria arranca vacío: se construye desde la base de datos
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeIndex() {
+        if (searchService.maintainsIndex() && searchService.documentCount() == 0) {
+            long indexed = reindexAll();
+            log.info("Índice de búsqueda construido con {} documentos", indexed);
+        }
+    }
+
+    /**
+     * Reconstruye el índice completo. Cada tabla se recorre con un cursor
+     * (fetch size = batchSize) y se indexa por lotes, vaciando el contexto de
+     * persistencia entre lote y lote para no acumular entidades en memoria.
+     *
+     * Ningún lote del relay se aplica mientras tanto: uno que terminara
+     * durante el recorrido borraría sus entradas del outbox y la instantánea,
+     * leída antes, podría pisar el documento con su estado anterior (o el
+     * vaciado inicial retirarlo). Los cambios que lleguen quedan en el outbox
+     * y el relay los aplica al terminar, releyendo el estado actual.
+     *
+     * @return documentos indexados
+     */
+    public long reindexAll() {
+        if (!searchService.maintainsIndex()) {
+            return 0;
+        }
+        indexLock.lock();
+        reindexing = true;
+        try {
+            searchService.deleteAll();
+            long indexed = reindexStream(forumRepository::streamAllForIndexing, this::toDocument);
+            indexed += reindexStream(postRepository::streamAllForIndexing, this::toDocument);
+            indexed += reindexStream(commentRepository::streamAllForIndexing, this::toDocument);
+            return indexed;
+        } finally {
+            reindexing = false;
+            indexLock.unlock();
+        }
+    }
+
+    /**
+     * Si hay una reconstrucción en curso; el relay se salta la pasada en lugar
+     * de bloquear el hilo del planificador esperando a que termine
+     */
+    public boolean isReindexing() {
+        return reindexing;
+    }
+
+    private <E> long reindexStream(Supplier<Stream<E>> source, Function<E, SearchDocument> mapper) {
+        Long indexed = readOnlyTransaction.execute(status -> {
+            long count = 0;
+            List<SearchDocument> batch = new ArrayList<>(batchSize);
+            try (Stream<E> entities = source.get()) {
+                Iterator<E> iterator = entities.iterator();
+                while (iterator.hasNext()) {
+                    addIfPresent(batch, mapper.apply(iterator.next()));
+                    if (batch.size() >= batchSize) {
+                        count += flushBatch(batch);
+                    }
+                }
+            }
+            return count + flushBatch(batch);
+        });
+        return indexed != null ? indexed : 0;
+    }
+
+    private int flushBatch(List<SearchDocument> batch) {
+        int size = batch.size();
+        searchService.index(batch);
+        batch.clear();
+        entityManager.clear();
+        return size;
+    }
+
+    /**
+     * Aplica un lote: cada entidad se procesa una vez aunque tenga varias
+     * peticiones. Los errores se propagan para que el relay lo reintente.
+     */
+    public void apply(Collection<SearchIndexRequestedEvent> requests) {
+        if (!searchService.maintainsIndex() || requests.isEmpty()) {
+            return;
+        }
+        indexLock.lock();
+        try {
+            applyLocked(requests);
+        } finally {
+            indexLock.unlock();
+        }
+    }
+
+    private void applyLocked(Collection<SearchIndexRequestedEvent> requests) {
+        Map<String, SearchIndexRequestedEvent> unique = new LinkedHashMap<>();
+        for (SearchIndexRequestedEvent request : requests) {
+            unique.put(SearchDocument.key(request.getType(), request.getId()), request);
+        }
+        Map<SearchDocumentType, Set<Long>> idsByType = unique.values().stream().collect(Collectors.groupingBy(
+                SearchIndexRequestedEvent::getType, Collectors.mapping(SearchIndexRequestedEvent::getId,
+                        Collectors.toSet())));
+
+        Set<String> existing = new HashSet<>();
+        List<SearchDocument> documents = readOnlyTransaction.execute(status -> load(idsByType, existing));
+        Set<String> visible = documents.stream().map(SearchDocument::key).collect(Collectors.toSet());
+        searchService.index(documents);
+        for (Map.Entry<String, SearchIndexRequestedEvent> entry : unique.entrySet()) {
+            if (!visible.contains(entry.getKey())) {
+                // Borrada: se lleva también sus hijos, que la base de datos borró en cascada
+                SearchIndexRequestedEvent request = entry.getValue();
+                searchService.delete(request.getType(), request.getId(), !existing.contains(entry.getKey()));
+            }
+        }
+    }
+
+    /**
+     * Documentos de las entidades visibles; en existing quedan las claves de
+     * todas las que siguen existiendo, visibles o no
+     */
+    private List<SearchDocument> load(Map<SearchDocumentType, Set<Long>> idsByType, Set<String> existing) {
+        List<SearchDocument> documents = new ArrayList<>();
+        idsByType.forEach((type, ids) -> {
+            switch (type) {
+                case FORUM -> forumRepository.findAllById(ids).forEach(f -> {
+                    existing.add(SearchDocument.key(type, f.getId()));
+                    addIfPresent(documents, toDocument(f));
+                });
+                case POST -> postRepository.findAllById(ids).forEach(p -> {
+                    existing.add(SearchDocument.key(type, p.getId()));
+                    addIfPresent(documents, toDocument(p));
+                });
+                case COMMENT -> commentRepository.findAllById(ids).forEach(c -> {
+                    existing.add(SearchDocument.key(type, c.getId()));
+                    addIfPresent(documents, toDocument(c));
+                });
+            }
+        });
+        return documents;
+    }
+
+    private static void addIfPresent(List<SearchDocument> documents, SearchDocument document) {
+        if (document != null) {
+            documents.add(document);
+        }
+    }
+
+    SearchDocument toDocument(Forum forum) {
+        if (forum.getStatus() != Forum.ForumStatus.ACTIVE) {
+            return null;
+        }
+        return new SearchDocument(SearchDocumentType.FORUM, forum.getId(), forum.getTitle(),
+                HtmlSanitizer.toPlainText(forum.getDescription()), forum.getId(), null, forum.getCreatedAt());
+    }
+
+    SearchDocument toDocument(Post post) {
+        if (post.getStatus() != Post.PostStatus.ACTIVE) {
+            return null;
+        }
+        return new SearchDocument(SearchDocumentType.POST, post.getId(), post.getTitle(),
+                HtmlSanitizer.toPlainText(post.getContent()), post.getForum().getId(), post.getId(),
+                post.getCreatedAt());
+    }
+
+    SearchDocument toDocument(Comment comment) {
+        if (!SEARCHABLE_COMMENT_STATUSES.contains(comment.getStatus())) {
+            return null;
+        }
+        Post post = comment.getPost();
+        return new SearchDocument(SearchDocumentType.COMMENT, comment.getId(), null,
+                HtmlSanitizer.toPlainText(comment.getContent()), post.getForum().getId(), post.getId(),
+                comment.getCreatedAt());
+    }
+}
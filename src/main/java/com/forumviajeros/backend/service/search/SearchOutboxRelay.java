@@ -0,0 +1,164 @@
+package com.forumviajeros.backend.service.search;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.forumviajeros.backend.event.SearchIndexRequestedEvent;
+import com.forumviajeros.backend.model.SearchOutboxDeadLetter;
+import com.forumviajeros.backend.model.SearchOutboxEntry;
+import com.forumviajeros.backend.repository.SearchOutboxDeadLetterRepository;
+import com.forumviajeros.backend.repository.SearchOutboxRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Outbox transaccional de la indexación de búsqueda.
+ *
+ * El listener escribe la entrada de forma síncrona, dentro de la transacción
+ * del servicio que publica el evento: si la escritura de la entidad se
+ * deshace, la entrada también, y si se confirma la entrada sobrevive a una
+ * caída. La petición solo paga ese INSERT; la indexación la hace el relay en
+ * segundo plano, que lee el outbox por lotes, los aplica con el indexador y
+ * borra las entradas cuando el índice ya está al día. La entrega es "al menos
+ * una vez": si algo falla se reintenta, y como el indexador relee el estado
+ * actual de cada entidad, repetir un cambio no tiene efectos.
+ *
+ * Si un lote falla se parte en dos mitades y se reintenta cada una, hasta
+ * aislar las entradas que fallan: el resto se entrega y solo las que fallan
+ * suman un intento. Una entrada que agota sus intentos pasa a la tabla de
+ * fallidos con el último error.
+ *
+ * Mientras el indexador reconstruye el índice completo el relay no entrega
+ * nada: las entradas esperan en el outbox y se aplican sobre el índice ya
+ * reconstruido.
+ *
+ * El relay vacía el outbox, así que solo hay un consumidor: con el índice en
+ * memoria y varios nodos cada uno tendría un índice distinto; en ese caso hay
+ * que usar el backend de PostgreSQL.
+ */
+@Component
+@Slf4j
+public class SearchOutboxRelay {
+
+    private final SearchOutboxRepository outboxRepository;
+    private final SearchOutboxDeadLetterRepository deadLetterRepository;
+    private final SearchIndexer indexer;
+    private final SearchService searchService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    public SearchOutboxRelay(SearchOutboxRepository outboxRepository,
+            SearchOutboxDeadLetterRepository deadLetterRepository,
+            SearchIndexer indexer,
+            SearchService searchService,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.search.batch-size:500}") int batchSize,
+            @Value("${app.search.max-attempts:10}") int maxAttempts) {
+        this.outboxRepository = outboxRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.indexer = indexer;
+        this.searchService = searchService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @EventListener
+    public void onIndexRequested(SearchIndexRequestedEvent request) {
+        if (!searchService.maintainsIndex()) {
+            return;
+        }
+        outboxRepository.save(SearchOutboxEntry.builder()
+                .entityType(request.getType().name())
+                .entityId(request.getId())
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Vacía el outbox en lotes de como máximo batchSize entradas; se detiene
+     * en el primer lote con fallos para reintentarlos en la siguiente pasada
+     */
+    @Scheduled(fixedDelayString = "${app.search.relay-ms:1000}")
+    public void relay() {
+        if (!searchService.maintainsIndex() || indexer.isReindexing()) {
+            return;
+        }
+        List<SearchOutboxEntry> batch;
+        do {
+            batch = outboxRepository.findPending(maxAttempts, PageRequest.of(0, batchSize));
+            if (batch.isEmpty() || !deliver(batch)) {
+                return;
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    /**
+     * Entrega el lote; si falla, entrega por separado cada mitad
+     *
+     * @return si se entregaron todas las entradas
+     */
+    boolean deliver(List<SearchOutboxEntry> batch) {
+        try {
+            indexer.apply(batch.stream()
+                    .map(entry -> new SearchIndexRequestedEvent(
+                            SearchDocumentType.valueOf(entry.getEntityType()), entry.getEntityId()))
+                    .toList());
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                recordFailure(batch.get(0), e);
+                return false;
+            }
+            int middle = batch.size() / 2;
+            boolean first = deliver(batch.subList(0, middle));
+            boolean second = deliver(batch.subList(middle, batch.size()));
+            return first && second;
+        }
+        outboxRepository.deleteAllByIdInBatch(batch.stream().map(SearchOutboxEntry::getId).toList());
+        return true;
+    }
+
+    /**
+     * Mueve a la tabla de fallidos las entradas que agotaron sus intentos con
+     * versiones anteriores del relay, que las dejaban en el outbox
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void moveExhaustedEntries() {
+        List<SearchOutboxEntry> exhausted = outboxRepository.findExhausted(maxAttempts);
+        exhausted.forEach(entry -> moveToDeadLetters(entry, entry.getAttempts(), null));
+        if (!exhausted.isEmpty()) {
+            log.warn("{} cambios del outbox de búsqueda movidos a la tabla de fallidos", exhausted.size());
+        }
+    }
+
+    private void recordFailure(SearchOutboxEntry entry, RuntimeException e) {
+        int attempts = entry.getAttempts() + 1;
+        if (attempts < maxAttempts) {
+            log.warn("Error indexando {} {} (intento {} de {}); se reintentará",
+                    entry.getEntityType(), entry.getEntityId(), attempts, maxAttempts, e);
+            transactionTemplate.executeWithoutResult(
+                    status -> outboxRepository.incrementAttempts(List.of(entry.getId())));
+            return;
+        }
+        log.error("Cambio {} {} descartado tras {} intentos; movido a la tabla de fallidos",
+                entry.getEntityType(), entry.getEntityId(), attempts, e);
+        moveToDeadLetters(entry, attempts, e.toString());
+    }
+
+    private void moveToDeadLetters(SearchOutboxEntry entry, int attempts, String lastError) {
+        transactionTemplate.executeWithoutResult(status -> {
+            deadLetterRepository.save(SearchOutboxDeadLetter.of(entry, attempts, lastError));
+            outboxRepository.deleteById(entry.getId());
+        });
+    }
+}
@@ -0,0 +1,45 @@
+package com.forumviajeros.backend.service.search;
+
+import java.util.Collection;
+import java.util.Set;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.forumviajeros.backend.dto.search.SearchResultDTO;
+
+/**
+ * Búsqueda de texto completo sobre foros, posts y comentarios.
+ *
+ * El backend se elige con app.search.backend: "lucene" (índice invertido en
+ * el propio proceso, por defecto) o "postgres" (tsvector sobre las tablas).
+ */
+public interface SearchService {
+
+    /**
+     * Resultados ordenados por relevancia; types vacío busca en todos los tipos
+     */
+    Page<SearchResultDTO> search(String query, Set<SearchDocumentType> types, Pageable pageable);
+
+    /**
+     * Indica si el backend mantiene un índice propio que hay que alimentar.
+     * Si es false, index y delete no hacen nada.
+     */
+    boolean maintainsIndex();
+
+    /**
+     * Inserta o reemplaza los documentos
+     */
+    void index(Collection<SearchDocument> documents);
+
+    /**
+     * Retira un documento. Con withChildren, un foro arrastra sus posts y
+     * comentarios y un post sus comentarios (borrado en cascada); sin él solo
+     * se retira el propio documento (contenido oculto).
+     */
+    void delete(SearchDocumentType type, Long id, boolean withChildren);
+
+    void deleteAll();
+
+    long documentCount();
+}
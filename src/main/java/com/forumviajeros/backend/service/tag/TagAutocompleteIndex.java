@@ -0,0 +1,118 @@
+package com.forumviajeros.backend.service.tag;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.forumviajeros.backend.dto.tag.TagResponseDTO;
+import com.forumviajeros.backend.repository.TagRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Autocompletado de etiquetas por prefijo sin consultar la base de datos.
+ *
+ * Guarda una instantánea inmutable de todas las etiquetas ordenada por su
+ * nombre normalizado (minúsculas y sin acentos). Un prefijo ocupa un rango
+ * contiguo de esa lista, que se localiza con una búsqueda binaria; dentro del
+ * rango se quedan las más usadas. La instantánea se reemplaza de golpe al
+ * arrancar, periódicamente y cuando el servicio de etiquetas cambia alguna,
+ * así que las lecturas nunca se bloquean.
+ */
+@Component
+@Slf4j
+public class TagAutocompleteIndex {
+
+    private static final Comparator<TagResponseDTO> BY_USAGE = Comparator
+            .comparingInt((TagResponseDTO tag) -> tag.getForumCount() + tag.getPostCount())
+            .thenComparing(TagResponseDTO::getName, Comparator.reverseOrder());
+
+    private record Snapshot(String[] keys, TagResponseDTO[] tags) {
+        static final Snapshot EMPTY = new Snapshot(new String[0], new TagResponseDTO[0]);
+    }
+
+    private final TagRepository tagRepository;
+    private final int maxLimit;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public TagAutocompleteIndex(TagRepository tagRepository,
+            @Value("${app.tags.autocomplete-max-limit:20}") int maxLimit) {
+        this.tagRepository = tagRepository;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Minúsculas y sin diacríticos, para que "cancun" encuentre "Cancún"
+     */
+    static String normalize(String value) {
+        return Normalizer.normalize(value, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Etiquetas cuyo nombre empieza por el prefijo, de más a menos usadas
+     */
+    public List<TagResponseDTO> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank() || limit <= 0) {
+            return List.of();
+        }
+        String key = normalize(prefix.trim());
+        int size = Math.min(limit, maxLimit);
+        Snapshot current = snapshot;
+
+        // Montículo de mínimos con las mejores "size" etiquetas del rango
+        PriorityQueue<TagResponseDTO> best = new PriorityQueue<>(size + 1, BY_USAGE);
+        for (int i = lowerBound(current.keys(), key); i < current.keys().length
+                && current.keys()[i].startsWith(key); i++) {
+            best.offer(current.tags()[i]);
+            if (best.size() > size) {
+                best.poll();
+            }
+        }
+        List<TagResponseDTO> result = new ArrayList<>(best);
+        result.sort(BY_USAGE.reversed());
+        return result;
+    }
+
+    private static int lowerBound(String[] keys, String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.tags.autocomplete-refresh-ms:60000}",
+            initialDelayString = "${app.tags.autocomplete-refresh-ms:60000}")
+    public void refresh() {
+        record Entry(String key, TagResponseDTO tag) {
+        }
+        Entry[] entries = tagRepository.findUsageSnapshot().stream()
+                .map(row -> new Entry(normalize((String) row[1]), new TagResponseDTO((Long) row[0],
+                        (String) row[1], ((Number) row[2]).intValue(), ((Number) row[3]).intValue())))
+                .sorted(Comparator.comparing(Entry::key))
+                .toArray(Entry[]::new);
+        snapshot = new Snapshot(
+                Arrays.stream(entries).map(Entry::key).toArray(String[]::new),
+                Arrays.stream(entries).map(Entry::tag).toArray(TagResponseDTO[]::new));
+        log.debug("Índice de autocompletado de etiquetas con {} entradas", entries.length);
+    }
+}
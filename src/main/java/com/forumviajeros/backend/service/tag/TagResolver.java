@@ -0,0 +1,142 @@
+package com.forumviajeros.backend.service.tag;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.forumviajeros.backend.model.Tag;
+import com.forumviajeros.backend.repository.TagRepository;
+import com.forumviajeros.backend.util.HtmlSanitizer;
+
+/**
+ * Resuelve los nombres de etiqueta de un post a entidades en bloque.
+ *
+ * Las etiquetas ya conocidas salen de una caché nombre → id de todo el
+ * proceso sin ninguna consulta (se devuelven como referencias con id y
+ * nombre, que bastan para la tabla de unión). El resto se busca con un único
+ * findByNameIn, y las que faltan se crean con un INSERT por lotes con ON
+ * CONFLICT DO NOTHING seguido de una sola relectura: dos posts que crean a la
+ * vez la misma etiqueta no chocan con la restricción única, los dos acaban
+ * usando la misma fila.
+ *
+ * Los ids solo entran en la caché cuando la transacción se confirma, para no
+ * recordar etiquetas que luego se deshacen. Renombrar o borrar una etiqueta
+ * la expulsa de la caché de este nodo; con varios nodos los demás la olvidan
+ * al reiniciar, y como solo se borran etiquetas sin uso el caso es raro.
+ */
+@Component
+public class TagResolver {
+
+    private static final String INSERT_SQL = "INSERT INTO tags (name) VALUES (?) ON CONFLICT DO NOTHING";
+
+    private final TagRepository tagRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int cacheCapacity;
+    private final Map<String, Long> idsByName = new ConcurrentHashMap<>();
+
+    public TagResolver(TagRepository tagRepository,
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.tags.resolver-cache-size:10000}") int cacheCapacity) {
+        this.tagRepository = tagRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheCapacity = cacheCapacity;
+    }
+
+    /**
+     * Nombres saneados, sin espacios sobrantes, sin vacíos ni repetidos, en el orden recibido
+     */
+    public static List<String> normalize(Collection<String> names) {
+        if (names == null) {
+            return new ArrayList<>();
+        }
+        return names.stream()
+                .filter(Objects::nonNull)
+                .map(name -> HtmlSanitizer.stripAllTags(name).trim().replaceAll("\\s+", " "))
+                .filter(name -> !name.isEmpty())
+                .distinct()
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Etiquetas con esos nombres, en el mismo orden; las que no existen se crean
+     */
+    public List<Tag> resolve(Collection<String> rawNames) {
+        List<String> names = normalize(rawNames);
+        Map<String, Tag> resolved = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String name : names) {
+            Long id = idsByName.get(name);
+            if (id != null) {
+                resolved.put(name, reference(id, name));
+            } else {
+                missing.add(name);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            tagRepository.findByNameIn(missing).forEach(tag -> resolved.put(tag.getName(), tag));
+            List<String> toCreate = missing.stream().filter(name -> !resolved.containsKey(name)).toList();
+            if (!toCreate.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, toCreate, toCreate.size(),
+                        (statement, name) -> statement.setString(1, name));
+                tagRepository.findByNameIn(toCreate).forEach(tag -> resolved.put(tag.getName(), tag));
+            }
+            Map<String, Long> learned = new HashMap<>();
+            missing.stream().map(resolved::get).filter(Objects::nonNull)
+                    .forEach(tag -> learned.put(tag.getName(), tag.getId()));
+            rememberAfterCommit(learned);
+        }
+
+        return names.stream().map(resolved::get).filter(Objects::nonNull)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    public void evict(String name) {
+        if (name != null) {
+            idsByName.remove(name);
+        }
+    }
+
+    private void rememberAfterCommit(Map<String, Long> learned) {
+        if (learned.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remember(learned);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remember(learned);
+            }
+        });
+    }
+
+    private void remember(Map<String, Long> learned) {
+        learned.forEach((name, id) -> {
+            // Caché llena: las nuevas se siguen resolviendo, solo que con consulta
+            if (idsByName.size() < cacheCapacity || idsByName.containsKey(name)) {
+                idsByName.put(name, id);
+            }
+        });
+    }
+
+    private static Tag reference(Long id, String name) {
+        Tag tag = new Tag();
+        tag.setId(id);
+        tag.setName(name);
+        return tag;
+    }
+}
@@ -19,4 +19,9 @@ public interface TagService {
     List<TagResponseDTO> getMostUsedTags(int limit);
 
     void deleteTag(Long id);
+
+    /**
+     * Sugerencias por prefijo (sin distinguir mayúsculas ni acentos), de más a menos usadas
+     */
+    List<TagResponseDTO> autocomplete(String prefix, int limit);
 }
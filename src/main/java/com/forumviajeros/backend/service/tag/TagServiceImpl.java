@@ -17,9 +17,14 @@ import com.forumviajeros.backend.repository.TagRepository;
 public class TagServiceImpl implements TagService {
 
     private final TagRepository tagRepository;
+    private final TagAutocompleteIndex autocompleteIndex;
+    private final TagResolver tagResolver;
 
-    public TagServiceImpl(TagRepository tagRepository) {
+    public TagServiceImpl(TagRepository tagRepository, TagAutocompleteIndex autocompleteIndex,
+            TagResolver tagResolver) {
         this.tagRepository = tagRepository;
+        this.autocompleteIndex = autocompleteIndex;
+        this.tagResolver = tagResolver;
     }
 
     @Override
@@ -32,6 +37,7 @@ public class TagServiceImpl implements TagService {
         tag.setName(tagDTO.getName());
 
         Tag savedTag = tagRepository.save(tag);
+        autocompleteIndex.refresh();
         return mapToResponseDTO(savedTag);
     }
 
@@ -44,8 +50,10 @@ public class TagServiceImpl implements TagService {
             throw new RuntimeException("Ya existe una etiqueta con ese nombre");
         }
 
+        tagResolver.evict(tag.getName());
         tag.setName(tagDTO.getName());
         Tag updatedTag = tagRepository.save(tag);
+        autocompleteIndex.refresh();
         return mapToResponseDTO(updatedTag);
     }
 
@@ -73,9 +81,7 @@ public class TagServiceImpl implements TagService {
 
     @Override
     public List<TagResponseDTO> getMostUsedTags(int limit) {
-        List<Tag> tags = tagRepository.findAll(
-                PageRequest.of(0, limit, Sort.by("name")))
-                .getContent();
+        List<Tag> tags = tagRepository.findMostUsed(PageRequest.of(0, limit));
 
         return tags.stream()
                 .map(this::mapToResponseDTO)
@@ -87,18 +93,28 @@ public class TagServiceImpl implements TagService {
         Tag tag = tagRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Etiqueta", "id", id));
 
-        if (!tag.getForums().isEmpty() || !tag.getPosts().isEmpty()) {
+        if (tagRepository.isInUse(id)) {
             throw new RuntimeException("No se puede eliminar la etiqueta porque está en uso");
         }
 
         tagRepository.delete(tag);
+        tagResolver.evict(tag.getName());
+        autocompleteIndex.refresh();
     }
 
+    @Override
+    public List<TagResponseDTO> autocomplete(String prefix, int limit) {
+        return autocompleteIndex.suggest(prefix, limit);
+    }
+
+    /**
+     * Usa los contadores desnormalizados: no carga las colecciones de foros y posts
+     */
     private TagResponseDTO mapToResponseDTO(Tag tag) {
         return new TagResponseDTO(
                 tag.getId(),
                 tag.getName(),
-                tag.getForums() != null ? tag.getForums().size() : 0,
-                tag.getPosts() != null ? tag.getPosts().size() : 0);
+                tag.getForumCount() != null ? tag.getForumCount().intValue() : 0,
+                tag.getPostCount() != null ? tag.getPostCount().intValue() : 0);
     }
 }
@@ -0,0 +1,32 @@
+package com.forumviajeros.backend.service.tag;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.forumviajeros.backend.model.Tag;
+
+/**
+ * Etiquetas que se añaden y se quitan al cambiar las de un foro o post, para
+ * ajustar sus contadores de uso (+1 / -1)
+ */
+public record TagUsageDelta(Set<Long> added, Set<Long> removed) {
+
+    public static TagUsageDelta between(Collection<Tag> before, Collection<Tag> after) {
+        Set<Long> previous = ids(before);
+        Set<Long> current = ids(after);
+        Set<Long> added = new HashSet<>(current);
+        added.removeAll(previous);
+        previous.removeAll(current);
+        return new TagUsageDelta(added, previous);
+    }
+
+    private static Set<Long> ids(Collection<Tag> tags) {
+        if (tags == null) {
+            return new HashSet<>();
+        }
+        return tags.stream().map(Tag::getId).filter(Objects::nonNull).collect(Collectors.toCollection(HashSet::new));
+    }
+}
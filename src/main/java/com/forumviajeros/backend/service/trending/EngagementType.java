@@ -0,0 +1,20 @@
+package com.forumviajeros.backend.service.trending;
+
+/**
+ * Tipos de interacción que alimentan el ranking, con su peso en la puntuación
+ */
+public enum EngagementType {
+    VIEW(1.0),
+    LIKE(3.0),
+    COMMENT(5.0);
+
+    private final double weight;
+
+    EngagementType(double weight) {
+        this.weight = weight;
+    }
+
+    public double getWeight() {
+        return weight;
+    }
+}
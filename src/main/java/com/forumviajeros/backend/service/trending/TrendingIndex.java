@@ -0,0 +1,476 @@
+package com.forumviajeros.backend.service.trending;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.forumviajeros.backend.event.EngagementRecordedEvent;
+import com.forumviajeros.backend.event.SearchIndexRequestedEvent;
+import com.forumviajeros.backend.model.Post;
+import com.forumviajeros.backend.repository.CommentRepository;
+import com.forumviajeros.backend.repository.ForumRepository;
+import com.forumviajeros.backend.repository.PostLikeRepository;
+import com.forumviajeros.backend.repository.PostRepository;
+import com.forumviajeros.backend.service.search.SearchDocumentType;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ranking en memoria de los posts y foros en tendencia.
+ *
+ * Cada interacción (visita, like, comentario) suma su peso a la puntuación de
+ * la entidad, y esa puntuación se reduce a la mitad cada halfLife. Para no
+ * envejecer todas las puntuaciones continuamente se guardan referidas a un
+ * instante base: una interacción en t suma peso * 2^((t - base) / halfLife).
+ * Como todas decaen al mismo ritmo el orden relativo no cambia con el paso del
+ * tiempo, y solo hay que recolocar la entidad que recibe la interacción.
+ *
+ * Para cada ámbito (global, categoría y etiqueta en posts; global y categoría
+ * en foros) se mantiene un top-K ya ordenado que se actualiza en cada
+ * interacción: las puntuaciones referidas solo crecen, así que una entidad
+ * solo entra en un top-K con su propia interacción. La tarea de mantenimiento
+ * mueve el instante base a "ahora" (para que los factores no crezcan sin
+ * límite), descarta las entidades con puntuación despreciable y reconstruye
+ * los top-K.
+ *
+ * Todo el estado se protege con un único cerrojo; dentro solo hay operaciones
+ * en memoria, las consultas a la base de datos se hacen antes. Al arrancar se
+ * reconstruye con los likes y comentarios recientes (las visitas no se guardan
+ * con fecha). El índice es local a cada instancia.
+ */
+@Component
+@Slf4j
+public class TrendingIndex {
+
+    /** Ventana de reconstrucción al arrancar, en semividas: lo anterior pesa menos de un 4% */
+    static final int WARMUP_HALF_LIVES = 5;
+
+    private static final String ALL = "all";
+    private static final int METADATA_CHUNK = 500;
+
+    /** Mejor primero: mayor puntuación y, a igualdad, ID mayor (más reciente) */
+    private static final Comparator<Ranked> BEST_FIRST = Comparator.comparingDouble(Ranked::score).reversed()
+            .thenComparing(Comparator.comparingLong(Ranked::id).reversed());
+
+    private final PostRepository postRepository;
+    private final ForumRepository forumRepository;
+    private final PostLikeRepository postLikeRepository;
+    private final CommentRepository commentRepository;
+    private final Duration halfLife;
+    private final double halfLifeMillis;
+    private final int topK;
+    private final double minScore;
+
+    private final Object lock = new Object();
+    private final Map<Long, PostEntry> posts = new HashMap<>();
+    private final Map<Long, ForumEntry> forums = new HashMap<>();
+    private final Map<String, TopK> postScopes = new HashMap<>();
+    private final Map<String, TopK> forumScopes = new HashMap<>();
+    private long baseMillis = System.currentTimeMillis();
+
+    public TrendingIndex(PostRepository postRepository,
+            ForumRepository forumRepository,
+            PostLikeRepository postLikeRepository,
+            CommentRepository commentRepository,
+            @Value("${app.trending.half-life:PT12H}") Duration halfLife,
+            @Value("${app.trending.top-k:100}") int topK,
+            @Value("${app.trending.min-score:0.05}") double minScore) {
+        this.postRepository = postRepository;
+        this.forumRepository = forumRepository;
+        this.postLikeRepository = postLikeRepository;
+        this.commentRepository = commentRepository;
+        this.halfLife = halfLife;
+        this.halfLifeMillis = halfLife.toMillis();
+        this.topK = topK;
+        this.minScore = minScore;
+    }
+
+    /**
+     * Tamaño de los top-K: máximo de elementos que devuelven las consultas
+     */
+    public int capacity() {
+        return topK;
+    }
+
+    /**
+     * Posts en tendencia, el mejor primero. Con etiqueta se usa el top-K de la
+     * etiqueta (filtrado por categoría si también se indica); si no, el de la
+     * categoría o el global.
+     */
+    public List<Long> topPosts(Long categoryId, String tag, int limit) {
+        boolean byTag = tag != null && !tag.isBlank();
+        String scope = byTag ? tagScope(tag) : categoryId != null ? categoryScope(categoryId) : ALL;
+        synchronized (lock) {
+            TopK top = postScopes.get(scope);
+            if (top == null) {
+                return List.of();
+            }
+            List<Long> ids = new ArrayList<>(Math.min(limit, top.ranked.size()));
+            for (Ranked ranked : top.ranked) {
+                if (ids.size() >= limit) {
+                    break;
+                }
+                if (byTag && categoryId != null && !categoryId.equals(posts.get(ranked.id()).meta.categoryId())) {
+                    continue;
+                }
+                ids.add(ranked.id());
+            }
+            return ids;
+        }
+    }
+
+    /**
+     * Foros en tendencia (global o de una categoría), el mejor primero
+     */
+    public List<Long> topForums(Long categoryId, int limit) {
+        synchronized (lock) {
+            TopK top = forumScopes.get(categoryId != null ? categoryScope(categoryId) : ALL);
+            return top != null ? top.ids(limit) : List.of();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEngagement(EngagementRecordedEvent event) {
+        // El ranking nunca debe hacer fallar la acción que lo alimenta
+        try {
+            long now = System.currentTimeMillis();
+            if (event.getPostId() != null) {
+                recordPost(event.getPostId(), event.getType(), now);
+            } else if (event.getForumId() != null) {
+                recordForum(event.getForumId(), event.getType(), now);
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudo registrar la interacción {} en el ranking", event, e);
+        }
+    }
+
+    /**
+     * Un post editado puede haber cambiado de etiquetas o de estado: se
+     * recoloca en sus ámbitos, o se retira si ya no existe o no está activo.
+     * Solo se recorren los demás posts para rellenar un top-K lleno que pierde
+     * al post.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(SearchIndexRequestedEvent event) {
+        if (event.getType() != SearchDocumentType.POST) {
+            return;
+        }
+        Long postId = event.getId();
+        synchronized (lock) {
+            if (!posts.containsKey(postId)) {
+                return;
+            }
+        }
+        try {
+            PostMeta meta = loadPostMetadata(List.of(postId)).get(postId);
+            synchronized (lock) {
+                PostEntry entry = posts.get(postId);
+                if (entry == null) {
+                    return;
+                }
+                List<String> previousScopes = postScopeKeys(entry.meta);
+                List<String> currentScopes = meta != null ? postScopeKeys(meta) : List.of();
+                if (meta == null) {
+                    posts.remove(postId);
+                } else {
+                    entry.meta = meta;
+                }
+                // Solo se toca el post: sale de los ámbitos que ya no le corresponden
+                // y se ofrece a los nuevos
+                Set<String> vacated = new HashSet<>();
+                for (String scope : previousScopes) {
+                    TopK top = postScopes.get(scope);
+                    if (top != null && !currentScopes.contains(scope) && top.remove(postId)) {
+                        vacated.add(scope);
+                    }
+                }
+                for (String scope : currentScopes) {
+                    postScopes.computeIfAbsent(scope, key -> new TopK()).offer(postId, entry.score);
+                }
+                refill(vacated);
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudo actualizar el post {} en el ranking", postId, e);
+        }
+    }
+
+    void recordPost(Long postId, EngagementType type, long atMillis) {
+        PostMeta meta;
+        synchronized (lock) {
+            PostEntry entry = posts.get(postId);
+            meta = entry != null ? entry.meta : null;
+        }
+        if (meta == null) {
+            meta = loadPostMetadata(List.of(postId)).get(postId);
+            if (meta == null) {
+                // Borrado o no activo: no entra en el ranking
+                return;
+            }
+        }
+        synchronized (lock) {
+            addToPost(postId, meta, type.getWeight() * factor(atMillis));
+        }
+    }
+
+    void recordForum(Long forumId, EngagementType type, long atMillis) {
+        Long categoryId = null;
+        boolean known;
+        synchronized (lock) {
+            ForumEntry entry = forums.get(forumId);
+            known = entry != null;
+            if (known) {
+                categoryId = entry.categoryId;
+            }
+        }
+        if (!known) {
+            List<Object[]> rows = forumRepository.findCategoryIdsByForumIds(List.of(forumId));
+            if (rows.isEmpty()) {
+                return;
+            }
+            categoryId = (Long) rows.get(0)[1];
+        }
+        synchronized (lock) {
+            addToForum(forumId, categoryId, type.getWeight() * factor(atMillis));
+        }
+    }
+
+    /**
+     * Mueve el instante base a ahora, descarta lo que ya no puntúa y reconstruye los top-K
+     */
+    @Scheduled(fixedDelayString = "${app.trending.maintenance-ms:600000}")
+    public void maintain() {
+        synchronized (lock) {
+            int before = posts.size() + forums.size();
+            rebase(System.currentTimeMillis());
+            posts.values().removeIf(entry -> entry.score < minScore);
+            forums.values().removeIf(entry -> entry.score < minScore);
+            rebuildScopes();
+            log.debug("Ranking de tendencias: {} entidades descartadas, {} posts y {} foros activos",
+                    before - posts.size() - forums.size(), posts.size(), forums.size());
+        }
+    }
+
+    /**
+     * Reconstruye el ranking con los likes y comentarios de las últimas
+     * WARMUP_HALF_LIVES semividas
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        LocalDateTime since = LocalDateTime.now().minus(halfLife.multipliedBy(WARMUP_HALF_LIVES));
+        List<Object[]> likes = postLikeRepository.findPostActivitySince(since);
+        List<Object[]> comments = commentRepository.findPostActivitySince(since);
+        Set<Long> postIds = new HashSet<>();
+        likes.forEach(row -> postIds.add((Long) row[0]));
+        comments.forEach(row -> postIds.add((Long) row[0]));
+        Map<Long, PostMeta> metadata = loadPostMetadata(postIds);
+
+        synchronized (lock) {
+            posts.clear();
+            forums.clear();
+            postScopes.clear();
+            forumScopes.clear();
+            baseMillis = System.currentTimeMillis();
+            replay(likes, EngagementType.LIKE, metadata);
+            replay(comments, EngagementType.COMMENT, metadata);
+        }
+        log.info("Ranking de tendencias reconstruido con {} interacciones sobre {} posts",
+                likes.size() + comments.size(), posts.size());
+    }
+
+    private void replay(List<Object[]> activity, EngagementType type, Map<Long, PostMeta> metadata) {
+        for (Object[] row : activity) {
+            PostMeta meta = metadata.get((Long) row[0]);
+            LocalDateTime createdAt = (LocalDateTime) row[1];
+            if (meta != null && createdAt != null) {
+                long atMillis = createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                addToPost((Long) row[0], meta, type.getWeight() * factor(atMillis));
+            }
+        }
+    }
+
+    private double factor(long atMillis) {
+        return Math.pow(2, (atMillis - baseMillis) / halfLifeMillis);
+    }
+
+    private void rebase(long nowMillis) {
+        double factor = factor(nowMillis);
+        posts.values().forEach(entry -> entry.score /= factor);
+        forums.values().forEach(entry -> entry.score /= factor);
+        baseMillis = nowMillis;
+    }
+
+    private void addToPost(Long postId, PostMeta meta, double delta) {
+        PostEntry entry = posts.computeIfAbsent(postId, id -> new PostEntry(meta));
+        entry.score += delta;
+        for (String scope : postScopeKeys(entry.meta)) {
+            postScopes.computeIfAbsent(scope, key -> new TopK()).offer(postId, entry.score);
+        }
+        addToForum(entry.meta.forumId(), entry.meta.categoryId(), delta);
+    }
+
+    private void addToForum(Long forumId, Long categoryId, double delta) {
+        ForumEntry entry = forums.computeIfAbsent(forumId, id -> new ForumEntry(categoryId));
+        entry.score += delta;
+        for (String scope : forumScopeKeys(entry.categoryId)) {
+            forumScopes.computeIfAbsent(scope, key -> new TopK()).offer(forumId, entry.score);
+        }
+    }
+
+    private void rebuildScopes() {
+        postScopes.clear();
+        forumScopes.clear();
+        posts.forEach((id, entry) -> {
+            for (String scope : postScopeKeys(entry.meta)) {
+                postScopes.computeIfAbsent(scope, key -> new TopK()).offer(id, entry.score);
+            }
+        });
+        forums.forEach((id, entry) -> {
+            for (String scope : forumScopeKeys(entry.categoryId)) {
+                forumScopes.computeIfAbsent(scope, key -> new TopK()).offer(id, entry.score);
+            }
+        });
+    }
+
+    /**
+     * Vuelve a ofrecer a los ámbitos indicados los posts que les corresponden,
+     * para ocupar los huecos que dejó un post retirado
+     */
+    private void refill(Set<String> scopes) {
+        if (scopes.isEmpty()) {
+            return;
+        }
+        posts.forEach((id, entry) -> {
+            for (String scope : postScopeKeys(entry.meta)) {
+                if (scopes.contains(scope)) {
+                    postScopes.get(scope).offer(id, entry.score);
+                }
+            }
+        });
+    }
+
+    private static List<String> postScopeKeys(PostMeta meta) {
+        List<String> scopes = new ArrayList<>(meta.tags().size() + 2);
+        scopes.add(ALL);
+        if (meta.categoryId() != null) {
+            scopes.add(categoryScope(meta.categoryId()));
+        }
+        meta.tags().forEach(tag -> scopes.add(tagScope(tag)));
+        return scopes;
+    }
+
+    private static List<String> forumScopeKeys(Long categoryId) {
+        return categoryId != null ? List.of(ALL, categoryScope(categoryId)) : List.of(ALL);
+    }
+
+    private static String categoryScope(Long categoryId) {
+        return "c:" + categoryId;
+    }
+
+    private static String tagScope(String tag) {
+        return "t:" + tag.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Foro, categoría y etiquetas de los posts activos; los demás no aparecen
+     */
+    private Map<Long, PostMeta> loadPostMetadata(Collection<Long> postIds) {
+        Map<Long, PostMeta> metadata = new HashMap<>();
+        List<Long> ids = new ArrayList<>(postIds);
+        for (int from = 0; from < ids.size(); from += METADATA_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + METADATA_CHUNK, ids.size()));
+            Map<Long, List<String>> tags = new HashMap<>();
+            for (Object[] row : postRepository.findTagNamesByPostIds(chunk)) {
+                tags.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+            }
+            for (Object[] row : postRepository.findTrendingMetadata(chunk)) {
+                if (row[3] == Post.PostStatus.ACTIVE) {
+                    metadata.put((Long) row[0],
+                            new PostMeta((Long) row[1], (Long) row[2], tags.getOrDefault((Long) row[0], List.of())));
+                }
+            }
+        }
+        return metadata;
+    }
+
+    private record PostMeta(Long forumId, Long categoryId, List<String> tags) {
+    }
+
+    private record Ranked(long id, double score) {
+    }
+
+    private static final class PostEntry {
+        PostMeta meta;
+        double score;
+
+        PostEntry(PostMeta meta) {
+            this.meta = meta;
+        }
+    }
+
+    private static final class ForumEntry {
+        final Long categoryId;
+        double score;
+
+        ForumEntry(Long categoryId) {
+            this.categoryId = categoryId;
+        }
+    }
+
+    /**
+     * Las topK mejores entidades de un ámbito, ordenadas
+     */
+    private final class TopK {
+        private final TreeSet<Ranked> ranked = new TreeSet<>(BEST_FIRST);
+        private final Map<Long, Ranked> members = new HashMap<>();
+
+        void offer(long id, double score) {
+            Ranked previous = members.remove(id);
+            if (previous != null) {
+                ranked.remove(previous);
+            }
+            Ranked candidate = new Ranked(id, score);
+            if (ranked.size() >= topK && BEST_FIRST.compare(candidate, ranked.last()) > 0) {
+                return;
+            }
+            ranked.add(candidate);
+            members.put(id, candidate);
+            if (ranked.size() > topK) {
+                members.remove(ranked.pollLast().id());
+            }
+        }
+
+        /**
+         * @return si el top-K estaba lleno y ahora tiene un hueco que
+         *         puede ocupar una entidad que se quedó fuera
+         */
+        boolean remove(long id) {
+            Ranked previous = members.remove(id);
+            if (previous == null) {
+                return false;
+            }
+            ranked.remove(previous);
+            return ranked.size() == topK - 1;
+        }
+
+        List<Long> ids(int limit) {
+            return ranked.stream().limit(limit).map(Ranked::id).toList();
+        }
+    }
+}
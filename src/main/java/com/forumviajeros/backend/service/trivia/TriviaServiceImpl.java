@@ -7,6 +7,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,6 +20,7 @@ import com.forumviajeros.backend.dto.trivia.TriviaLeaderboardDTO;
 import com.forumviajeros.backend.dto.trivia.TriviaLeaderboardDTO.LeaderboardEntryDTO;
 import com.forumviajeros.backend.dto.trivia.TriviaQuestionDTO;
 import com.forumviajeros.backend.dto.trivia.TriviaScoreDTO;
+import com.forumviajeros.backend.event.AchievementMetricChangedEvent;
 import com.forumviajeros.backend.exception.BadRequestException;
 import com.forumviajeros.backend.exception.ResourceNotFoundException;
 import com.forumviajeros.backend.model.TriviaAnswer;
@@ -33,6 +35,7 @@ import com.forumviajeros.backend.repository.TriviaGameRepository;
 import com.forumviajeros.backend.repository.TriviaQuestionRepository;
 import com.forumviajeros.backend.repository.TriviaScoreRepository;
 import com.forumviajeros.backend.repository.UserRepository;
+import com.forumviajeros.backend.service.achievement.AchievementMetric;
 
 import lombok.RequiredArgsConstructor;
 
@@ -49,6 +52,7 @@ public class TriviaServiceImpl implements TriviaService {
     private final TriviaAnswerRepository answerRepository;
     private final TriviaScoreRepository scoreRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public TriviaGameResponseDTO startGame(Long userId, TriviaGameRequestDTO request) {
@@ -414,10 +418,16 @@ public class TriviaServiceImpl implements TriviaService {
         }
 
         // Calcular nivel
+        int previousLevel = score.getLevel();
         score.setExperiencePoints(score.getExperiencePoints() + game.getScore());
         score.calculateLevel();
 
         scoreRepository.save(score);
+
+        if (score.getLevel() > previousLevel) {
+            eventPublisher.publishEvent(new AchievementMetricChangedEvent(
+                    game.getUser().getId(), AchievementMetric.TRIVIA_LEVEL));
+        }
     }
 
     private TriviaGameResponseDTO toGameResponseDTO(TriviaGame game, TriviaQuestionDTO firstQuestion) {
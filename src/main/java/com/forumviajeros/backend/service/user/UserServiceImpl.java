@@ -4,32 +4,57 @@ import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.forumviajeros.backend.dto.user.UserRequestDTO;
 import com.forumviajeros.backend.dto.user.UserResponseDTO;
+import com.forumviajeros.backend.event.FollowChangedEvent;
+import com.forumviajeros.backend.event.SearchIndexRequestedEvent;
 import com.forumviajeros.backend.model.Role;
 import com.forumviajeros.backend.model.User;
 import com.forumviajeros.backend.model.User.UserStatus;
+import com.forumviajeros.backend.repository.CommentRepository;
+import com.forumviajeros.backend.repository.FollowRepository;
+import com.forumviajeros.backend.repository.ForumRepository;
+import com.forumviajeros.backend.repository.PostRepository;
 import com.forumviajeros.backend.repository.RoleRepository;
+import com.forumviajeros.backend.repository.TagRepository;
 import com.forumviajeros.backend.repository.UserRepository;
+import com.forumviajeros.backend.service.search.SearchDocumentType;
 
 @Service
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ForumRepository forumRepository;
+    private final PostRepository postRepository;
+    private final TagRepository tagRepository;
+    private final CommentRepository commentRepository;
+    private final FollowRepository followRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public UserServiceImpl(UserRepository userRepository, RoleRepository roleRepository,
-            PasswordEncoder passwordEncoder) {
+            PasswordEncoder passwordEncoder, ForumRepository forumRepository,
+            PostRepository postRepository, TagRepository tagRepository,
+            CommentRepository commentRepository, FollowRepository followRepository,
+            ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
+        this.forumRepository = forumRepository;
+        this.postRepository = postRepository;
+        this.tagRepository = tagRepository;
+        this.commentRepository = commentRepository;
+        this.followRepository = followRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -116,13 +141,32 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public void deleteUser(Long id) {
         if (!userRepository.existsById(id)) {
             throw new RuntimeException("Usuario no encontrado");
         }
+        // Antes del borrado: sus foros, posts y comentarios se van en cascada y
+        // hay que descontárselos a los foros, posts, autores y etiquetas que sobreviven
+        forumRepository.decrementPostCountsOfUser(id);
+        postRepository.decrementCommentCountsOfUser(id);
+        userRepository.decrementActivityCountsOfUser(id);
+        tagRepository.decrementUsageCountsOfUser(id);
+        // El índice de búsqueda no ve el borrado en cascada: se le pide retirar cada entidad
+        requestIndexRemoval(SearchDocumentType.FORUM, forumRepository.findIdsByUserId(id));
+        requestIndexRemoval(SearchDocumentType.POST, postRepository.findIdsByUserId(id));
+        requestIndexRemoval(SearchDocumentType.COMMENT, commentRepository.findIdsByUserId(id));
+        // Ni el grafo social en memoria ve las relaciones borradas en cascada
+        for (Object[] pair : followRepository.findFollowPairsOfUser(id)) {
+            eventPublisher.publishEvent(new FollowChangedEvent((Long) pair[0], (Long) pair[1], false));
+        }
         userRepository.deleteById(id);
     }
 
+    private void requestIndexRemoval(SearchDocumentType type, List<Long> ids) {
+        ids.forEach(entityId -> eventPublisher.publishEvent(new SearchIndexRequestedEvent(type, entityId)));
+    }
+
     @Override
     public UserResponseDTO changePassword(Long id, String currentPassword, String newPassword) {
         User user = userRepository.findById(id)
@@ -218,9 +262,11 @@ public class UserServiceImpl implements UserService {
                 user.getLocation(),
                 user.getProfileImageUrl(),
                 user.getStatus() != null ? user.getStatus().name() : null,
-                (long) (user.getForums() != null ? user.getForums().size() : 0),
-                (long) (user.getPosts() != null ? user.getPosts().size() : 0),
-                (long) (user.getComments() != null ? user.getComments().size() : 0),
+                user.getForumCount(),
+                user.getPostCount(),
+                user.getCommentCount(),
+                user.getFollowersCount(),
+                user.getFollowingCount(),
                 user.getCreatedAt() != null ? user.getCreatedAt().toString() : null,
                 user.getUpdatedAt() != null ? user.getUpdatedAt().toString() : null,
                 user.getRoles().stream()
@@ -0,0 +1,180 @@
+package com.forumviajeros.backend.service.view;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.forumviajeros.backend.event.EngagementRecordedEvent;
+import com.forumviajeros.backend.service.trending.EngagementType;
+import com.forumviajeros.backend.util.ClientIpUtil;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Contadores de visitas de foros y posts con escritura diferida.
+ *
+ * Cada visita suma en un LongAdder por entidad, dentro de compute para no
+ * incrementar un contador que el volcado está liberando, y el acumulado se
+ * vuelca periódicamente con un único UPDATE por lotes, así que un hilo
+ * popular cuesta una escritura por intervalo en lugar de una por visita. Un mismo visitante (usuario o IP) cuenta una vez por entidad dentro
+ * de la ventana de deduplicación; cada visita contada alimenta también el
+ * ranking de tendencias. Al parar la aplicación se vuelca lo pendiente.
+ */
+@Component
+@Slf4j
+public class ViewCounter {
+
+    public enum Target {
+        FORUM("UPDATE forums SET view_count = view_count + ? WHERE id = ?"),
+        POST("UPDATE posts SET view_count = view_count + ? WHERE id = ?");
+
+        private final String updateSql;
+
+        Target(String updateSql) {
+            this.updateSql = updateSql;
+        }
+    }
+
+    private final Map<Target, Map<Long, LongAdder>> pending = Map.of(
+            Target.FORUM, new ConcurrentHashMap<>(),
+            Target.POST, new ConcurrentHashMap<>());
+
+    /** Última visita contada por visitante y entidad (epoch ms) */
+    private final Map<String, Long> recentViews = new ConcurrentHashMap<>();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long dedupWindowMillis;
+    private final int dedupCapacity;
+
+    public ViewCounter(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.views.dedup-window:PT30M}") Duration dedupWindow,
+            @Value("${app.views.dedup-capacity:100000}") int dedupCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.dedupWindowMillis = dedupWindow.toMillis();
+        this.dedupCapacity = dedupCapacity;
+    }
+
+    /**
+     * Identifica al visitante: el usuario autenticado o, si es anónimo, su IP
+     */
+    public static String viewerKey(Authentication authentication, HttpServletRequest request) {
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "u:" + authentication.getName();
+        }
+        return "ip:" + ClientIpUtil.resolve(request);
+    }
+
+    /**
+     * Registra una visita; devuelve false si el visitante ya contaba dentro de la ventana
+     */
+    public boolean record(Target target, Long id, String viewerKey) {
+        if (viewerKey != null && !firstViewInWindow(target, id, viewerKey, System.currentTimeMillis())) {
+            return false;
+        }
+        pending.get(target).compute(id, (key, adder) -> {
+            LongAdder counter = adder != null ? adder : new LongAdder();
+            counter.increment();
+            return counter;
+        });
+        eventPublisher.publishEvent(target == Target.POST
+                ? EngagementRecordedEvent.onPost(EngagementType.VIEW, id)
+                : EngagementRecordedEvent.onForum(id));
+        return true;
+    }
+
+    private boolean firstViewInWindow(Target target, Long id, String viewerKey, long now) {
+        String key = target.ordinal() + "|" + id + "|" + viewerKey;
+        if (recentViews.size() >= dedupCapacity && !recentViews.containsKey(key)) {
+            // Tabla llena hasta la próxima purga: se cuenta sin recordar al visitante
+            return true;
+        }
+        boolean[] counted = { false };
+        recentViews.compute(key, (k, last) -> {
+            if (last == null || now - last >= dedupWindowMillis) {
+                counted[0] = true;
+                return now;
+            }
+            return last;
+        });
+        return counted[0];
+    }
+
+    /**
+     * Visitas aún no volcadas a la base de datos
+     */
+    public long pending(Target target, Long id) {
+        LongAdder adder = pending.get(target).get(id);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    /**
+     * Vuelca los acumulados con un UPDATE por lotes por tabla (ordenado por id
+     * para que dos nodos bloqueen las filas en el mismo orden) y purga la
+     * ventana de deduplicación. Si la escritura falla, los deltas se devuelven
+     * a los contadores para el siguiente intento.
+     */
+    @Scheduled(fixedDelayString = "${app.views.flush-ms:5000}")
+    public void flush() {
+        for (Target target : Target.values()) {
+            flush(target);
+        }
+        long now = System.currentTimeMillis();
+        recentViews.values().removeIf(last -> now - last >= dedupWindowMillis);
+    }
+
+    private void flush(Target target) {
+        Map<Long, LongAdder> counters = pending.get(target);
+        List<Object[]> deltas = new ArrayList<>();
+        counters.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> {
+                    // sumThenReset no pierde incrementos concurrentes: caen en este volcado o en el siguiente
+                    long delta = entry.getValue().sumThenReset();
+                    if (delta > 0) {
+                        deltas.add(new Object[] { delta, entry.getKey() });
+                    } else {
+                        // Sin visitas en todo el intervalo: se libera la entrada, salvo que
+                        // una visita haya llegado entre el reset y este punto
+                        counters.computeIfPresent(entry.getKey(), (key, adder) -> adder.sum() == 0 ? null : adder);
+                    }
+                });
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(target.updateSql, deltas));
+        } catch (RuntimeException e) {
+            log.error("Error volcando visitas de {} entidades ({}); se reintentará", deltas.size(), target, e);
+            for (Object[] delta : deltas) {
+                counters.computeIfAbsent((Long) delta[1], key -> new LongAdder()).add((Long) delta[0]);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
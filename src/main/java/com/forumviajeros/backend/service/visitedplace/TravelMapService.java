@@ -0,0 +1,32 @@
+package com.forumviajeros.backend.service.visitedplace;
+
+import com.forumviajeros.backend.dto.visitedplace.TravelHeatmapDTO;
+import com.forumviajeros.backend.dto.visitedplace.TravelMapDTO;
+
+/**
+ * Servicio de lectura para el mapa de viajes: payload compacto por usuario y
+ * mapa de calor agregado de visitantes por país
+ */
+public interface TravelMapService {
+
+    /**
+     * Obtiene el mapa compacto de un usuario (código ISO -> estado)
+     */
+    TravelMapDTO getUserMap(Long userId);
+
+    /**
+     * Obtiene la versión actual del mapa de un usuario, usada como ETag.
+     * Cambia cada vez que el usuario agrega, modifica o elimina un lugar.
+     */
+    String getUserMapVersion(Long userId);
+
+    /**
+     * Obtiene el mapa de calor de visitantes por país
+     */
+    TravelHeatmapDTO getHeatmap();
+
+    /**
+     * Obtiene la versión actual del mapa de calor, usada como ETag
+     */
+    String getHeatmapVersion();
+}
@@ -0,0 +1,188 @@
+package com.forumviajeros.backend.service.visitedplace;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.forumviajeros.backend.dto.visitedplace.TravelHeatmapDTO;
+import com.forumviajeros.backend.dto.visitedplace.TravelMapDTO;
+import com.forumviajeros.backend.event.VisitedPlaceChangedEvent;
+import com.forumviajeros.backend.model.VisitedPlace.PlaceStatus;
+import com.forumviajeros.backend.repository.VisitedPlaceRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementación del servicio del mapa de viajes.
+ *
+ * El mapa de calor se carga de la base de datos al terminar de crear los
+ * beans, antes de que arranque el servidor web y los jobs programados, y a
+ * partir de ahí se mantiene en memoria aplicando los deltas que publica
+ * {@link VisitedPlaceServiceImpl} tras cada commit. Cargarlo con tráfico ya
+ * en marcha no es seguro: un delta que llegue durante la consulta puede
+ * estar ya contado o no, y aplicarlo dos veces no es idempotente.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TravelMapServiceImpl implements TravelMapService, SmartInitializingSingleton {
+
+    /**
+     * Prioridad de estados cuando un país tiene varios lugares (p. ej. varias ciudades):
+     * se pinta el estado más "fuerte"
+     */
+    private static final Map<PlaceStatus, Integer> STATUS_PRIORITY = new EnumMap<>(Map.of(
+            PlaceStatus.WISHLIST, 0,
+            PlaceStatus.VISITED, 1,
+            PlaceStatus.LIVED, 2,
+            PlaceStatus.LIVING, 3));
+
+    private final VisitedPlaceRepository visitedPlaceRepository;
+
+    // Visitantes distintos por código ISO; null hasta la carga inicial
+    private volatile Map<String, AtomicLong> heatmap;
+    private final Object heatmapLock = new Object();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        loadHeatmapIfNeeded();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TravelMapDTO getUserMap(Long userId) {
+        Map<String, PlaceStatus> countries = new TreeMap<>();
+        for (Object[] row : visitedPlaceRepository.findCountryStatusesByUserId(userId)) {
+            countries.merge((String) row[0], (PlaceStatus) row[1], TravelMapServiceImpl::strongest);
+        }
+
+        return TravelMapDTO.builder()
+                .userId(userId)
+                .version(getUserMapVersion(userId))
+                .countries(countries)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getUserMapVersion(Long userId) {
+        List<Object[]> rows = visitedPlaceRepository.findMapVersionByUserId(userId);
+        long count = 0;
+        long lastModified = 0;
+        if (!rows.isEmpty()) {
+            Object[] row = rows.get(0);
+            count = row[0] != null ? ((Number) row[0]).longValue() : 0;
+            lastModified = toEpochMillis(row[1]);
+        }
+        // Incluir el número de lugares detecta también los borrados
+        return "map-" + userId + "-" + count + "-" + lastModified;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TravelHeatmapDTO getHeatmap() {
+        Map<String, Long> visitors = visitorsByCountry();
+        long max = visitors.values().stream().max(Comparator.naturalOrder()).orElse(0L);
+
+        return TravelHeatmapDTO.builder()
+                .version(heatmapVersion(visitors))
+                .visitorsByCountry(visitors)
+                .maxVisitors(max)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getHeatmapVersion() {
+        return heatmapVersion(visitorsByCountry());
+    }
+
+    /**
+     * Visitantes por país con al menos uno, ordenados por código ISO
+     */
+    private Map<String, Long> visitorsByCountry() {
+        Map<String, Long> visitors = new TreeMap<>();
+        loadHeatmapIfNeeded().forEach((isoCode, count) -> {
+            long value = count.get();
+            if (value > 0) {
+                visitors.put(isoCode, value);
+            }
+        });
+        return visitors;
+    }
+
+    /**
+     * Versión derivada del contenido: igual tras un reinicio o en otra réplica
+     * mientras los recuentos no cambien
+     */
+    static String heatmapVersion(Map<String, Long> visitors) {
+        CRC32 crc = new CRC32();
+        visitors.forEach((isoCode, count) ->
+                crc.update((isoCode + '=' + count + ';').getBytes(StandardCharsets.UTF_8)));
+        return "heatmap-" + visitors.size() + "-" + Long.toHexString(crc.getValue());
+    }
+
+    /**
+     * Aplica de forma incremental el cambio de visitantes de un país
+     */
+    @TransactionalEventListener
+    public void onVisitedPlaceChanged(VisitedPlaceChangedEvent event) {
+        if (event.getVisitorDelta() == 0) {
+            return;
+        }
+        Map<String, AtomicLong> current = heatmap;
+        if (current == null) {
+            // Solo antes del arranque: la carga inicial ya incluirá este cambio
+            return;
+        }
+        current.computeIfAbsent(event.getIsoCode(), k -> new AtomicLong())
+                .addAndGet(event.getVisitorDelta());
+    }
+
+    private Map<String, AtomicLong> loadHeatmapIfNeeded() {
+        Map<String, AtomicLong> current = heatmap;
+        if (current != null) {
+            return current;
+        }
+        synchronized (heatmapLock) {
+            if (heatmap == null) {
+                Map<String, AtomicLong> loaded = new ConcurrentHashMap<>();
+                for (Object[] row : visitedPlaceRepository.countVisitorsByCountry()) {
+                    loaded.put((String) row[0], new AtomicLong(((Number) row[1]).longValue()));
+                }
+                heatmap = loaded;
+                log.info("Mapa de calor de viajes cargado: {} países", loaded.size());
+            }
+            return heatmap;
+        }
+    }
+
+    private static PlaceStatus strongest(PlaceStatus a, PlaceStatus b) {
+        return STATUS_PRIORITY.get(a) >= STATUS_PRIORITY.get(b) ? a : b;
+    }
+
+    private static long toEpochMillis(Object value) {
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.getTime();
+        }
+        return 0;
+    }
+}
@@ -6,16 +6,19 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.forumviajeros.backend.dto.achievement.UserAchievementsDTO;
 import com.forumviajeros.backend.dto.country.CountrySummaryDTO;
 import com.forumviajeros.backend.dto.visitedplace.TravelStatsDTO;
 import com.forumviajeros.backend.dto.visitedplace.VisitedPlaceRequestDTO;
 import com.forumviajeros.backend.dto.visitedplace.VisitedPlaceResponseDTO;
+import com.forumviajeros.backend.event.VisitedPlaceChangedEvent;
 import com.forumviajeros.backend.exception.BadRequestException;
 import com.forumviajeros.backend.exception.ResourceNotFoundException;
 import com.forumviajeros.backend.model.Country;
@@ -25,6 +28,8 @@ import com.forumviajeros.backend.model.VisitedPlace.PlaceStatus;
 import com.forumviajeros.backend.repository.CountryRepository;
 import com.forumviajeros.backend.repository.UserRepository;
 import com.forumviajeros.backend.repository.VisitedPlaceRepository;
+import com.forumviajeros.backend.service.achievement.AchievementRule;
+import com.forumviajeros.backend.service.achievement.AchievementService;
 import com.forumviajeros.backend.service.country.CountryService;
 
 import lombok.RequiredArgsConstructor;
@@ -41,6 +46,8 @@ public class VisitedPlaceServiceImpl implements VisitedPlaceService {
     private final CountryRepository countryRepository;
     private final UserRepository userRepository;
     private final CountryService countryService;
+    private final AchievementService achievementService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // Total de países en el mundo (aproximado)
     private static final int TOTAL_COUNTRIES = 195;
@@ -76,13 +83,21 @@ public class VisitedPlaceServiceImpl implements VisitedPlaceService {
                 .visitCount(request.getVisitCount() != null ? request.getVisitCount() : 1)
                 .build();
 
+        boolean wasVisited = place.getStatus() == PlaceStatus.VISITED && isCountryVisited(userId, country.getId());
+
         place = visitedPlaceRepository.save(place);
+        int delta = place.getStatus() == PlaceStatus.VISITED && !wasVisited ? 1 : 0;
+        publishPlaceChanged(place, delta);
         return toResponseDTO(place);
     }
 
     @Override
     public VisitedPlaceResponseDTO updateVisitedPlace(Long userId, Long placeId, VisitedPlaceRequestDTO request) {
         VisitedPlace place = findPlaceByIdAndUser(placeId, userId);
+        PlaceStatus previousStatus = place.getStatus();
+        boolean affectsVisitors = request.getStatus() != null && request.getStatus() != previousStatus
+                && (previousStatus == PlaceStatus.VISITED || request.getStatus() == PlaceStatus.VISITED);
+        boolean wasVisited = affectsVisitors && isCountryVisited(userId, place.getCountry().getId());
 
         if (request.getStatus() != null) {
             place.setStatus(request.getStatus());
@@ -107,6 +122,12 @@ public class VisitedPlaceServiceImpl implements VisitedPlaceService {
         }
 
         place = visitedPlaceRepository.save(place);
+        int delta = 0;
+        if (affectsVisitors) {
+            boolean isVisited = isCountryVisited(userId, place.getCountry().getId());
+            delta = (isVisited ? 1 : 0) - (wasVisited ? 1 : 0);
+        }
+        publishPlaceChanged(place, delta);
         return toResponseDTO(place);
     }
 
@@ -114,6 +135,12 @@ public class VisitedPlaceServiceImpl implements VisitedPlaceService {
     public void deleteVisitedPlace(Long userId, Long placeId) {
         VisitedPlace place = findPlaceByIdAndUser(placeId, userId);
         visitedPlaceRepository.delete(place);
+
+        int delta = 0;
+        if (place.getStatus() == PlaceStatus.VISITED && !isCountryVisited(userId, place.getCountry().getId())) {
+            delta = -1;
+        }
+        publishPlaceChanged(place, delta);
     }
 
     @Override
@@ -206,11 +233,8 @@ public class VisitedPlaceServiceImpl implements VisitedPlaceService {
                 favorites.get(0).getCityName() + ", " + favorites.get(0).getCountry().getName() : 
                 favorites.get(0).getCountry().getName());
 
-        // Nivel de viajero
-        String travelerLevel = TravelStatsDTO.calculateTravelerLevel((int) countriesVisited);
-
-        // Badges
-        List<String> badges = calculateBadges((int) countriesVisited, continents.size(), (int) citiesVisited);
+        // Nivel de viajero y badges: logros ya persistidos por el motor de logros
+        UserAchievementsDTO achievements = achievementService.getUserAchievements(userId);
 
         // Ranking
         Integer ranking = visitedPlaceRepository.findUserRanking(userId);
@@ -230,8 +254,8 @@ public class VisitedPlaceServiceImpl implements VisitedPlaceService {
                 .countriesByContinent(countriesByContinent)
                 .mostVisitedCountry(mostVisitedCountry)
                 .favoritePlace(favoritePlace)
-                .travelerLevel(travelerLevel)
-                .badges(badges)
+                .travelerLevel(achievements.getTravelerLevel())
+                .badges(achievements.getBadges())
                 .globalRanking(ranking)
                 .build();
     }
@@ -247,6 +271,9 @@ public class VisitedPlaceServiceImpl implements VisitedPlaceService {
     public List<TravelStatsDTO> getTravelersRanking(int limit) {
         List<Object[]> ranking = visitedPlaceRepository.findUsersRankedByCountriesVisited(PageRequest.of(0, limit));
         List<TravelStatsDTO> result = new ArrayList<>();
+        // Mismo nivel que las estadísticas: el concedido y, si aún no hay, el que dictan las reglas
+        Map<Long, String> levels = achievementService.getTravelerLevels(
+                ranking.stream().map(row -> (Long) row[0]).collect(Collectors.toList()));
 
         int position = 1;
         for (Object[] row : ranking) {
@@ -258,7 +285,7 @@ public class VisitedPlaceServiceImpl implements VisitedPlaceService {
                     .userId(userId)
                     .username(username)
                     .countriesVisited(countries)
-                    .travelerLevel(TravelStatsDTO.calculateTravelerLevel(countries))
+                    .travelerLevel(levels.getOrDefault(userId, AchievementRule.travelerLevelFor(countries)))
                     .globalRanking(position++)
                     .build());
         }
@@ -295,24 +322,19 @@ public class VisitedPlaceServiceImpl implements VisitedPlaceService {
         return place;
     }
 
-    private List<String> calculateBadges(int countries, int continents, int cities) {
-        List<String> badges = new ArrayList<>();
-
-        if (countries >= 1) badges.add("🎒 Primer Paso");
-        if (countries >= 5) badges.add("🗺️ Explorador");
-        if (countries >= 10) badges.add("✈️ Viajero Frecuente");
-        if (countries >= 25) badges.add("🌍 Ciudadano del Mundo");
-        if (countries >= 50) badges.add("🏆 Trotamundos");
-        if (countries >= 100) badges.add("👑 Leyenda Viajera");
-
-        if (continents >= 2) badges.add("🌐 Intercontinental");
-        if (continents >= 5) badges.add("🌏 Cinco Continentes");
-        if (continents >= 7) badges.add("⭐ Todos los Continentes");
-
-        if (cities >= 10) badges.add("🏙️ Urbanita");
-        if (cities >= 50) badges.add("🌆 Coleccionista de Ciudades");
+    private boolean isCountryVisited(Long userId, Long countryId) {
+        return visitedPlaceRepository.existsByUserIdAndCountryIdAndStatus(userId, countryId, PlaceStatus.VISITED);
+    }
 
-        return badges;
+    /**
+     * Publica el cambio para que los listeners (mapa de calor, etc.) lo apliquen tras el commit
+     */
+    private void publishPlaceChanged(VisitedPlace place, int visitorDelta) {
+        eventPublisher.publishEvent(new VisitedPlaceChangedEvent(
+                place.getUser().getId(),
+                place.getCountry().getId(),
+                place.getCountry().getIsoCode(),
+                visitorDelta));
     }
 
     private VisitedPlaceResponseDTO toResponseDTO(VisitedPlace place) {
@@ -0,0 +1,30 @@
+package com.forumviajeros.backend.service.visitedplace;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.forumviajeros.backend.dto.visitedplace.VisitedPlaceImportResultDTO;
+
+/**
+ * Servicio de importación y exportación masiva de lugares visitados
+ */
+public interface VisitedPlaceTransferService {
+
+    /**
+     * Formatos soportados
+     */
+    enum TransferFormat {
+        JSON, CSV
+    }
+
+    /**
+     * Importa lugares leyendo la entrada en streaming. Las filas ya registradas
+     * se omiten y las inválidas se reportan sin abortar la importación.
+     */
+    VisitedPlaceImportResultDTO importPlaces(Long userId, InputStream input, TransferFormat format);
+
+    /**
+     * Escribe todos los lugares del usuario directamente en la salida, fila a fila
+     */
+    void exportPlaces(Long userId, OutputStream output, TransferFormat format);
+}
@@ -0,0 +1,467 @@
+package com.forumviajeros.backend.service.visitedplace;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forumviajeros.backend.dto.visitedplace.VisitedPlaceImportDTO;
+import com.forumviajeros.backend.dto.visitedplace.VisitedPlaceImportResultDTO;
+import com.forumviajeros.backend.event.VisitedPlaceChangedEvent;
+import com.forumviajeros.backend.exception.BadRequestException;
+import com.forumviajeros.backend.exception.ResourceNotFoundException;
+import com.forumviajeros.backend.model.VisitedPlace.PlaceStatus;
+import com.forumviajeros.backend.repository.CountryRepository;
+import com.forumviajeros.backend.repository.UserRepository;
+import com.forumviajeros.backend.repository.VisitedPlaceRepository;
+import com.forumviajeros.backend.util.CsvUtil;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementación de la importación/exportación masiva de lugares.
+ *
+ * La importación lee la entrada fila a fila, resuelve los países contra un mapa
+ * ISO en memoria, deduplica contra los lugares existentes del usuario con una
+ * única consulta e inserta con JDBC en lotes (la clave IDENTITY de
+ * visited_places impide que Hibernate agrupe los INSERT). La exportación
+ * escribe cada fila del cursor directamente en la respuesta.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VisitedPlaceTransferServiceImpl implements VisitedPlaceTransferService {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_ROWS = 5000;
+    private static final int MAX_REPORTED_ERRORS = 50;
+    private static final int EXPORT_FETCH_SIZE = 200;
+
+    private static final String INSERT_SQL = "INSERT INTO visited_places (user_id, country_id, city_name, status, "
+            + "visit_date, visit_end_date, notes, rating, favorite, visit_count, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] INSERT_TYPES = {
+            Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.VARCHAR,
+            Types.DATE, Types.DATE, Types.VARCHAR, Types.INTEGER,
+            Types.BOOLEAN, Types.INTEGER, Types.TIMESTAMP, Types.TIMESTAMP };
+
+    private static final String EXPORT_SQL = "SELECT c.iso_code, vp.city_name, vp.status, vp.visit_date, "
+            + "vp.visit_end_date, vp.rating, vp.favorite, vp.visit_count, vp.notes "
+            + "FROM visited_places vp JOIN countries c ON c.id = vp.country_id "
+            + "WHERE vp.user_id = ? ORDER BY vp.created_at, vp.id";
+
+    private static final List<String> CSV_COLUMNS = List.of(
+            "isoCode", "cityName", "status", "visitDate", "visitEndDate", "rating", "favorite", "visitCount", "notes");
+
+    private final VisitedPlaceRepository visitedPlaceRepository;
+    private final CountryRepository countryRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Código ISO (alpha-2 y alpha-3) -> ID de país; se carga una vez
+    private volatile Map<String, Long> countryIdsByIso;
+    private volatile Map<Long, String> isoCodesById;
+
+    @Override
+    @Transactional
+    public VisitedPlaceImportResultDTO importPlaces(Long userId, InputStream input, TransferFormat format) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+        loadCountryCodesIfNeeded();
+
+        ImportSession session = new ImportSession(userId);
+        try {
+            if (format == TransferFormat.CSV) {
+                readCsv(input, session);
+            } else {
+                readJson(input, session);
+            }
+        } catch (IOException e) {
+            throw new BadRequestException("No se pudo leer el fichero de importación: " + e.getMessage(), e);
+        }
+        session.flush();
+
+        for (Long countryId : session.touchedCountries) {
+            int delta = session.newlyVisited.contains(countryId) ? 1 : 0;
+            eventPublisher.publishEvent(new VisitedPlaceChangedEvent(userId, countryId, isoCodesById.get(countryId), delta));
+        }
+
+        log.info("Importación de lugares para usuario {}: {} filas, {} insertadas, {} duplicadas, {} rechazadas",
+                userId, session.totalRows, session.imported, session.duplicates, session.rejected);
+
+        return VisitedPlaceImportResultDTO.builder()
+                .totalRows(session.totalRows)
+                .imported(session.imported)
+                .duplicates(session.duplicates)
+                .rejected(session.rejected)
+                .errors(session.errors)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportPlaces(Long userId, OutputStream output, TransferFormat format) {
+        try {
+            if (format == TransferFormat.CSV) {
+                exportCsv(userId, output);
+            } else {
+                exportJson(userId, output);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // === Importación ===
+
+    private void readJson(InputStream input, ImportSession session) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BadRequestException("Se esperaba un array JSON de lugares");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new BadRequestException("El JSON de importación está incompleto");
+                }
+                JsonNode node = objectMapper.readTree(parser);
+                VisitedPlaceImportDTO row;
+                try {
+                    row = objectMapper.treeToValue(node, VisitedPlaceImportDTO.class);
+                } catch (JsonProcessingException e) {
+                    session.malformed();
+                    continue;
+                }
+                session.accept(row);
+            }
+        }
+    }
+
+    private void readCsv(InputStream input, ImportSession session) throws IOException {
+        CsvUtil.RecordReader reader = new CsvUtil.RecordReader(
+                new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+
+        List<String> header = reader.next();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            // Quitar BOM si el fichero viene de Excel
+            String name = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            columns.put(name, i);
+        }
+        if (!columns.containsKey("isocode") && !columns.containsKey("countryid")) {
+            throw new BadRequestException("La cabecera CSV debe incluir la columna isoCode o countryId");
+        }
+
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            VisitedPlaceImportDTO row;
+            try {
+                row = parseCsvRow(columns, record);
+            } catch (RuntimeException e) {
+                session.malformed();
+                continue;
+            }
+            session.accept(row);
+        }
+    }
+
+    private VisitedPlaceImportDTO parseCsvRow(Map<String, Integer> columns, List<String> record) {
+        String countryId = csvValue(columns, record, "countryid");
+        String status = csvValue(columns, record, "status");
+        String visitDate = csvValue(columns, record, "visitdate");
+        String visitEndDate = csvValue(columns, record, "visitenddate");
+        String rating = csvValue(columns, record, "rating");
+        String favorite = csvValue(columns, record, "favorite");
+        String visitCount = csvValue(columns, record, "visitcount");
+
+        return VisitedPlaceImportDTO.builder()
+                .countryId(countryId != null ? Long.valueOf(countryId) : null)
+                .isoCode(csvValue(columns, record, "isocode"))
+                .cityName(csvValue(columns, record, "cityname"))
+                .status(status != null ? PlaceStatus.valueOf(status.toUpperCase(Locale.ROOT)) : null)
+                .visitDate(visitDate != null ? LocalDate.parse(visitDate) : null)
+                .visitEndDate(visitEndDate != null ? LocalDate.parse(visitEndDate) : null)
+                .notes(csvValue(columns, record, "notes"))
+                .rating(rating != null ? Integer.valueOf(rating) : null)
+                .favorite(favorite != null ? Boolean.valueOf(favorite) : null)
+                .visitCount(visitCount != null ? Integer.valueOf(visitCount) : null)
+                .build();
+    }
+
+    private String csvValue(Map<String, Integer> columns, List<String> record, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private Long resolveCountryId(VisitedPlaceImportDTO row) {
+        if (row.getCountryId() != null) {
+            return isoCodesById.containsKey(row.getCountryId()) ? row.getCountryId() : null;
+        }
+        if (row.getIsoCode() == null) {
+            return null;
+        }
+        return countryIdsByIso.get(row.getIsoCode().trim().toUpperCase(Locale.ROOT));
+    }
+
+    private void loadCountryCodesIfNeeded() {
+        if (countryIdsByIso != null) {
+            return;
+        }
+        synchronized (this) {
+            if (countryIdsByIso == null) {
+                Map<String, Long> byIso = new HashMap<>();
+                Map<Long, String> byId = new HashMap<>();
+                for (Object[] row : countryRepository.findAllIsoCodes()) {
+                    Long id = (Long) row[0];
+                    byIso.put(((String) row[1]).toUpperCase(Locale.ROOT), id);
+                    if (row[2] != null) {
+                        byIso.put(((String) row[2]).toUpperCase(Locale.ROOT), id);
+                    }
+                    byId.put(id, (String) row[1]);
+                }
+                isoCodesById = byId;
+                countryIdsByIso = byIso;
+            }
+        }
+    }
+
+    /**
+     * Estado de una importación en curso: claves ya presentes, lote pendiente y contadores
+     */
+    private final class ImportSession {
+
+        private final Long userId;
+        private final Set<String> keys = new HashSet<>();
+        private final Set<Long> visitedCountries = new HashSet<>();
+        private final Set<Long> newlyVisited = new HashSet<>();
+        private final Set<Long> touchedCountries = new LinkedHashSet<>();
+        private List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        private final List<String> errors = new ArrayList<>();
+        private final Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        private int totalRows;
+        private int imported;
+        private int duplicates;
+        private int rejected;
+
+        private ImportSession(Long userId) {
+            this.userId = userId;
+            for (Object[] row : visitedPlaceRepository.findPlaceKeysByUserId(userId)) {
+                Long countryId = (Long) row[0];
+                keys.add(placeKey(countryId, (String) row[1]));
+                if (row[2] == PlaceStatus.VISITED) {
+                    visitedCountries.add(countryId);
+                }
+            }
+        }
+
+        private void accept(VisitedPlaceImportDTO row) {
+            countRow();
+
+            Set<ConstraintViolation<VisitedPlaceImportDTO>> violations = validator.validate(row);
+            if (!violations.isEmpty()) {
+                reject(violations.iterator().next().getMessage());
+                return;
+            }
+            Long countryId = resolveCountryId(row);
+            if (countryId == null) {
+                reject("país desconocido");
+                return;
+            }
+
+            String cityName = row.getCityName() != null && !row.getCityName().isBlank()
+                    ? row.getCityName().trim() : null;
+            if (!keys.add(placeKey(countryId, cityName))) {
+                duplicates++;
+                return;
+            }
+
+            PlaceStatus status = row.getStatus() != null ? row.getStatus() : PlaceStatus.VISITED;
+            batch.add(new Object[] {
+                    userId,
+                    countryId,
+                    cityName,
+                    status.name(),
+                    row.getVisitDate() != null ? Date.valueOf(row.getVisitDate()) : null,
+                    row.getVisitEndDate() != null ? Date.valueOf(row.getVisitEndDate()) : null,
+                    row.getNotes(),
+                    row.getRating(),
+                    row.getFavorite() != null ? row.getFavorite() : Boolean.FALSE,
+                    row.getVisitCount() != null ? row.getVisitCount() : 1,
+                    now,
+                    now });
+            touchedCountries.add(countryId);
+            if (status == PlaceStatus.VISITED && visitedCountries.add(countryId)) {
+                newlyVisited.add(countryId);
+            }
+            if (batch.size() >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        private void malformed() {
+            countRow();
+            reject("formato inválido");
+        }
+
+        private void countRow() {
+            totalRows++;
+            if (totalRows > MAX_ROWS) {
+                throw new BadRequestException("La importación admite como máximo " + MAX_ROWS + " filas");
+            }
+        }
+
+        private void reject(String reason) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("Fila " + totalRows + ": " + reason);
+            }
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, INSERT_TYPES);
+            imported += batch.size();
+            batch = new ArrayList<>(BATCH_SIZE);
+        }
+    }
+
+    private static String placeKey(Long countryId, String cityName) {
+        return cityName == null ? countryId + "#" : countryId + "|" + cityName;
+    }
+
+    // === Exportación ===
+
+    private void exportJson(Long userId, OutputStream output) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(output, JsonEncoding.UTF8);
+        generator.writeStartArray();
+        streamPlaces(userId, rs -> {
+            generator.writeStartObject();
+            generator.writeStringField("isoCode", rs.getString("iso_code"));
+            generator.writeStringField("cityName", rs.getString("city_name"));
+            generator.writeStringField("status", rs.getString("status"));
+            generator.writeStringField("visitDate", dateString(rs, "visit_date"));
+            generator.writeStringField("visitEndDate", dateString(rs, "visit_end_date"));
+            writeNullableNumber(generator, "rating", rs, "rating");
+            generator.writeBooleanField("favorite", rs.getBoolean("favorite"));
+            writeNullableNumber(generator, "visitCount", rs, "visit_count");
+            generator.writeStringField("notes", rs.getString("notes"));
+            generator.writeEndObject();
+        });
+        generator.writeEndArray();
+        generator.flush();
+    }
+
+    private void exportCsv(Long userId, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write(String.join(",", CSV_COLUMNS));
+        writer.write("\r\n");
+        streamPlaces(userId, rs -> {
+            String rating = rs.getObject("rating") != null ? String.valueOf(rs.getInt("rating")) : null;
+            String visitCount = rs.getObject("visit_count") != null ? String.valueOf(rs.getInt("visit_count")) : null;
+            String[] values = {
+                    rs.getString("iso_code"),
+                    rs.getString("city_name"),
+                    rs.getString("status"),
+                    dateString(rs, "visit_date"),
+                    dateString(rs, "visit_end_date"),
+                    rating,
+                    String.valueOf(rs.getBoolean("favorite")),
+                    visitCount,
+                    rs.getString("notes") };
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(CsvUtil.escape(values[i]));
+            }
+            writer.write("\r\n");
+        });
+        writer.flush();
+    }
+
+    private void streamPlaces(Long userId, RowWriter rowWriter) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(EXPORT_SQL);
+            statement.setFetchSize(EXPORT_FETCH_SIZE);
+            statement.setLong(1, userId);
+            return statement;
+        }, (ResultSet rs) -> {
+            try {
+                rowWriter.write(rs);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static String dateString(ResultSet rs, String column) throws SQLException {
+        Date date = rs.getDate(column);
+        return date != null ? date.toLocalDate().toString() : null;
+    }
+
+    private static void writeNullableNumber(JsonGenerator generator, String field, ResultSet rs, String column)
+            throws SQLException, IOException {
+        int value = rs.getInt(column);
+        if (rs.wasNull()) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeNumberField(field, value);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+}
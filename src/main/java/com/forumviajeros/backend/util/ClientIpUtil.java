@@ -0,0 +1,30 @@
+package com.forumviajeros.backend.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Resolución de la IP real del cliente detrás de proxies y balanceadores
+ */
+public final class ClientIpUtil {
+
+    private ClientIpUtil() {
+    }
+
+    /**
+     * Obtiene la dirección IP real del cliente, considerando proxies y load balancers.
+     */
+    public static String resolve(HttpServletRequest request) {
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
+            // Tomar la primera IP de la lista (IP original del cliente)
+            return xForwardedFor.split(",")[0].trim();
+        }
+
+        String xRealIp = request.getHeader("X-Real-IP");
+        if (xRealIp != null && !xRealIp.isEmpty()) {
+            return xRealIp;
+        }
+
+        return request.getRemoteAddr();
+    }
+}
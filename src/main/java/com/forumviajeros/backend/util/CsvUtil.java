@@ -0,0 +1,118 @@
+package com.forumviajeros.backend.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utilidades mínimas para leer y escribir CSV (RFC 4180) en streaming.
+ *
+ * Soporta campos entre comillas con comas, comillas dobles escapadas ("") y
+ * saltos de línea dentro del campo.
+ */
+public final class CsvUtil {
+
+    private CsvUtil() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Escapa un valor para escribirlo como campo CSV
+     */
+    public static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        boolean needsQuotes = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Lector de registros CSV que consume la entrada carácter a carácter,
+     * sin cargar el fichero completo en memoria
+     */
+    public static final class RecordReader {
+
+        private final Reader reader;
+        private int pending = -2;
+
+        public RecordReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * Lee el siguiente registro, o devuelve null al final de la entrada.
+         * Las líneas vacías se ignoran.
+         */
+        public List<String> next() throws IOException {
+            while (true) {
+                List<String> record = readRecord();
+                if (record == null) {
+                    return null;
+                }
+                if (record.size() > 1 || !record.get(0).isEmpty()) {
+                    return record;
+                }
+            }
+        }
+
+        private List<String> readRecord() throws IOException {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+
+            while (c != -1) {
+                if (quoted) {
+                    if (c == '"') {
+                        int next = read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = next;
+                            continue;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == '\r') {
+                    if (c == '\r') {
+                        int next = read();
+                        if (next != '\n') {
+                            pending = next;
+                        }
+                    }
+                    break;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        private int read() throws IOException {
+            if (pending != -2) {
+                int c = pending;
+                pending = -2;
+                return c;
+            }
+            return reader.read();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.forumviajeros.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import com.forumviajeros.backend.dto.CursorPageDTO;
+
+import com.forumviajeros.backend.exception.BadRequestException;
+
+/**
+ * Cursores opacos para paginación por clave (keyset).
+ *
+ * Un cursor codifica la posición (fecha, id) del último elemento devuelto; la
+ * siguiente página pide los elementos estrictamente anteriores en el orden
+ * (fecha DESC, id DESC). El cliente no debe interpretar su contenido.
+ */
+public final class CursorUtil {
+
+    private static final char SEPARATOR = '|';
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private CursorUtil() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Posición de un elemento en el orden (fecha DESC, id DESC)
+     */
+    public record Position(LocalDateTime createdAt, Long id) {
+    }
+
+    /**
+     * Ajusta el tamaño de página pedido al rango [1, MAX_PAGE_SIZE]
+     */
+    public static int pageSize(int requested) {
+        if (requested < 1) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(requested, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Construye la página a partir de hasta {@code size + 1} filas: la fila extra
+     * solo indica que hay más y no se devuelve
+     *
+     * @param position posición de una fila, para generar el cursor siguiente
+     * @param mapper   conversión de las filas de la página (en bloque)
+     */
+    public static <E, D> CursorPageDTO<D> toPage(List<E> rows, int size, Function<E, Position> position,
+            Function<List<E>, List<D>> mapper) {
+        boolean hasMore = rows.size() > size;
+        List<E> page = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            Position last = position.apply(page.get(page.size() - 1));
+            nextCursor = encode(last.createdAt(), last.id());
+        }
+        return CursorPageDTO.<D>builder()
+                .items(mapper.apply(page))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    public static String encode(LocalDateTime createdAt, Long id) {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un cursor; null si no se envía (primera página)
+     *
+     * @throws BadRequestException si el cursor está mal formado
+     */
+    public static Position decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BadRequestException("Cursor de paginación no válido");
+            }
+            return new Position(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Cursor de paginación no válido", e);
+        }
+    }
+}
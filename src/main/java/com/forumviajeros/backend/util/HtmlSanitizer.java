@@ -1,5 +1,8 @@
 package com.forumviajeros.backend.util;
 
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 import org.owasp.html.HtmlPolicyBuilder;
 import org.owasp.html.PolicyFactory;
 import org.owasp.html.Sanitizers;
@@ -30,6 +33,14 @@ public class HtmlSanitizer {
             .and(Sanitizers.BLOCKS)
             .and(Sanitizers.LINKS);
 
+    // Block ends become spaces so that stripping tags does not glue words together
+    private static final Pattern BLOCK_BOUNDARY = Pattern.compile(
+            "(?i)<(br|/p|/li|/h[1-6]|/blockquote|/div)\\b[^>]*>");
+
+    private static final Pattern ENTITY = Pattern.compile("&(#[0-9]+|#[xX][0-9a-fA-F]+|amp|lt|gt|quot|apos|nbsp);");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
     private HtmlSanitizer() {
         // Utility class - prevent instantiation
     }
@@ -84,4 +95,48 @@ public class HtmlSanitizer {
 
         return RICH_TEXT_POLICY.sanitize(input);
     }
-}
\ No newline at end of file
+
+    /**
+     * Converts HTML into plain text for indexing: removes every tag, keeps
+     * block boundaries as spaces and decodes the entities the sanitizer emits.
+     *
+     * @param input the HTML string
+     * @return unescaped plain text, or null if input is null
+     */
+    public static String toPlainText(String input) {
+        if (input == null) {
+            return null;
+        }
+
+        String stripped = stripAllTags(BLOCK_BOUNDARY.matcher(input).replaceAll(" "));
+        Matcher matcher = ENTITY.matcher(stripped);
+        StringBuilder text = new StringBuilder(stripped.length());
+        while (matcher.find()) {
+            matcher.appendReplacement(text, Matcher.quoteReplacement(decodeEntity(matcher.group(1))));
+        }
+        matcher.appendTail(text);
+        return WHITESPACE.matcher(text).replaceAll(" ").trim();
+    }
+
+    private static String decodeEntity(String entity) {
+        switch (entity) {
+            case "amp":
+                return "&";
+            case "lt":
+                return "<";
+            case "gt":
+                return ">";
+            case "quot":
+                return "\"";
+            case "apos":
+                return "'";
+            case "nbsp":
+                return " ";
+            default:
+                int codePoint = entity.charAt(1) == 'x' || entity.charAt(1) == 'X'
+                        ? Integer.parseInt(entity.substring(2), 16)
+                        : Integer.parseInt(entity.substring(1));
+                return Character.isValidCodePoint(codePoint) ? new String(Character.toChars(codePoint)) : "";
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.forumviajeros.backend.repository;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,6 +12,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 
@@ -19,6 +22,7 @@ import com.forumviajeros.backend.model.Comment;
 import com.forumviajeros.backend.model.Forum;
 import com.forumviajeros.backend.model.Post;
 import com.forumviajeros.backend.model.User;
+import com.forumviajeros.backend.service.comment.CommentPath;
 
 /**
  * Tests de integración para CommentRepository con PostgreSQL
@@ -28,6 +32,9 @@ import com.forumviajeros.backend.model.User;
 @ActiveProfiles("test")
 class CommentRepositoryTest {
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     @Autowired
     private CommentRepository commentRepository;
 
@@ -159,5 +166,96 @@ class CommentRepositoryTest {
         assertNotNull(found.getUser(), "Comentario debe tener usuario");
         assertEquals(testUser.getId(), found.getUser().getId());
     }
-}
 
+    @Test
+    @DisplayName("Debe recorrer los comentarios con su post en orden de id")
+    void shouldStreamCommentsForIndexing() {
+        Comment first = commentRepository.save(testComment);
+        Comment second = new Comment();
+        second.setContent("Otro comentario");
+        second.setPost(testPost);
+        second.setUser(testUser);
+        second.setStatus(Comment.CommentStatus.ACTIVE);
+        second = commentRepository.save(second);
+
+        List<Comment> streamed;
+        try (Stream<Comment> comments = commentRepository.streamAllForIndexing()) {
+            streamed = comments.toList();
+        }
+
+        assertEquals(List.of(first.getId(), second.getId()), streamed.stream().map(Comment::getId).toList());
+        assertEquals("Post de Prueba", streamed.get(0).getPost().getTitle());
+    }
+
+    private Comment threadComment(String content, Comment parent) {
+        Comment comment = new Comment();
+        comment.setContent(content);
+        comment.setPost(testPost);
+        comment.setUser(testUser);
+        comment.setStatus(Comment.CommentStatus.ACTIVE);
+        comment = commentRepository.save(comment);
+        comment.setParentId(parent != null ? parent.getId() : null);
+        comment.setRootId(parent != null ? parent.getRootId() : comment.getId());
+        comment.setDepth(parent != null ? parent.getDepth() + 1 : 0);
+        comment.setPath(CommentPath.child(parent != null ? parent.getPath() : null, comment.getId()));
+        return commentRepository.saveAndFlush(comment);
+    }
+
+    @Test
+    @DisplayName("Debe devolver un subárbol en orden de hilo con un rango de rutas")
+    void shouldLoadSubtreeInThreadOrder() {
+        Comment root = threadComment("Raíz", null);
+        Comment first = threadComment("Primera respuesta", root);
+        Comment second = threadComment("Segunda respuesta", root);
+        Comment nested = threadComment("Respuesta a la primera", first);
+        Comment otherRoot = threadComment("Otro hilo", null);
+
+        List<Comment> thread = commentRepository.findThreadRange(root.getRootId(), root.getPath(),
+                CommentPath.upperBound(root.getPath()), PageRequest.of(0, 10));
+        List<Comment> subtree = commentRepository.findThreadRange(root.getRootId(), first.getPath(),
+                CommentPath.upperBound(first.getPath()), PageRequest.of(0, 10));
+        List<Comment> roots = commentRepository.findRootPageFirst(testPost.getId(), PageRequest.of(0, 10));
+
+        assertEquals(List.of(first.getId(), nested.getId(), second.getId()),
+                thread.stream().map(Comment::getId).toList());
+        assertEquals(List.of(nested.getId()), subtree.stream().map(Comment::getId).toList());
+        assertEquals(2, roots.size());
+        assertTrue(roots.stream().allMatch(c -> c.getDepth() == 0));
+        assertTrue(roots.stream().anyMatch(c -> c.getId().equals(otherRoot.getId())));
+        assertTrue(commentRepository.existsByParentId(first.getId()));
+        assertFalse(commentRepository.existsByParentId(second.getId()));
+    }
+
+    @Test
+    @DisplayName("Debe devolver las primeras respuestas de varios hilos en una consulta")
+    void shouldLoadFirstRepliesOfSeveralThreads() {
+        Comment root = threadComment("Raíz", null);
+        Comment first = threadComment("Primera respuesta", root);
+        Comment nested = threadComment("Respuesta a la primera", first);
+        threadComment("Segunda respuesta", root);
+        Comment otherRoot = threadComment("Otro hilo", null);
+        Comment otherReply = threadComment("Respuesta en el otro hilo", otherRoot);
+        Comment quietRoot = threadComment("Hilo sin respuestas", null);
+
+        List<Comment> replies = commentRepository.findFirstRepliesOfThreads(
+                List.of(root.getId(), otherRoot.getId(), quietRoot.getId()), 2);
+
+        assertEquals(List.of(first.getId(), nested.getId(), otherReply.getId()),
+                replies.stream().map(Comment::getId).toList());
+        assertEquals(testUser.getUsername(), replies.get(0).getUser().getUsername());
+    }
+
+    @Test
+    @DisplayName("Debe convertir en raíces los comentarios sin ruta")
+    void shouldBackfillRootPaths() {
+        Comment legacy = commentRepository.saveAndFlush(testComment);
+
+        int updated = commentRepository.backfillRootPaths();
+        entityManager.clear();
+        Comment found = commentRepository.findById(legacy.getId()).orElseThrow();
+
+        assertEquals(1, updated);
+        assertEquals(CommentPath.segment(legacy.getId()), found.getPath());
+        assertEquals(legacy.getId(), found.getRootId());
+    }
+}
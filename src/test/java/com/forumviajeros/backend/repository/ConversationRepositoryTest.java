@@ -0,0 +1,90 @@
+package com.forumviajeros.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.forumviajeros.backend.model.Conversation;
+import com.forumviajeros.backend.model.User;
+
+/**
+ * Tests de integración para la creación y la bandeja de ConversationRepository
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+class ConversationRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Test
+    @DisplayName("Insertar el par dos veces deja una sola conversación vacía")
+    void insertIfAbsent_ShouldIgnoreExistingPair() {
+        User low = persistUser("conv_low");
+        User high = persistUser("conv_high");
+
+        assertEquals(1, conversationRepository.insertIfAbsent(low.getId(), high.getId(), LocalDateTime.now()));
+        assertEquals(0, conversationRepository.insertIfAbsent(low.getId(), high.getId(), LocalDateTime.now()));
+
+        Conversation conversation = conversationRepository.findByPairForUpdate(low.getId(), high.getId())
+                .orElseThrow();
+        assertEquals(0, conversation.getUnreadFor(low.getId()));
+        assertEquals(0, conversation.getUnreadFor(high.getId()));
+        assertEquals(1, conversationRepository.findAll().stream()
+                .filter(c -> c.getUserLow().getId().equals(low.getId()))
+                .count());
+    }
+
+    @Test
+    @DisplayName("La bandeja de cada lado del par avanza por cursor con desempate por id")
+    void findInboxAsLowBefore_ShouldContinueAfterCursor() {
+        User me = persistUser("inbox_me");
+        User first = persistUser("inbox_first");
+        User second = persistUser("inbox_second");
+        User third = persistUser("inbox_third");
+        LocalDateTime at = LocalDateTime.of(2024, 5, 1, 10, 0);
+        Conversation newest = persistConversation(me, first, at.plusMinutes(5));
+        Conversation tiedA = persistConversation(me, second, at);
+        Conversation tiedB = persistConversation(me, third, at);
+        Conversation older = tiedA.getId() < tiedB.getId() ? tiedA : tiedB;
+        Conversation newer = older == tiedA ? tiedB : tiedA;
+
+        List<Conversation> page = conversationRepository.findInboxAsLowFirstPage(me.getId(), PageRequest.of(0, 2));
+        assertEquals(List.of(newest.getId(), newer.getId()), page.stream().map(Conversation::getId).toList());
+
+        List<Conversation> rest = conversationRepository.findInboxAsLowBefore(me.getId(), at, newer.getId(),
+                PageRequest.of(0, 2));
+        assertEquals(List.of(older.getId()), rest.stream().map(Conversation::getId).toList());
+        assertEquals(List.of(), conversationRepository.findInboxAsHighFirstPage(me.getId(), PageRequest.of(0, 2)));
+    }
+
+    private Conversation persistConversation(User low, User high, LocalDateTime lastMessageAt) {
+        Conversation conversation = Conversation.between(low, high);
+        conversation.setLastMessageAt(lastMessageAt);
+        return entityManager.persistAndFlush(conversation);
+    }
+
+    private User persistUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password123");
+        user.setStatus(User.UserStatus.ACTIVE);
+        return entityManager.persistAndFlush(user);
+    }
+}
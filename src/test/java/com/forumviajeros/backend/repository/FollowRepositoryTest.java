@@ -0,0 +1,87 @@
+package com.forumviajeros.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.forumviajeros.backend.model.Follow;
+import com.forumviajeros.backend.model.User;
+
+/**
+ * Tests de integración para la paginación por cursor de FollowRepository
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+class FollowRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private FollowRepository followRepository;
+
+    private User target;
+    private List<Follow> follows;
+
+    @BeforeEach
+    void setUp() {
+        target = persistUser("target");
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+        follows = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            // Dos seguimientos con la misma fecha para comprobar el desempate por id
+            LocalDateTime createdAt = i < 2 ? base : base.plusMinutes(i);
+            follows.add(entityManager.persistAndFlush(Follow.builder()
+                    .follower(persistUser("follower" + i))
+                    .followed(target)
+                    .createdAt(createdAt)
+                    .build()));
+        }
+    }
+
+    @Test
+    @DisplayName("Recorrer por cursor devuelve todos los seguidores sin repetir ni saltar")
+    void keysetPages_ShouldCoverAllFollowersInOrder() {
+        List<Long> seen = new ArrayList<>();
+        List<Follow> page = followRepository.findFollowersFirstPage(target.getId(), PageRequest.of(0, 2));
+        while (!page.isEmpty()) {
+            page.forEach(f -> seen.add(f.getId()));
+            Follow last = page.get(page.size() - 1);
+            page = followRepository.findFollowersBefore(target.getId(), last.getCreatedAt(), last.getId(),
+                    PageRequest.of(0, 2));
+        }
+
+        List<Long> expected = follows.stream()
+                .sorted((a, b) -> {
+                    int byDate = b.getCreatedAt().compareTo(a.getCreatedAt());
+                    return byDate != 0 ? byDate : b.getId().compareTo(a.getId());
+                })
+                .map(Follow::getId)
+                .collect(Collectors.toList());
+        assertEquals(expected, seen);
+    }
+
+    private User persistUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password123");
+        user.setStatus(User.UserStatus.ACTIVE);
+        return entityManager.persistAndFlush(user);
+    }
+}
@@ -2,6 +2,7 @@ package com.forumviajeros.backend.repository;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.forumviajeros.backend.model.Category;
 import com.forumviajeros.backend.model.Forum;
+import com.forumviajeros.backend.model.Tag;
 import com.forumviajeros.backend.model.User;
 
 /**
@@ -36,6 +38,9 @@ class ForumRepositoryTest {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private TagRepository tagRepository;
+
     private User testUser;
     private Category testCategory;
     private Forum testForum;
@@ -100,19 +105,6 @@ class ForumRepositoryTest {
         assertEquals("Viaje a París", forums.get(0).getTitle());
     }
 
-    @Test
-    @DisplayName("Debe buscar foros por keyword")
-    void shouldSearchForumsByKeyword() {
-        forumRepository.save(testForum);
-        
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<Forum> results = forumRepository.searchByKeyword("París", pageable);
-        
-        assertFalse(results.isEmpty(), "Debe encontrar foros con la keyword");
-        assertTrue(results.getContent().get(0).getTitle().contains("París") || 
-                   results.getContent().get(0).getDescription().contains("París"));
-    }
-
     @Test
     @DisplayName("Debe paginar foros por categoría")
     void shouldPaginateForumsByCategory() {
@@ -213,5 +205,27 @@ class ForumRepositoryTest {
         assertNotNull(found.getCategory(), "Foro debe tener categoría");
         assertEquals(testCategory.getId(), found.getCategory().getId());
     }
-}
 
+    @Test
+    @DisplayName("Debe proyectar los resúmenes por categoría y sus etiquetas en bloque")
+    void shouldProjectSummariesByCategoryWithTags() {
+        Tag rio = new Tag();
+        rio.setName("rio_" + System.currentTimeMillis());
+        Tag museo = new Tag();
+        museo.setName("museo_" + System.currentTimeMillis());
+        testForum.setTags(new ArrayList<>(tagRepository.saveAll(List.of(rio, museo))));
+        Forum saved = forumRepository.save(testForum);
+
+        Page<Object[]> page = forumRepository.findSummariesByCategory(testCategory.getId(), PageRequest.of(0, 10));
+
+        assertEquals(1, page.getTotalElements());
+        Object[] row = page.getContent().get(0);
+        assertEquals(saved.getId(), row[0]);
+        assertEquals("Viaje a París", row[1]);
+        assertEquals(testCategory.getId(), row[3]);
+        assertEquals(Forum.ForumStatus.ACTIVE, row[4]);
+
+        List<Object[]> tags = forumRepository.findTagNamesByForumIds(List.of(saved.getId()));
+        assertEquals(List.of(museo.getName(), rio.getName()), tags.stream().map(tag -> (String) tag[1]).toList());
+    }
+}
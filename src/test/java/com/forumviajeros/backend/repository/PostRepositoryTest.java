@@ -2,6 +2,8 @@ package com.forumviajeros.backend.repository;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -12,12 +14,15 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 
 import com.forumviajeros.backend.model.Category;
+import com.forumviajeros.backend.model.Comment;
 import com.forumviajeros.backend.model.Forum;
 import com.forumviajeros.backend.model.Post;
+import com.forumviajeros.backend.model.Tag;
 import com.forumviajeros.backend.model.User;
 
 /**
@@ -34,6 +39,15 @@ class PostRepositoryTest {
     @Autowired
     private PostRepository postRepository;
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ForumRepository forumRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
     private User testUser;
     private Category testCategory;
     private Forum testForum;
@@ -166,5 +180,157 @@ class PostRepositoryTest {
         
         assertEquals(1L, updated.getViewCount());
     }
-}
 
+    private Post newPost(String title, Post.PostStatus status) {
+        Post post = new Post();
+        post.setTitle(title);
+        post.setContent("Contenido de " + title);
+        post.setStatus(status);
+        post.setForum(testForum);
+        post.setUser(testUser);
+        post.setViewCount(0L);
+        return entityManager.persistAndFlush(post);
+    }
+
+    @Test
+    @DisplayName("Debe paginar los posts activos de un foro por cursor")
+    void shouldPageActivePostsOfForumByCursor() {
+        Post oldest = newPost("Primero", Post.PostStatus.ACTIVE);
+        newPost("Archivado", Post.PostStatus.ARCHIVED);
+        Post middle = newPost("Segundo", Post.PostStatus.ACTIVE);
+        Post newest = newPost("Tercero", Post.PostStatus.ACTIVE);
+
+        List<Object[]> first = postRepository.findForumPageFirst(testForum.getId(), Post.PostStatus.ACTIVE,
+                PageRequest.of(0, 2));
+        Object[] last = first.get(first.size() - 1);
+        List<Object[]> next = postRepository.findForumPageBefore(testForum.getId(), Post.PostStatus.ACTIVE,
+                (LocalDateTime) last[5], (Long) last[0], PageRequest.of(0, 2));
+
+        assertEquals(List.of(newest.getId(), middle.getId()), first.stream().map(row -> row[0]).toList());
+        assertEquals(List.of(oldest.getId()), next.stream().map(row -> row[0]).toList());
+        assertEquals(Post.PostStatus.ACTIVE, first.get(0)[3]);
+    }
+
+    @Test
+    @DisplayName("Debe incrementar y reconciliar el contador de comentarios")
+    void shouldIncrementAndReconcileCommentCount() {
+        Post withComments = newPost("Con comentarios", Post.PostStatus.ACTIVE);
+        Post withoutComments = newPost("Sin comentarios", Post.PostStatus.ACTIVE);
+        for (int i = 0; i < 2; i++) {
+            Comment comment = new Comment();
+            comment.setContent("Comentario " + i);
+            comment.setPost(withComments);
+            comment.setUser(testUser);
+            comment.setStatus(Comment.CommentStatus.ACTIVE);
+            entityManager.persistAndFlush(comment);
+        }
+
+        postRepository.incrementCommentCount(withComments.getId(), 5);
+        entityManager.clear();
+        assertEquals(5L, postRepository.findById(withComments.getId()).orElseThrow().getCommentCount());
+
+        int fixed = postRepository.reconcileCommentCounts();
+        entityManager.clear();
+
+        assertEquals(1, fixed);
+        assertEquals(2L, postRepository.findById(withComments.getId()).orElseThrow().getCommentCount());
+        assertEquals(0L, postRepository.findById(withoutComments.getId()).orElseThrow().getCommentCount());
+    }
+
+    @Test
+    @DisplayName("Debe descontar a los autores los comentarios de un post y reconciliar su actividad")
+    void shouldDecrementAuthorsAndReconcileActivity() {
+        Post post = newPost("Con comentarios", Post.PostStatus.ACTIVE);
+        for (int i = 0; i < 3; i++) {
+            Comment comment = new Comment();
+            comment.setContent("Comentario " + i);
+            comment.setPost(post);
+            comment.setUser(testUser);
+            comment.setStatus(Comment.CommentStatus.ACTIVE);
+            entityManager.persistAndFlush(comment);
+        }
+        userRepository.incrementCommentCount(testUser.getId(), 3);
+
+        userRepository.decrementCommentCountsOfPost(post.getId());
+        entityManager.clear();
+        assertEquals(0L, userRepository.findById(testUser.getId()).orElseThrow().getCommentCount());
+
+        int fixed = userRepository.reconcileActivityCounts();
+        entityManager.clear();
+
+        User reconciled = userRepository.findById(testUser.getId()).orElseThrow();
+        assertEquals(1, fixed);
+        assertEquals(1L, reconciled.getForumCount());
+        assertEquals(1L, reconciled.getPostCount());
+        assertEquals(3L, reconciled.getCommentCount());
+    }
+
+    @Test
+    @DisplayName("Debe descontar lo que se borra en cascada con un usuario")
+    void shouldDecrementCountersOfDeletedUser() {
+        User other = new User();
+        other.setUsername("otheruser");
+        other.setEmail("other@example.com");
+        other.setPassword("password123");
+        other.setStatus(User.UserStatus.ACTIVE);
+        other = entityManager.persistAndFlush(other);
+
+        Forum otherForum = new Forum();
+        otherForum.setTitle("Foro ajeno");
+        otherForum.setDescription("Descripción");
+        otherForum.setStatus(Forum.ForumStatus.ACTIVE);
+        otherForum.setUser(other);
+        otherForum.setCategory(testCategory);
+        otherForum.setViewCount(0L);
+        otherForum = entityManager.persistAndFlush(otherForum);
+
+        Tag tag = new Tag();
+        tag.setName("cascada");
+        tag = entityManager.persistAndFlush(tag);
+
+        // Del usuario que se borra en un foro ajeno, con etiqueta y un comentario ajeno
+        Post ownPost = newPost("Propio", Post.PostStatus.ACTIVE);
+        ownPost.setForum(otherForum);
+        ownPost.setTags(new ArrayList<>(List.of(tag)));
+        ownPost = entityManager.persistAndFlush(ownPost);
+        newComment(ownPost, other);
+        // Ajeno en el foro del usuario que se borra
+        Post postInOwnForum = newPost("En su foro", Post.PostStatus.ACTIVE);
+        postInOwnForum.setUser(other);
+        entityManager.persistAndFlush(postInOwnForum);
+        // Ajeno que sobrevive, con un comentario del usuario que se borra
+        Post survivor = newPost("Superviviente", Post.PostStatus.ACTIVE);
+        survivor.setForum(otherForum);
+        survivor.setUser(other);
+        survivor = entityManager.persistAndFlush(survivor);
+        newComment(survivor, testUser);
+
+        forumRepository.reconcilePostCounts();
+        postRepository.reconcileCommentCounts();
+        userRepository.reconcileActivityCounts();
+        tagRepository.reconcileUsageCounts();
+
+        forumRepository.decrementPostCountsOfUser(testUser.getId());
+        postRepository.decrementCommentCountsOfUser(testUser.getId());
+        userRepository.decrementActivityCountsOfUser(testUser.getId());
+        tagRepository.decrementUsageCountsOfUser(testUser.getId());
+        entityManager.clear();
+
+        assertEquals(1L, forumRepository.findById(otherForum.getId()).orElseThrow().getPostCount());
+        assertEquals(0L, postRepository.findById(survivor.getId()).orElseThrow().getCommentCount());
+        User remaining = userRepository.findById(other.getId()).orElseThrow();
+        assertEquals(1L, remaining.getPostCount());
+        assertEquals(0L, remaining.getCommentCount());
+        assertEquals(1L, remaining.getForumCount());
+        assertEquals(0L, tagRepository.findById(tag.getId()).orElseThrow().getPostCount());
+    }
+
+    private void newComment(Post post, User author) {
+        Comment comment = new Comment();
+        comment.setContent("Comentario de " + author.getUsername());
+        comment.setPost(post);
+        comment.setUser(author);
+        comment.setStatus(Comment.CommentStatus.ACTIVE);
+        entityManager.persistAndFlush(comment);
+    }
+}
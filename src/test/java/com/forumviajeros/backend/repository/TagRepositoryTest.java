@@ -0,0 +1,135 @@
+package com.forumviajeros.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.forumviajeros.backend.model.Category;
+import com.forumviajeros.backend.model.Forum;
+import com.forumviajeros.backend.model.Post;
+import com.forumviajeros.backend.model.Tag;
+import com.forumviajeros.backend.model.User;
+
+/**
+ * Tests de integración para TagRepository
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+class TagRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    private Tag playa;
+    private Tag montana;
+    private Tag libre;
+    private Forum testForum;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("taguser");
+        user.setEmail("tag@example.com");
+        user.setPassword("password123");
+        user.setStatus(User.UserStatus.ACTIVE);
+        user = entityManager.persistAndFlush(user);
+
+        Category category = new Category();
+        category.setName("Asia");
+        category.setDescription("Foros sobre Asia");
+        category.setType("CONTINENT");
+        category = entityManager.persistAndFlush(category);
+
+        playa = newTag("playa");
+        montana = newTag("montaña");
+        libre = newTag("libre");
+
+        testForum = new Forum();
+        testForum.setTitle("Tailandia");
+        testForum.setDescription("Islas y templos");
+        testForum.setStatus(Forum.ForumStatus.ACTIVE);
+        testForum.setUser(user);
+        testForum.setCategory(category);
+        testForum.setViewCount(0L);
+        testForum.setTags(new ArrayList<>(List.of(playa)));
+        testForum = entityManager.persistAndFlush(testForum);
+
+        for (int i = 0; i < 2; i++) {
+            Post post = new Post();
+            post.setTitle("Post " + i);
+            post.setContent("Contenido " + i);
+            post.setStatus(Post.PostStatus.ACTIVE);
+            post.setForum(testForum);
+            post.setUser(user);
+            post.setViewCount(0L);
+            post.setTags(new ArrayList<>(i == 0 ? List.of(playa, montana) : List.of(montana)));
+            entityManager.persistAndFlush(post);
+        }
+    }
+
+    private Tag newTag(String name) {
+        Tag tag = new Tag();
+        tag.setName(name);
+        return entityManager.persistAndFlush(tag);
+    }
+
+    private Tag reload(Tag tag) {
+        return entityManager.find(Tag.class, tag.getId());
+    }
+
+    @Test
+    @DisplayName("Debe reconciliar los contadores de uso desde las tablas de unión")
+    void shouldReconcileUsageCounts() {
+        int fixed = tagRepository.reconcileUsageCounts();
+        entityManager.clear();
+
+        assertEquals(2, fixed);
+        assertEquals(1L, reload(playa).getForumCount());
+        assertEquals(1L, reload(playa).getPostCount());
+        assertEquals(2L, reload(montana).getPostCount());
+        assertEquals(0L, reload(libre).getPostCount());
+        assertEquals(0, tagRepository.reconcileUsageCounts());
+    }
+
+    @Test
+    @DisplayName("Debe ordenar por uso y descontar las etiquetas de los posts de un foro")
+    void shouldOrderByUsageAndDecrementPostCountsOfForum() {
+        tagRepository.reconcileUsageCounts();
+        entityManager.clear();
+
+        assertEquals(List.of("montaña", "playa", "libre"), tagRepository.findMostUsed(PageRequest.of(0, 3))
+                .stream().map(Tag::getName).toList());
+
+        tagRepository.incrementForumCounts(List.of(playa.getId()), -1);
+        tagRepository.decrementPostCountsOfForum(testForum.getId());
+        entityManager.clear();
+
+        assertEquals(0L, reload(playa).getForumCount());
+        assertEquals(0L, reload(playa).getPostCount());
+        assertEquals(0L, reload(montana).getPostCount());
+    }
+
+    @Test
+    @DisplayName("Debe detectar si una etiqueta está en uso")
+    void shouldDetectTagInUse() {
+        assertTrue(tagRepository.isInUse(playa.getId()));
+        assertTrue(tagRepository.isInUse(montana.getId()));
+        assertFalse(tagRepository.isInUse(libre.getId()));
+    }
+}
@@ -0,0 +1,189 @@
+package com.forumviajeros.backend.service.achievement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.forumviajeros.backend.dto.achievement.AchievementDTO;
+import com.forumviajeros.backend.dto.achievement.UserAchievementsDTO;
+import com.forumviajeros.backend.event.AchievementAwardedEvent;
+import com.forumviajeros.backend.event.VisitedPlaceChangedEvent;
+import com.forumviajeros.backend.model.User;
+import com.forumviajeros.backend.model.UserAchievement;
+import com.forumviajeros.backend.model.VisitedPlace.PlaceStatus;
+import com.forumviajeros.backend.repository.PostRepository;
+import com.forumviajeros.backend.repository.TriviaScoreRepository;
+import com.forumviajeros.backend.repository.UserAchievementRepository;
+import com.forumviajeros.backend.repository.UserRepository;
+import com.forumviajeros.backend.repository.VisitedPlaceRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AchievementService Tests")
+class AchievementServiceTest {
+
+    @Mock
+    private UserAchievementRepository achievementRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private VisitedPlaceRepository visitedPlaceRepository;
+
+    @Mock
+    private TriviaScoreRepository triviaScoreRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private AchievementServiceImpl achievementService;
+
+    @Test
+    @DisplayName("Concede solo las reglas pendientes cuyo umbral se alcanza")
+    void evaluate_ShouldAwardOnlyPendingRulesReached() {
+        when(achievementRepository.findCodesByUserId(1L)).thenReturn(List.of("FIRST_POST"));
+        when(postRepository.countByUserId(1L)).thenReturn(12L);
+        when(userRepository.getReferenceById(1L)).thenReturn(new User());
+        when(achievementRepository.save(any(UserAchievement.class))).thenAnswer(invocation -> {
+            UserAchievement achievement = invocation.getArgument(0);
+            achievement.setId(99L);
+            return achievement;
+        });
+
+        List<AchievementDTO> granted = achievementService.evaluate(1L, EnumSet.of(AchievementMetric.POSTS_CREATED));
+
+        assertEquals(List.of("STORYTELLER"), granted.stream().map(AchievementDTO::getCode).collect(Collectors.toList()));
+        ArgumentCaptor<AchievementAwardedEvent> captor = ArgumentCaptor.forClass(AchievementAwardedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(99L, captor.getValue().getAchievementId());
+        assertEquals(false, captor.getValue().isBackfill());
+    }
+
+    @Test
+    @DisplayName("No consulta la métrica si todas sus reglas ya están concedidas")
+    void evaluate_ShouldSkipMetric_WhenAllRulesAwarded() {
+        when(achievementRepository.findCodesByUserId(1L))
+                .thenReturn(List.of("URBANITE", "CITY_COLLECTOR"));
+
+        List<AchievementDTO> granted = achievementService.evaluate(1L, EnumSet.of(AchievementMetric.CITIES_VISITED));
+
+        assertTrue(granted.isEmpty());
+        verify(visitedPlaceRepository, never()).countCitiesByUserIdAndStatus(any(), any());
+        verify(achievementRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Una baja en el mapa de viajes no dispara ninguna evaluación")
+    void onVisitedPlaceChanged_ShouldIgnoreRemovals() {
+        achievementService.onVisitedPlaceChanged(new VisitedPlaceChangedEvent(1L, 2L, "ES", -1));
+
+        verify(achievementRepository, never()).findCodesByUserId(any());
+    }
+
+    @Test
+    @DisplayName("Un nuevo país evalúa países, continentes y ciudades")
+    void onVisitedPlaceChanged_ShouldEvaluateCountryMetrics() {
+        when(achievementRepository.findCodesByUserId(1L)).thenReturn(List.of());
+        when(visitedPlaceRepository.countDistinctCountriesByUserIdAndStatus(1L, PlaceStatus.VISITED)).thenReturn(5L);
+        when(visitedPlaceRepository.findVisitedContinentsByUserId(1L)).thenReturn(List.of("Europa"));
+        when(visitedPlaceRepository.countCitiesByUserIdAndStatus(1L, PlaceStatus.VISITED)).thenReturn(0L);
+        when(userRepository.getReferenceById(1L)).thenReturn(new User());
+        when(achievementRepository.save(any(UserAchievement.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        achievementService.onVisitedPlaceChanged(new VisitedPlaceChangedEvent(1L, 2L, "ES", 1));
+
+        // FIRST_STEP, EXPLORER, LEVEL_BEGINNER, LEVEL_TOURIST
+        verify(achievementRepository, times(4)).save(any(UserAchievement.class));
+    }
+
+    @Test
+    @DisplayName("El perfil devuelve badges en orden de catálogo y el nivel más alto")
+    void getUserAchievements_ShouldBuildProfileFromAwards() {
+        LocalDateTime now = LocalDateTime.now();
+        when(achievementRepository.findByUserIdOrderByAwardedAtAsc(1L)).thenReturn(List.of(
+                UserAchievement.builder().code("INTERCONTINENTAL").awardedAt(now).build(),
+                UserAchievement.builder().code("FIRST_STEP").awardedAt(now).build(),
+                UserAchievement.builder().code("LEVEL_BEGINNER").awardedAt(now).build(),
+                UserAchievement.builder().code("LEVEL_TOURIST").awardedAt(now).build(),
+                UserAchievement.builder().code("RETIRED_RULE").awardedAt(now).build()));
+
+        UserAchievementsDTO dto = achievementService.getUserAchievements(1L);
+
+        assertEquals(List.of("🎒 Primer Paso", "🌐 Intercontinental"), dto.getBadges());
+        assertEquals("🗺️ Turista", dto.getTravelerLevel());
+        assertEquals(4, dto.getAchievements().size());
+    }
+
+    @Test
+    @DisplayName("Sin logros el nivel de viajero es el inicial")
+    void getUserAchievements_ShouldReturnDefaultLevel_WhenNoAwards() {
+        when(achievementRepository.findByUserIdOrderByAwardedAtAsc(1L)).thenReturn(List.of());
+
+        UserAchievementsDTO dto = achievementService.getUserAchievements(1L);
+
+        assertEquals(AchievementRule.DEFAULT_TRAVELER_LEVEL, dto.getTravelerLevel());
+        assertTrue(dto.getBadges().isEmpty());
+        // Leer el perfil es una consulta directa: nunca se recalculan las métricas
+        verifyNoInteractions(visitedPlaceRepository, triviaScoreRepository, postRepository);
+    }
+
+    @Test
+    @DisplayName("El nivel de varios usuarios es el de mayor umbral concedido")
+    void getTravelerLevels_ShouldPickHighestLevelPerUser() {
+        when(achievementRepository.findCodesByUserIds(eq(List.of(1L, 2L, 3L)), any())).thenReturn(List.of(
+                new Object[] { 1L, "LEVEL_TOURIST" },
+                new Object[] { 1L, "LEVEL_BEGINNER" },
+                new Object[] { 2L, "LEVEL_BEGINNER" }));
+
+        Map<Long, String> levels = achievementService.getTravelerLevels(List.of(1L, 2L, 3L));
+
+        assertEquals(Map.of(1L, "🗺️ Turista", 2L, "👣 Principiante"), levels);
+    }
+
+    @Test
+    @DisplayName("El backfill recalcula sin notificar a los usuarios pendientes")
+    void backfillPending_ShouldRecalculatePendingUsersAsBackfill() {
+        when(achievementRepository.findUserIdsPendingBackfill(PlaceStatus.VISITED, "FIRST_STEP", "FIRST_POST", 5,
+                "TRIVIA_APPRENTICE")).thenReturn(List.of(1L));
+        when(achievementRepository.findCodesByUserId(1L)).thenReturn(List.of());
+        when(postRepository.countByUserId(1L)).thenReturn(1L);
+        when(userRepository.getReferenceById(1L)).thenReturn(new User());
+        when(achievementRepository.save(any(UserAchievement.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertEquals(1, achievementService.backfillPending());
+
+        ArgumentCaptor<AchievementAwardedEvent> captor = ArgumentCaptor.forClass(AchievementAwardedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals("FIRST_POST", captor.getValue().getCode());
+        assertTrue(captor.getValue().isBackfill());
+    }
+}
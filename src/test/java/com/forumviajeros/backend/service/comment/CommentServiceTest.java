@@ -1,16 +1,23 @@
 package com.forumviajeros.backend.service.comment;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,15 +25,21 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
+import com.forumviajeros.backend.dto.CursorPageDTO;
 import com.forumviajeros.backend.dto.comment.CommentRequestDTO;
 import com.forumviajeros.backend.dto.comment.CommentResponseDTO;
+import com.forumviajeros.backend.dto.comment.CommentThreadDTO;
+import com.forumviajeros.backend.exception.BadRequestException;
 import com.forumviajeros.backend.exception.ResourceNotFoundException;
 import com.forumviajeros.backend.model.Comment;
 import com.forumviajeros.backend.model.Post;
@@ -52,6 +65,9 @@ class CommentServiceTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CommentServiceImpl commentService;
 
@@ -116,6 +132,8 @@ class CommentServiceTest {
         verify(commentRepository).save(any(Comment.class));
         verify(userRepository).findByUsername("testuser");
         verify(postRepository).findById(1L);
+        verify(postRepository).incrementCommentCount(1L, 1);
+        verify(userRepository).incrementCommentCount(testUser.getId(), 1);
     }
 
     @Test
@@ -319,5 +337,171 @@ class CommentServiceTest {
         });
         verify(commentRepository, never()).deleteById(any());
     }
-}
 
+    private Comment threadComment(Long id, Comment parent) {
+        Comment comment = new Comment();
+        comment.setId(id);
+        comment.setContent("Comentario " + id);
+        comment.setUser(testUser);
+        comment.setPost(testPost);
+        comment.setStatus(Comment.CommentStatus.ACTIVE);
+        comment.setCreatedAt(LocalDateTime.now());
+        comment.setParentId(parent != null ? parent.getId() : null);
+        comment.setRootId(parent != null ? parent.getRootId() : id);
+        comment.setDepth(parent != null ? parent.getDepth() + 1 : 0);
+        comment.setPath(CommentPath.child(parent != null ? parent.getPath() : null, id));
+        return comment;
+    }
+
+    @Test
+    @DisplayName("Responder a un comentario lo coloca en el hilo del padre")
+    void createComment_ShouldPlaceReplyUnderParent() {
+        Comment parent = threadComment(5L, threadComment(4L, null));
+        commentRequestDTO.setParentId(5L);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
+        when(commentRepository.findById(5L)).thenReturn(Optional.of(parent));
+        when(commentRepository.save(any(Comment.class))).thenAnswer(invocation -> {
+            Comment comment = invocation.getArgument(0);
+            comment.setId(9L);
+            return comment;
+        });
+
+        CommentResponseDTO result = commentService.createComment(commentRequestDTO, authentication, 1L);
+
+        assertEquals(5L, result.getParentId());
+        assertEquals(2, result.getDepth());
+        ArgumentCaptor<Comment> saved = ArgumentCaptor.forClass(Comment.class);
+        verify(commentRepository).save(saved.capture());
+        assertEquals(4L, saved.getValue().getRootId());
+        assertEquals(parent.getPath() + CommentPath.segment(9L), saved.getValue().getPath());
+    }
+
+    @Test
+    @DisplayName("Por debajo de la profundidad máxima la respuesta queda como hermana")
+    void createComment_ShouldFlattenBeyondMaxDepth() {
+        Comment parent = threadComment(1L, null);
+        for (long id = 2; id <= CommentPath.MAX_DEPTH + 1; id++) {
+            parent = threadComment(id, parent);
+        }
+        Comment deepest = parent;
+        commentRequestDTO.setParentId(deepest.getId());
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
+        when(commentRepository.findById(deepest.getId())).thenReturn(Optional.of(deepest));
+        when(commentRepository.save(any(Comment.class))).thenAnswer(invocation -> {
+            Comment comment = invocation.getArgument(0);
+            comment.setId(99L);
+            return comment;
+        });
+
+        CommentResponseDTO result = commentService.createComment(commentRequestDTO, authentication, 1L);
+
+        assertEquals(CommentPath.MAX_DEPTH, result.getDepth());
+        assertEquals(deepest.getParentId(), result.getParentId());
+    }
+
+    @Test
+    @DisplayName("Responder a un comentario de otra publicación falla")
+    void createComment_ShouldThrowException_WhenParentInOtherPost() {
+        Post otherPost = new Post();
+        otherPost.setId(2L);
+        Comment parent = threadComment(5L, null);
+        parent.setPost(otherPost);
+        commentRequestDTO.setParentId(5L);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
+        when(commentRepository.findById(5L)).thenReturn(Optional.of(parent));
+
+        assertThrows(BadRequestException.class,
+                () -> commentService.createComment(commentRequestDTO, authentication, 1L));
+        verify(commentRepository, never()).save(any(Comment.class));
+    }
+
+    @Test
+    @DisplayName("Listar hilos precarga las primeras respuestas con cursor para las siguientes")
+    void getThreadsByPost_ShouldPrefetchRepliesWithCursor() {
+        Comment root = threadComment(10L, null);
+        Comment firstReply = threadComment(11L, root);
+        Comment secondReply = threadComment(12L, root);
+        Comment quietRoot = threadComment(20L, null);
+        when(postRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findRootPageFirst(eq(1L), any(Pageable.class))).thenReturn(List.of(root, quietRoot));
+        when(commentRepository.findFirstRepliesOfThreads(List.of(10L, 20L), 2))
+                .thenReturn(List.of(firstReply, secondReply));
+
+        CursorPageDTO<CommentThreadDTO> page = commentService.getThreadsByPost(1L, null, 20, 1);
+
+        // Una sola consulta de respuestas para toda la página
+        verify(commentRepository, never()).findThreadRange(any(), any(), any(), any());
+        assertTrue(page.getItems().get(1).getReplies().getItems().isEmpty());
+        assertFalse(page.getItems().get(1).getReplies().isHasMore());
+        CommentThreadDTO thread = page.getItems().get(0);
+        assertFalse(page.isHasMore());
+        assertEquals(10L, thread.getComment().getId());
+        assertEquals(List.of(11L), thread.getReplies().getItems().stream().map(CommentResponseDTO::getId).toList());
+        assertTrue(thread.getReplies().isHasMore());
+        assertEquals(firstReply.getPath(), new String(
+                Base64.getUrlDecoder().decode(thread.getReplies().getNextCursor())));
+    }
+
+    @Test
+    @DisplayName("Un cursor de respuestas de otro hilo se rechaza")
+    void getReplies_ShouldRejectCursorOutsideSubtree() {
+        Comment root = threadComment(10L, null);
+        when(commentRepository.findById(10L)).thenReturn(Optional.of(root));
+        String foreignCursor = CommentPath.encodeCursor(CommentPath.child(CommentPath.segment(20L), 21L));
+
+        assertThrows(BadRequestException.class, () -> commentService.getReplies(10L, foreignCursor, 20));
+    }
+
+    @Test
+    @DisplayName("Eliminar un comentario con respuestas lo deja como marcador")
+    void deleteComment_ShouldSoftDelete_WhenHasReplies() {
+        when(commentRepository.findById(1L)).thenReturn(Optional.of(testComment));
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(commentRepository.existsByParentId(1L)).thenReturn(true);
+
+        commentService.deleteComment(1L, authentication);
+
+        assertEquals(Comment.CommentStatus.DELETED, testComment.getStatus());
+        verify(commentRepository, never()).deleteById(any());
+        verify(postRepository, never()).incrementCommentCount(any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Al borrar la última respuesta se elimina también el marcador padre")
+    void deleteComment_ShouldRemoveTombstone_WhenLastReplyDeleted() {
+        testComment.setStatus(Comment.CommentStatus.DELETED);
+        Comment reply = new Comment();
+        reply.setId(2L);
+        reply.setUser(testUser);
+        reply.setPost(testPost);
+        reply.setParentId(1L);
+        reply.setStatus(Comment.CommentStatus.ACTIVE);
+        when(commentRepository.findById(2L)).thenReturn(Optional.of(reply));
+        when(commentRepository.findById(1L)).thenReturn(Optional.of(testComment));
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+
+        commentService.deleteComment(2L, authentication);
+
+        verify(commentRepository).deleteById(2L);
+        verify(commentRepository).deleteById(1L);
+        verify(postRepository, times(2)).incrementCommentCount(1L, -1);
+    }
+
+    @Test
+    @DisplayName("Un marcador eliminado no expone contenido ni autor")
+    void getComment_ShouldHideDeletedCommentContentAndAuthor() {
+        testComment.setStatus(Comment.CommentStatus.DELETED);
+        when(commentRepository.findById(1L)).thenReturn(Optional.of(testComment));
+
+        CommentResponseDTO result = commentService.getComment(1L);
+
+        assertEquals("DELETED", result.getStatus());
+        assertNull(result.getContent());
+        assertNull(result.getUserId());
+        assertNull(result.getUsername());
+        assertNull(result.getUserAvatar());
+    }
+}
@@ -0,0 +1,189 @@
+package com.forumviajeros.backend.service.compatibility;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.forumviajeros.backend.dto.compatibility.TravelCompatibilityDTO;
+import com.forumviajeros.backend.event.VisitedPlaceChangedEvent;
+import com.forumviajeros.backend.model.User;
+import com.forumviajeros.backend.model.VisitedPlace.PlaceStatus;
+import com.forumviajeros.backend.repository.CountryRepository;
+import com.forumviajeros.backend.repository.UserRepository;
+import com.forumviajeros.backend.repository.VisitedPlaceRepository;
+import com.forumviajeros.backend.service.compatibility.TravelCompatibilityServiceImpl.Match;
+import com.forumviajeros.backend.service.compatibility.TravelCompatibilityServiceImpl.TravelBits;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TravelCompatibilityService Tests")
+class TravelCompatibilityServiceTest {
+
+    @Mock
+    private VisitedPlaceRepository visitedPlaceRepository;
+
+    @Mock
+    private CountryRepository countryRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private TravelCompatibilityServiceImpl compatibilityService;
+
+    @Test
+    @DisplayName("Jaccard y coincidencia de lista de deseos sobre bitsets")
+    void score_ShouldCombineJaccardAndWishlistMatch() {
+        long[] myVisited = new long[4];
+        long[] myWishlist = new long[4];
+        long[] theirVisited = new long[4];
+        CountryBitset.set(myVisited, 1);
+        CountryBitset.set(myVisited, 70);
+        CountryBitset.set(myWishlist, 200);
+        CountryBitset.set(myWishlist, 150);
+        CountryBitset.set(theirVisited, 1);
+        CountryBitset.set(theirVisited, 200);
+
+        Match match = TravelCompatibilityServiceImpl.score(
+                new TravelBits(1L, myVisited, myWishlist), new TravelBits(2L, theirVisited, new long[4]));
+
+        assertEquals(1, match.shared);
+        assertEquals(1.0 / 3, match.jaccard, 1e-9);
+        assertEquals(0.5, match.wishlistMatch, 1e-9);
+        assertEquals((1.0 / 3 + 0.5) / 2, match.score, 1e-9);
+    }
+
+    @Test
+    @DisplayName("El top-k paralelo coincide con el cálculo secuencial")
+    void topK_ShouldMatchBruteForce() {
+        Random random = new Random(42);
+        TravelBits[] users = new TravelBits[20000];
+        for (int i = 0; i < users.length; i++) {
+            users[i] = randomBits(i, random);
+        }
+        TravelBits me = users[123];
+
+        List<Long> expected = new ArrayList<>();
+        List<Match> all = new ArrayList<>();
+        for (TravelBits other : users) {
+            Match match = TravelCompatibilityServiceImpl.score(me, other);
+            if (other.userId != me.userId && match.score > 0) {
+                all.add(match);
+            }
+        }
+        all.sort(Comparator.comparingDouble((Match m) -> m.score).reversed()
+                .thenComparingLong(m -> m.userId));
+        for (int i = 0; i < 10; i++) {
+            expected.add(all.get(i).userId);
+        }
+
+        List<Match> top = TravelCompatibilityServiceImpl.topK(me, users, 10);
+
+        assertEquals(expected, top.stream().map(m -> m.userId).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Los viajeros similares se ordenan por puntuación y se actualizan con los eventos")
+    void findSimilarTravelers_ShouldRankAndRefreshOnChange() {
+        when(countryRepository.findAllIsoCodes()).thenReturn(rows(
+                new Object[] { 10L, "ES", "ESP" },
+                new Object[] { 20L, "FR", "FRA" },
+                new Object[] { 30L, "JP", "JPN" }));
+        when(visitedPlaceRepository.findAllUserCountryStatuses()).thenReturn(rows(
+                new Object[] { 1L, 10L, PlaceStatus.VISITED },
+                new Object[] { 1L, 20L, PlaceStatus.LIVED },
+                new Object[] { 2L, 10L, PlaceStatus.VISITED },
+                new Object[] { 2L, 20L, PlaceStatus.VISITED },
+                new Object[] { 3L, 10L, PlaceStatus.VISITED },
+                new Object[] { 3L, 30L, PlaceStatus.VISITED }));
+        when(userRepository.findAllById(any())).thenReturn(List.of(user(2L), user(3L)));
+
+        List<TravelCompatibilityDTO> similar = compatibilityService.findSimilarTravelers(1L, 5);
+
+        assertEquals(List.of(2L, 3L), similar.stream().map(TravelCompatibilityDTO::getUserId).collect(Collectors.toList()));
+        assertEquals(1.0, similar.get(0).getJaccard());
+
+        // El usuario 2 borra todo su mapa
+        when(visitedPlaceRepository.findCountryIdStatusesByUserId(2L)).thenReturn(List.of());
+        when(userRepository.findAllById(any())).thenReturn(List.of(user(3L)));
+        compatibilityService.onVisitedPlaceChanged(new VisitedPlaceChangedEvent(2L, 10L, "ES", -1));
+
+        similar = compatibilityService.findSimilarTravelers(1L, 5);
+
+        assertEquals(1, similar.size());
+        assertEquals(3L, similar.get(0).getUserId());
+    }
+
+    @Test
+    @DisplayName("Los cambios recibidos durante la carga se recalculan al terminar")
+    void afterSingletonsInstantiated_ShouldReplayChangesReceivedWhileLoading() {
+        when(countryRepository.findAllIsoCodes()).thenReturn(rows(
+                new Object[] { 10L, "ES", "ESP" },
+                new Object[] { 20L, "FR", "FRA" }));
+        // La consulta ya ha leído la tabla cuando el usuario 2 añade sus países
+        when(visitedPlaceRepository.findAllUserCountryStatuses()).thenAnswer(invocation -> {
+            compatibilityService.onVisitedPlaceChanged(new VisitedPlaceChangedEvent(2L, 20L, "FR", 1));
+            return rows(
+                    new Object[] { 1L, 10L, PlaceStatus.VISITED },
+                    new Object[] { 1L, 20L, PlaceStatus.VISITED });
+        });
+        when(visitedPlaceRepository.findCountryIdStatusesByUserId(2L)).thenReturn(rows(
+                new Object[] { 10L, PlaceStatus.VISITED },
+                new Object[] { 20L, PlaceStatus.VISITED }));
+        when(userRepository.findAllById(any())).thenReturn(List.of(user(2L)));
+
+        compatibilityService.afterSingletonsInstantiated();
+        List<TravelCompatibilityDTO> similar = compatibilityService.findSimilarTravelers(1L, 5);
+
+        assertEquals(1, similar.size());
+        assertEquals(1.0, similar.get(0).getJaccard());
+    }
+
+    @Test
+    @DisplayName("Un usuario sin lugares no tiene viajeros similares")
+    void findSimilarTravelers_ShouldReturnEmpty_WhenUserHasNoPlaces() {
+        when(countryRepository.findAllIsoCodes()).thenReturn(rows(new Object[] { 10L, "ES", "ESP" }));
+        when(visitedPlaceRepository.findAllUserCountryStatuses()).thenReturn(rows(
+                new Object[] { 2L, 10L, PlaceStatus.VISITED }));
+
+        assertTrue(compatibilityService.findSimilarTravelers(1L, 5).isEmpty());
+    }
+
+    private TravelBits randomBits(long userId, Random random) {
+        long[] visited = new long[4];
+        long[] wishlist = new long[4];
+        for (int j = 0; j < 15; j++) {
+            CountryBitset.set(visited, random.nextInt(195));
+            CountryBitset.set(wishlist, random.nextInt(195));
+        }
+        return new TravelBits(userId, visited, wishlist);
+    }
+
+    private List<Object[]> rows(Object[]... values) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Object[] value : values) {
+            rows.add(value);
+        }
+        return rows;
+    }
+
+    private User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        return user;
+    }
+}
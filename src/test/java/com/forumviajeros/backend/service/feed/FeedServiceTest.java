@@ -0,0 +1,125 @@
+package com.forumviajeros.backend.service.feed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import com.forumviajeros.backend.dto.feed.FeedItemDTO;
+import com.forumviajeros.backend.model.Forum;
+import com.forumviajeros.backend.model.Post;
+import com.forumviajeros.backend.model.User;
+import com.forumviajeros.backend.repository.FollowRepository;
+import com.forumviajeros.backend.repository.PostLikeRepository;
+import com.forumviajeros.backend.repository.PostRepository;
+import com.forumviajeros.backend.repository.UserRepository;
+import com.forumviajeros.backend.service.trending.TrendingIndex;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FeedService Tests")
+class FeedServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private FollowRepository followRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PostLikeRepository postLikeRepository;
+
+    @Mock
+    private TrendingIndex trendingIndex;
+
+    @InjectMocks
+    private FeedServiceImpl feedService;
+
+    /** Posts activos que no están en tendencia, del más reciente al más antiguo */
+    private final List<Post> recent = LongStream.rangeClosed(10, 16).mapToObj(FeedServiceTest::post).toList();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(trendingIndex.capacity()).thenReturn(100);
+        lenient().when(trendingIndex.topPosts(null, null, 100)).thenReturn(List.of(1L, 2L, 3L));
+        lenient().when(postRepository.findAllById(anyCollection())).thenAnswer(invocation ->
+                invocation.<List<Long>>getArgument(0).stream().map(FeedServiceTest::post).toList());
+        lenient().when(postRepository.findByStatusAndIdNotIn(eq(Post.PostStatus.ACTIVE), eq(List.of(1L, 2L, 3L)),
+                any(Pageable.class))).thenAnswer(invocation -> {
+                    Pageable pageable = invocation.getArgument(2);
+                    int from = (int) Math.min(pageable.getOffset(), recent.size());
+                    int to = Math.min(from + pageable.getPageSize(), recent.size());
+                    return new PageImpl<>(recent.subList(from, to), pageable, recent.size());
+                });
+        lenient().when(postLikeRepository.countByPostId(anyLong())).thenReturn(0L);
+    }
+
+    @Test
+    @DisplayName("Completa la página de tendencias con los posts recientes")
+    void getExploreFeed_ShouldFillPageWithRecentPosts() {
+        Page<FeedItemDTO> page = feedService.getExploreFeed(PageRequest.of(0, 5));
+
+        assertEquals(List.of(1L, 2L, 3L, 10L, 11L), ids(page));
+        assertEquals(10, page.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Las páginas siguientes continúan los recientes sin repetir ni saltar posts")
+    void getExploreFeed_ShouldContinueRecentPostsAcrossPages() {
+        assertEquals(List.of(12L, 13L, 14L, 15L, 16L), ids(feedService.getExploreFeed(PageRequest.of(1, 5))));
+        assertEquals(List.of(), ids(feedService.getExploreFeed(PageRequest.of(2, 5))));
+    }
+
+    @Test
+    @DisplayName("Una página llena de tendencias solo cuenta los recientes")
+    void getExploreFeed_ShouldCountRecentWhenPageIsTrendingOnly() {
+        when(postRepository.countByStatusAndIdNotIn(Post.PostStatus.ACTIVE, List.of(1L, 2L, 3L))).thenReturn(7L);
+
+        Page<FeedItemDTO> page = feedService.getExploreFeed(PageRequest.of(0, 2));
+
+        assertEquals(List.of(1L, 2L), ids(page));
+        assertEquals(10, page.getTotalElements());
+    }
+
+    private static List<Long> ids(Page<FeedItemDTO> page) {
+        return page.getContent().stream().map(FeedItemDTO::getId).collect(Collectors.toList());
+    }
+
+    private static Post post(long id) {
+        User author = new User();
+        author.setId(1L);
+        author.setUsername("autor");
+        Forum forum = new Forum();
+        forum.setId(1L);
+        forum.setTitle("Foro");
+        Post post = new Post();
+        post.setId(id);
+        post.setTitle("Post " + id);
+        post.setContent("Contenido");
+        post.setStatus(Post.PostStatus.ACTIVE);
+        post.setUser(author);
+        post.setForum(forum);
+        return post;
+    }
+}
@@ -0,0 +1,187 @@
+package com.forumviajeros.backend.service.follow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.Authentication;
+
+import com.forumviajeros.backend.dto.follow.FollowResponseDTO;
+import com.forumviajeros.backend.dto.follow.FollowStateDTO;
+import com.forumviajeros.backend.dto.follow.FollowStatsDTO;
+import com.forumviajeros.backend.dto.follow.UserSummaryDTO;
+import com.forumviajeros.backend.event.FollowChangedEvent;
+import com.forumviajeros.backend.model.Follow;
+import com.forumviajeros.backend.model.User;
+import com.forumviajeros.backend.repository.FollowRepository;
+import com.forumviajeros.backend.repository.UserRepository;
+import com.forumviajeros.backend.service.NotificationService;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FollowService Tests")
+class FollowServiceTest {
+
+    @Mock
+    private FollowRepository followRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private SocialGraphIndex socialGraphIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private Authentication auth;
+
+    @InjectMocks
+    private FollowServiceImpl followService;
+
+    private User me;
+
+    @BeforeEach
+    void setUp() {
+        me = user(1L);
+        lenient().when(auth.getName()).thenReturn("user1");
+        lenient().when(userRepository.findByUsername("user1")).thenReturn(Optional.of(me));
+    }
+
+    @Test
+    @DisplayName("Resuelve en bloque ambos sentidos del seguimiento y los contadores")
+    void getFollowStates_ShouldResolveBothDirectionsAndCounts() {
+        when(followRepository.findFollowPairsBetween(any(), anyCollection())).thenReturn(rows(
+                new Object[] { 1L, 2L },
+                new Object[] { 3L, 1L },
+                new Object[] { 1L, 3L }));
+        when(userRepository.findFollowCountsByIds(anyCollection())).thenReturn(rows(
+                new Object[] { 2L, 10L, 4L },
+                new Object[] { 3L, 0L, 1L }));
+
+        Map<Long, FollowStateDTO> states = followService.getFollowStates(List.of(2L, 3L, 4L), true, auth);
+
+        assertTrue(states.get(2L).getIsFollowedByMe());
+        assertFalse(states.get(2L).getIsFollowingMe());
+        assertTrue(states.get(3L).getIsFollowedByMe());
+        assertTrue(states.get(3L).getIsFollowingMe());
+        assertFalse(states.get(4L).getIsFollowedByMe());
+        assertEquals(10L, states.get(2L).getFollowersCount());
+        assertEquals(1L, states.get(3L).getFollowingCount());
+    }
+
+    @Test
+    @DisplayName("Las sugerencias usan una sola consulta de relaciones y los contadores de users")
+    void getSuggestedUsers_ShouldUseSetBasedQueries() {
+        User popular = user(2L);
+        popular.setFollowersCount(5L);
+        when(socialGraphIndex.suggestions(1L, 0, 10)).thenReturn(List.of(2L, 3L, 4L));
+        when(userRepository.findAllById(List.of(2L, 3L, 4L))).thenReturn(List.of(user(4L), popular, user(3L)));
+        when(followRepository.findFollowPairsBetween(any(), anyCollection())).thenReturn(rows(
+                new Object[] { 4L, 1L }));
+
+        List<UserSummaryDTO> result = followService.getSuggestedUsers(auth, PageRequest.of(0, 10));
+
+        assertEquals(3, result.size());
+        assertEquals(2L, result.get(0).getId());
+        assertEquals(5L, result.get(0).getFollowersCount());
+        assertFalse(result.get(2).getIsFollowedByMe());
+        verify(followRepository, times(1)).findFollowPairsBetween(any(), anyCollection());
+        verify(userRepository, never()).findFollowCountsByIds(anyCollection());
+        verify(followRepository, never()).isFollowing(any(), any());
+        verify(followRepository, never()).countByFollowed(any());
+    }
+
+    @Test
+    @DisplayName("La lista de seguidores marca a quién sigo sin pedir contadores")
+    void getFollowers_ShouldMarkFollowBackWithoutCounts() {
+        User target = user(9L);
+        when(userRepository.findById(9L)).thenReturn(Optional.of(target));
+        when(followRepository.findFollowerUsers(target)).thenReturn(List.of(user(2L), user(3L)));
+        when(followRepository.findFollowPairsBetween(any(), anyCollection())).thenReturn(rows(
+                new Object[] { 1L, 3L }));
+
+        List<FollowResponseDTO> followers = followService.getFollowers(9L, auth);
+
+        assertFalse(followers.get(0).getIsFollowingBack());
+        assertTrue(followers.get(1).getIsFollowingBack());
+        verify(userRepository, never()).findFollowCountsByIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Seguir y dejar de seguir actualizan los contadores de forma atómica")
+    void followAndUnfollow_ShouldAdjustCounters() {
+        User target = user(9L);
+        when(userRepository.findById(9L)).thenReturn(Optional.of(target));
+        when(followRepository.existsByFollowerAndFollowed(me, target)).thenReturn(false);
+
+        followService.followUser(9L, auth);
+
+        verify(userRepository).incrementFollowingCount(1L, 1);
+        verify(userRepository).incrementFollowersCount(9L, 1);
+        verify(eventPublisher).publishEvent(any(FollowChangedEvent.class));
+
+        when(followRepository.findByFollowerAndFollowed(me, target))
+                .thenReturn(Optional.of(Follow.builder().follower(me).followed(target).build()));
+
+        followService.unfollowUser(9L, auth);
+
+        verify(userRepository).incrementFollowingCount(1L, -1);
+        verify(userRepository).incrementFollowersCount(9L, -1);
+    }
+
+    @Test
+    @DisplayName("Las estadísticas de perfil no consultan la tabla follows para los contadores")
+    void getFollowStats_ShouldReadDenormalizedCounters() {
+        User target = user(9L);
+        target.setFollowersCount(42L);
+        target.setFollowingCount(7L);
+        when(userRepository.findById(9L)).thenReturn(Optional.of(target));
+
+        FollowStatsDTO stats = followService.getFollowStats(9L, null);
+
+        assertEquals(42L, stats.getFollowersCount());
+        assertEquals(7L, stats.getFollowingCount());
+        verify(followRepository, never()).countByFollowed(any());
+        verify(followRepository, never()).countByFollower(any());
+    }
+
+    private User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        return user;
+    }
+
+    private List<Object[]> rows(Object[]... values) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Object[] value : values) {
+            rows.add(value);
+        }
+        return rows;
+    }
+}
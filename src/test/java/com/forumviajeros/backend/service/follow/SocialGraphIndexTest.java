@@ -0,0 +1,126 @@
+package com.forumviajeros.backend.service.follow;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.forumviajeros.backend.event.FollowChangedEvent;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SocialGraphIndex Tests")
+class SocialGraphIndexTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private SocialGraphIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // Carga inicial vacía (el JdbcTemplate simulado no devuelve filas)
+        index.onApplicationReady();
+    }
+
+    @Test
+    @DisplayName("Los seguimientos mantienen las listas ordenadas en ambos sentidos")
+    void onFollowChanged_ShouldKeepSortedAdjacency() {
+        follow(1L, 5L);
+        follow(1L, 3L);
+        follow(1L, 4L);
+        follow(2L, 1L);
+        unfollow(1L, 4L);
+
+        assertArrayEquals(new long[] { 3L, 5L }, index.following(1L));
+        assertArrayEquals(new long[] { 1L }, index.followers(5L));
+        assertArrayEquals(new long[] { 2L }, index.followers(1L));
+        assertArrayEquals(new long[0], index.followers(4L));
+    }
+
+    @Test
+    @DisplayName("Los mutuos son la intersección de seguidos y seguidores")
+    void mutuals_ShouldIntersectSortedArrays() {
+        follow(1L, 2L);
+        follow(1L, 3L);
+        follow(1L, 4L);
+        follow(3L, 1L);
+        follow(4L, 1L);
+        follow(5L, 1L);
+
+        assertArrayEquals(new long[] { 3L, 4L }, index.mutuals(1L));
+    }
+
+    @Test
+    @DisplayName("Las sugerencias se ordenan por vecinos comunes y excluyen a quien ya sigo")
+    void suggestions_ShouldRankByCommonNeighbours() {
+        follow(1L, 2L);
+        follow(1L, 3L);
+        follow(2L, 10L);
+        follow(3L, 10L);
+        follow(2L, 11L);
+        follow(3L, 12L);
+        follow(2L, 3L);
+        follow(2L, 1L);
+
+        assertEquals(List.of(10L, 11L, 12L), index.suggestions(1L, 0, 10));
+        assertEquals(List.of(11L), index.suggestions(1L, 1, 1));
+    }
+
+    @Test
+    @DisplayName("Los cambios recibidos durante la carga se aplican al terminar")
+    void rebuild_ShouldReplayChangesReceivedWhileLoading() {
+        follow(1L, 2L);
+        // La consulta ya ha leído la tabla cuando llegan los eventos
+        doAnswer(invocation -> {
+            follow(1L, 3L);
+            unfollow(1L, 2L);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        index.rebuild();
+
+        assertArrayEquals(new long[] { 3L }, index.following(1L));
+        assertArrayEquals(new long[0], index.followers(2L));
+        assertArrayEquals(new long[] { 1L }, index.followers(3L));
+    }
+
+    @Test
+    @DisplayName("Durante la reconstrucción se sigue leyendo el índice anterior")
+    void rebuild_ShouldKeepServingPreviousIndexWhileLoading() {
+        follow(1L, 2L);
+        long[][] seenWhileLoading = new long[1][];
+        doAnswer(invocation -> {
+            seenWhileLoading[0] = index.following(1L);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        index.rebuild();
+
+        assertArrayEquals(new long[] { 2L }, seenWhileLoading[0]);
+        // La tabla (simulada) está vacía: la arista sin respaldo desaparece
+        assertArrayEquals(new long[0], index.following(1L));
+        assertArrayEquals(new long[0], index.followers(2L));
+    }
+
+    private void follow(Long follower, Long followed) {
+        index.onFollowChanged(new FollowChangedEvent(follower, followed, true));
+    }
+
+    private void unfollow(Long follower, Long followed) {
+        index.onFollowChanged(new FollowChangedEvent(follower, followed, false));
+    }
+}
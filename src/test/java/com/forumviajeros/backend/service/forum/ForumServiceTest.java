@@ -4,10 +4,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDateTime;
@@ -16,25 +17,33 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.forumviajeros.backend.dto.forum.ForumRequestDTO;
 import com.forumviajeros.backend.dto.forum.ForumResponseDTO;
+import com.forumviajeros.backend.dto.search.SearchResultDTO;
+import com.forumviajeros.backend.event.SearchIndexRequestedEvent;
 import com.forumviajeros.backend.exception.ResourceNotFoundException;
 import com.forumviajeros.backend.model.Category;
 import com.forumviajeros.backend.model.Forum;
@@ -43,8 +52,11 @@ import com.forumviajeros.backend.repository.CategoryRepository;
 import com.forumviajeros.backend.repository.ForumRepository;
 import com.forumviajeros.backend.repository.TagRepository;
 import com.forumviajeros.backend.repository.UserRepository;
+import com.forumviajeros.backend.service.search.SearchDocumentType;
+import com.forumviajeros.backend.service.search.SearchService;
 import com.forumviajeros.backend.service.storage.LocalStorageService;
 import com.forumviajeros.backend.service.storage.StorageException;
+import com.forumviajeros.backend.service.trending.TrendingIndex;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("ForumService Tests")
@@ -65,6 +77,15 @@ class ForumServiceTest {
     @Mock
     private LocalStorageService localStorageService;
 
+    @Mock
+    private SearchService searchService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TrendingIndex trendingIndex;
+
     @InjectMocks
     private ForumServiceImpl forumService;
 
@@ -173,7 +194,7 @@ class ForumServiceTest {
     @DisplayName("Obtener foro por ID exitosamente")
     void findById_ShouldReturnForum_WhenExists() {
         // Arrange
-        when(forumRepository.findById(1L)).thenReturn(Optional.of(testForum));
+        when(forumRepository.findDetailedById(1L)).thenReturn(Optional.of(testForum));
 
         // Act
         ForumResponseDTO result = forumService.findById(1L);
@@ -188,7 +209,7 @@ class ForumServiceTest {
     @DisplayName("Obtener foro por ID falla cuando no existe")
     void findById_ShouldThrowException_WhenNotFound() {
         // Arrange
-        when(forumRepository.findById(1L)).thenReturn(Optional.empty());
+        when(forumRepository.findDetailedById(1L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> {
@@ -201,9 +222,8 @@ class ForumServiceTest {
     void findAll_ShouldReturnPage_WhenForumsExist() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        List<Forum> forums = List.of(testForum);
-        Page<Forum> forumPage = new PageImpl<>(forums, pageable, 1);
-        when(forumRepository.findAll(pageable)).thenReturn(forumPage);
+        Page<Object[]> forumPage = new PageImpl<>(List.<Object[]>of(summaryRow(testForum)), pageable, 1);
+        when(forumRepository.findSummaries(pageable)).thenReturn(forumPage);
 
         // Act
         Page<ForumResponseDTO> result = forumService.findAll(pageable);
@@ -215,21 +235,35 @@ class ForumServiceTest {
     }
 
     @Test
-    @DisplayName("Buscar foros por palabra clave")
+    @DisplayName("Buscar foros por palabra clave usa el índice de búsqueda")
     void searchByKeyword_ShouldReturnForums_WhenKeywordMatches() {
         // Arrange
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<Forum> forumPage = new PageImpl<>(List.of(testForum), pageable, 1);
-        when(forumRepository.searchByKeyword(anyString(), any(Pageable.class)))
-                .thenReturn(forumPage);
+        Forum otherForum = new Forum();
+        otherForum.setId(2L);
+        otherForum.setTitle("Otro foro");
+        otherForum.setDescription("Más prueba");
+        otherForum.setCategory(testCategory);
+        otherForum.setUser(testUser);
+        otherForum.setStatus(Forum.ForumStatus.ACTIVE);
+        otherForum.setCreatedAt(LocalDateTime.now());
+        otherForum.setViewCount(0L);
+        otherForum.setPosts(new ArrayList<>());
+        otherForum.setTags(new ArrayList<>());
+        List<SearchResultDTO> hits = List.of(
+                SearchResultDTO.builder().type("FORUM").id(2L).build(),
+                SearchResultDTO.builder().type("FORUM").id(1L).build());
+        when(searchService.search(eq("prueba"), eq(Set.of(SearchDocumentType.FORUM)), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(hits));
+        when(forumRepository.findSummariesByIds(List.of(2L, 1L)))
+                .thenReturn(List.of(summaryRow(testForum), summaryRow(otherForum)));
 
         // Act
         List<ForumResponseDTO> result = forumService.searchByKeyword("prueba");
 
-        // Assert
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        verify(forumRepository).searchByKeyword(anyString(), any(Pageable.class));
+        // Assert: se respeta el orden de relevancia
+        assertEquals(2, result.size());
+        assertEquals(2L, result.get(0).getId());
+        assertEquals(1L, result.get(1).getId());
     }
 
     @Test
@@ -273,6 +307,8 @@ class ForumServiceTest {
         forumService.delete(1L, authentication);
 
         // Assert
+        verify(userRepository).decrementActivityCountsOfForum(1L);
+        verify(userRepository).incrementForumCount(testUser.getId(), -1);
         verify(forumRepository).delete(testForum);
     }
 
@@ -394,6 +430,10 @@ class ForumServiceTest {
         // Assert
         assertNotNull(result);
         verify(forumRepository).save(any(Forum.class));
+        ArgumentCaptor<SearchIndexRequestedEvent> captor = ArgumentCaptor.forClass(SearchIndexRequestedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(SearchDocumentType.FORUM, captor.getValue().getType());
+        assertEquals(1L, captor.getValue().getId());
     }
 
     @Test
@@ -455,5 +495,84 @@ class ForumServiceTest {
         });
         verify(forumRepository, never()).save(any(Forum.class));
     }
-}
 
+    @Test
+    @DisplayName("Foros en tendencia en el orden del ranking, sin los inactivos")
+    void getTrendingForums_ShouldKeepRankingOrderAndSkipInactive() {
+        Forum second = new Forum();
+        second.setId(2L);
+        second.setTitle("Foro en tendencia");
+        second.setCategory(testCategory);
+        second.setUser(testUser);
+        second.setStatus(Forum.ForumStatus.ACTIVE);
+        second.setCreatedAt(LocalDateTime.now());
+        second.setTags(new ArrayList<>());
+        Forum hidden = new Forum();
+        hidden.setId(3L);
+        hidden.setStatus(Forum.ForumStatus.HIDDEN);
+        when(trendingIndex.capacity()).thenReturn(100);
+        when(trendingIndex.topForums(1L, 10)).thenReturn(List.of(2L, 3L, 1L));
+        when(forumRepository.findSummariesByIds(List.of(2L, 3L, 1L)))
+                .thenReturn(List.of(summaryRow(testForum), summaryRow(hidden), summaryRow(second)));
+
+        List<ForumResponseDTO> result = forumService.getTrendingForums(1L, 10);
+
+        assertEquals(List.of(2L, 1L), result.stream().map(ForumResponseDTO::getId).toList());
+    }
+
+    private static Object[] summaryRow(Forum forum) {
+        return new Object[] { forum.getId(), forum.getTitle(), forum.getDescription(),
+                forum.getCategory() != null ? forum.getCategory().getId() : null, forum.getStatus(),
+                forum.getViewCount(), forum.getPostCount(), forum.getCreatedAt(), forum.getUpdatedAt(),
+                forum.getImagePath() };
+    }
+
+    @Test
+    @DisplayName("Foros por categoría paginados con etiquetas agregadas y URL de imagen")
+    void findByCategory_ShouldMapProjectedRowsWithTags() {
+        Pageable pageable = PageRequest.of(0, 20);
+        testForum.setImagePath("foro.png");
+        when(categoryRepository.existsById(1L)).thenReturn(true);
+        when(forumRepository.findSummariesByCategory(1L, pageable))
+                .thenReturn(new PageImpl<>(List.<Object[]>of(summaryRow(testForum)), pageable, 41));
+        when(forumRepository.findTagNamesByForumIds(List.of(1L))).thenReturn(List.of(
+                new Object[] { 1L, "europa" }, new Object[] { 1L, "tren" }));
+
+        Page<ForumResponseDTO> result = forumService.findByCategory(1L, pageable);
+
+        assertEquals(41, result.getTotalElements());
+        ForumResponseDTO forum = result.getContent().get(0);
+        assertEquals(List.of("europa", "tren"), forum.getTags());
+        assertEquals(1L, forum.getCategoryId());
+        assertEquals("ACTIVE", forum.getStatus());
+        assertEquals(ForumServiceImpl.IMAGE_URL_PREFIX + "foro.png", forum.getImagePath());
+        verifyNoInteractions(localStorageService);
+    }
+
+    @Test
+    @DisplayName("El detalle devuelve la imagen con la misma URL absoluta que los listados")
+    void findById_ShouldReturnAbsoluteImageUrl() {
+        testForum.setImagePath("foro.png");
+        when(forumRepository.findDetailedById(1L)).thenReturn(Optional.of(testForum));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/forums/1");
+        request.setServerName("foro.example.com");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            ForumResponseDTO result = forumService.findById(1L);
+
+            assertEquals("http://foro.example.com/api/images/foro.png", result.getImagePath());
+            verifyNoInteractions(localStorageService);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    @DisplayName("Foros por categoría falla cuando la categoría no existe")
+    void findByCategory_ShouldThrowException_WhenCategoryNotFound() {
+        when(categoryRepository.existsById(9L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> forumService.findByCategory(9L, PageRequest.of(0, 20)));
+    }
+}
@@ -0,0 +1,89 @@
+package com.forumviajeros.backend.service.geo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.forumviajeros.backend.service.geo.GeoIndex.Neighbor;
+
+/**
+ * Tests unitarios del índice espacial, comparando con una búsqueda lineal
+ */
+class GeoIndexTest {
+
+    private List<double[]> points;
+    private GeoIndex<double[]> index;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+        points = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            points.add(new double[] { random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180 });
+        }
+        index = GeoIndex.build(points, p -> p[0], p -> p[1]);
+    }
+
+    @Test
+    @DisplayName("Distancia Madrid-París aproximada")
+    void distanceKm_ShouldMatchKnownDistance() {
+        double distance = GeoIndex.distanceKm(40.4168, -3.7038, 48.8566, 2.3522);
+        assertTrue(distance > 1040 && distance < 1070);
+    }
+
+    @Test
+    @DisplayName("La búsqueda por radio devuelve lo mismo que la búsqueda lineal")
+    void withinRadius_ShouldMatchLinearScan() {
+        double lat = 10;
+        double lng = 175; // cerca del antimeridiano
+        double radius = 2500;
+
+        List<double[]> expected = points.stream()
+                .filter(p -> GeoIndex.distanceKm(lat, lng, p[0], p[1]) <= radius)
+                .collect(Collectors.toList());
+        List<Neighbor<double[]>> result = index.withinRadius(lat, lng, radius);
+
+        assertEquals(expected.size(), result.size());
+        for (int i = 1; i < result.size(); i++) {
+            assertTrue(result.get(i - 1).getDistanceKm() <= result.get(i).getDistanceKm());
+        }
+    }
+
+    @Test
+    @DisplayName("Los k vecinos más cercanos coinciden con la búsqueda lineal")
+    void nearest_ShouldMatchLinearScan() {
+        double lat = -33.9;
+        double lng = 18.4;
+
+        List<double[]> expected = points.stream()
+                .filter(p -> p[1] > 0)
+                .sorted(Comparator.comparingDouble(p -> GeoIndex.distanceKm(lat, lng, p[0], p[1])))
+                .limit(7)
+                .collect(Collectors.toList());
+        List<Neighbor<double[]>> result = index.nearest(lat, lng, 7, p -> p[1] > 0);
+
+        assertEquals(7, result.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertTrue(expected.get(i) == result.get(i).getItem());
+            double linear = GeoIndex.distanceKm(lat, lng, expected.get(i)[0], expected.get(i)[1]);
+            assertEquals(linear, result.get(i).getDistanceKm(), 0.01);
+        }
+    }
+
+    @Test
+    @DisplayName("Los elementos sin coordenadas se ignoran")
+    void build_ShouldSkipMissingCoordinates() {
+        List<double[]> withMissing = new ArrayList<>(points);
+        withMissing.add(new double[] { Double.NaN, 0 });
+        assertEquals(points.size(), GeoIndex.build(withMissing, p -> p[0], p -> p[1]).size());
+    }
+}
@@ -0,0 +1,111 @@
+package com.forumviajeros.backend.service.message;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.forumviajeros.backend.model.Conversation;
+import com.forumviajeros.backend.model.PrivateMessage;
+import com.forumviajeros.backend.model.User;
+import com.forumviajeros.backend.repository.ConversationRepository;
+import com.forumviajeros.backend.repository.PrivateMessageRepository;
+import com.forumviajeros.backend.repository.UserRepository;
+
+/**
+ * Tests de integración para LegacyReadStateMigration
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+class LegacyReadStateMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PrivateMessageRepository messageRepository;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Debe llevar is_read a las marcas de lectura y eliminar las columnas antiguas")
+    void shouldSeedWatermarksFromLegacyColumnAndDropIt() {
+        List<PrivateMessage> messages = new ArrayList<>();
+        Conversation conversation = null;
+        User reader = userRepository.save(user("lector"));
+        User writer = userRepository.save(user("escritor"));
+        try {
+            for (int i = 0; i < 3; i++) {
+                messages.add(messageRepository.save(PrivateMessage.builder()
+                        .sender(writer).recipient(reader).content("Mensaje " + i).build()));
+            }
+            conversation = Conversation.between(reader, writer);
+            conversation.applyLastMessage(messages.get(2));
+            for (int i = 0; i < 3; i++) {
+                conversation.registerSent(writer.getId());
+            }
+            conversation = conversationRepository.save(conversation);
+
+            // Esquema anterior: is_read NOT NULL sin valor por defecto
+            jdbcTemplate.execute("ALTER TABLE private_messages ADD COLUMN is_read BOOLEAN DEFAULT FALSE NOT NULL");
+            jdbcTemplate.execute("ALTER TABLE private_messages ALTER COLUMN is_read DROP DEFAULT");
+            jdbcTemplate.execute("ALTER TABLE private_messages ADD COLUMN read_at TIMESTAMP");
+            jdbcTemplate.update("UPDATE private_messages SET is_read = TRUE, read_at = ? WHERE id IN (?, ?)",
+                    LocalDateTime.of(2025, 5, 1, 10, 0), messages.get(0).getId(), messages.get(1).getId());
+
+            new LegacyReadStateMigration(jdbcTemplate, transactionManager, conversationRepository,
+                    mock(MessageService.class)).afterSingletonsInstantiated();
+
+            Conversation migrated = conversationRepository.findById(conversation.getId()).orElseThrow();
+            assertEquals(messages.get(1).getId(), migrated.getLastReadIdFor(reader.getId()));
+            assertEquals(1, migrated.getUnreadFor(reader.getId()));
+            assertEquals(LocalDateTime.of(2025, 5, 1, 10, 0), migrated.getLastReadAtFor(reader.getId()));
+            assertEquals(0, migrated.getUnreadFor(writer.getId()));
+
+            // Sin la columna antigua los envíos vuelven a insertar
+            messages.add(messageRepository.save(PrivateMessage.builder()
+                    .sender(reader).recipient(writer).content("Respuesta").build()));
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE private_messages DROP COLUMN IF EXISTS is_read");
+            jdbcTemplate.execute("ALTER TABLE private_messages DROP COLUMN IF EXISTS read_at");
+            if (conversation != null) {
+                conversationRepository.deleteById(conversation.getId());
+            }
+            messageRepository.deleteAll(messages);
+            userRepository.deleteAll(List.of(reader, writer));
+        }
+    }
+
+    private static User user(String username) {
+        User user = new User();
+        user.setUsername(username + "_migracion");
+        user.setEmail(username + "_migracion@example.com");
+        user.setPassword("password123");
+        user.setStatus(User.UserStatus.ACTIVE);
+        user.setCreatedAt(LocalDateTime.now());
+        return user;
+    }
+}
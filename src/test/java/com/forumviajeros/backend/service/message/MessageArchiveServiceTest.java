@@ -0,0 +1,186 @@
+package com.forumviajeros.backend.service.message;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forumviajeros.backend.model.MessageArchiveBlock;
+import com.forumviajeros.backend.model.PrivateMessage;
+import com.forumviajeros.backend.model.User;
+import com.forumviajeros.backend.repository.MessageArchiveBlockRepository;
+import com.forumviajeros.backend.repository.PrivateMessageRepository;
+import com.forumviajeros.backend.service.message.MessageArchiveCodec.ArchivedMessage;
+import com.forumviajeros.backend.service.message.MessageArchiveService.ArchiveSummary;
+import com.forumviajeros.backend.util.CursorUtil.Position;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MessageArchiveService Tests")
+class MessageArchiveServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Mock
+    private PrivateMessageRepository messageRepository;
+
+    @Mock
+    private MessageArchiveBlockRepository blockRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final MessageArchiveCodec codec = new MessageArchiveCodec(new ObjectMapper().findAndRegisterModules());
+
+    private MessageArchiveServiceImpl archiveService;
+    private User low;
+    private User high;
+
+    @BeforeEach
+    void setUp() {
+        archiveService = new MessageArchiveServiceImpl(messageRepository, blockRepository, transactionManager,
+                new ObjectMapper().findAndRegisterModules(), 2);
+        low = user(1L);
+        high = user(2L);
+    }
+
+    @Test
+    @DisplayName("El bloque comprimido conserva los mensajes y ocupa menos que el texto")
+    void codec_ShouldRoundTripAndCompress() {
+        List<ArchivedMessage> messages = new ArrayList<>();
+        for (long i = 1; i <= 50; i++) {
+            messages.add(new ArchivedMessage(i, 1L, 2L, "Nos vemos en Lisboa el sábado " + i, BASE.plusMinutes(i)));
+        }
+
+        byte[] payload = codec.encode(messages);
+
+        assertEquals(messages, codec.decode(payload));
+        assertTrue(payload.length < 50 * 30);
+    }
+
+    @Test
+    @DisplayName("Archiva por bloques el tramo más antiguo y borra sus filas")
+    void archiveOlderThan_ShouldMoveOldestRowsIntoBlocks() {
+        LocalDateTime cutoff = BASE.plusDays(1);
+        List<Object[]> pairs = new ArrayList<>();
+        pairs.add(new Object[] { 1L, 2L });
+        when(messageRepository.findPairsWithMessagesBefore(eq(cutoff), anyInt())).thenReturn(pairs);
+        when(messageRepository.findOldestBefore(eq(1L), eq(2L), eq(cutoff), any()))
+                .thenReturn(List.of(message(1L, low, high, 0), message(2L, high, low, 1)))
+                .thenReturn(List.of(message(3L, low, high, 2)));
+
+        int archived = archiveService.archiveOlderThan(cutoff);
+
+        assertEquals(3, archived);
+        ArgumentCaptor<MessageArchiveBlock> blocks = ArgumentCaptor.forClass(MessageArchiveBlock.class);
+        verify(blockRepository, times(2)).save(blocks.capture());
+        MessageArchiveBlock first = blocks.getAllValues().get(0);
+        assertEquals(1L, first.getFirstMessageId());
+        assertEquals(2L, first.getLastMessageId());
+        assertEquals(1, first.getSentByLow());
+        assertEquals(2, codec.decode(first.getPayload()).size());
+        verify(messageRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(messageRepository).deleteAllByIdInBatch(List.of(3L));
+    }
+
+    @Test
+    @DisplayName("La lectura recorre los bloques de más nuevo a más antiguo desde el cursor")
+    void findArchivedBefore_ShouldWalkBlocksNewestFirst() {
+        MessageArchiveBlock older = block(List.of(archived(1L, 0), archived(2L, 1)));
+        MessageArchiveBlock newer = block(List.of(archived(3L, 2), archived(4L, 3)));
+        when(blockRepository.findBefore(eq(1L), eq(2L), any(), anyLong(), any())).thenReturn(List.of(newer, older));
+
+        List<PrivateMessage> page = archiveService.findArchivedBefore(high, low,
+                new Position(BASE.plusMinutes(3), 4L), 3);
+
+        assertEquals(List.of(3L, 2L, 1L), page.stream().map(PrivateMessage::getId).toList());
+        assertEquals(high, page.get(1).getSender());
+        assertEquals(low, page.get(1).getRecipient());
+    }
+
+    @Test
+    @DisplayName("La página por offset salta los bloques completos sin cargarlos")
+    void findArchivedPage_ShouldSkipWholeBlocksBeforeOffset() {
+        MessageArchiveBlock older = block(List.of(archived(1L, 0), archived(2L, 1)));
+        older.setId(7L);
+        List<Object[]> sizes = new ArrayList<>();
+        sizes.add(new Object[] { 8L, 2 });
+        sizes.add(new Object[] { 7L, 2 });
+        when(blockRepository.findBlockSizes(1L, 2L)).thenReturn(sizes);
+        when(blockRepository.findAllById(List.of(7L))).thenReturn(List.of(older));
+
+        List<PrivateMessage> page = archiveService.findArchivedPage(low, high, 3, 5);
+
+        assertEquals(List.of(1L), page.stream().map(PrivateMessage::getId).toList());
+    }
+
+    @Test
+    @DisplayName("El resumen usa el reparto guardado y solo descomprime los bloques antiguos")
+    void summarizeArchive_ShouldCountFromStatsAndDecodeLegacyBlocks() {
+        MessageArchiveBlock legacy = block(List.of(archived(5L, 4), archived(6L, 5)));
+        List<Object[]> stats = new ArrayList<>();
+        stats.add(new Object[] { 10L, 1L, 2L, 1L, 4L, 4, 2 });
+        stats.add(new Object[] { 11L, 1L, 2L, 5L, 6L, 2, null });
+        when(blockRepository.findAllBlockStats()).thenReturn(stats);
+        when(blockRepository.findById(11L)).thenReturn(Optional.of(legacy));
+
+        // El usuario 1 ha leído hasta el mensaje 6; el 2 no tiene marca
+        Map<String, ArchiveSummary> summaries = archiveService.summarizeArchive(Map.of("1>2", 6L));
+
+        assertEquals(Map.of("1>2", new ArchiveSummary(3, 3, 3, 0)), summaries);
+        verify(blockRepository, never()).findById(10L);
+    }
+
+    private MessageArchiveBlock block(List<ArchivedMessage> messages) {
+        return MessageArchiveBlock.builder()
+                .userLowId(1L)
+                .userHighId(2L)
+                .firstMessageId(messages.get(0).id())
+                .lastMessageId(messages.get(messages.size() - 1).id())
+                .payload(codec.encode(messages))
+                .build();
+    }
+
+    private static ArchivedMessage archived(Long id, int minute) {
+        return new ArchivedMessage(id, id % 2 == 0 ? 2L : 1L, id % 2 == 0 ? 1L : 2L, "m" + id,
+                BASE.plusMinutes(minute));
+    }
+
+    private static PrivateMessage message(Long id, User sender, User recipient, int minute) {
+        return PrivateMessage.builder()
+                .id(id)
+                .sender(sender)
+                .recipient(recipient)
+                .content("m" + id)
+                .sentAt(BASE.plusMinutes(minute))
+                .build();
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        return user;
+    }
+}
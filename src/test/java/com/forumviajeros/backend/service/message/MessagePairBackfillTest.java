@@ -0,0 +1,88 @@
+package com.forumviajeros.backend.service.message;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.forumviajeros.backend.model.PrivateMessage;
+import com.forumviajeros.backend.model.User;
+import com.forumviajeros.backend.repository.PrivateMessageRepository;
+import com.forumviajeros.backend.repository.UserRepository;
+
+/**
+ * Tests de integración para MessagePairBackfill y las consultas por par ordenado
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+class MessagePairBackfillTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PrivateMessageRepository messageRepository;
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Rellena el par de las filas antiguas y la conversación incluye los dos sentidos")
+    void shouldBackfillPairsOfLegacyRows() {
+        List<PrivateMessage> messages = new ArrayList<>();
+        User first = userRepository.save(user("par_a"));
+        User second = userRepository.save(user("par_b"));
+        try {
+            messages.add(messageRepository.save(PrivateMessage.builder()
+                    .sender(second).recipient(first).content("Hola").build()));
+            messages.add(messageRepository.save(PrivateMessage.builder()
+                    .sender(first).recipient(second).content("Qué tal").build()));
+            Long low = Math.min(first.getId(), second.getId());
+            Long high = Math.max(first.getId(), second.getId());
+            assertEquals(2, messageRepository.findConversation(low, high).size());
+
+            // Filas escritas antes de existir las columnas
+            jdbcTemplate.update("UPDATE private_messages SET pair_low_id = NULL, pair_high_id = NULL " +
+                    "WHERE id IN (?, ?)", messages.get(0).getId(), messages.get(1).getId());
+            assertEquals(0, messageRepository.findConversation(low, high).size());
+
+            new MessagePairBackfill(messageRepository, transactionManager).afterSingletonsInstantiated();
+
+            List<PrivateMessage> page = messageRepository.findConversationFirstPage(low, high, PageRequest.of(0, 10));
+            assertEquals(List.of(messages.get(1).getId(), messages.get(0).getId()),
+                    page.stream().map(PrivateMessage::getId).toList());
+        } finally {
+            messageRepository.deleteAll(messages);
+            userRepository.deleteAll(List.of(first, second));
+        }
+    }
+
+    private static User user(String username) {
+        User user = new User();
+        user.setUsername(username + "_backfill");
+        user.setEmail(username + "_backfill@example.com");
+        user.setPassword("password123");
+        user.setStatus(User.UserStatus.ACTIVE);
+        user.setCreatedAt(LocalDateTime.now());
+        return user;
+    }
+}
@@ -0,0 +1,378 @@
+package com.forumviajeros.backend.service.message;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.Authentication;
+
+import com.forumviajeros.backend.dto.CursorPageDTO;
+import com.forumviajeros.backend.dto.message.ConversationDTO;
+import com.forumviajeros.backend.dto.message.MessageRequestDTO;
+import com.forumviajeros.backend.dto.message.MessageResponseDTO;
+import com.forumviajeros.backend.event.MessageSentEvent;
+import com.forumviajeros.backend.model.Conversation;
+import com.forumviajeros.backend.model.PrivateMessage;
+import com.forumviajeros.backend.model.User;
+import com.forumviajeros.backend.repository.ConversationRepository;
+import com.forumviajeros.backend.repository.PrivateMessageRepository;
+import com.forumviajeros.backend.repository.UserRepository;
+import com.forumviajeros.backend.service.message.MessageArchiveService.ArchiveSummary;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MessageService Tests")
+class MessageServiceTest {
+
+    @Mock
+    private PrivateMessageRepository messageRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ConversationRepository conversationRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private MessageArchiveService messageArchiveService;
+
+    @Mock
+    private Authentication auth;
+
+    @InjectMocks
+    private MessageServiceImpl messageService;
+
+    private User me;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        me = user(5L);
+        other = user(2L);
+        lenient().when(auth.getName()).thenReturn("user5");
+        lenient().when(userRepository.findByUsername("user5")).thenReturn(Optional.of(me));
+        lenient().when(userRepository.findById(2L)).thenReturn(Optional.of(other));
+    }
+
+    @Test
+    @DisplayName("Al enviar crea la conversación ordenada por id y suma un no leído al destinatario")
+    void sendMessage_ShouldCreateConversationAndIncrementRecipientUnread() {
+        when(messageRepository.save(any(PrivateMessage.class))).thenAnswer(inv -> {
+            PrivateMessage message = inv.getArgument(0);
+            message.setId(100L);
+            return message;
+        });
+        when(conversationRepository.findByPairForUpdate(2L, 5L))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(Conversation.between(other, me)));
+
+        messageService.sendMessage(request(2L, "Hola"), auth);
+
+        verify(conversationRepository).insertIfAbsent(eq(2L), eq(5L), any(LocalDateTime.class));
+        ArgumentCaptor<Conversation> captor = ArgumentCaptor.forClass(Conversation.class);
+        verify(conversationRepository).save(captor.capture());
+        Conversation conversation = captor.getValue();
+        assertEquals(2L, conversation.getUserLow().getId());
+        assertEquals(5L, conversation.getUserHigh().getId());
+        assertEquals(100L, conversation.getLastMessageId());
+        assertEquals(5L, conversation.getLastSenderId());
+        assertEquals("Hola", conversation.getLastMessagePreview());
+        assertEquals(1, conversation.getUnreadFor(2L));
+        assertEquals(0, conversation.getUnreadFor(5L));
+        verify(eventPublisher).publishEvent(any(MessageSentEvent.class));
+    }
+
+    @Test
+    @DisplayName("La bandeja se lee del índice con los no leídos del usuario actual")
+    void getConversations_ShouldMapFromIndex() {
+        Conversation conversation = conversation(3, 7);
+        conversation.setLastSenderId(2L);
+        conversation.setLastMessagePreview("Nos vemos");
+        when(conversationRepository.findInboxAsLowFirstPage(eq(5L), any())).thenReturn(List.of());
+        when(conversationRepository.findInboxAsHighFirstPage(eq(5L), any())).thenReturn(List.of(conversation));
+
+        List<ConversationDTO> inbox = messageService.getConversationsPage(null, 20, auth).getItems();
+
+        assertEquals(1, inbox.size());
+        assertEquals(2L, inbox.get(0).getParticipantId());
+        assertEquals("Nos vemos", inbox.get(0).getLastMessage());
+        assertFalse(inbox.get(0).getIsLastMessageMine());
+        assertEquals(7L, inbox.get(0).getUnreadCount());
+    }
+
+    @Test
+    @DisplayName("La bandeja mezcla los dos lados del par por cursor")
+    void getConversationsPage_ShouldMergeBothSidesWithCursor() {
+        LocalDateTime at = LocalDateTime.of(2024, 5, 1, 10, 0);
+        // me (5) es userHigh con 2 y userLow con 9 y 12
+        Conversation withTwo = inboxEntry(1L, other, me, at.plusMinutes(2));
+        Conversation withNine = inboxEntry(2L, me, user(9L), at.plusMinutes(3));
+        Conversation withTwelve = inboxEntry(3L, me, user(12L), at);
+        when(conversationRepository.findInboxAsLowFirstPage(eq(5L), any()))
+                .thenReturn(List.of(withNine, withTwelve));
+        when(conversationRepository.findInboxAsHighFirstPage(eq(5L), any())).thenReturn(List.of(withTwo));
+
+        CursorPageDTO<ConversationDTO> first = messageService.getConversationsPage(null, 2, auth);
+
+        assertEquals(List.of(9L, 2L), first.getItems().stream().map(ConversationDTO::getParticipantId).toList());
+        assertTrue(first.isHasMore());
+
+        when(conversationRepository.findInboxAsLowBefore(eq(5L), eq(at.plusMinutes(2)), eq(1L), any()))
+                .thenReturn(List.of(withTwelve));
+        when(conversationRepository.findInboxAsHighBefore(eq(5L), eq(at.plusMinutes(2)), eq(1L), any()))
+                .thenReturn(List.of());
+
+        CursorPageDTO<ConversationDTO> second = messageService.getConversationsPage(first.getNextCursor(), 2, auth);
+
+        assertEquals(List.of(12L), second.getItems().stream().map(ConversationDTO::getParticipantId).toList());
+        assertFalse(second.isHasMore());
+    }
+
+    @Test
+    @DisplayName("Marcar como leída pone a cero solo los no leídos del lector")
+    void markConversationAsRead_ShouldResetReaderUnread() {
+        Conversation conversation = conversation(3, 7);
+        when(conversationRepository.findByPairForUpdate(2L, 5L)).thenReturn(Optional.of(conversation));
+
+        messageService.markConversationAsRead(2L, auth);
+
+        assertEquals(0, conversation.getUnreadFor(5L));
+        assertEquals(3, conversation.getUnreadFor(2L));
+    }
+
+    @Test
+    @DisplayName("Marcar como leída mueve la marca y el estado de cada mensaje se deriva de ella")
+    void markConversationAsRead_ShouldDeriveMessageReadState() {
+        PrivateMessage received = message(100L, other, me, "Hola");
+        Conversation conversation = conversation(0, 1);
+        conversation.applyLastMessage(received);
+        when(conversationRepository.findByPairForUpdate(2L, 5L)).thenReturn(Optional.of(conversation));
+        when(conversationRepository.findByPair(2L, 5L)).thenReturn(Optional.of(conversation));
+        when(messageRepository.findConversationFirstPage(any(), any(), any())).thenReturn(List.of(received));
+
+        assertFalse(messageService.getConversationPage(2L, null, 20, auth).getItems().get(0).getIsRead());
+
+        messageService.markConversationAsRead(2L, auth);
+
+        MessageResponseDTO dto = messageService.getConversationPage(2L, null, 20, auth).getItems().get(0);
+        assertTrue(dto.getIsRead());
+        assertEquals(100L, conversation.getLastReadHighId());
+        assertEquals(0, conversation.getUnreadFor(5L));
+    }
+
+    @Test
+    @DisplayName("La página continúa por el archivo cuando se agotan los mensajes recientes")
+    void getConversationPage_ShouldContinueIntoArchive() {
+        LocalDateTime now = LocalDateTime.now();
+        PrivateMessage hot = message(100L, other, me, "Reciente");
+        hot.setSentAt(now);
+        PrivateMessage archived = message(10L, me, other, "Antiguo");
+        archived.setSentAt(now.minusYears(1));
+        when(messageRepository.findConversationFirstPage(any(), any(), any())).thenReturn(List.of(hot));
+        when(messageArchiveService.findArchivedBefore(eq(me), eq(other), any(), eq(2))).thenReturn(List.of(archived));
+
+        CursorPageDTO<MessageResponseDTO> page = messageService.getConversationPage(2L, null, 2, auth);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals(100L, page.getItems().get(0).getId());
+        assertEquals(10L, page.getItems().get(1).getId());
+        assertFalse(page.isHasMore());
+    }
+
+    @Test
+    @DisplayName("La página por offset continúa por el archivo y cuenta todo el historial")
+    void getConversationPaged_ShouldContinueIntoArchive() {
+        PageRequest pageable = PageRequest.of(1, 2);
+        PrivateMessage hot = message(100L, other, me, "Reciente");
+        PrivateMessage archived = message(10L, me, other, "Antiguo");
+        when(messageRepository.findConversationPaged(2L, 5L, pageable))
+                .thenReturn(new PageImpl<>(List.of(hot), pageable, 3));
+        when(messageArchiveService.countArchived(me, other)).thenReturn(4L);
+        when(messageArchiveService.findArchivedPage(me, other, 0, 1)).thenReturn(List.of(archived));
+
+        Page<MessageResponseDTO> page = messageService.getConversationPaged(2L, pageable, auth);
+
+        assertEquals(List.of(100L, 10L), page.getContent().stream().map(MessageResponseDTO::getId).toList());
+        assertEquals(7, page.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Borrar el último mensaje vivo conserva la conversación si tiene historial archivado")
+    void deleteMessage_ShouldKeepConversationWithArchive() {
+        PrivateMessage deleted = message(100L, me, other, "Último vivo");
+        PrivateMessage archived = message(10L, other, me, "Archivado");
+        Conversation conversation = conversation(1, 1);
+        conversation.applyLastMessage(deleted);
+        when(messageRepository.findById(100L)).thenReturn(Optional.of(deleted));
+        when(conversationRepository.findByPairForUpdate(2L, 5L)).thenReturn(Optional.of(conversation));
+        when(messageRepository.findConversationFirstPage(any(), any(), any())).thenReturn(List.of());
+        when(messageArchiveService.findArchivedBefore(me, other, null, 1)).thenReturn(List.of(archived));
+
+        messageService.deleteMessage(100L, auth);
+
+        verify(conversationRepository, never()).delete(any());
+        assertEquals(10L, conversation.getLastMessageId());
+        assertEquals("Archivado", conversation.getLastMessagePreview());
+    }
+
+    @Test
+    @DisplayName("Borrar el último mensaje no leído ajusta contador e instantánea")
+    void deleteMessage_ShouldRefreshSnapshotAndUnread() {
+        PrivateMessage deleted = message(100L, me, other, "Borrado");
+        PrivateMessage previous = message(90L, other, me, "Anterior");
+        Conversation conversation = conversation(1, 0);
+        conversation.applyLastMessage(deleted);
+        when(messageRepository.findById(100L)).thenReturn(Optional.of(deleted));
+        when(conversationRepository.findByPairForUpdate(2L, 5L)).thenReturn(Optional.of(conversation));
+        when(messageRepository.findConversationFirstPage(any(), any(), any())).thenReturn(List.of(previous));
+
+        messageService.deleteMessage(100L, auth);
+
+        verify(messageRepository).delete(deleted);
+        assertEquals(0, conversation.getUnreadFor(2L));
+        assertEquals(90L, conversation.getLastMessageId());
+        assertEquals("Anterior", conversation.getLastMessagePreview());
+    }
+
+    @Test
+    @DisplayName("Borrar el único mensaje elimina la conversación del índice")
+    void deleteMessage_ShouldRemoveEmptyConversation() {
+        PrivateMessage deleted = message(100L, me, other, "Único");
+        Conversation conversation = conversation(1, 0);
+        conversation.applyLastMessage(deleted);
+        when(messageRepository.findById(100L)).thenReturn(Optional.of(deleted));
+        when(conversationRepository.findByPairForUpdate(2L, 5L)).thenReturn(Optional.of(conversation));
+        when(messageRepository.findConversationFirstPage(any(), any(), any())).thenReturn(List.of());
+
+        messageService.deleteMessage(100L, auth);
+
+        verify(conversationRepository).delete(conversation);
+    }
+
+    @Test
+    @DisplayName("La reconstrucción toma el último mensaje y los enviados de cada sentido")
+    void rebuildConversationIndex_ShouldBuildFromMessages() {
+        PrivateMessage latest = message(100L, other, me, "Último");
+        when(messageRepository.countGroupedByPair()).thenReturn(List.of(
+                new Object[] { 2L, 5L, 4L },
+                new Object[] { 5L, 2L, 1L }));
+        when(messageRepository.findLatestMessageIdPerPair()).thenReturn(List.of(100L));
+        when(messageRepository.findAllWithUsersByIdIn(List.of(100L))).thenReturn(List.of(latest));
+
+        int rebuilt = messageService.rebuildConversationIndex();
+
+        assertEquals(1, rebuilt);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Conversation>> captor = ArgumentCaptor.forClass(List.class);
+        verify(conversationRepository).saveAll(captor.capture());
+        Conversation conversation = captor.getValue().get(0);
+        assertEquals(4, conversation.getSentByLow());
+        assertEquals(1, conversation.getSentByHigh());
+        assertEquals(0, conversation.getUnreadFor(5L));
+        assertEquals(0, conversation.getUnreadFor(2L));
+        assertTrue(conversation.getLastMessagePreview().startsWith("Último"));
+    }
+
+    @Test
+    @DisplayName("La reconstrucción suma el historial archivado e incluye las conversaciones solo archivadas")
+    void rebuildConversationIndex_ShouldIncludeArchivedHistory() {
+        User archivedOnly = user(1L);
+        LocalDateTime readAt = LocalDateTime.of(2024, 3, 1, 10, 0);
+        when(conversationRepository.findReadWatermarks()).thenReturn(List.<Object[]>of(
+                new Object[] { 5L, 2L, 90L, readAt, 1L }));
+        when(messageArchiveService.summarizeArchive(Map.of("5>2", 90L))).thenReturn(new HashMap<>(Map.of(
+                "2>5", new ArchiveSummary(3, 4, 0, 4),
+                "1>5", new ArchiveSummary(2, 1, 0, 0))));
+        when(messageRepository.countGroupedByPair()).thenReturn(List.of(
+                new Object[] { 2L, 5L, 4L },
+                new Object[] { 5L, 2L, 1L }));
+        when(messageRepository.findLatestMessageIdPerPair()).thenReturn(List.of(100L));
+        when(messageRepository.findAllWithUsersByIdIn(List.of(100L)))
+                .thenReturn(List.of(message(100L, other, me, "Último")));
+        when(userRepository.findAllById(List.of(1L, 5L))).thenReturn(List.of(archivedOnly, me));
+        when(messageArchiveService.findArchivedBefore(archivedOnly, me, null, 1))
+                .thenReturn(List.of(message(50L, archivedOnly, me, "Archivado")));
+
+        int rebuilt = messageService.rebuildConversationIndex();
+
+        assertEquals(2, rebuilt);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Conversation>> captor = ArgumentCaptor.forClass(List.class);
+        verify(conversationRepository, times(2)).saveAll(captor.capture());
+        Conversation hot = captor.getAllValues().get(0).get(0);
+        assertEquals(7, hot.getSentByLow());
+        assertEquals(5, hot.getSentByHigh());
+        // 1 mensaje caliente y 4 archivados cubiertos por la marca: quedan 2 sin leer
+        assertEquals(2, hot.getUnreadFor(5L));
+        Conversation cold = captor.getAllValues().get(1).get(0);
+        assertEquals(50L, cold.getLastMessageId());
+        assertEquals(2, cold.getSentByLow());
+        assertEquals(1, cold.getSentByHigh());
+    }
+
+    private Conversation conversation(int unreadOther, int unreadMe) {
+        Conversation conversation = Conversation.between(me, other);
+        // me (5) es userHigh: los no leídos de cada uno son los enviados por el otro
+        conversation.setSentByHigh(unreadOther);
+        conversation.setSentByLow(unreadMe);
+        conversation.setLastMessageAt(LocalDateTime.now());
+        return conversation;
+    }
+
+    private static Conversation inboxEntry(Long id, User low, User high, LocalDateTime lastMessageAt) {
+        Conversation conversation = Conversation.between(low, high);
+        conversation.setId(id);
+        conversation.setLastMessageAt(lastMessageAt);
+        return conversation;
+    }
+
+    private static PrivateMessage message(Long id, User sender, User recipient, String content) {
+        return PrivateMessage.builder()
+                .id(id)
+                .sender(sender)
+                .recipient(recipient)
+                .content(content)
+                .build();
+    }
+
+    private static MessageRequestDTO request(Long recipientId, String content) {
+        MessageRequestDTO request = new MessageRequestDTO();
+        request.setRecipientId(recipientId);
+        request.setContent(content);
+        return request;
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        return user;
+    }
+}
@@ -0,0 +1,99 @@
+package com.forumviajeros.backend.service.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.forumviajeros.backend.dto.CursorPageDTO;
+import com.forumviajeros.backend.dto.notification.NotificationDTO;
+import com.forumviajeros.backend.model.Notification;
+import com.forumviajeros.backend.repository.NotificationRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NotificationInboxService Tests")
+class NotificationInboxServiceTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @InjectMocks
+    private NotificationInboxServiceImpl inboxService;
+
+    @Test
+    @DisplayName("La bandeja devuelve DTOs y un cursor cuando hay más filas")
+    void getInbox_ShouldReturnDtosWithCursor() {
+        LocalDateTime now = LocalDateTime.now();
+        when(notificationRepository.findInboxFirstPage(any(), any())).thenReturn(List.of(
+                notification(3L, now), notification(2L, now.minusMinutes(1)), notification(1L, now.minusMinutes(2))));
+
+        CursorPageDTO<NotificationDTO> page = inboxService.getInbox(7L, null, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals(3L, page.getItems().get(0).getId());
+        assertEquals(4, page.getItems().get(0).getActorCount());
+        assertTrue(page.isHasMore());
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("El contador de no leídas se lee siempre de la base de datos")
+    void getUnreadCount_ShouldCountInDatabase() {
+        when(notificationRepository.countByUserIdAndLeidoFalse(7L)).thenReturn(5L, 6L);
+
+        assertEquals(5L, inboxService.getUnreadCount(7L));
+        assertEquals(6L, inboxService.getUnreadCount(7L));
+        verify(notificationRepository, times(2)).countByUserIdAndLeidoFalse(7L);
+    }
+
+    @Test
+    @DisplayName("Marcar todas como leídas es una sola actualización")
+    void markAllAsRead_ShouldUpdateInBulk() {
+        when(notificationRepository.markAllAsRead(7L)).thenReturn(12);
+
+        assertEquals(12, inboxService.markAllAsRead(7L));
+        verify(notificationRepository).markAllAsRead(7L);
+    }
+
+    @Test
+    @DisplayName("Marcar como leída una notificación ajena no actualiza nada")
+    void markAsRead_OtherUsersNotification_ShouldReturnFalse() {
+        when(notificationRepository.markAsRead(5L, 7L)).thenReturn(0);
+
+        assertFalse(inboxService.markAsRead(5L, 7L));
+    }
+
+    @Test
+    @DisplayName("La purga borra un lote de ids de notificaciones leídas antiguas")
+    void purgeReadBatch_ShouldDeleteSelectedIds() {
+        when(notificationRepository.findReadIdsOlderThan(any(), any())).thenReturn(List.of(1L, 2L));
+
+        assertEquals(2, inboxService.purgeReadBatch(90, 1000));
+        verify(notificationRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+    }
+
+    private static Notification notification(Long id, LocalDateTime fecha) {
+        Notification notification = new Notification();
+        notification.setId(id);
+        notification.setTipo("LIKE");
+        notification.setReferenciaId(100L);
+        notification.setActorId(9L);
+        notification.setActorCount(4);
+        notification.setFecha(fecha);
+        return notification;
+    }
+}
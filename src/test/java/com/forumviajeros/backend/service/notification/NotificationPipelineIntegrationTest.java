@@ -0,0 +1,80 @@
+package com.forumviajeros.backend.service.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.forumviajeros.backend.event.NotificationRequestedEvent;
+import com.forumviajeros.backend.model.User;
+import com.forumviajeros.backend.repository.UserRepository;
+
+/**
+ * Tests de integración de las sentencias de NotificationPipeline
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+class NotificationPipelineIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Agrupar entre lotes cuenta usuarios distintos, no acciones")
+    void write_ShouldCountDistinctActorsAcrossBatches() {
+        User recipient = userRepository.save(user("pipeline_destinatario"));
+        try {
+            NotificationPipeline pipeline = new NotificationPipeline(jdbcTemplate, transactionManager,
+                    mock(ApplicationEventPublisher.class), 10, Duration.ofMinutes(10), 500);
+            pipeline.write(List.of(comment(recipient, 10L), comment(recipient, 10L)));
+            pipeline.write(List.of(comment(recipient, 11L)));
+            pipeline.write(List.of(comment(recipient, 10L)));
+
+            List<Integer> counts = jdbcTemplate.queryForList(
+                    "SELECT actor_count FROM notifications WHERE user_id = ?", Integer.class, recipient.getId());
+            assertEquals(List.of(2), counts);
+            assertEquals(10L, jdbcTemplate.queryForObject(
+                    "SELECT actor_id FROM notifications WHERE user_id = ?", Long.class, recipient.getId()));
+        } finally {
+            jdbcTemplate.update("DELETE FROM notifications WHERE user_id = ?", recipient.getId());
+            userRepository.delete(recipient);
+        }
+    }
+
+    private static NotificationRequestedEvent comment(User recipient, Long actorId) {
+        return new NotificationRequestedEvent(recipient.getId(), actorId, "COMMENT", 500L);
+    }
+
+    private static User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password123");
+        user.setStatus(User.UserStatus.ACTIVE);
+        user.setCreatedAt(LocalDateTime.now());
+        return user;
+    }
+}
@@ -0,0 +1,138 @@
+package com.forumviajeros.backend.service.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.forumviajeros.backend.event.NotificationCreatedEvent;
+import com.forumviajeros.backend.event.NotificationRequestedEvent;
+import com.forumviajeros.backend.service.notification.NotificationPipeline.PendingNotification;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NotificationPipeline Tests")
+class NotificationPipelineTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private NotificationPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        pipeline = new NotificationPipeline(jdbcTemplate, transactionManager, eventPublisher,
+                2, Duration.ofMinutes(10), 500);
+    }
+
+    @Test
+    @DisplayName("Agrupa likes sobre la misma referencia y deja los follows sueltos")
+    void coalesce_ShouldGroupLikesPerRecipientAndReference() {
+        List<NotificationRequestedEvent> requests = List.of(
+                new NotificationRequestedEvent(1L, 10L, "LIKE", 100L),
+                new NotificationRequestedEvent(1L, 11L, "LIKE", 100L),
+                new NotificationRequestedEvent(1L, 12L, "LIKE", 200L),
+                new NotificationRequestedEvent(1L, 13L, "FOLLOW", 13L),
+                new NotificationRequestedEvent(1L, 14L, "FOLLOW", 14L));
+
+        List<PendingNotification> pending = new ArrayList<>(
+                NotificationPipeline.coalesce(requests, LocalDateTime.now()));
+
+        assertEquals(4, pending.size());
+        assertEquals(2, pending.get(0).actorCount());
+        assertEquals(11L, pending.get(0).actorId);
+        assertEquals(1, pending.get(1).actorCount());
+    }
+
+    @Test
+    @DisplayName("Un mismo usuario cuenta una sola vez aunque repita la acción")
+    void coalesce_ShouldCountDistinctActors() {
+        List<NotificationRequestedEvent> requests = List.of(
+                new NotificationRequestedEvent(1L, 10L, "COMMENT", 100L),
+                new NotificationRequestedEvent(1L, 11L, "COMMENT", 100L),
+                new NotificationRequestedEvent(1L, 10L, "COMMENT", 100L));
+
+        PendingNotification pending = NotificationPipeline.coalesce(requests, LocalDateTime.now()).iterator().next();
+
+        assertEquals(2, pending.actorCount());
+        assertEquals(10L, pending.actorId);
+    }
+
+    @Test
+    @DisplayName("Actualiza la notificación sin leer existente e inserta solo las que no casan")
+    @SuppressWarnings("unchecked")
+    void write_ShouldUpdateExistingAndInsertTheRest() {
+        when(jdbcTemplate.batchUpdate(any(String.class), anyList())).thenAnswer(invocation ->
+                invocation.<String>getArgument(0).startsWith("UPDATE notifications SET actor_id")
+                        ? new int[] { 1, 0 }
+                        : new int[invocation.<List<Object[]>>getArgument(1).size()]);
+
+        pipeline.write(List.of(
+                new NotificationRequestedEvent(1L, 10L, "LIKE", 100L),
+                new NotificationRequestedEvent(2L, 10L, "COMMENT", 300L),
+                new NotificationRequestedEvent(3L, 10L, "FOLLOW", 10L)));
+
+        ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(5)).batchUpdate(statements.capture(), batches.capture());
+        List<Object[]> inserts = batches.getAllValues().get(statements.getAllValues().indexOf(
+                statements.getAllValues().stream().filter(sql -> sql.startsWith("INSERT INTO notifications "))
+                        .findFirst().orElseThrow()));
+        assertEquals(2, inserts.size());
+        assertEquals(3L, inserts.get(0)[0]);
+        assertEquals(2L, inserts.get(1)[0]);
+        verify(eventPublisher, times(3)).publishEvent(any(NotificationCreatedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Con la cola llena escribe directamente en lugar de descartar")
+    void onNotificationRequested_WhenQueueIsFull_ShouldWriteInline() {
+        pipeline.onNotificationRequested(new NotificationRequestedEvent(1L, 10L, "FOLLOW", 10L));
+        pipeline.onNotificationRequested(new NotificationRequestedEvent(1L, 11L, "FOLLOW", 11L));
+        verify(jdbcTemplate, never()).batchUpdate(any(String.class), anyList());
+
+        pipeline.onNotificationRequested(new NotificationRequestedEvent(1L, 12L, "FOLLOW", 12L));
+
+        verify(jdbcTemplate).batchUpdate(any(String.class), anyList());
+        assertEquals(2, pipeline.pending());
+    }
+
+    @Test
+    @DisplayName("flush vacía la cola en un único lote")
+    void flush_ShouldDrainQueue() {
+        pipeline.onNotificationRequested(new NotificationRequestedEvent(1L, 10L, "LIKE", 100L));
+        pipeline.onNotificationRequested(new NotificationRequestedEvent(1L, 11L, "LIKE", 100L));
+        when(jdbcTemplate.batchUpdate(any(String.class), anyList())).thenReturn(new int[] { 1 });
+
+        pipeline.flush();
+
+        assertEquals(0, pipeline.pending());
+        ArgumentCaptor<NotificationCreatedEvent> event = ArgumentCaptor.forClass(NotificationCreatedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(2, event.getValue().getActorCount());
+    }
+}
@@ -3,6 +3,7 @@ package com.forumviajeros.backend.service.post;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -20,6 +21,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -28,8 +30,10 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
+import com.forumviajeros.backend.dto.CursorPageDTO;
 import com.forumviajeros.backend.dto.post.PostRequestDTO;
 import com.forumviajeros.backend.dto.post.PostResponseDTO;
+import com.forumviajeros.backend.exception.ResourceNotFoundException;
 import com.forumviajeros.backend.model.Forum;
 import com.forumviajeros.backend.model.Post;
 import com.forumviajeros.backend.model.User;
@@ -39,6 +43,7 @@ import com.forumviajeros.backend.repository.PostRepository;
 import com.forumviajeros.backend.repository.TagRepository;
 import com.forumviajeros.backend.repository.UserRepository;
 import com.forumviajeros.backend.service.storage.LocalStorageService;
+import com.forumviajeros.backend.service.tag.TagResolver;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("PostService Tests")
@@ -56,12 +61,18 @@ class PostServiceTest {
     @Mock
     private TagRepository tagRepository;
 
+    @Mock
+    private TagResolver tagResolver;
+
     @Mock
     private ImageRepository imageRepository;
 
     @Mock
     private LocalStorageService localStorageService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private PostServiceImpl postService;
 
@@ -323,5 +334,39 @@ class PostServiceTest {
         assertNotNull(result);
         verify(postRepository).save(any(Post.class));
     }
-}
 
+    @Test
+    @DisplayName("Paginar posts de un foro por cursor con comentarios y etiquetas")
+    void findByForumPage_ShouldMapRowsWithCountsAndTags() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { 3L, "Tercero", "c3", Post.PostStatus.ACTIVE, 5L, now, now, 4L });
+        rows.add(new Object[] { 2L, "Segundo", "c2", Post.PostStatus.ACTIVE, 0L, now.minusHours(1), now, 0L });
+        rows.add(new Object[] { 1L, "Primero", "c1", Post.PostStatus.ACTIVE, 0L, now.minusHours(2), now, 0L });
+        List<Object[]> tags = new ArrayList<>();
+        tags.add(new Object[] { 3L, "japon" });
+        tags.add(new Object[] { 3L, "tren" });
+        when(forumRepository.existsById(1L)).thenReturn(true);
+        when(postRepository.findForumPageFirst(1L, Post.PostStatus.ACTIVE, PageRequest.of(0, 3))).thenReturn(rows);
+        when(postRepository.findTagNamesByPostIds(List.of(3L, 2L))).thenReturn(tags);
+
+        CursorPageDTO<PostResponseDTO> page = postService.findByForumPage(1L, null, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.isHasMore());
+        assertNotNull(page.getNextCursor());
+        PostResponseDTO first = page.getItems().get(0);
+        assertEquals(4L, first.getCommentCount());
+        assertEquals(List.of("japon", "tren"), first.getTags());
+        assertEquals(0L, page.getItems().get(1).getCommentCount());
+    }
+
+    @Test
+    @DisplayName("Paginar posts falla cuando el foro no existe")
+    void findByForumPage_ShouldThrow_WhenForumNotFound() {
+        when(forumRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> postService.findByForumPage(99L, null, 20));
+        verify(postRepository, never()).findForumPageFirst(any(), any(), any());
+    }
+}
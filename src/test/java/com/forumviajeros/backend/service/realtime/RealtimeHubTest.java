@@ -0,0 +1,75 @@
+package com.forumviajeros.backend.service.realtime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.forumviajeros.backend.dto.message.MessageResponseDTO;
+import com.forumviajeros.backend.event.MessageSentEvent;
+
+@DisplayName("RealtimeHub Tests")
+class RealtimeHubTest {
+
+    private InMemoryRealtimeBroker broker;
+    private RealtimeHub hub;
+    private List<PushMessage> published;
+
+    @BeforeEach
+    void setUp() {
+        broker = new InMemoryRealtimeBroker();
+        published = new ArrayList<>();
+        broker.subscribe(published::add);
+        hub = new RealtimeHub(broker, 60_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    @DisplayName("Registra varias conexiones por usuario y las libera al cerrarse")
+    void connect_ShouldTrackConnectionsPerUser() {
+        SseEmitter first = hub.connect(1L, Map.of("unreadMessages", 0L));
+        SseEmitter second = hub.connect(1L, Map.of("unreadMessages", 0L));
+        hub.connect(2L, Map.of("unreadMessages", 0L));
+
+        assertNotNull(first);
+        assertEquals(3, hub.connectionCount());
+
+        hub.remove(1L, first);
+        hub.remove(1L, second);
+
+        assertEquals(1, hub.connectionCount());
+    }
+
+    @Test
+    @DisplayName("Los mensajes enviados se publican en el broker para el destinatario")
+    void onMessageSent_ShouldPublishToBroker() {
+        MessageResponseDTO message = MessageResponseDTO.builder().id(10L).content("Hola").build();
+
+        hub.onMessageSent(new MessageSentEvent(7L, message));
+
+        assertEquals(1, published.size());
+        assertEquals(7L, published.get(0).userId());
+        assertEquals(RealtimeHub.EVENT_MESSAGE, published.get(0).event());
+        assertEquals(message, published.get(0).data());
+    }
+
+    @Test
+    @DisplayName("Un evento para un usuario sin conexiones en este nodo se descarta")
+    void deliverLocally_WithoutConnections_ShouldBeNoop() {
+        hub.deliverLocally(new PushMessage(99L, RealtimeHub.EVENT_NOTIFICATION, Map.of()));
+
+        assertEquals(0, hub.connectionCount());
+    }
+}
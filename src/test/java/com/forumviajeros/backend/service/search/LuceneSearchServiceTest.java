@@ -0,0 +1,118 @@
+package com.forumviajeros.backend.service.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.forumviajeros.backend.dto.search.SearchResultDTO;
+
+@DisplayName("LuceneSearchService Tests")
+class LuceneSearchServiceTest {
+
+    private LuceneSearchService searchService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        searchService = new LuceneSearchService("", 300);
+        LocalDateTime now = LocalDateTime.now();
+        searchService.index(List.of(
+                new SearchDocument(SearchDocumentType.FORUM, 1L, "Viajes por Japón",
+                        "Consejos para recorrer Japón en tren", 1L, null, now),
+                new SearchDocument(SearchDocumentType.POST, 10L, "Camiones en la Patagonia",
+                        "Hicimos autostop con camioneros por la ruta 40", 1L, 10L, now),
+                new SearchDocument(SearchDocumentType.COMMENT, 100L, null,
+                        "Yo también viajé en camión por Argentina", 1L, 10L, now),
+                new SearchDocument(SearchDocumentType.POST, 20L, "Hiking trails",
+                        "The best hiking routes near the mountains", 2L, 20L, now)));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        searchService.close();
+    }
+
+    @Test
+    @DisplayName("Ignora acentos y plurales en español")
+    void search_ShouldFoldAccentsAndStem() {
+        Page<SearchResultDTO> result = searchService.search("camion", Set.of(), PageRequest.of(0, 10));
+
+        assertEquals(2, result.getTotalElements());
+        assertTrue(result.getContent().stream().anyMatch(r -> r.getId().equals(10L)));
+        assertTrue(result.getContent().stream().anyMatch(r -> r.getId().equals(100L)));
+        assertEquals(1, searchService.search("japon", Set.of(), PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Aplica el analizador inglés")
+    void search_ShouldStemEnglish() {
+        Page<SearchResultDTO> result = searchService.search("hike route", Set.of(), PageRequest.of(0, 10));
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals(20L, result.getContent().get(0).getId());
+    }
+
+    @Test
+    @DisplayName("El título pesa más que el cuerpo y se resaltan las coincidencias")
+    void search_ShouldRankTitleFirstAndHighlight() {
+        Page<SearchResultDTO> result = searchService.search("camión", Set.of(), PageRequest.of(0, 10));
+
+        SearchResultDTO first = result.getContent().get(0);
+        assertEquals(10L, first.getId());
+        assertEquals("POST", first.getType());
+        assertEquals(1L, first.getForumId());
+        assertTrue(result.getContent().get(1).getSnippet().contains("<mark>camión</mark>"));
+    }
+
+    @Test
+    @DisplayName("Filtra por tipo y pagina")
+    void search_ShouldFilterByTypeAndPage() {
+        Page<SearchResultDTO> comments = searchService.search("camion", Set.of(SearchDocumentType.COMMENT),
+                PageRequest.of(0, 10));
+        Page<SearchResultDTO> secondPage = searchService.search("camion", Set.of(), PageRequest.of(1, 1));
+
+        assertEquals(1, comments.getTotalElements());
+        assertEquals(100L, comments.getContent().get(0).getId());
+        assertEquals(1, secondPage.getContent().size());
+        assertEquals(2, secondPage.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Borrar un post en cascada retira también sus comentarios")
+    void delete_ShouldCascadeToChildren() {
+        searchService.delete(SearchDocumentType.POST, 10L, true);
+
+        assertEquals(0, searchService.search("camion", Set.of(), PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(2, searchService.documentCount());
+    }
+
+    @Test
+    @DisplayName("Ocultar un foro no retira su contenido")
+    void delete_ShouldKeepChildren_WhenNotCascading() {
+        searchService.delete(SearchDocumentType.FORUM, 1L, false);
+
+        assertEquals(0, searchService.search("japon", Set.of(), PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(2, searchService.search("camion", Set.of(), PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Reindexar un documento lo reemplaza")
+    void index_ShouldReplaceExistingDocument() {
+        searchService.index(List.of(new SearchDocument(SearchDocumentType.FORUM, 1L, "Viajes por Corea",
+                "Seúl y Busan", 1L, null, LocalDateTime.now())));
+
+        assertEquals(0, searchService.search("japon", Set.of(), PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(1, searchService.search("seul", Set.of(), PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(4, searchService.documentCount());
+    }
+}
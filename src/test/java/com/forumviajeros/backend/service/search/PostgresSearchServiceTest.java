@@ -0,0 +1,28 @@
+package com.forumviajeros.backend.service.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("PostgresSearchService Tests")
+class PostgresSearchServiceTest {
+
+    @Test
+    @DisplayName("El fragmento solo conserva los marcadores de resaltado como HTML")
+    void toSafeSnippet_ShouldEscapeEverythingButMarks() {
+        String headline = "Ruta por <mark>Japón</mark> &lt;script&gt;alert(1)&lt;/script&gt; "
+                + "<img src=x onerror=alert(1)   y \"comida\" & más";
+
+        assertEquals("Ruta por <mark>Japón</mark> &lt;script&gt;alert(1)&lt;/script&gt; "
+                + "&lt;img src=x onerror=alert(1) y &quot;comida&quot; &amp; más",
+                PostgresSearchService.toSafeSnippet(headline));
+    }
+
+    @Test
+    @DisplayName("Sin fragmento devuelve null")
+    void toSafeSnippet_ShouldKeepNull() {
+        assertNull(PostgresSearchService.toSafeSnippet(null));
+    }
+}
@@ -0,0 +1,108 @@
+package com.forumviajeros.backend.service.search;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.forumviajeros.backend.event.SearchIndexRequestedEvent;
+import com.forumviajeros.backend.repository.CommentRepository;
+import com.forumviajeros.backend.repository.ForumRepository;
+import com.forumviajeros.backend.repository.PostRepository;
+
+import jakarta.persistence.EntityManager;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SearchIndexer Tests")
+class SearchIndexerTest {
+
+    @Mock
+    private SearchService searchService;
+
+    @Mock
+    private ForumRepository forumRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SearchIndexer indexer;
+
+    @BeforeEach
+    void setUp() {
+        indexer = new SearchIndexer(searchService, forumRepository, postRepository, commentRepository,
+                entityManager, transactionManager, 2);
+        when(searchService.maintainsIndex()).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Un lote del relay espera a que termine la reconstrucción")
+    void apply_ShouldWaitForReindex() throws Exception {
+        AtomicBoolean reindexingSeen = new AtomicBoolean();
+        CompletableFuture<Void> relayBatch = new CompletableFuture<>();
+        doAnswer(invocation -> {
+            reindexingSeen.set(indexer.isReindexing());
+            // El relay entrega un lote en mitad de la reconstrucción
+            CompletableFuture.runAsync(() -> indexer.apply(
+                    List.of(new SearchIndexRequestedEvent(SearchDocumentType.POST, 7L))))
+                    .whenComplete((ok, error) -> relayBatch.complete(null));
+            Thread.sleep(100);
+            assertFalse(relayBatch.isDone());
+            return null;
+        }).when(searchService).deleteAll();
+        when(forumRepository.streamAllForIndexing()).thenReturn(Stream.empty());
+        when(postRepository.streamAllForIndexing()).thenReturn(Stream.empty());
+        when(commentRepository.streamAllForIndexing()).thenReturn(Stream.empty());
+        when(postRepository.findAllById(Set.of(7L))).thenReturn(List.of());
+
+        indexer.reindexAll();
+        relayBatch.get(5, TimeUnit.SECONDS);
+
+        assertTrue(reindexingSeen.get());
+        assertFalse(indexer.isReindexing());
+        // El lote se aplica sobre el índice ya reconstruido
+        InOrder order = inOrder(searchService, postRepository);
+        order.verify(postRepository).streamAllForIndexing();
+        order.verify(postRepository).findAllById(Set.of(7L));
+        order.verify(searchService).delete(SearchDocumentType.POST, 7L, true);
+    }
+
+    @Test
+    @DisplayName("Sin índice propio no reconstruye nada")
+    void reindexAll_ShouldSkip_WhenBackendHasNoIndex() {
+        when(searchService.maintainsIndex()).thenReturn(false);
+
+        indexer.reindexAll();
+
+        verify(searchService, never()).deleteAll();
+        verifyNoInteractions(forumRepository, postRepository, commentRepository);
+    }
+}
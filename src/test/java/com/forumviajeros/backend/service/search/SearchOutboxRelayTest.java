@@ -0,0 +1,167 @@
+package com.forumviajeros.backend.service.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.forumviajeros.backend.event.SearchIndexRequestedEvent;
+import com.forumviajeros.backend.model.SearchOutboxDeadLetter;
+import com.forumviajeros.backend.model.SearchOutboxEntry;
+import com.forumviajeros.backend.repository.SearchOutboxDeadLetterRepository;
+import com.forumviajeros.backend.repository.SearchOutboxRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SearchOutboxRelay Tests")
+class SearchOutboxRelayTest {
+
+    @Mock
+    private SearchOutboxRepository outboxRepository;
+
+    @Mock
+    private SearchOutboxDeadLetterRepository deadLetterRepository;
+
+    @Mock
+    private SearchIndexer indexer;
+
+    @Mock
+    private SearchService searchService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SearchOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new SearchOutboxRelay(outboxRepository, deadLetterRepository, indexer, searchService, transactionManager, 2, 3);
+        lenient().when(searchService.maintainsIndex()).thenReturn(true);
+    }
+
+    private static SearchOutboxEntry entry(Long id, String type, Long entityId) {
+        return SearchOutboxEntry.builder().id(id).entityType(type).entityId(entityId).attempts(0).build();
+    }
+
+    @Test
+    @DisplayName("Guarda el cambio en el outbox al publicarse el evento")
+    void onIndexRequested_ShouldWriteOutboxEntry() {
+        relay.onIndexRequested(new SearchIndexRequestedEvent(SearchDocumentType.POST, 7L));
+
+        ArgumentCaptor<SearchOutboxEntry> captor = ArgumentCaptor.forClass(SearchOutboxEntry.class);
+        verify(outboxRepository).save(captor.capture());
+        assertEquals("POST", captor.getValue().getEntityType());
+        assertEquals(7L, captor.getValue().getEntityId());
+    }
+
+    @Test
+    @DisplayName("Sin índice propio no escribe en el outbox")
+    void onIndexRequested_ShouldSkip_WhenBackendHasNoIndex() {
+        when(searchService.maintainsIndex()).thenReturn(false);
+
+        relay.onIndexRequested(new SearchIndexRequestedEvent(SearchDocumentType.POST, 7L));
+
+        verify(outboxRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("No entrega nada mientras se reconstruye el índice")
+    void relay_ShouldWait_WhileReindexing() {
+        when(indexer.isReindexing()).thenReturn(true);
+
+        relay.relay();
+
+        verify(outboxRepository, never()).findPending(anyInt(), any(Pageable.class));
+        verify(indexer, never()).apply(any());
+    }
+
+    @Test
+    @DisplayName("Aplica los lotes y borra las entradas entregadas")
+    @SuppressWarnings("unchecked")
+    void relay_ShouldDeliverAndDeleteBatches() {
+        when(outboxRepository.findPending(anyInt(), any(Pageable.class)))
+                .thenReturn(List.of(entry(1L, "POST", 10L), entry(2L, "FORUM", 3L)))
+                .thenReturn(List.of(entry(3L, "COMMENT", 5L)));
+
+        relay.relay();
+
+        ArgumentCaptor<Collection<SearchIndexRequestedEvent>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(indexer, org.mockito.Mockito.times(2)).apply(captor.capture());
+        assertEquals(2, captor.getAllValues().get(0).size());
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(3L));
+    }
+
+    @Test
+    @DisplayName("Si la indexación falla conserva las entradas y anota el intento")
+    void relay_ShouldKeepEntries_WhenIndexingFails() {
+        when(outboxRepository.findPending(anyInt(), any(Pageable.class)))
+                .thenReturn(List.of(entry(1L, "POST", 10L), entry(2L, "POST", 11L)));
+        doThrow(new IllegalStateException("índice no disponible")).when(indexer).apply(any());
+
+        relay.relay();
+
+        verify(outboxRepository).incrementAttempts(List.of(1L));
+        verify(outboxRepository).incrementAttempts(List.of(2L));
+        verify(outboxRepository, never()).deleteAllByIdInBatch(any());
+        verify(outboxRepository).findPending(anyInt(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Una entrada que falla no bloquea al resto del lote")
+    void relay_ShouldIsolateFailingEntry() {
+        relay = new SearchOutboxRelay(outboxRepository, deadLetterRepository, indexer, searchService,
+                transactionManager, 4, 3);
+        when(outboxRepository.findPending(anyInt(), any(Pageable.class))).thenReturn(List.of(
+                entry(1L, "POST", 10L), entry(2L, "POST", 11L), entry(3L, "POST", 12L), entry(4L, "POST", 13L)));
+        doAnswer(invocation -> {
+            Collection<SearchIndexRequestedEvent> requests = invocation.getArgument(0);
+            if (requests.stream().anyMatch(request -> request.getId() == 12L)) {
+                throw new IllegalStateException("documento inválido");
+            }
+            return null;
+        }).when(indexer).apply(any());
+
+        relay.relay();
+
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(4L));
+        verify(outboxRepository).incrementAttempts(List.of(3L));
+        verify(deadLetterRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Una entrada que agota sus intentos pasa a la tabla de fallidos")
+    void relay_ShouldMoveExhaustedEntryToDeadLetters() {
+        SearchOutboxEntry poison = entry(1L, "POST", 10L);
+        poison.setAttempts(2);
+        when(outboxRepository.findPending(anyInt(), any(Pageable.class))).thenReturn(List.of(poison));
+        doThrow(new IllegalStateException("documento inválido")).when(indexer).apply(any());
+
+        relay.relay();
+
+        ArgumentCaptor<SearchOutboxDeadLetter> captor = ArgumentCaptor.forClass(SearchOutboxDeadLetter.class);
+        verify(deadLetterRepository).save(captor.capture());
+        assertEquals(10L, captor.getValue().getEntityId());
+        assertEquals(3, captor.getValue().getAttempts());
+        verify(outboxRepository).deleteById(1L);
+        verify(outboxRepository, never()).incrementAttempts(any());
+    }
+}
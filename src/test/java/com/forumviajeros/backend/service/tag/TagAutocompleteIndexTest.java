@@ -0,0 +1,66 @@
+package com.forumviajeros.backend.service.tag;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.forumviajeros.backend.dto.tag.TagResponseDTO;
+import com.forumviajeros.backend.repository.TagRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TagAutocompleteIndex Tests")
+class TagAutocompleteIndexTest {
+
+    @Mock
+    private TagRepository tagRepository;
+
+    private TagAutocompleteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TagAutocompleteIndex(tagRepository, 3);
+        when(tagRepository.findUsageSnapshot()).thenReturn(List.of(
+                new Object[] { 1L, "Cancún", 1L, 2L },
+                new Object[] { 2L, "camping", 0L, 9L },
+                new Object[] { 3L, "Canadá", 4L, 4L },
+                new Object[] { 4L, "cañones", 0L, 1L },
+                new Object[] { 5L, "playa", 7L, 30L },
+                new Object[] { 6L, "canoa", 0L, 0L }));
+        index.refresh();
+    }
+
+    private static List<String> names(List<TagResponseDTO> tags) {
+        return tags.stream().map(TagResponseDTO::getName).toList();
+    }
+
+    @Test
+    @DisplayName("Encuentra por prefijo sin distinguir mayúsculas ni acentos, de más a menos usadas")
+    void suggest_ShouldFoldCaseAndAccentsAndRankByUsage() {
+        assertEquals(List.of("Canadá", "Cancún", "cañones"), names(index.suggest("CAN", 10)));
+        assertEquals(List.of("Cancún"), names(index.suggest("cancu", 10)));
+    }
+
+    @Test
+    @DisplayName("Respeta el límite pedido y el máximo configurado")
+    void suggest_ShouldCapLimit() {
+        assertEquals(List.of("camping", "Canadá"), names(index.suggest("ca", 2)));
+        assertEquals(3, index.suggest("ca", 50).size());
+    }
+
+    @Test
+    @DisplayName("Sin prefijo o sin coincidencias no devuelve nada")
+    void suggest_ShouldReturnEmpty_WhenBlankOrNoMatch() {
+        assertTrue(index.suggest(" ", 10).isEmpty());
+        assertTrue(index.suggest("zz", 10).isEmpty());
+        assertEquals(List.of("playa"), names(index.suggest("playa", 10)));
+    }
+}
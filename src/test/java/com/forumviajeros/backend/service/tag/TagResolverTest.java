@@ -0,0 +1,90 @@
+package com.forumviajeros.backend.service.tag;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.forumviajeros.backend.model.Tag;
+import com.forumviajeros.backend.repository.TagRepository;
+
+/**
+ * Tests de integración para TagResolver
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+@Import(TagResolver.class)
+class TagResolverTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TagResolver tagResolver;
+
+    @Test
+    @DisplayName("Debe normalizar los nombres, reutilizar las existentes y crear las que faltan")
+    void shouldReuseExistingAndCreateMissing() {
+        Tag existing = new Tag();
+        existing.setName("playa");
+        existing = entityManager.persistAndFlush(existing);
+
+        List<Tag> tags = tagResolver.resolve(Arrays.asList(" <b>mochila</b> ", "playa", "ruta  66", "mochila", "", null));
+
+        assertEquals(List.of("mochila", "playa", "ruta 66"), tags.stream().map(Tag::getName).toList());
+        assertEquals(existing.getId(), tags.get(1).getId());
+        assertNotNull(tags.get(0).getId());
+        assertEquals(3, tagRepository.count());
+    }
+
+    @Test
+    @DisplayName("No debe duplicar una etiqueta creada por otra transacción")
+    void shouldNotDuplicateConcurrentlyCreatedTag() {
+        jdbcTemplate.update("INSERT INTO tags (name) VALUES ('templos')");
+
+        List<Tag> tags = tagResolver.resolve(List.of("templos", "islas"));
+        jdbcTemplate.batchUpdate("INSERT INTO tags (name) VALUES (?) ON CONFLICT DO NOTHING",
+                List.of(new Object[] { "templos" }, new Object[] { "islas" }));
+
+        assertEquals(2, tags.size());
+        assertEquals(2, tagRepository.count());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Las etiquetas ya resueltas salen de la caché sin consultar")
+    void shouldServeKnownTagsFromCache() {
+        try {
+            Long id = tagResolver.resolve(List.of("desierto")).get(0).getId();
+            // Si se consultara la base de datos se crearía otra fila con un id nuevo
+            jdbcTemplate.update("DELETE FROM tags WHERE id = ?", id);
+
+            assertEquals(id, tagResolver.resolve(List.of("desierto")).get(0).getId());
+            assertEquals(0, tagRepository.count());
+        } finally {
+            tagResolver.evict("desierto");
+            jdbcTemplate.update("DELETE FROM tags");
+        }
+    }
+}
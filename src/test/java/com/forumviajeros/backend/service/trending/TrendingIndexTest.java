@@ -0,0 +1,217 @@
+package com.forumviajeros.backend.service.trending;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.forumviajeros.backend.event.EngagementRecordedEvent;
+import com.forumviajeros.backend.event.SearchIndexRequestedEvent;
+import com.forumviajeros.backend.model.Post;
+import com.forumviajeros.backend.repository.CommentRepository;
+import com.forumviajeros.backend.repository.ForumRepository;
+import com.forumviajeros.backend.repository.PostLikeRepository;
+import com.forumviajeros.backend.repository.PostRepository;
+import com.forumviajeros.backend.service.search.SearchDocumentType;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TrendingIndex Tests")
+class TrendingIndexTest {
+
+    private static final long HOUR = Duration.ofHours(1).toMillis();
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private ForumRepository forumRepository;
+
+    @Mock
+    private PostLikeRepository postLikeRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    private TrendingIndex index;
+
+    /** postId -> [forumId, categoryId, status, tags...] */
+    private final Map<Long, Object[]> posts = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        index = new TrendingIndex(postRepository, forumRepository, postLikeRepository, commentRepository,
+                Duration.ofHours(1), 2, 0.05);
+        lenient().when(postRepository.findTrendingMetadata(anyCollection())).thenAnswer(invocation -> {
+            List<Object[]> rows = new ArrayList<>();
+            for (Long id : invocation.<Collection<Long>>getArgument(0)) {
+                Object[] post = posts.get(id);
+                if (post != null) {
+                    rows.add(new Object[] { id, post[0], post[1], post[2] });
+                }
+            }
+            return rows;
+        });
+        lenient().when(postRepository.findTagNamesByPostIds(anyCollection())).thenAnswer(invocation -> {
+            List<Object[]> rows = new ArrayList<>();
+            for (Long id : invocation.<Collection<Long>>getArgument(0)) {
+                Object[] post = posts.get(id);
+                for (int i = 3; post != null && i < post.length; i++) {
+                    rows.add(new Object[] { id, post[i] });
+                }
+            }
+            return rows;
+        });
+    }
+
+    private void post(Long id, Long forumId, Long categoryId, String... tags) {
+        Object[] post = new Object[3 + tags.length];
+        post[0] = forumId;
+        post[1] = categoryId;
+        post[2] = Post.PostStatus.ACTIVE;
+        System.arraycopy(tags, 0, post, 3, tags.length);
+        posts.put(id, post);
+    }
+
+    @Test
+    @DisplayName("Ordena por la suma ponderada de interacciones y la agrega al foro")
+    void record_ShouldRankByWeightedEngagement() {
+        post(1L, 10L, 1L);
+        post(2L, 20L, 1L);
+        long now = System.currentTimeMillis();
+
+        index.recordPost(1L, EngagementType.COMMENT, now);
+        index.recordPost(2L, EngagementType.LIKE, now);
+        index.recordPost(2L, EngagementType.VIEW, now);
+
+        assertEquals(List.of(1L, 2L), index.topPosts(null, null, 10));
+        assertEquals(List.of(10L, 20L), index.topForums(null, 10));
+        assertEquals(List.of(10L, 20L), index.topForums(1L, 10));
+    }
+
+    @Test
+    @DisplayName("Las interacciones antiguas pesan menos")
+    void record_ShouldDecayOldEngagement() {
+        post(1L, 10L, 1L);
+        post(2L, 10L, 1L);
+        long now = System.currentTimeMillis();
+
+        // Un comentario de hace una semivida vale 2.5, un like de ahora 3
+        index.recordPost(1L, EngagementType.COMMENT, now - HOUR);
+        index.recordPost(2L, EngagementType.LIKE, now);
+
+        assertEquals(List.of(2L, 1L), index.topPosts(null, null, 10));
+    }
+
+    @Test
+    @DisplayName("Mantiene top-K por categoría y por etiqueta")
+    void topPosts_ShouldKeepTopKPerScope() {
+        post(1L, 10L, 1L, "Japon");
+        post(2L, 10L, 1L, "japon");
+        post(3L, 30L, 2L);
+        long now = System.currentTimeMillis();
+
+        index.recordPost(1L, EngagementType.VIEW, now);
+        index.recordPost(2L, EngagementType.LIKE, now);
+        index.recordPost(3L, EngagementType.COMMENT, now);
+
+        assertEquals(List.of(3L, 2L), index.topPosts(null, null, 10));
+        assertEquals(List.of(2L, 1L), index.topPosts(1L, null, 10));
+        assertEquals(List.of(2L, 1L), index.topPosts(null, "JAPON", 10));
+        assertEquals(List.of(3L), index.topPosts(2L, null, 10));
+        assertTrue(index.topPosts(2L, "japon", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Ignora posts que no existen o no están activos")
+    void record_ShouldIgnoreMissingPosts() {
+        index.onEngagement(EngagementRecordedEvent.onPost(EngagementType.LIKE, 99L));
+
+        assertTrue(index.topPosts(null, null, 10).isEmpty());
+        assertTrue(index.topForums(null, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Un post borrado sale del ranking y deja sitio al siguiente")
+    void onContentChanged_ShouldRemoveDeletedPost() {
+        post(1L, 10L, 1L);
+        post(2L, 10L, 1L);
+        post(3L, 10L, 1L);
+        long now = System.currentTimeMillis();
+        index.recordPost(1L, EngagementType.VIEW, now);
+        index.recordPost(2L, EngagementType.LIKE, now);
+        index.recordPost(3L, EngagementType.COMMENT, now);
+        assertEquals(List.of(3L, 2L), index.topPosts(null, null, 10));
+
+        posts.remove(3L);
+        index.onContentChanged(new SearchIndexRequestedEvent(SearchDocumentType.POST, 3L));
+
+        assertEquals(List.of(2L, 1L), index.topPosts(null, null, 10));
+    }
+
+    @Test
+    @DisplayName("Un post que cambia de etiqueta pasa al top-K de la nueva")
+    void onContentChanged_ShouldMovePostBetweenTagScopes() {
+        post(1L, 10L, 1L, "japon");
+        post(2L, 10L, 1L, "japon");
+        long now = System.currentTimeMillis();
+        index.recordPost(1L, EngagementType.LIKE, now);
+        index.recordPost(2L, EngagementType.VIEW, now);
+
+        post(1L, 10L, 1L, "corea");
+        index.onContentChanged(new SearchIndexRequestedEvent(SearchDocumentType.POST, 1L));
+
+        assertEquals(List.of(2L), index.topPosts(null, "japon", 10));
+        assertEquals(List.of(1L), index.topPosts(null, "corea", 10));
+        assertEquals(List.of(1L, 2L), index.topPosts(null, null, 10));
+    }
+
+    @Test
+    @DisplayName("El mantenimiento descarta las puntuaciones despreciables")
+    void maintain_ShouldPruneNegligibleScores() {
+        post(1L, 10L, 1L);
+        post(2L, 10L, 1L);
+        long now = System.currentTimeMillis();
+        index.recordPost(1L, EngagementType.VIEW, now - 10 * HOUR);
+        index.recordPost(2L, EngagementType.VIEW, now);
+
+        index.maintain();
+
+        assertEquals(List.of(2L), index.topPosts(null, null, 10));
+    }
+
+    @Test
+    @DisplayName("Se reconstruye con los likes y comentarios recientes")
+    void rebuild_ShouldReplayRecentActivity() {
+        post(1L, 10L, 1L);
+        post(2L, 20L, 2L);
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> likes = new ArrayList<>();
+        likes.add(new Object[] { 1L, now });
+        List<Object[]> comments = new ArrayList<>();
+        comments.add(new Object[] { 2L, now.minusMinutes(5) });
+        when(postLikeRepository.findPostActivitySince(any())).thenReturn(likes);
+        when(commentRepository.findPostActivitySince(any())).thenReturn(comments);
+
+        index.rebuild();
+
+        assertEquals(List.of(2L, 1L), index.topPosts(null, null, 10));
+        assertEquals(List.of(20L), index.topForums(2L, 10));
+    }
+}
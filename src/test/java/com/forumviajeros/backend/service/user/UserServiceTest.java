@@ -3,6 +3,8 @@ package com.forumviajeros.backend.service.user;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -19,9 +21,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -29,11 +33,19 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.forumviajeros.backend.dto.user.UserResponseDTO;
+import com.forumviajeros.backend.event.FollowChangedEvent;
+import com.forumviajeros.backend.event.SearchIndexRequestedEvent;
 import com.forumviajeros.backend.model.Role;
 import com.forumviajeros.backend.model.User;
 import com.forumviajeros.backend.model.User.UserStatus;
+import com.forumviajeros.backend.repository.CommentRepository;
+import com.forumviajeros.backend.repository.FollowRepository;
+import com.forumviajeros.backend.repository.ForumRepository;
+import com.forumviajeros.backend.repository.PostRepository;
 import com.forumviajeros.backend.repository.RoleRepository;
+import com.forumviajeros.backend.repository.TagRepository;
 import com.forumviajeros.backend.repository.UserRepository;
+import com.forumviajeros.backend.service.search.SearchDocumentType;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("UserService Tests")
@@ -48,6 +60,24 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ForumRepository forumRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private TagRepository tagRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private FollowRepository followRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -334,4 +364,63 @@ class UserServiceTest {
         );
         verify(userRepository, never()).save(any(User.class));
     }
+
+    @Test
+    @DisplayName("Borrar un usuario descuenta los contadores antes del borrado en cascada")
+    void deleteUser_ShouldDecrementCountersBeforeDeleting() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        userService.deleteUser(1L);
+
+        InOrder order = inOrder(forumRepository, postRepository, userRepository, tagRepository);
+        order.verify(forumRepository).decrementPostCountsOfUser(1L);
+        order.verify(postRepository).decrementCommentCountsOfUser(1L);
+        order.verify(userRepository).decrementActivityCountsOfUser(1L);
+        order.verify(tagRepository).decrementUsageCountsOfUser(1L);
+        order.verify(userRepository).deleteById(1L);
+    }
+
+    @Test
+    @DisplayName("Borrar un usuario pide retirar del índice sus foros, posts y comentarios")
+    void deleteUser_ShouldRequestSearchRemovalOfContent() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(forumRepository.findIdsByUserId(1L)).thenReturn(List.of(5L));
+        when(postRepository.findIdsByUserId(1L)).thenReturn(List.of(7L, 8L));
+        when(commentRepository.findIdsByUserId(1L)).thenReturn(List.of(9L));
+
+        userService.deleteUser(1L);
+
+        InOrder order = inOrder(eventPublisher, userRepository);
+        order.verify(eventPublisher).publishEvent(indexRequest(SearchDocumentType.FORUM, 5L));
+        order.verify(eventPublisher).publishEvent(indexRequest(SearchDocumentType.POST, 7L));
+        order.verify(eventPublisher).publishEvent(indexRequest(SearchDocumentType.POST, 8L));
+        order.verify(eventPublisher).publishEvent(indexRequest(SearchDocumentType.COMMENT, 9L));
+        order.verify(userRepository).deleteById(1L);
+    }
+
+    @Test
+    @DisplayName("Borrar un usuario retira sus relaciones del grafo social en memoria")
+    void deleteUser_ShouldPublishUnfollowForEachRelation() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(followRepository.findFollowPairsOfUser(1L)).thenReturn(List.<Object[]>of(
+                new Object[] { 1L, 2L },
+                new Object[] { 3L, 1L }));
+
+        userService.deleteUser(1L);
+
+        InOrder order = inOrder(eventPublisher, userRepository);
+        order.verify(eventPublisher).publishEvent(unfollow(1L, 2L));
+        order.verify(eventPublisher).publishEvent(unfollow(3L, 1L));
+        order.verify(userRepository).deleteById(1L);
+    }
+
+    private static Object unfollow(Long followerId, Long followedId) {
+        return argThat(event -> event instanceof FollowChangedEvent change && !change.isFollowing()
+                && change.getFollowerId().equals(followerId) && change.getFollowedId().equals(followedId));
+    }
+
+    private static Object indexRequest(SearchDocumentType type, Long id) {
+        return argThat(event -> event instanceof SearchIndexRequestedEvent request
+                && request.getType() == type && request.getId().equals(id));
+    }
 }
@@ -0,0 +1,134 @@
+package com.forumviajeros.backend.service.view;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ViewCounter Tests")
+class ViewCounterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ViewCounter viewCounter;
+
+    @BeforeEach
+    void setUp() {
+        viewCounter = new ViewCounter(jdbcTemplate, transactionManager, eventPublisher, Duration.ofMinutes(30), 1000);
+    }
+
+    @Test
+    @DisplayName("Un visitante cuenta una sola vez dentro de la ventana")
+    void record_ShouldDeduplicatePerViewer() {
+        assertTrue(viewCounter.record(ViewCounter.Target.POST, 1L, "u:ana"));
+        assertFalse(viewCounter.record(ViewCounter.Target.POST, 1L, "u:ana"));
+        assertTrue(viewCounter.record(ViewCounter.Target.POST, 1L, "ip:10.0.0.1"));
+        assertTrue(viewCounter.record(ViewCounter.Target.FORUM, 1L, "u:ana"));
+
+        assertEquals(2, viewCounter.pending(ViewCounter.Target.POST, 1L));
+        assertEquals(1, viewCounter.pending(ViewCounter.Target.FORUM, 1L));
+    }
+
+    @Test
+    @DisplayName("Vuelca los deltas agregados en un único lote ordenado por id")
+    @SuppressWarnings("unchecked")
+    void flush_ShouldWriteAggregatedDeltasInOneBatch() {
+        viewCounter.record(ViewCounter.Target.POST, 9L, "u:ana");
+        viewCounter.record(ViewCounter.Target.POST, 9L, "u:luis");
+        viewCounter.record(ViewCounter.Target.POST, 3L, "u:ana");
+
+        viewCounter.flush();
+
+        ArgumentCaptor<List<Object[]>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq("UPDATE posts SET view_count = view_count + ? WHERE id = ?"),
+                deltas.capture());
+        assertEquals(2, deltas.getValue().size());
+        assertArrayEquals(new Object[] { 1L, 3L }, deltas.getValue().get(0));
+        assertArrayEquals(new Object[] { 2L, 9L }, deltas.getValue().get(1));
+        assertEquals(0, viewCounter.pending(ViewCounter.Target.POST, 9L));
+        verify(jdbcTemplate, never()).batchUpdate(eq("UPDATE forums SET view_count = view_count + ? WHERE id = ?"),
+                anyList());
+    }
+
+    @Test
+    @DisplayName("Si el volcado falla las visitas se conservan para el siguiente")
+    void flush_ShouldKeepDeltas_WhenWriteFails() {
+        viewCounter.record(ViewCounter.Target.FORUM, 5L, "u:ana");
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("sin conexión"));
+
+        viewCounter.flush();
+
+        assertEquals(1, viewCounter.pending(ViewCounter.Target.FORUM, 5L));
+    }
+
+    @Test
+    @DisplayName("Las visitas concurrentes con el volcado no se pierden al liberar entradas")
+    void flush_ShouldNotLoseViews_WhenRecordingConcurrently() throws InterruptedException {
+        AtomicLong written = new AtomicLong();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> deltas = invocation.getArgument(1);
+            deltas.forEach(delta -> written.addAndGet((Long) delta[0]));
+            return new int[deltas.size()];
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    viewCounter.record(ViewCounter.Target.POST, (long) (i % 3), null);
+                }
+            });
+        }
+        executor.shutdown();
+        while (!executor.awaitTermination(1, TimeUnit.MILLISECONDS)) {
+            viewCounter.flush();
+        }
+        viewCounter.flush();
+
+        assertEquals(20000, written.get());
+    }
+
+    @Test
+    @DisplayName("Al parar la aplicación se vuelcan las visitas pendientes")
+    void shutdown_ShouldFlushPendingViews() {
+        viewCounter.record(ViewCounter.Target.FORUM, 5L, null);
+
+        viewCounter.shutdown();
+
+        verify(jdbcTemplate).batchUpdate(eq("UPDATE forums SET view_count = view_count + ? WHERE id = ?"), anyList());
+        assertEquals(0, viewCounter.pending(ViewCounter.Target.FORUM, 5L));
+    }
+}
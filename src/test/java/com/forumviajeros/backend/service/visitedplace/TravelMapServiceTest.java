@@ -0,0 +1,117 @@
+package com.forumviajeros.backend.service.visitedplace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.forumviajeros.backend.dto.visitedplace.TravelHeatmapDTO;
+import com.forumviajeros.backend.dto.visitedplace.TravelMapDTO;
+import com.forumviajeros.backend.event.VisitedPlaceChangedEvent;
+import com.forumviajeros.backend.model.VisitedPlace.PlaceStatus;
+import com.forumviajeros.backend.repository.VisitedPlaceRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TravelMapService Tests")
+class TravelMapServiceTest {
+
+    @Mock
+    private VisitedPlaceRepository visitedPlaceRepository;
+
+    @InjectMocks
+    private TravelMapServiceImpl travelMapService;
+
+    @Test
+    @DisplayName("El mapa de usuario agrupa por país con el estado más fuerte")
+    void getUserMap_ShouldKeepStrongestStatusPerCountry() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { "ES", PlaceStatus.WISHLIST });
+        rows.add(new Object[] { "ES", PlaceStatus.VISITED });
+        rows.add(new Object[] { "FR", PlaceStatus.LIVED });
+        rows.add(new Object[] { "FR", PlaceStatus.VISITED });
+        rows.add(new Object[] { "JP", PlaceStatus.WISHLIST });
+        when(visitedPlaceRepository.findCountryStatusesByUserId(1L)).thenReturn(rows);
+        List<Object[]> version = new ArrayList<>();
+        version.add(new Object[] { 5L, LocalDateTime.of(2024, 1, 1, 10, 0) });
+        when(visitedPlaceRepository.findMapVersionByUserId(1L)).thenReturn(version);
+
+        TravelMapDTO map = travelMapService.getUserMap(1L);
+
+        assertEquals(3, map.getCountries().size());
+        assertEquals(PlaceStatus.VISITED, map.getCountries().get("ES"));
+        assertEquals(PlaceStatus.LIVED, map.getCountries().get("FR"));
+        assertEquals(PlaceStatus.WISHLIST, map.getCountries().get("JP"));
+        assertEquals(map.getVersion(), travelMapService.getUserMapVersion(1L));
+    }
+
+    @Test
+    @DisplayName("La versión del mapa cambia al borrar un lugar")
+    void getUserMapVersion_ShouldChange_WhenPlaceCountChanges() {
+        LocalDateTime lastChange = LocalDateTime.of(2024, 1, 1, 10, 0);
+        List<Object[]> before = new ArrayList<>();
+        before.add(new Object[] { 5L, lastChange });
+        List<Object[]> after = new ArrayList<>();
+        after.add(new Object[] { 4L, lastChange });
+        when(visitedPlaceRepository.findMapVersionByUserId(1L)).thenReturn(before, after);
+
+        assertNotEquals(travelMapService.getUserMapVersion(1L), travelMapService.getUserMapVersion(1L));
+    }
+
+    @Test
+    @DisplayName("El mapa de calor se carga al arrancar y aplica deltas incrementales")
+    void heatmap_ShouldApplyIncrementalDeltas() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { "ES", 3L });
+        when(visitedPlaceRepository.countVisitorsByCountry()).thenReturn(rows);
+
+        travelMapService.afterSingletonsInstantiated();
+        verify(visitedPlaceRepository).countVisitorsByCountry();
+
+        TravelHeatmapDTO initial = travelMapService.getHeatmap();
+        assertEquals(3L, initial.getVisitorsByCountry().get("ES"));
+
+        travelMapService.onVisitedPlaceChanged(new VisitedPlaceChangedEvent(1L, 10L, "ES", -1));
+        travelMapService.onVisitedPlaceChanged(new VisitedPlaceChangedEvent(2L, 11L, "PT", 1));
+        travelMapService.onVisitedPlaceChanged(new VisitedPlaceChangedEvent(3L, 12L, "IT", 0));
+
+        TravelHeatmapDTO updated = travelMapService.getHeatmap();
+        assertEquals(2L, updated.getVisitorsByCountry().get("ES"));
+        assertEquals(1L, updated.getVisitorsByCountry().get("PT"));
+        assertNull(updated.getVisitorsByCountry().get("IT"));
+        assertEquals(2L, updated.getMaxVisitors());
+        assertNotEquals(initial.getVersion(), updated.getVersion());
+        verify(visitedPlaceRepository, times(1)).countVisitorsByCountry();
+    }
+
+    @Test
+    @DisplayName("La versión del mapa de calor depende solo de los recuentos, no de la instancia")
+    void heatmapVersion_ShouldBeStableAcrossRestarts() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { "ES", 3L });
+        rows.add(new Object[] { "FR", 1L });
+        when(visitedPlaceRepository.countVisitorsByCountry()).thenReturn(rows);
+        TravelMapServiceImpl restarted = new TravelMapServiceImpl(visitedPlaceRepository);
+
+        String loaded = travelMapService.getHeatmapVersion();
+        travelMapService.onVisitedPlaceChanged(new VisitedPlaceChangedEvent(1L, 10L, "PT", 1));
+        String changed = travelMapService.getHeatmapVersion();
+        travelMapService.onVisitedPlaceChanged(new VisitedPlaceChangedEvent(1L, 10L, "PT", -1));
+
+        assertNotEquals(loaded, changed);
+        assertEquals(loaded, travelMapService.getHeatmapVersion());
+        assertEquals(loaded, restarted.getHeatmapVersion());
+    }
+}
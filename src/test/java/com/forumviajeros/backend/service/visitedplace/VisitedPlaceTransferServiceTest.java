@@ -0,0 +1,149 @@
+package com.forumviajeros.backend.service.visitedplace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forumviajeros.backend.dto.visitedplace.VisitedPlaceImportResultDTO;
+import com.forumviajeros.backend.event.VisitedPlaceChangedEvent;
+import com.forumviajeros.backend.model.VisitedPlace.PlaceStatus;
+import com.forumviajeros.backend.repository.CountryRepository;
+import com.forumviajeros.backend.repository.UserRepository;
+import com.forumviajeros.backend.repository.VisitedPlaceRepository;
+import com.forumviajeros.backend.service.visitedplace.VisitedPlaceTransferService.TransferFormat;
+
+import jakarta.validation.Validation;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VisitedPlaceTransferService Tests")
+class VisitedPlaceTransferServiceTest {
+
+    @Mock
+    private VisitedPlaceRepository visitedPlaceRepository;
+
+    @Mock
+    private CountryRepository countryRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private VisitedPlaceTransferServiceImpl transferService;
+
+    @BeforeEach
+    void setUp() {
+        transferService = new VisitedPlaceTransferServiceImpl(visitedPlaceRepository, countryRepository,
+                userRepository, jdbcTemplate, new ObjectMapper().findAndRegisterModules(),
+                Validation.buildDefaultValidatorFactory().getValidator(), eventPublisher);
+
+        List<Object[]> countries = new ArrayList<>();
+        countries.add(new Object[] { 1L, "ES", "ESP" });
+        countries.add(new Object[] { 2L, "FR", "FRA" });
+        countries.add(new Object[] { 3L, "JP", "JPN" });
+        when(countryRepository.findAllIsoCodes()).thenReturn(countries);
+        when(userRepository.existsById(7L)).thenReturn(true);
+
+        // El usuario ya tiene España visitada (sin ciudad)
+        List<Object[]> existing = new ArrayList<>();
+        existing.add(new Object[] { 1L, null, PlaceStatus.VISITED });
+        when(visitedPlaceRepository.findPlaceKeysByUserId(7L)).thenReturn(existing);
+    }
+
+    @Test
+    @DisplayName("Importar JSON deduplica, valida y escribe en un único lote")
+    @SuppressWarnings("unchecked")
+    void importJson_ShouldDeduplicateAndBatchInsert() {
+        String json = "["
+                + "{\"isoCode\":\"ES\"},"
+                + "{\"isoCode\":\"es\",\"cityName\":\"Sevilla\"},"
+                + "{\"isoCode\":\"FRA\",\"status\":\"WISHLIST\"},"
+                + "{\"isoCode\":\"FR\",\"status\":\"WISHLIST\"},"
+                + "{\"isoCode\":\"JP\",\"rating\":9},"
+                + "{\"isoCode\":\"XX\"},"
+                + "{\"countryId\":3,\"visitDate\":\"2023-05-15\"}"
+                + "]";
+
+        VisitedPlaceImportResultDTO result = transferService.importPlaces(7L,
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), TransferFormat.JSON);
+
+        assertEquals(7, result.getTotalRows());
+        assertEquals(3, result.getImported());
+        assertEquals(2, result.getDuplicates());
+        assertEquals(2, result.getRejected());
+        assertEquals(2, result.getErrors().size());
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), batch.capture(), any(int[].class));
+        assertEquals(3, batch.getValue().size());
+        assertEquals("Sevilla", batch.getValue().get(0)[2]);
+
+        // Japón pasa a visitado (+1); España ya lo estaba y Francia es wishlist
+        ArgumentCaptor<VisitedPlaceChangedEvent> events = ArgumentCaptor.forClass(VisitedPlaceChangedEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertTrue(events.getAllValues().stream()
+                .anyMatch(e -> e.getIsoCode().equals("JP") && e.getVisitorDelta() == 1));
+        assertTrue(events.getAllValues().stream()
+                .anyMatch(e -> e.getIsoCode().equals("ES") && e.getVisitorDelta() == 0));
+    }
+
+    @Test
+    @DisplayName("Importar CSV soporta comillas y filas inválidas")
+    @SuppressWarnings("unchecked")
+    void importCsv_ShouldParseQuotedFields() {
+        String csv = "﻿isoCode,cityName,status,notes\r\n"
+                + "FR,Paris,VISITED,\"Torre Eiffel, Louvre y \"\"croissants\"\"\"\r\n"
+                + "JP,Kioto,NOPE,\r\n"
+                + "\r\n"
+                + "JP,\"Tokio\",WISHLIST,\"dos\nlíneas\"\r\n";
+
+        VisitedPlaceImportResultDTO result = transferService.importPlaces(7L,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), TransferFormat.CSV);
+
+        assertEquals(3, result.getTotalRows());
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getRejected());
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture(), any(int[].class));
+        assertEquals("Torre Eiffel, Louvre y \"croissants\"", batch.getValue().get(0)[6]);
+        assertEquals("dos\nlíneas", batch.getValue().get(1)[6]);
+    }
+
+    @Test
+    @DisplayName("Importar un array vacío no escribe nada")
+    void importEmptyArray_ShouldNotWrite() {
+        VisitedPlaceImportResultDTO result = transferService.importPlaces(7L,
+                new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8)), TransferFormat.JSON);
+
+        assertEquals(0, result.getImported());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(List.class), eq(new int[0]));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+}
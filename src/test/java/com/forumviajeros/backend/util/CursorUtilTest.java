@@ -0,0 +1,61 @@
+package com.forumviajeros.backend.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.forumviajeros.backend.dto.CursorPageDTO;
+import com.forumviajeros.backend.exception.BadRequestException;
+import com.forumviajeros.backend.util.CursorUtil.Position;
+
+@DisplayName("CursorUtil Tests")
+class CursorUtilTest {
+
+    @Test
+    @DisplayName("Un cursor codificado se decodifica a la misma posición")
+    void encodeDecode_ShouldRoundTrip() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123456000);
+
+        Position position = CursorUtil.decode(CursorUtil.encode(createdAt, 42L));
+
+        assertEquals(createdAt, position.createdAt());
+        assertEquals(42L, position.id());
+    }
+
+    @Test
+    @DisplayName("Sin cursor se pide la primera página y un cursor corrupto es un 400")
+    void decode_ShouldHandleMissingAndInvalidCursors() {
+        assertNull(CursorUtil.decode(null));
+        assertNull(CursorUtil.decode(""));
+        assertThrows(BadRequestException.class, () -> CursorUtil.decode("no-es-un-cursor"));
+        assertThrows(BadRequestException.class, () -> CursorUtil.decode("%%%"));
+    }
+
+    @Test
+    @DisplayName("La fila extra indica que hay más y genera el cursor del último elemento devuelto")
+    void toPage_ShouldUseExtraRowAsHasMore() {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Position> rows = List.of(new Position(now, 3L), new Position(now, 2L), new Position(now, 1L));
+
+        CursorPageDTO<Long> page = CursorUtil.toPage(rows, 2, p -> p,
+                items -> items.stream().map(Position::id).collect(Collectors.toList()));
+
+        assertEquals(List.of(3L, 2L), page.getItems());
+        assertTrue(page.isHasMore());
+        assertEquals(2L, CursorUtil.decode(page.getNextCursor()).id());
+
+        CursorPageDTO<Long> last = CursorUtil.toPage(rows.subList(2, 3), 2, p -> p,
+                items -> items.stream().map(Position::id).collect(Collectors.toList()));
+        assertFalse(last.isHasMore());
+        assertNull(last.getNextCursor());
+    }
+}